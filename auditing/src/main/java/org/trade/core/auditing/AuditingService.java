@@ -20,6 +20,8 @@ import org.slf4j.LoggerFactory;
 import org.trade.core.auditing.events.ATraDEEvent;
 import org.trade.core.utils.TraDEProperties;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.concurrent.CopyOnWriteArrayList;
 
@@ -40,6 +42,11 @@ public enum AuditingService implements IAuditingService {
      */
     private final List<TraDEEventListener> eventListeners = new CopyOnWriteArrayList<TraDEEventListener>();
 
+    /**
+     * The batches of events which are currently collected, per thread.
+     */
+    private final ThreadLocal<EventBatch> eventBatches = new ThreadLocal<>();
+
     private TraDEProperties properties = null;
 
     public boolean hasProperties() {
@@ -71,9 +78,51 @@ public enum AuditingService implements IAuditingService {
 
     @Override
     public void fireEvent(ATraDEEvent event) {
-        // Trigger the event on all registered event listeners
-        for (TraDEEventListener l : eventListeners) {
-            l.onEvent(event);
+        EventBatch batch = eventBatches.get();
+
+        if (batch != null) {
+            // Collect the event until the batch of the current thread is finished
+            batch.events.add(event);
+        } else {
+            // Trigger the event on all registered event listeners
+            for (TraDEEventListener l : eventListeners) {
+                l.onEvent(event);
+            }
+        }
+    }
+
+    @Override
+    public void startEventBatch() {
+        EventBatch batch = eventBatches.get();
+
+        if (batch == null) {
+            batch = new EventBatch();
+            eventBatches.set(batch);
+        }
+
+        batch.depth++;
+    }
+
+    @Override
+    public void finishEventBatch() {
+        EventBatch batch = eventBatches.get();
+
+        if (batch != null && --batch.depth == 0) {
+            eventBatches.remove();
+
+            if (!batch.events.isEmpty()) {
+                // Trigger all collected events on all registered event listeners
+                for (TraDEEventListener l : eventListeners) {
+                    l.onEvents(Collections.unmodifiableList(batch.events));
+                }
+            }
         }
     }
+
+    private static class EventBatch {
+
+        private final List<ATraDEEvent> events = new ArrayList<>();
+
+        private int depth = 0;
+    }
 }
@@ -15,7 +15,7 @@
 
 package org.trade.core.auditing;
 
-import org.trade.core.utils.TraDEProperties;
+import org.trade.core.utils.TraDEConfiguration;
 
 /**
  * A service factory for {@link IAuditingService} implementations.
@@ -33,7 +33,7 @@ public class AuditingServiceFactory {
         AuditingService result = AuditingService.INSTANCE;
 
         if (!result.hasProperties()) {
-            result.setProperties(new TraDEProperties());
+            result.setProperties(TraDEConfiguration.INSTANCE.getProperties());
         }
 
         return result;
@@ -30,4 +30,18 @@ public interface IAuditingService {
     void unregisterEventListener(TraDEEventListener listener);
 
     void fireEvent(ATraDEEvent event);
+
+    /**
+     * Starts a batch of events for the calling thread. All events fired by the thread are collected until the batch
+     * is finished and then passed to the registered event listeners at once, e.g., when a large number of objects is
+     * created through one request. Batches can be nested, the events are passed on when the outermost batch is
+     * finished.
+     */
+    void startEventBatch();
+
+    /**
+     * Finishes the batch of events of the calling thread and passes all collected events to the registered event
+     * listeners. Should be called in a finally block after {@link #startEventBatch()}.
+     */
+    void finishEventBatch();
 }
@@ -18,6 +18,8 @@ package org.trade.core.auditing;
 import org.trade.core.auditing.events.ATraDEEvent;
 import org.trade.core.utils.TraDEProperties;
 
+import java.util.List;
+
 /**
  * This interface specifies the common methods of a TraDE event listener implementation.
  * Created by hahnml on 21.04.2017.
@@ -31,6 +33,17 @@ public interface TraDEEventListener {
      */
     void onEvent(ATraDEEvent event);
 
+    /**
+     * Handle a batch of events in the order they were fired. Listeners can override this method, if a batch can be
+     * handled more efficiently than each event on its own.
+     *
+     * @param events to handle
+     */
+    default void onEvents(List<ATraDEEvent> events) {
+        for (ATraDEEvent event : events) {
+            onEvent(event);
+        }
+    }
 
     /**
      * Startup the event listener after its registration and pass available properties which can be used to access
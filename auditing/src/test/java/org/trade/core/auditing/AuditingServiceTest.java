@@ -0,0 +1,98 @@
+/*
+ * Copyright 2017 Michael Hahn
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.trade.core.auditing;
+
+import org.junit.Test;
+import org.trade.core.auditing.events.ATraDEEvent;
+import org.trade.core.auditing.events.InstanceStateChangeEvent;
+import org.trade.core.utils.TraDEProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for {@link AuditingService}.
+ */
+public class AuditingServiceTest {
+
+    @Test
+    public void batchedEventsShouldBePassedOnAtOnce() throws Exception {
+        RecordingListener listener = new RecordingListener();
+        IAuditingService auditing = AuditingService.INSTANCE;
+        auditing.registerEventListener(listener);
+
+        try {
+            auditing.startEventBatch();
+            auditing.fireEvent(event("instance1"));
+
+            // Nested batches are passed on with the outermost batch
+            auditing.startEventBatch();
+            auditing.fireEvent(event("instance2"));
+            auditing.finishEventBatch();
+
+            assertTrue(listener.events.isEmpty());
+            assertTrue(listener.batches.isEmpty());
+
+            auditing.finishEventBatch();
+
+            assertTrue(listener.events.isEmpty());
+            assertEquals(1, listener.batches.size());
+            assertEquals(2, listener.batches.get(0).size());
+            assertEquals("instance1", listener.batches.get(0).get(0).getIdentifier());
+            assertEquals("instance2", listener.batches.get(0).get(1).getIdentifier());
+
+            // Without a batch events are passed on directly
+            auditing.fireEvent(event("instance3"));
+            assertEquals(1, listener.events.size());
+            assertEquals(1, listener.batches.size());
+        } finally {
+            auditing.unregisterEventListener(listener);
+        }
+    }
+
+    private static ATraDEEvent event(String identifier) {
+        return new InstanceStateChangeEvent(identifier, Object.class, null, null, "CREATED", "create");
+    }
+
+    private static class RecordingListener implements TraDEEventListener {
+
+        private final List<ATraDEEvent> events = new ArrayList<>();
+
+        private final List<List<ATraDEEvent>> batches = new ArrayList<>();
+
+        @Override
+        public void onEvent(ATraDEEvent event) {
+            events.add(event);
+        }
+
+        @Override
+        public void onEvents(List<ATraDEEvent> events) {
+            batches.add(new ArrayList<>(events));
+        }
+
+        @Override
+        public void startup(TraDEProperties properties) {
+        }
+
+        @Override
+        public void shutdown() {
+        }
+    }
+}
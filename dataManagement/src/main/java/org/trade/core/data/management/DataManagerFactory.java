@@ -18,6 +18,7 @@ package org.trade.core.data.management;
 
 import org.trade.core.data.management.hazelcast.HazelcastDataManager;
 import org.trade.core.data.management.simple.SimpleDataManager;
+import org.trade.core.utils.TraDEConfiguration;
 import org.trade.core.utils.TraDEProperties;
 
 /**
@@ -35,7 +36,7 @@ public class DataManagerFactory {
     public static IDataManager createDataManager() {
         IDataManager result = null;
 
-        TraDEProperties props = new TraDEProperties();
+        TraDEProperties props = TraDEConfiguration.INSTANCE.getProperties();
 
         switch (props.getDeploymentMode()) {
             case SINGLE_NODE:
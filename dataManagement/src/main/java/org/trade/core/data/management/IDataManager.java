@@ -22,8 +22,11 @@ import org.trade.core.model.data.*;
 import org.trade.core.model.data.instance.DataElementInstance;
 import org.trade.core.model.data.instance.DataObjectInstance;
 
+import java.io.InputStream;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * This interface defines basic methods a data manager implementation should provide.
@@ -91,6 +94,98 @@ public interface IDataManager extends TraDEEventListener {
     DataObjectInstance instantiateDataObject(String dataObjectId, String createdBy, HashMap<String, String>
             correlationProperties) throws Exception;
 
+    /**
+     * Instantiate the given data object once for each of the given sets of correlation properties, e.g., to start a
+     * choreography with a large number of parallel branches through one request. Like for a single instantiation, an
+     * existing instance is returned for correlation properties which already identify an instance.
+     * <p>
+     * Data managers may persist the new instances in batches and pass the resulting events to the event listeners
+     * as one batch. By default, the data object is instantiated for each set of correlation properties on its own.
+     *
+     * @param dataObjectId              the ID of the data object to instantiate
+     * @param createdBy                 the information who created the new instances
+     * @param correlationPropertiesList the sets of correlation properties, one per instance
+     * @return the data object instances in the order of the sets of correlation properties or null, if the data
+     * object does not exist
+     * @throws Exception the exception
+     */
+    default List<DataObjectInstance> instantiateDataObject(String dataObjectId, String createdBy,
+                                                           List<HashMap<String, String>> correlationPropertiesList)
+            throws Exception {
+        List<DataObjectInstance> result = null;
+
+        if (hasDataObject(dataObjectId)) {
+            result = new ArrayList<>(correlationPropertiesList.size());
+
+            for (HashMap<String, String> correlationProperties : correlationPropertiesList) {
+                result.add(instantiateDataObject(dataObjectId, createdBy, correlationProperties));
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Create data values from the given payloads and associate them with the given instance of a collection data
+     * element in one step, e.g., to populate a collection with hundreds of values through one request. The payload
+     * of each data value is streamed to the data source, so that it does not have to be loaded into memory as a
+     * whole.
+     * <p>
+     * Data managers may persist the new data values in batches and pass the resulting events to the event listeners
+     * as one batch. By default, each data value is registered, populated and associated on its own.
+     * <p>
+     * If one of the data values can not be created, all data values created so far are removed from the data element
+     * instance and deleted again, before the causing exception is rethrown.
+     *
+     * @param dataElementInstanceId the ID of the data element instance to add the data values to
+     * @param dataValues            the new data values mapped to the streams providing their payloads, the streams
+     *                              are not closed by this method
+     * @return the data values in the iteration order of the given map or null, if the data element instance does
+     * not exist
+     * @throws Exception the exception
+     */
+    default List<DataValue> addDataValuesToDataElementInstance(String dataElementInstanceId, Map<DataValue,
+            InputStream> dataValues) throws Exception {
+        List<DataValue> result = null;
+
+        if (hasDataElementInstance(dataElementInstanceId)) {
+            DataElementInstance instance = getDataElementInstance(dataElementInstanceId);
+
+            if (!instance.getDataElement().getIsCollectionElement()) {
+                throw new IllegalArgumentException("Multiple data values can only be added to instances of " +
+                        "collection data elements, but the data element instance (" + dataElementInstanceId + ") " +
+                        "belongs to a simple data element.");
+            }
+
+            result = new ArrayList<>(dataValues.size());
+
+            try {
+                for (Map.Entry<DataValue, InputStream> entry : dataValues.entrySet()) {
+                    DataValue value = registerDataValue(entry.getKey());
+                    result.add(value);
+
+                    value.setDataFromStream(entry.getValue());
+                    instance.addDataValue(value);
+                }
+            } catch (Exception e) {
+                for (DataValue value : result) {
+                    try {
+                        if (instance.getDataValues().contains(value)) {
+                            instance.removeDataValue(value);
+                        }
+                        deleteDataValue(value.getIdentifier());
+                    } catch (Exception cleanupException) {
+                        e.addSuppressed(cleanupException);
+                    }
+                }
+
+                throw e;
+            }
+        }
+
+        return result;
+    }
+
     /**
      * Gets a data dependency graph.
      *
@@ -251,6 +346,101 @@ public interface IDataManager extends TraDEEventListener {
      */
     List<DataElementInstance> getAllDataElementInstances(String status);
 
+    /**
+     * Gets one page of all data dependency graphs based on the provided criteria. The data dependency graphs are
+     * provided in a stable order, so that consecutive pages do not overlap as long as no graphs are added or removed.
+     *
+     * @param targetNamespace the target namespace to search for
+     * @param name            the name to search for
+     * @param entity          the entity to search for
+     * @param start           the (1-based) index of the first data dependency graph of the page
+     * @param size            the maximal number of data dependency graphs of the page
+     * @return the requested page of all data dependency graphs fulfilling the specified criteria
+     */
+    default ResultPage<DataDependencyGraph> getDataDependencyGraphPage(String targetNamespace, String name, String
+            entity, int start, int size) {
+        return ResultPage.of(getAllDataDependencyGraphs(targetNamespace, name, entity), start, size);
+    }
+
+    /**
+     * Gets one page of all data models based on the provided criteria, in a stable order.
+     *
+     * @param targetNamespace the target namespace to search for
+     * @param name            the name to search for
+     * @param entity          the entity to search for
+     * @param start           the (1-based) index of the first data model of the page
+     * @param size            the maximal number of data models of the page
+     * @return the requested page of all data models fulfilling the specified criteria
+     */
+    default ResultPage<DataModel> getDataModelPage(String targetNamespace, String name, String entity, int start,
+                                                   int size) {
+        return ResultPage.of(getAllDataModels(targetNamespace, name, entity), start, size);
+    }
+
+    /**
+     * Gets one page of all data elements based on the provided criteria, in a stable order.
+     *
+     * @param name   the name to search for
+     * @param status the status to search for
+     * @param start  the (1-based) index of the first data element of the page
+     * @param size   the maximal number of data elements of the page
+     * @return the requested page of all data elements fulfilling the specified criteria
+     */
+    default ResultPage<DataElement> getDataElementPage(String name, String status, int start, int size) {
+        return ResultPage.of(getAllDataElements(name, status), start, size);
+    }
+
+    /**
+     * Gets one page of all data values based on the provided criteria, in a stable order.
+     *
+     * @param status    the status to search for
+     * @param createdBy who created a data value to search for
+     * @param start     the (1-based) index of the first data value of the page
+     * @param size      the maximal number of data values of the page
+     * @return the requested page of all data values fulfilling the specified criteria
+     */
+    default ResultPage<DataValue> getDataValuePage(String status, String createdBy, int start, int size) {
+        return ResultPage.of(getAllDataValues(status, createdBy), start, size);
+    }
+
+    /**
+     * Gets one page of all data objects based on the provided criteria, in a stable order.
+     *
+     * @param name   the name to search for
+     * @param entity the entity to search for
+     * @param status the status to search for
+     * @param start  the (1-based) index of the first data object of the page
+     * @param size   the maximal number of data objects of the page
+     * @return the requested page of all data objects fulfilling the specified criteria
+     */
+    default ResultPage<DataObject> getDataObjectPage(String name, String entity, String status, int start, int size) {
+        return ResultPage.of(getAllDataObjects(name, entity, status), start, size);
+    }
+
+    /**
+     * Gets one page of all data object instances based on the provided criteria, in a stable order.
+     *
+     * @param status the status to search for
+     * @param start  the (1-based) index of the first data object instance of the page
+     * @param size   the maximal number of data object instances of the page
+     * @return the requested page of all data object instances fulfilling the specified criteria
+     */
+    default ResultPage<DataObjectInstance> getDataObjectInstancePage(String status, int start, int size) {
+        return ResultPage.of(getAllDataObjectInstances(status), start, size);
+    }
+
+    /**
+     * Gets one page of all data element instances based on the provided criteria, in a stable order.
+     *
+     * @param status the status to search for
+     * @param start  the (1-based) index of the first data element instance of the page
+     * @param size   the maximal number of data element instances of the page
+     * @return the requested page of all data element instances fulfilling the specified criteria
+     */
+    default ResultPage<DataElementInstance> getDataElementInstancePage(String status, int start, int size) {
+        return ResultPage.of(getAllDataElementInstances(status), start, size);
+    }
+
     /**
      * Gets a data element instance of a data object instance based on the name of the underlying data element.
      *
@@ -0,0 +1,114 @@
+/*
+ * Copyright 2017 Michael Hahn
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.trade.core.data.management;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * One page of a filtered listing provided by an {@link IDataManager}. Pages are addressed through the (1-based) index
+ * of their first entry and their size, as done by the API of the middleware.
+ *
+ * @param <T> the type of the listed objects
+ */
+public class ResultPage<T> {
+
+    private final List<T> entries;
+
+    private final int start;
+
+    private final boolean hasMore;
+
+    private final int estimatedTotal;
+
+    /**
+     * Instantiates a new result page.
+     *
+     * @param entries        the entries of the page
+     * @param start          the (1-based) index of the first entry of the page within the whole listing
+     * @param hasMore        whether the listing has further entries after this page
+     * @param estimatedTotal the estimated number of entries of the whole listing
+     */
+    public ResultPage(List<T> entries, int start, boolean hasMore, int estimatedTotal) {
+        this.entries = Collections.unmodifiableList(entries);
+        this.start = start;
+        this.hasMore = hasMore;
+        this.estimatedTotal = estimatedTotal;
+    }
+
+    /**
+     * Creates a page from the given complete listing, e.g., for data managers without support for paged listings.
+     *
+     * @param <T>     the type of the listed objects
+     * @param listing the complete listing, null is handled as empty listing
+     * @param start   the (1-based) index of the first entry of the page
+     * @param size    the maximal number of entries of the page
+     * @return the page
+     */
+    public static <T> ResultPage<T> of(List<T> listing, int start, int size) {
+        if (listing == null) {
+            return new ResultPage<>(Collections.emptyList(), start, false, 0);
+        }
+
+        int fromIndex = Math.min(Math.max(start, 1) - 1, listing.size());
+        int toIndex = (int) Math.min((long) fromIndex + Math.max(size, 0), listing.size());
+
+        return new ResultPage<>(listing.subList(fromIndex, toIndex), start, toIndex < listing.size(), listing.size());
+    }
+
+    /**
+     * Provides the entries of the page.
+     *
+     * @return an unmodifiable list of the entries
+     */
+    public List<T> getEntries() {
+        return entries;
+    }
+
+    public int getStart() {
+        return start;
+    }
+
+    /**
+     * Checks if the listing has further entries after this page, i.e., if a next page can be requested.
+     *
+     * @return true, if a next page is available
+     */
+    public boolean hasMore() {
+        return hasMore;
+    }
+
+    /**
+     * Checks if the start index of the page is beyond the end of the listing, i.e., if the page is empty although
+     * it does not start at the first entry of the listing.
+     *
+     * @return true, if there are no entries at or after the start index of the page
+     */
+    public boolean isBeyondEnd() {
+        return entries.isEmpty() && start > 1;
+    }
+
+    /**
+     * Provides the estimated number of entries of the whole listing. The estimation is exact, if the listing is only
+     * filtered through an index of the data manager. Otherwise, it is an upper bound.
+     *
+     * @return the estimated total number of entries
+     */
+    public int getEstimatedTotal() {
+        return estimatedTotal;
+    }
+}
@@ -28,6 +28,7 @@ import org.trade.core.model.compiler.CompilationIssue;
 import org.trade.core.model.data.*;
 import org.trade.core.model.data.instance.DataElementInstance;
 import org.trade.core.model.data.instance.DataObjectInstance;
+import org.trade.core.utils.TraDEConfiguration;
 import org.trade.core.utils.TraDEProperties;
 
 import java.util.HashMap;
@@ -47,7 +48,7 @@ public enum HazelcastDataManager implements IDataManager {
         AuditingServiceFactory.createAuditingService().registerEventListener(this);
 
         // Load properties
-        TraDEProperties properties = new TraDEProperties();
+        TraDEProperties properties = TraDEConfiguration.INSTANCE.getProperties();
 
         // Apply the properties to the XML config
         XmlConfigBuilder builder = new XmlConfigBuilder();
@@ -0,0 +1,151 @@
+/*
+ * Copyright 2017 Michael Hahn
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.trade.core.data.management.simple;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Optional;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.function.Predicate;
+
+/**
+ * Secondary index which groups the identifiers of model objects by the value of one of their attributes, e.g., their
+ * lifecycle state or their owner, so that filtered listings only have to look at the objects with a matching value
+ * instead of all objects of the node.
+ * <p>
+ * Each identifier is indexed with at most one value. Indexing an identifier again with another value (e.g., after a
+ * state change) moves it to the group of the new value. Objects without a value (e.g., without a lifecycle state) are
+ * not part of any group, but they are still provided by {@link #identifiers()}, so that unfiltered listings contain
+ * them. All provided identifiers are sorted, so that paged listings have a stable order.
+ */
+public class AttributeIndex {
+
+    private final boolean ignoreCase;
+
+    private final Map<String, NavigableSet<String>> identifiers = new ConcurrentHashMap<>();
+
+    private final ConcurrentSkipListMap<String, Optional<String>> values = new ConcurrentSkipListMap<>();
+
+    /**
+     * Instantiates a new attribute index.
+     *
+     * @param ignoreCase whether the case of values is ignored, as done when filtering by lifecycle states
+     */
+    public AttributeIndex(boolean ignoreCase) {
+        this.ignoreCase = ignoreCase;
+    }
+
+    /**
+     * Indexes the object with the given identifier with the given value. A previous value of the object is replaced.
+     *
+     * @param identifier the identifier of the object
+     * @param value      the value of the attribute, null indexes the object without a value
+     */
+    public void put(String identifier, String value) {
+        Optional<String> normalized = Optional.ofNullable(value).map(this::normalize);
+        Optional<String> previous = values.put(identifier, normalized);
+
+        if (!normalized.equals(previous)) {
+            if (previous != null && previous.isPresent()) {
+                removeFromGroup(previous.get(), identifier);
+            }
+
+            normalized.ifPresent(v -> identifiers.compute(v, (key, ids) -> {
+                NavigableSet<String> result = ids != null ? ids : new ConcurrentSkipListSet<>();
+                result.add(identifier);
+                return result;
+            }));
+        }
+    }
+
+    /**
+     * Removes the object with the given identifier from the index.
+     *
+     * @param identifier the identifier of the object
+     */
+    public void remove(String identifier) {
+        Optional<String> previous = values.remove(identifier);
+
+        if (previous != null && previous.isPresent()) {
+            removeFromGroup(previous.get(), identifier);
+        }
+    }
+
+    /**
+     * Provides the identifiers of all objects indexed with the given value.
+     *
+     * @param value the value of the attribute
+     * @return an unmodifiable view of the sorted identifiers
+     */
+    public NavigableSet<String> get(String value) {
+        NavigableSet<String> result = identifiers.get(normalize(value));
+
+        return result != null ? Collections.unmodifiableNavigableSet(result) : Collections.emptyNavigableSet();
+    }
+
+    /**
+     * Provides the identifiers of all indexed objects, including the objects without a value.
+     *
+     * @return an unmodifiable view of the sorted identifiers
+     */
+    public NavigableSet<String> identifiers() {
+        return Collections.unmodifiableNavigableSet(values.navigableKeySet());
+    }
+
+    /**
+     * Provides the identifiers of all objects indexed with a value matching the given predicate. Only the distinct
+     * values are tested, e.g., to filter by a part of the owner of an object.
+     *
+     * @param predicate the predicate to test the values with
+     * @return the sorted identifiers of all matching objects
+     */
+    public NavigableSet<String> getMatching(Predicate<String> predicate) {
+        NavigableSet<String> result = new TreeSet<>();
+
+        for (Map.Entry<String, NavigableSet<String>> group : identifiers.entrySet()) {
+            if (predicate.test(group.getKey())) {
+                result.addAll(group.getValue());
+            }
+        }
+
+        return result;
+    }
+
+    public int size() {
+        return values.size();
+    }
+
+    public void clear() {
+        identifiers.clear();
+        values.clear();
+    }
+
+    private void removeFromGroup(String value, String identifier) {
+        identifiers.computeIfPresent(value, (v, ids) -> {
+            ids.remove(identifier);
+            return ids.isEmpty() ? null : ids;
+        });
+    }
+
+    private String normalize(String value) {
+        return ignoreCase ? value.toUpperCase() : value;
+    }
+}
@@ -0,0 +1,183 @@
+/*
+ * Copyright 2017 Michael Hahn
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.trade.core.data.management.simple;
+
+import org.trade.core.model.data.DataElement;
+import org.trade.core.model.data.DataModel;
+import org.trade.core.model.data.DataObject;
+import org.trade.core.model.data.instance.DataElementInstance;
+import org.trade.core.model.data.instance.DataObjectInstance;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Hash index to correlate data object instances and data element instances with the requests of workflow engines,
+ * i.e., to find an instance through the namespace and name of its data model, the name of its data object (and data
+ * element) and its correlation properties in constant time instead of scanning all instances of the node.
+ * <p>
+ * The index maps a {@link Key} to the identifier of the instance. Additionally, the key of each indexed instance is
+ * kept, so that an instance can be removed through its identifier only, e.g., when a delete event is received.
+ */
+public class CorrelationIndex {
+
+    private final Map<Key, String> identifiers = new ConcurrentHashMap<>();
+
+    private final Map<String, Key> keys = new ConcurrentHashMap<>();
+
+    /**
+     * Creates the key of the given data object instance.
+     *
+     * @param instance the data object instance
+     * @return the key or null, if the data object of the instance does not belong to a data model
+     */
+    public static Key key(DataObjectInstance instance) {
+        DataObject dataObject = instance.getDataObject();
+
+        if (dataObject == null || dataObject.getDataModel() == null) {
+            return null;
+        }
+
+        DataModel model = dataObject.getDataModel();
+
+        return new Key(model.getTargetNamespace(), model.getName(), dataObject.getName(), null, instance
+                .getCorrelationProperties());
+    }
+
+    /**
+     * Creates the key of the given data element instance.
+     *
+     * @param instance the data element instance
+     * @return the key or null, if the data element of the instance does not belong to a data object and data model
+     */
+    public static Key key(DataElementInstance instance) {
+        DataElement dataElement = instance.getDataElement();
+
+        if (dataElement == null || dataElement.getDataObject() == null || dataElement.getDataObject().getDataModel()
+                == null) {
+            return null;
+        }
+
+        DataObject dataObject = dataElement.getDataObject();
+        DataModel model = dataObject.getDataModel();
+
+        return new Key(model.getTargetNamespace(), model.getName(), dataObject.getName(), dataElement.getName(),
+                instance.getCorrelationProperties());
+    }
+
+    /**
+     * Adds the instance with the given key and identifier to the index. If another instance with the same key is
+     * already indexed, the index is not changed, i.e., the instance which was indexed first is found.
+     *
+     * @param key        the key of the instance, null keys are ignored
+     * @param identifier the identifier of the instance
+     */
+    public void put(Key key, String identifier) {
+        if (key != null && identifiers.putIfAbsent(key, identifier) == null) {
+            keys.put(identifier, key);
+        }
+    }
+
+    /**
+     * Provides the identifier of the instance with the given key.
+     *
+     * @param key the key to look up
+     * @return the identifier of the instance or null, if no instance with the key is indexed
+     */
+    public String get(Key key) {
+        return identifiers.get(key);
+    }
+
+    /**
+     * Removes the instance with the given identifier from the index.
+     *
+     * @param identifier the identifier of the instance
+     */
+    public void remove(String identifier) {
+        Key key = keys.remove(identifier);
+
+        if (key != null) {
+            identifiers.remove(key, identifier);
+        }
+    }
+
+    public int size() {
+        return identifiers.size();
+    }
+
+    public void clear() {
+        identifiers.clear();
+        keys.clear();
+    }
+
+    /**
+     * Composite key of an instance. The correlation properties are copied into an unmodifiable map, so that the key
+     * does not change if the properties of the instance are changed afterwards. Since the equality of maps does not
+     * depend on the order of their entries, properties specified in any order result in equal keys.
+     */
+    public static final class Key {
+
+        private final String namespace;
+
+        private final String modelName;
+
+        private final String objectName;
+
+        private final String elementName;
+
+        private final Map<String, String> correlationProperties;
+
+        private final int hashCode;
+
+        public Key(String namespace, String modelName, String objectName, String elementName, Map<String, String>
+                correlationProperties) {
+            this.namespace = namespace;
+            this.modelName = modelName;
+            this.objectName = objectName;
+            this.elementName = elementName;
+            this.correlationProperties = correlationProperties != null ? Collections.unmodifiableMap(new HashMap<>
+                    (correlationProperties)) : null;
+
+            this.hashCode = Objects.hash(namespace, modelName, objectName, elementName, this.correlationProperties);
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof Key)) {
+                return false;
+            }
+
+            Key other = (Key) obj;
+
+            return hashCode == other.hashCode && Objects.equals(namespace, other.namespace) && Objects.equals
+                    (modelName, other.modelName) && Objects.equals(objectName, other.objectName) && Objects.equals
+                    (elementName, other.elementName) && Objects.equals(correlationProperties, other
+                    .correlationProperties);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+}
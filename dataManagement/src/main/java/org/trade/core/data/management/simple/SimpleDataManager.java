@@ -17,21 +17,26 @@
 package org.trade.core.data.management.simple;
 
 import org.trade.core.auditing.AuditingServiceFactory;
+import org.trade.core.auditing.IAuditingService;
 import org.trade.core.auditing.events.InstanceStateChangeEvent;
 import org.trade.core.auditing.events.ModelStateChangeEvent;
 import org.trade.core.auditing.events.ATraDEEvent;
 import org.trade.core.data.management.IDataManager;
+import org.trade.core.data.management.ResultPage;
 import org.trade.core.data.transformation.DataTransformationManagerFactory;
 import org.trade.core.model.compiler.CompilationIssue;
 import org.trade.core.model.data.*;
 import org.trade.core.model.data.instance.DataElementInstance;
 import org.trade.core.model.data.instance.DataObjectInstance;
 import org.trade.core.persistence.PersistableHashMap;
+import org.trade.core.persistence.PersistableObject;
 import org.trade.core.utils.events.InstanceEvents;
 import org.trade.core.utils.events.ModelEvents;
 import org.trade.core.utils.TraDEProperties;
 
+import java.io.InputStream;
 import java.util.*;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -69,26 +74,58 @@ public enum SimpleDataManager implements IDataManager {
             (DataElementInstance.class);
     private PersistableHashMap<DataValue> dataValues = new PersistableHashMap<>(DataValue.class);
 
+    // Indexes to correlate instances with the requests of workflow engines, built on the first query
+    private final CorrelationIndex dataObjectInstanceIndex = new CorrelationIndex();
+    private final CorrelationIndex dataElementInstanceIndex = new CorrelationIndex();
+
+    // Indexes to filter listings by the lifecycle state or owner of objects, maintained through the lifecycle events
+    private final AttributeIndex dataDependencyGraphStateIndex = new AttributeIndex(true);
+    private final AttributeIndex dataModelStateIndex = new AttributeIndex(true);
+    private final AttributeIndex dataObjectStateIndex = new AttributeIndex(true);
+    private final AttributeIndex dataElementStateIndex = new AttributeIndex(true);
+    private final AttributeIndex dataObjectInstanceStateIndex = new AttributeIndex(true);
+    private final AttributeIndex dataElementInstanceStateIndex = new AttributeIndex(true);
+    private final AttributeIndex dataValueStateIndex = new AttributeIndex(true);
+    private final AttributeIndex dataValueOwnerIndex = new AttributeIndex(false);
+
+    private volatile boolean isIndexBuilt = false;
+
+    // Striped locks serializing compound operations on the same data object (e.g., the check for an existing instance
+    // and the creation of a new one, which also changes and persists the object graph of the data object), while
+    // operations on different data objects run in parallel
+    private static final Object[] locks = new Object[256];
+
+    static {
+        for (int i = 0; i < locks.length; i++) {
+            locks[i] = new Object();
+        }
+    }
+
     public DataDependencyGraph registerDataDependencyGraph(DataDependencyGraph graph) {
         this.dataDependencyGraphs.put(graph.getIdentifier(), graph);
+        this.dataDependencyGraphStateIndex.put(graph.getIdentifier(), graph.getState());
 
         return graph;
     }
 
     public DataModel registerDataModel(DataModel model) {
         this.dataModels.put(model.getIdentifier(), model);
+        this.dataModelStateIndex.put(model.getIdentifier(), model.getState());
 
         return model;
     }
 
     public DataObject registerDataObject(DataObject dataObject) {
         this.dataObjects.put(dataObject.getIdentifier(), dataObject);
+        this.dataObjectStateIndex.put(dataObject.getIdentifier(), dataObject.getState());
 
         return dataObject;
     }
 
     public DataValue registerDataValue(DataValue value) {
         this.dataValues.put(value.getIdentifier(), value);
+        this.dataValueStateIndex.put(value.getIdentifier(), value.getState());
+        this.dataValueOwnerIndex.put(value.getIdentifier(), value.getOwner());
 
         return value;
     }
@@ -103,18 +140,20 @@ public enum SimpleDataManager implements IDataManager {
 
             // Check if the data object belongs to a data model
             if (dataObject.getDataModel() == null) {
-                // Create a new data element
-                DataElement dataElement = new DataElement(dataObject, entity, name, isCollectionElement);
-                dataElement.setType(type);
-                dataElement.setContentType(contentType);
+                synchronized (lockFor(dataObjectId)) {
+                    // Create a new data element
+                    DataElement dataElement = new DataElement(dataObject, entity, name, isCollectionElement);
+                    dataElement.setType(type);
+                    dataElement.setContentType(contentType);
 
-                // Initialize the data element
-                dataElement.initialize();
+                    // Initialize the data element
+                    dataElement.initialize();
 
-                // Register and return the data element
-                this.dataElements.put(dataElement.getIdentifier(), dataElement);
+                    // Register and return the data element
+                    this.dataElements.put(dataElement.getIdentifier(), dataElement);
 
-                result = dataElement;
+                    result = dataElement;
+                }
             } else {
                 throw new IllegalModificationException("Trying to add a new data element '" + name + "' to data " +
                         "object '" + dataObjectId + "' which belongs to a data model (" + dataObject.getDataModel()
@@ -134,35 +173,211 @@ public enum SimpleDataManager implements IDataManager {
             // Resolve the data object
             DataObject dataObject = this.dataObjects.get(dataObjectId);
 
-            // We assume that correlation properties are unique and therefore enable the identification of an
-            // instance.
-            // Check if a data object with the given correlation properties already exists.
-            DataObjectInstance dataObjectInstance = dataObject.getDataObjectInstanceByCorrelationProps
-                    (correlationProperties);
+            // Instantiations of the same data object are serialized, so that two concurrent requests with the same
+            // correlation properties can not both create an instance
+            synchronized (lockFor(dataObjectId)) {
+                // We assume that correlation properties are unique and therefore enable the identification of an
+                // instance.
+                // Check if a data object with the given correlation properties already exists.
+                DataObjectInstance dataObjectInstance = dataObject.getDataObjectInstanceByCorrelationProps
+                        (correlationProperties);
+
+                if (dataObjectInstance == null) {
+                    // Create a new data object instance, if non was found
+                    dataObjectInstance = dataObject.instantiate(createdBy, correlationProperties);
+
+                    // By convention we also directly instantiate all related data elements of the data object and
+                    // associated them to the new data object instance
+                    // TODO: 15.04.2017 Maybe we will change this behavior in a future version again...
+                    for (DataElement element : dataObject.getDataElements()) {
+                        DataElementInstance elmInstance = element.instantiate(dataObjectInstance, createdBy,
+                                correlationProperties);
+
+                        this.dataElementInstances.put(elmInstance.getIdentifier(), elmInstance);
+                        this.dataElementInstanceIndex.put(CorrelationIndex.key(elmInstance), elmInstance
+                                .getIdentifier());
+                    }
+
+                    // Register and return the data element
+                    this.dataObjectInstances.put(dataObjectInstance.getIdentifier(), dataObjectInstance);
+                    this.dataObjectInstanceIndex.put(CorrelationIndex.key(dataObjectInstance), dataObjectInstance
+                            .getIdentifier());
+                }
+
+                result = dataObjectInstance;
+            }
+        }
+
+        return result;
+    }
+
+    @Override
+    public List<DataObjectInstance> instantiateDataObject(String dataObjectId, String createdBy,
+                                                          List<HashMap<String, String>> correlationPropertiesList)
+            throws Exception {
+        List<DataObjectInstance> result = null;
+
+        if (hasDataObject(dataObjectId)) {
+            // Resolve the data object
+            DataObject dataObject = this.dataObjects.get(dataObjectId);
+
+            synchronized (lockFor(dataObjectId)) {
+                // Resolve all existing instances by their correlation properties at once, instead of scanning all
+                // instances of the data object for each set of correlation properties
+                Map<HashMap<String, String>, DataObjectInstance> instances = new HashMap<>();
+                for (DataObjectInstance instance : dataObject.getDataObjectInstances()) {
+                    instances.putIfAbsent(instance.getCorrelationProperties(), instance);
+                }
 
-            if (dataObjectInstance == null) {
-                // Create a new data object instance, if non was found
-                dataObjectInstance = dataObject.instantiate(createdBy, correlationProperties);
+                // Each set of correlation properties without an instance is instantiated once, even if it is
+                // contained several times
+                Set<HashMap<String, String>> missing = new LinkedHashSet<>();
+                for (HashMap<String, String> correlationProperties : correlationPropertiesList) {
+                    HashMap<String, String> properties = correlationProperties != null ? correlationProperties :
+                            new HashMap<>();
 
-                // By convention we also directly instantiate all related data elements of the data object and associated
-                // them to the new data object instance
-                // TODO: 15.04.2017 Maybe we will change this behavior in a future version again...
-                for (DataElement element : dataObject.getDataElements()) {
-                    DataElementInstance elmInstance = element.instantiate(dataObjectInstance, createdBy, correlationProperties);
+                    if (!instances.containsKey(properties)) {
+                        missing.add(properties);
+                    }
+                }
+
+                if (!missing.isEmpty()) {
+                    // Collect all lifecycle events of the new instances and pass them on as one batch
+                    IAuditingService auditing = AuditingServiceFactory.createAuditingService();
+                    auditing.startEventBatch();
+
+                    try {
+                        List<DataObjectInstance> created = dataObject.instantiate(createdBy, new ArrayList<>
+                                (missing));
+
+                        // By convention we also directly instantiate all related data elements of the data object
+                        Map<String, DataElementInstance> elementInstances = new LinkedHashMap<>();
+                        for (DataElement element : dataObject.getDataElements()) {
+                            for (DataElementInstance elmInstance : element.instantiate(created, createdBy)) {
+                                elementInstances.put(elmInstance.getIdentifier(), elmInstance);
+                            }
+                        }
+
+                        Map<String, DataObjectInstance> objectInstances = new LinkedHashMap<>();
+                        for (DataObjectInstance instance : created) {
+                            objectInstances.put(instance.getIdentifier(), instance);
+                            instances.put(instance.getCorrelationProperties(), instance);
+                        }
+
+                        // Register and persist all new instances in batches
+                        this.dataElementInstances.putAll(elementInstances);
+                        this.dataObjectInstances.putAll(objectInstances);
+
+                        for (DataElementInstance elmInstance : elementInstances.values()) {
+                            this.dataElementInstanceIndex.put(CorrelationIndex.key(elmInstance), elmInstance
+                                    .getIdentifier());
+                        }
+                        for (DataObjectInstance instance : created) {
+                            this.dataObjectInstanceIndex.put(CorrelationIndex.key(instance), instance.getIdentifier());
+                        }
+                    } finally {
+                        auditing.finishEventBatch();
+                    }
+                }
 
-                    this.dataElementInstances.put(elmInstance.getIdentifier(), elmInstance);
+                result = new ArrayList<>(correlationPropertiesList.size());
+                for (HashMap<String, String> correlationProperties : correlationPropertiesList) {
+                    result.add(instances.get(correlationProperties != null ? correlationProperties : new
+                            HashMap<String, String>()));
                 }
+            }
+        }
+
+        return result;
+    }
+
+    @Override
+    public List<DataValue> addDataValuesToDataElementInstance(String dataElementInstanceId, Map<DataValue,
+            InputStream> dataValues) throws Exception {
+        List<DataValue> result = null;
+
+        if (hasDataElementInstance(dataElementInstanceId)) {
+            DataElementInstance instance = this.dataElementInstances.get(dataElementInstanceId);
 
-                // Register and return the data element
-                this.dataObjectInstances.put(dataObjectInstance.getIdentifier(), dataObjectInstance);
+            if (!instance.getDataElement().getIsCollectionElement()) {
+                throw new IllegalArgumentException("Multiple data values can only be added to instances of " +
+                        "collection data elements, but the data element instance (" + dataElementInstanceId + ") " +
+                        "belongs to a simple data element.");
             }
 
-            result = dataObjectInstance;
+            synchronized (lockFor(instance.getDataElement().getDataObject().getIdentifier())) {
+                // Collect all events of the new data values and pass them on as one batch
+                IAuditingService auditing = AuditingServiceFactory.createAuditingService();
+                auditing.startEventBatch();
+
+                Map<String, DataValue> values = new LinkedHashMap<>();
+                try {
+                    // Stream the payloads to the data source before the data values are associated, so that only
+                    // the data values themselves are persisted with their data
+                    for (Map.Entry<DataValue, InputStream> entry : dataValues.entrySet()) {
+                        DataValue value = entry.getKey();
+                        values.put(value.getIdentifier(), value);
+
+                        value.setDataFromStream(entry.getValue());
+                    }
+
+                    // Register and persist all new data values with their association in batches before they are
+                    // added to the data element instance. Otherwise, each persisted data value would contain all
+                    // other new data values of the data element instance.
+                    for (DataValue value : values.values()) {
+                        value.addDataElementInstance(instance);
+                    }
+                    this.dataValues.putAll(values);
+
+                    instance.addDataValues(values.values());
+
+                    for (DataValue value : values.values()) {
+                        this.dataValueStateIndex.put(value.getIdentifier(), value.getState());
+                        this.dataValueOwnerIndex.put(value.getIdentifier(), value.getOwner());
+                    }
+
+                    result = new ArrayList<>(values.values());
+                } catch (Exception e) {
+                    // Delete all data values created so far, so that neither they nor their payloads are orphaned at
+                    // the data source
+                    for (DataValue value : values.values()) {
+                        try {
+                            removeCreatedDataValue(instance, value);
+                        } catch (Exception cleanupException) {
+                            e.addSuppressed(cleanupException);
+                        }
+                    }
+
+                    throw e;
+                } finally {
+                    auditing.finishEventBatch();
+                }
+            }
         }
 
         return result;
     }
 
+    private void removeCreatedDataValue(DataElementInstance instance, DataValue value) throws Exception {
+        if (instance.getDataValues().contains(value)) {
+            instance.removeDataValue(value);
+        } else {
+            value.removeAssociationWithDataElementInstance(instance);
+        }
+
+        // Delete the payload of the data value
+        if (!value.isDeleted()) {
+            value.delete();
+        }
+
+        // Remove the data value from the map or, if it was not registered yet, at least from the data source
+        this.dataValueStateIndex.remove(value.getIdentifier());
+        this.dataValueOwnerIndex.remove(value.getIdentifier());
+        if (this.dataValues.remove(value.getIdentifier()) == null) {
+            value.deleteFromDS();
+        }
+    }
+
     public DataDependencyGraph getDataDependencyGraph(String dataDependencyGraphId) {
         return this.dataDependencyGraphs.get(dataDependencyGraphId);
     }
@@ -192,54 +407,43 @@ public enum SimpleDataManager implements IDataManager {
     }
 
     public List<DataDependencyGraph> getAllDataDependencyGraphs(String targetNamespace, String name, String entity) {
-        Stream<DataDependencyGraph> stream = dataDependencyGraphs.values().stream();
-
-        if (targetNamespace != null && !targetNamespace.isEmpty()) {
-            stream =
-                    stream.filter(d -> (d.getTargetNamespace() != null && d.getTargetNamespace().toUpperCase().contains(targetNamespace
-                    .toUpperCase())));
-        }
-
-        if (name != null && !name.isEmpty()) {
-            stream = stream.filter(d -> (d.getName() != null && d.getName().toUpperCase().contains(name
-                    .toUpperCase())));
-        }
-
-        if (entity != null && !entity.isEmpty()) {
-            stream = stream.filter(d -> (d.getEntity() != null && d.getEntity().toUpperCase().contains(entity
-                    .toUpperCase())));
-        }
-
-        List<DataDependencyGraph> result = stream.collect(Collectors.toList());
+        List<DataDependencyGraph> result = filterDataDependencyGraphs(dataDependencyGraphs.values().stream(),
+                targetNamespace, name, entity).collect(Collectors.toList());
 
         // Return an unmodifiable copy of the list
         return Collections.unmodifiableList(result);
     }
 
-    public List<DataModel> getAllDataModels(String targetNamespace, String name, String entity) {
-        Stream<DataModel> stream = dataModels.values().stream();
-
-        if (targetNamespace != null && !targetNamespace.isEmpty()) {
-            stream = stream.filter(d -> (d.getTargetNamespace() != null && d.getTargetNamespace().toUpperCase().contains(targetNamespace
-                    .toUpperCase())));
-        }
+    @Override
+    public ResultPage<DataDependencyGraph> getDataDependencyGraphPage(String targetNamespace, String name, String
+            entity, int start, int size) {
+        buildIndexes();
 
-        if (name != null && !name.isEmpty()) {
-            stream = stream.filter(d -> (d.getName() != null && d.getName().toUpperCase().contains(name
-                    .toUpperCase())));
-        }
+        Set<String> identifiers = dataDependencyGraphStateIndex.identifiers();
 
-        if (entity != null && !entity.isEmpty()) {
-            stream = stream.filter(d -> (d.getEntity() != null && d.getEntity().toUpperCase().contains(entity
-                    .toUpperCase())));
-        }
+        return page(filterDataDependencyGraphs(lookup(dataDependencyGraphs, identifiers), targetNamespace, name,
+                entity), start, size, identifiers.size());
+    }
 
-        List<DataModel> result = stream.collect(Collectors.toList());
+    public List<DataModel> getAllDataModels(String targetNamespace, String name, String entity) {
+        List<DataModel> result = filterDataModels(dataModels.values().stream(), targetNamespace, name, entity)
+                .collect(Collectors.toList());
 
         // Return an unmodifiable copy of the list
         return Collections.unmodifiableList(result);
     }
 
+    @Override
+    public ResultPage<DataModel> getDataModelPage(String targetNamespace, String name, String entity, int start, int
+            size) {
+        buildIndexes();
+
+        Set<String> identifiers = dataModelStateIndex.identifiers();
+
+        return page(filterDataModels(lookup(dataModels, identifiers), targetNamespace, name, entity), start, size,
+                identifiers.size());
+    }
+
     public List<DataObject> getAllDataObjectsOfDataModel(String dataModelId) {
         List<DataObject> result = Collections.emptyList();
         if (hasDataModel(dataModelId)) {
@@ -291,89 +495,117 @@ public enum SimpleDataManager implements IDataManager {
     }
 
     public List<DataElement> getAllDataElements(String name, String status) {
-        Stream<DataElement> stream = dataElements.values().stream();
+        buildIndexes();
 
-        if (name != null && !name.isEmpty()) {
-            stream = stream.filter(d -> (d.getName() != null && d.getName().toUpperCase().contains(name
-                    .toUpperCase())));
-        }
-
-        if (status != null && !status.isEmpty()) {
-            stream = stream.filter(d -> (d.getState() != null && d.getState().toUpperCase().equals(status.toUpperCase())));
-        }
-
-        List<DataElement> result = stream.collect(Collectors.toList());
+        List<DataElement> result = filterDataElements(status != null && !status.isEmpty() ? lookup(dataElements,
+                dataElementStateIndex.get(status)) : dataElements.values().stream(), name, status).collect
+                (Collectors.toList());
 
         // Return an unmodifiable copy of the list
         return Collections.unmodifiableList(result);
     }
 
-    public List<DataValue> getAllDataValues(String status, String createdBy) {
-        Stream<DataValue> stream = dataValues.values().stream();
+    @Override
+    public ResultPage<DataElement> getDataElementPage(String name, String status, int start, int size) {
+        buildIndexes();
 
-        if (status != null && !status.isEmpty()) {
-            stream = stream.filter(d -> (d.getState() != null && d.getState().toUpperCase().equals(status.toUpperCase())));
-        }
+        Set<String> identifiers = status != null && !status.isEmpty() ? dataElementStateIndex.get(status) :
+                dataElementStateIndex.identifiers();
 
-        if (createdBy != null && !createdBy.isEmpty()) {
-            stream = stream.filter(d -> (d.getOwner() != null && d.getOwner().contains(createdBy)));
-        }
+        return page(filterDataElements(lookup(dataElements, identifiers), name, status), start, size, identifiers
+                .size());
+    }
+
+    public List<DataValue> getAllDataValues(String status, String createdBy) {
+        buildIndexes();
 
-        List<DataValue> result = stream.collect(Collectors.toList());
+        List<DataValue> result = filterDataValues((status != null && !status.isEmpty()) || (createdBy != null &&
+                !createdBy.isEmpty()) ? lookup(dataValues, getDataValueIdentifiers(status, createdBy)) : dataValues
+                .values().stream(), status, createdBy).collect(Collectors.toList());
 
         // Return an unmodifiable copy of the list
         return Collections.unmodifiableList(result);
     }
 
-    public List<DataObject> getAllDataObjects(String name, String entity, String status) {
-        Stream<DataObject> stream = dataObjects.values().stream();
+    @Override
+    public ResultPage<DataValue> getDataValuePage(String status, String createdBy, int start, int size) {
+        buildIndexes();
 
-        if (name != null && !name.isEmpty()) {
-            stream = stream.filter(d -> (d.getName() != null && d.getName().contains(name)));
-        }
+        Set<String> identifiers = getDataValueIdentifiers(status, createdBy);
 
-        if (entity != null && !entity.isEmpty()) {
-            stream = stream.filter(d -> (d.getEntity() != null && d.getEntity().contains(entity)));
-        }
+        return page(filterDataValues(lookup(dataValues, identifiers), status, createdBy), start, size, identifiers
+                .size());
+    }
 
-        if (status != null && !status.isEmpty()) {
-            stream = stream.filter(d -> (d.getState() != null && d.getState().toUpperCase().equals(status.toUpperCase())));
-        }
+    public List<DataObject> getAllDataObjects(String name, String entity, String status) {
+        buildIndexes();
 
-        List<DataObject> result = stream.collect(Collectors.toList());
+        List<DataObject> result = filterDataObjects(status != null && !status.isEmpty() ? lookup(dataObjects,
+                dataObjectStateIndex.get(status)) : dataObjects.values().stream(), name, entity, status).collect
+                (Collectors.toList());
 
         // Return an unmodifiable copy of the list
         return Collections.unmodifiableList(result);
     }
 
     @Override
-    public List<DataObjectInstance> getAllDataObjectInstances(String status) {
-        Stream<DataObjectInstance> stream = dataObjectInstances.values().stream();
+    public ResultPage<DataObject> getDataObjectPage(String name, String entity, String status, int start, int size) {
+        buildIndexes();
 
-        if (status != null && !status.isEmpty()) {
-            stream = stream.filter(d -> (d.getState() != null && d.getState().toUpperCase().equals(status.toUpperCase())));
-        }
+        Set<String> identifiers = status != null && !status.isEmpty() ? dataObjectStateIndex.get(status) :
+                dataObjectStateIndex.identifiers();
 
-        List<DataObjectInstance> result = stream.collect(Collectors.toList());
+        return page(filterDataObjects(lookup(dataObjects, identifiers), name, entity, status), start, size,
+                identifiers.size());
+    }
+
+    @Override
+    public List<DataObjectInstance> getAllDataObjectInstances(String status) {
+        buildIndexes();
+
+        List<DataObjectInstance> result = filterByState(status != null && !status.isEmpty() ? lookup
+                (dataObjectInstances, dataObjectInstanceStateIndex.get(status)) : dataObjectInstances.values()
+                .stream(), status, DataObjectInstance::getState).collect(Collectors.toList());
 
         // Return an unmodifiable copy of the list
         return Collections.unmodifiableList(result);
     }
 
     @Override
-    public List<DataElementInstance> getAllDataElementInstances(String status) {
-        Stream<DataElementInstance> stream = dataElementInstances.values().stream();
+    public ResultPage<DataObjectInstance> getDataObjectInstancePage(String status, int start, int size) {
+        buildIndexes();
 
-        if (status != null && !status.isEmpty()) {
-            stream = stream.filter(d -> (d.getState() != null && d.getState().toUpperCase().equals(status.toUpperCase())));
-        }
+        Set<String> identifiers = status != null && !status.isEmpty() ? dataObjectInstanceStateIndex.get(status) :
+                dataObjectInstanceStateIndex.identifiers();
+
+        return page(filterByState(lookup(dataObjectInstances, identifiers), status,
+                DataObjectInstance::getState), start, size, identifiers.size());
+    }
 
-        List<DataElementInstance> result = stream.collect(Collectors.toList());
+    @Override
+    public List<DataElementInstance> getAllDataElementInstances(String status) {
+        buildIndexes();
+
+        List<DataElementInstance> result = filterByState(status != null && !status.isEmpty() ? lookup
+                (dataElementInstances, dataElementInstanceStateIndex.get(status)) : dataElementInstances.values()
+                .stream(), status, DataElementInstance::getState).collect(Collectors.toList());
 
         // Return an unmodifiable copy of the list
         return Collections.unmodifiableList(result);
     }
 
+    @Override
+    public ResultPage<DataElementInstance> getDataElementInstancePage(String status, int start, int size) {
+        buildIndexes();
+
+        Set<String> identifiers = status != null && !status.isEmpty() ? dataElementInstanceStateIndex.get(status) :
+                dataElementInstanceStateIndex.identifiers();
+
+        return page(filterByState(lookup(dataElementInstances, identifiers), status,
+                DataElementInstance::getState), start, size, identifiers
+                .size());
+    }
+
     public DataElementInstance getDataElementInstanceFromDataObjectInstanceByName(String dataObjectInstanceId, String
             dataElementName) {
         DataElementInstance result = null;
@@ -395,7 +627,7 @@ public enum SimpleDataManager implements IDataManager {
             Stream<DataElementInstance> stream = dataObjectInstances.get(dataObjectInstanceId).getDataElementInstances().stream();
 
             if (status != null && !status.isEmpty()) {
-                stream = stream.filter(d -> (d.getState() != null && d.getState().toUpperCase().equals(status.toUpperCase())));
+                stream = stream.filter(d -> (d.getState() != null && d.getState().equalsIgnoreCase(status)));
             }
 
             result = stream.collect(Collectors.toList());
@@ -407,47 +639,21 @@ public enum SimpleDataManager implements IDataManager {
 
     public DataObjectInstance queryDataObjectInstance(String dataModelNamespace, String dataModelName, String
             dataObjectName, HashMap<String, String> correlationProperties) {
-        DataObjectInstance result = null;
+        buildIndexes();
 
-        Iterator<DataObjectInstance> iter = this.dataObjectInstances.values().iterator();
-        while (iter.hasNext() && result == null) {
-            DataObjectInstance inst = iter.next();
-
-            // First, check if the correlation properties are equal since they are the main property for correlation
-            if (inst.getCorrelationProperties().equals(correlationProperties) && inst.getDataObject().getName().equals(dataObjectName)) {
-                // Check all other parameters, normally they should be equal by default
-                if (inst.getDataObject().getDataModel() != null && inst.getDataObject().getDataModel().getName().equals
-                        (dataModelName) && inst.getDataObject().getDataModel().getTargetNamespace().equals
-                        (dataModelNamespace)) {
-                    result = inst;
-                }
-            }
-        }
+        String instanceId = this.dataObjectInstanceIndex.get(new CorrelationIndex.Key(dataModelNamespace,
+                dataModelName, dataObjectName, null, correlationProperties));
 
-        return result;
+        return instanceId != null ? this.dataObjectInstances.get(instanceId) : null;
     }
 
     public DataElementInstance queryDataElementInstance(String dataModelNamespace, String dataModelName, String dataObjectName, String dataElementName, HashMap<String, String> correlationProperties) {
-        DataElementInstance result = null;
+        buildIndexes();
 
-        Iterator<DataElementInstance> iter = this.dataElementInstances.values().iterator();
-        while (iter.hasNext() && result == null) {
-            DataElementInstance inst = iter.next();
-
-            // First, check if the correlation properties are equal since they are the main property for correlation
-            if (inst.getCorrelationProperties().equals(correlationProperties) && inst.getDataElement().getName().equals(dataElementName)) {
-                // Check all other parameters, normally they should be equal by default
-                if (inst.getDataElement().getDataObject() != null && inst.getDataElement().getDataObject().getName().equals
-                        (dataObjectName) && inst
-                        .getDataElement().getDataObject().getDataModel() != null && inst.getDataElement().getDataObject().getDataModel().getName().equals
-                        (dataModelName) && inst.getDataElement().getDataObject().getDataModel().getTargetNamespace().equals
-                        (dataModelNamespace)) {
-                    result = inst;
-                }
-            }
-        }
+        String instanceId = this.dataElementInstanceIndex.get(new CorrelationIndex.Key(dataModelNamespace,
+                dataModelName, dataObjectName, dataElementName, correlationProperties));
 
-        return result;
+        return instanceId != null ? this.dataElementInstances.get(instanceId) : null;
     }
 
     public boolean hasDataDependencyGraph(String graphId) {
@@ -512,15 +718,17 @@ public enum SimpleDataManager implements IDataManager {
 
             // Check if the data object belongs to a data model
             if (value.getDataModel() == null) {
-                if (name != null && !name.isEmpty() && !name.equals(value.getName())) {
-                    value.setName(name);
-                }
-                if (entity != null && !entity.isEmpty() && !entity.equals(value.getEntity())) {
-                    value.setEntity(entity);
-                }
+                synchronized (lockFor(dataObjectId)) {
+                    if (name != null && !name.isEmpty() && !name.equals(value.getName())) {
+                        value.setName(name);
+                    }
+                    if (entity != null && !entity.isEmpty() && !entity.equals(value.getEntity())) {
+                        value.setEntity(entity);
+                    }
 
-                // Persist the changes at the data source
-                value.storeToDS();
+                    // Persist the changes at the data source
+                    value.storeToDS();
+                }
             } else {
                 throw new IllegalModificationException("Trying to update data object '" + dataObjectId + "' which " +
                         "belongs to a data model (" + value.getDataModel().getIdentifier() + ") and is therefore " +
@@ -542,18 +750,20 @@ public enum SimpleDataManager implements IDataManager {
 
             // Check if the data object belongs to a data model
             if (value.getDataObject().getDataModel() == null) {
-                if (name != null && !name.isEmpty() && !name.equals(value.getName())) {
-                    value.setName(name);
-                }
-                if (type != null && !type.isEmpty() && !type.equals(value.getType())) {
-                    value.setType(type);
-                }
-                if (contentType != null && !contentType.isEmpty() && !contentType.equals(value.getContentType())) {
-                    value.setContentType(contentType);
-                }
+                synchronized (lockFor(value.getDataObject().getIdentifier())) {
+                    if (name != null && !name.isEmpty() && !name.equals(value.getName())) {
+                        value.setName(name);
+                    }
+                    if (type != null && !type.isEmpty() && !type.equals(value.getType())) {
+                        value.setType(type);
+                    }
+                    if (contentType != null && !contentType.isEmpty() && !contentType.equals(value.getContentType())) {
+                        value.setContentType(contentType);
+                    }
 
-                // Persist the changes at the data source
-                value.storeToDS();
+                    // Persist the changes at the data source
+                    value.storeToDS();
+                }
             } else {
                 throw new IllegalModificationException("Trying to update data element '" + dataElementId + "' which " +
                         "belongs to a data model (" + value.getDataObject().getDataModel().getIdentifier() + ") and is therefore" +
@@ -640,11 +850,13 @@ public enum SimpleDataManager implements IDataManager {
 
             // Check if the data object belongs to a data model
             if (result.getDataModel() == null) {
-                // Try to delete the data object
-                result.delete();
+                synchronized (lockFor(dataObjectId)) {
+                    // Try to delete the data object
+                    result.delete();
 
-                // After the data object is successfully deleted, we can remove it from the map
-                this.dataObjects.remove(dataObjectId);
+                    // After the data object is successfully deleted, we can remove it from the map
+                    this.dataObjects.remove(dataObjectId);
+                }
             } else {
                 throw new IllegalModificationException("Trying to delete data object '" + dataObjectId + "' which " +
                         "belongs to a data model (" + result.getDataModel()
@@ -662,11 +874,13 @@ public enum SimpleDataManager implements IDataManager {
             if (result.getDataObject().getDataModel() == null) {
                 DataObject parent = result.getDataObject();
 
-                // Try to delete the element from its parent data object
-                parent.deleteDataElement(result);
+                synchronized (lockFor(parent.getIdentifier())) {
+                    // Try to delete the element from its parent data object
+                    parent.deleteDataElement(result);
 
-                // After the data element is successfully deleted, we can remove it from the map
-                this.dataElements.remove(dataElementId);
+                    // After the data element is successfully deleted, we can remove it from the map
+                    this.dataElements.remove(dataElementId);
+                }
             } else {
                 throw new IllegalModificationException("Trying to delete data element '" + dataElementId + "' which " +
                         "belongs to a data model (" + result.getDataObject().getDataModel()
@@ -680,11 +894,14 @@ public enum SimpleDataManager implements IDataManager {
         if (hasDataObjectInstance(instanceId)) {
             DataObjectInstance result = this.dataObjectInstances.get(instanceId);
 
-            // Try to delete the data object instance
-            result.delete();
+            synchronized (lockFor(result.getDataObject().getIdentifier())) {
+                // Try to delete the data object instance
+                result.delete();
 
-            // After the data object instance is successfully deleted, we can remove it from the map
-            this.dataObjectInstances.remove(instanceId);
+                // After the data object instance is successfully deleted, we can remove it from the map
+                this.dataObjectInstances.remove(instanceId);
+                this.dataObjectInstanceIndex.remove(instanceId);
+            }
         }
     }
 
@@ -710,9 +927,173 @@ public enum SimpleDataManager implements IDataManager {
         dataElementInstances.clear();
         dataValues.clear();
 
+        synchronized (this.dataObjectInstanceIndex) {
+            dataObjectInstanceIndex.clear();
+            dataElementInstanceIndex.clear();
+            dataDependencyGraphStateIndex.clear();
+            dataModelStateIndex.clear();
+            dataObjectStateIndex.clear();
+            dataElementStateIndex.clear();
+            dataObjectInstanceStateIndex.clear();
+            dataElementInstanceStateIndex.clear();
+            dataValueStateIndex.clear();
+            dataValueOwnerIndex.clear();
+            isIndexBuilt = false;
+        }
+
         DataTransformationManagerFactory.INSTANCE.shutdownDataTransformationManagers();
     }
 
+    private static Object lockFor(String dataObjectId) {
+        return locks[(dataObjectId.hashCode() & 0x7FFFFFFF) % locks.length];
+    }
+
+    private void buildIndexes() {
+        if (!isIndexBuilt) {
+            synchronized (this.dataObjectInstanceIndex) {
+                if (!isIndexBuilt) {
+                    // Index all objects loaded from the data source, objects created or changed afterwards are
+                    // indexed on instantiation or through their lifecycle events. With lazy loading enabled, each
+                    // object which is not cached is read once from the data source in batches, but without
+                    // replacing the cached objects.
+                    this.dataDependencyGraphs.scan(graph -> this.dataDependencyGraphStateIndex.put(graph
+                            .getIdentifier(), graph.getState()));
+                    this.dataModels.scan(model -> this.dataModelStateIndex.put(model.getIdentifier(), model
+                            .getState()));
+                    this.dataObjects.scan(dataObject -> this.dataObjectStateIndex.put(dataObject.getIdentifier(),
+                            dataObject.getState()));
+                    this.dataElements.scan(element -> this.dataElementStateIndex.put(element.getIdentifier(),
+                            element.getState()));
+                    this.dataObjectInstances.scan(instance -> {
+                        this.dataObjectInstanceIndex.put(CorrelationIndex.key(instance), instance.getIdentifier());
+                        this.dataObjectInstanceStateIndex.put(instance.getIdentifier(), instance.getState());
+                    });
+                    this.dataElementInstances.scan(instance -> {
+                        this.dataElementInstanceIndex.put(CorrelationIndex.key(instance), instance.getIdentifier());
+                        this.dataElementInstanceStateIndex.put(instance.getIdentifier(), instance.getState());
+                    });
+                    this.dataValues.scan(value -> {
+                        this.dataValueStateIndex.put(value.getIdentifier(), value.getState());
+                        this.dataValueOwnerIndex.put(value.getIdentifier(), value.getOwner());
+                    });
+
+                    isIndexBuilt = true;
+                }
+            }
+        }
+    }
+
+    private static <T extends PersistableObject> Stream<T> lookup(PersistableHashMap<T> map, Set<String>
+            identifiers) {
+        // Resolve the indexed identifiers and skip objects which are not (or no longer) managed by this data manager
+        return identifiers.stream().map(map::get).filter(Objects::nonNull);
+    }
+
+    private static <T> ResultPage<T> page(Stream<T> stream, int start, int size, int estimatedTotal) {
+        // Only the entries up to the requested page are resolved, including one more entry to find out if there is a
+        // next page
+        int pageSize = Math.max(size, 0);
+        List<T> entries = stream.skip(Math.max(start, 1) - 1L).limit(pageSize + 1L).collect(Collectors.toList());
+
+        boolean hasMore = entries.size() > pageSize;
+        if (hasMore) {
+            entries = entries.subList(0, pageSize);
+        }
+
+        return new ResultPage<>(entries, start, hasMore, estimatedTotal);
+    }
+
+    private Set<String> getDataValueIdentifiers(String status, String createdBy) {
+        if (status != null && !status.isEmpty()) {
+            return dataValueStateIndex.get(status);
+        } else if (createdBy != null && !createdBy.isEmpty()) {
+            return dataValueOwnerIndex.getMatching(o -> o.contains(createdBy));
+        } else {
+            return dataValueStateIndex.identifiers();
+        }
+    }
+
+    private static Stream<DataDependencyGraph> filterDataDependencyGraphs(Stream<DataDependencyGraph> stream, String
+            targetNamespace, String name, String entity) {
+        if (targetNamespace != null && !targetNamespace.isEmpty()) {
+            stream =
+                    stream.filter(d -> (d.getTargetNamespace() != null && d.getTargetNamespace().toUpperCase().contains(targetNamespace
+                    .toUpperCase())));
+        }
+
+        if (name != null && !name.isEmpty()) {
+            stream = stream.filter(d -> (d.getName() != null && d.getName().toUpperCase().contains(name
+                    .toUpperCase())));
+        }
+
+        if (entity != null && !entity.isEmpty()) {
+            stream = stream.filter(d -> (d.getEntity() != null && d.getEntity().toUpperCase().contains(entity
+                    .toUpperCase())));
+        }
+
+        return stream;
+    }
+
+    private static Stream<DataModel> filterDataModels(Stream<DataModel> stream, String targetNamespace, String name,
+                                                      String entity) {
+        if (targetNamespace != null && !targetNamespace.isEmpty()) {
+            stream = stream.filter(d -> (d.getTargetNamespace() != null && d.getTargetNamespace().toUpperCase().contains(targetNamespace
+                    .toUpperCase())));
+        }
+
+        if (name != null && !name.isEmpty()) {
+            stream = stream.filter(d -> (d.getName() != null && d.getName().toUpperCase().contains(name
+                    .toUpperCase())));
+        }
+
+        if (entity != null && !entity.isEmpty()) {
+            stream = stream.filter(d -> (d.getEntity() != null && d.getEntity().toUpperCase().contains(entity
+                    .toUpperCase())));
+        }
+
+        return stream;
+    }
+
+    private static Stream<DataElement> filterDataElements(Stream<DataElement> stream, String name, String status) {
+        if (name != null && !name.isEmpty()) {
+            stream = stream.filter(d -> (d.getName() != null && d.getName().toUpperCase().contains(name
+                    .toUpperCase())));
+        }
+
+        return filterByState(stream, status, DataElement::getState);
+    }
+
+    private static Stream<DataValue> filterDataValues(Stream<DataValue> stream, String status, String createdBy) {
+        stream = filterByState(stream, status, DataValue::getState);
+
+        if (createdBy != null && !createdBy.isEmpty()) {
+            stream = stream.filter(d -> (d.getOwner() != null && d.getOwner().contains(createdBy)));
+        }
+
+        return stream;
+    }
+
+    private static Stream<DataObject> filterDataObjects(Stream<DataObject> stream, String name, String entity, String
+            status) {
+        if (name != null && !name.isEmpty()) {
+            stream = stream.filter(d -> (d.getName() != null && d.getName().contains(name)));
+        }
+
+        if (entity != null && !entity.isEmpty()) {
+            stream = stream.filter(d -> (d.getEntity() != null && d.getEntity().contains(entity)));
+        }
+
+        return filterByState(stream, status, DataObject::getState);
+    }
+
+    private static <T> Stream<T> filterByState(Stream<T> stream, String status, Function<T, String> state) {
+        if (status != null && !status.isEmpty()) {
+            stream = stream.filter(d -> (state.apply(d) != null && state.apply(d).equalsIgnoreCase(status)));
+        }
+
+        return stream;
+    }
+
     private void registerContentsOfDataDependencyGraph(DataDependencyGraph graph) {
         // Retrieve the data model generated during compilation
         DataModel model = graph.getDataModel();
@@ -744,29 +1125,72 @@ public enum SimpleDataManager implements IDataManager {
                 break;
             case modelLifecycle:
                 ModelStateChangeEvent modelStateChangeEvent = (ModelStateChangeEvent) event;
+                // Keep the state indexes up-to-date
+                if (modelStateChangeEvent.getNewState() != null) {
+                    String newState = modelStateChangeEvent.getNewState().name();
+
+                    if (modelStateChangeEvent.getModelClass() == DataDependencyGraph.class) {
+                        this.dataDependencyGraphStateIndex.put(modelStateChangeEvent.getIdentifier(), newState);
+                    } else if (modelStateChangeEvent.getModelClass() == DataModel.class) {
+                        this.dataModelStateIndex.put(modelStateChangeEvent.getIdentifier(), newState);
+                    } else if (modelStateChangeEvent.getModelClass() == DataObject.class) {
+                        this.dataObjectStateIndex.put(modelStateChangeEvent.getIdentifier(), newState);
+                    } else if (modelStateChangeEvent.getModelClass() == DataElement.class) {
+                        this.dataElementStateIndex.put(modelStateChangeEvent.getIdentifier(), newState);
+                    }
+                }
+
                 // Remove all deleted model objects from the corresponding maps if they are still contained
                 if (modelStateChangeEvent.getEvent().equals(ModelEvents.delete)) {
                     if (modelStateChangeEvent.getModelClass() == DataDependencyGraph.class) {
                         this.dataDependencyGraphs.remove(modelStateChangeEvent.getIdentifier());
+                        this.dataDependencyGraphStateIndex.remove(modelStateChangeEvent.getIdentifier());
                     } else if (modelStateChangeEvent.getModelClass() == DataModel.class) {
                         this.dataModels.remove(modelStateChangeEvent.getIdentifier());
+                        this.dataModelStateIndex.remove(modelStateChangeEvent.getIdentifier());
                     } else if (modelStateChangeEvent.getModelClass() == DataObject.class) {
                         this.dataObjects.remove(modelStateChangeEvent.getIdentifier());
+                        this.dataObjectStateIndex.remove(modelStateChangeEvent.getIdentifier());
                     } else if (modelStateChangeEvent.getModelClass() == DataElement.class) {
                         this.dataElements.remove(modelStateChangeEvent.getIdentifier());
+                        this.dataElementStateIndex.remove(modelStateChangeEvent.getIdentifier());
                     }
                 }
                 break;
             case instanceLifecycle:
                 InstanceStateChangeEvent instanceStateChangeEvent = (InstanceStateChangeEvent) event;
+                // Keep the state and owner indexes up-to-date
+                if (instanceStateChangeEvent.getNewState() != null) {
+                    String newState = instanceStateChangeEvent.getNewState().name();
+
+                    if (instanceStateChangeEvent.getModelClass() == DataValue.class) {
+                        this.dataValueStateIndex.put(instanceStateChangeEvent.getIdentifier(), newState);
+
+                        if (instanceStateChangeEvent.getEventSource() instanceof DataValue) {
+                            this.dataValueOwnerIndex.put(instanceStateChangeEvent.getIdentifier(), ((DataValue)
+                                    instanceStateChangeEvent.getEventSource()).getOwner());
+                        }
+                    } else if (instanceStateChangeEvent.getModelClass() == DataObjectInstance.class) {
+                        this.dataObjectInstanceStateIndex.put(instanceStateChangeEvent.getIdentifier(), newState);
+                    } else if (instanceStateChangeEvent.getModelClass() == DataElementInstance.class) {
+                        this.dataElementInstanceStateIndex.put(instanceStateChangeEvent.getIdentifier(), newState);
+                    }
+                }
+
                 // Remove all deleted instance objects from the corresponding maps if they are still contained.
                 if (instanceStateChangeEvent.getEvent().equals(InstanceEvents.delete)) {
                     if (instanceStateChangeEvent.getModelClass() == DataValue.class) {
                         this.dataValues.remove(instanceStateChangeEvent.getIdentifier());
+                        this.dataValueStateIndex.remove(instanceStateChangeEvent.getIdentifier());
+                        this.dataValueOwnerIndex.remove(instanceStateChangeEvent.getIdentifier());
                     } else if (instanceStateChangeEvent.getModelClass() == DataObjectInstance.class) {
                         this.dataObjectInstances.remove(instanceStateChangeEvent.getIdentifier());
+                        this.dataObjectInstanceIndex.remove(instanceStateChangeEvent.getIdentifier());
+                        this.dataObjectInstanceStateIndex.remove(instanceStateChangeEvent.getIdentifier());
                     } else if (instanceStateChangeEvent.getModelClass() == DataElementInstance.class) {
                         this.dataElementInstances.remove(instanceStateChangeEvent.getIdentifier());
+                        this.dataElementInstanceIndex.remove(instanceStateChangeEvent.getIdentifier());
+                        this.dataElementInstanceStateIndex.remove(instanceStateChangeEvent.getIdentifier());
                     }
                 }
                 break;
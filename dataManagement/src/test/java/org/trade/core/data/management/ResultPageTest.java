@@ -0,0 +1,114 @@
+/*
+ * Copyright 2017 Michael Hahn
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.trade.core.data.management;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Test class for {@link ResultPage}.
+ */
+public class ResultPageTest {
+
+    private List<String> listing = Arrays.asList("a", "b", "c", "d", "e");
+
+    @Test
+    public void pagesShouldCoverTheListing() throws Exception {
+        ResultPage<String> first = ResultPage.of(listing, 1, 2);
+        assertEquals(Arrays.asList("a", "b"), first.getEntries());
+        assertTrue(first.hasMore());
+        assertEquals(5, first.getEstimatedTotal());
+
+        ResultPage<String> second = ResultPage.of(listing, 3, 2);
+        assertEquals(Arrays.asList("c", "d"), second.getEntries());
+        assertTrue(second.hasMore());
+
+        // The last page is incomplete and has no next page
+        ResultPage<String> last = ResultPage.of(listing, 5, 2);
+        assertEquals(Collections.singletonList("e"), last.getEntries());
+        assertFalse(last.hasMore());
+        assertFalse(last.isBeyondEnd());
+    }
+
+    @Test
+    public void pageEndingWithTheListingShouldHaveNoNextPage() throws Exception {
+        ResultPage<String> page = ResultPage.of(listing, 4, 2);
+
+        assertEquals(Arrays.asList("d", "e"), page.getEntries());
+        assertFalse(page.hasMore());
+
+        page = ResultPage.of(listing, 1, 5);
+        assertEquals(listing, page.getEntries());
+        assertFalse(page.hasMore());
+
+        page = ResultPage.of(listing, 1, Integer.MAX_VALUE);
+        assertEquals(listing, page.getEntries());
+        assertFalse(page.hasMore());
+    }
+
+    @Test
+    public void startBeyondTheEndShouldBeDetected() throws Exception {
+        ResultPage<String> page = ResultPage.of(listing, 6, 2);
+
+        assertTrue(page.getEntries().isEmpty());
+        assertFalse(page.hasMore());
+        assertTrue(page.isBeyondEnd());
+        assertEquals(6, page.getStart());
+
+        assertTrue(ResultPage.of(listing, Integer.MAX_VALUE, 2).isBeyondEnd());
+    }
+
+    @Test
+    public void emptyListingShouldNotBeBeyondItsEnd() throws Exception {
+        ResultPage<String> page = ResultPage.of(Collections.<String>emptyList(), 1, 2);
+
+        assertTrue(page.getEntries().isEmpty());
+        assertFalse(page.hasMore());
+        assertFalse(page.isBeyondEnd());
+
+        page = ResultPage.of(null, 1, 2);
+        assertTrue(page.getEntries().isEmpty());
+        assertEquals(0, page.getEstimatedTotal());
+        assertFalse(page.isBeyondEnd());
+    }
+
+    @Test
+    public void invalidStartAndSizeShouldBeTolerated() throws Exception {
+        // Start indexes below one start at the first entry
+        assertEquals(Arrays.asList("a", "b"), ResultPage.of(listing, 0, 2).getEntries());
+        assertEquals(Arrays.asList("a", "b"), ResultPage.of(listing, -3, 2).getEntries());
+
+        // Pages without size are empty, but indicate the remaining entries
+        ResultPage<String> page = ResultPage.of(listing, 1, 0);
+        assertTrue(page.getEntries().isEmpty());
+        assertTrue(page.hasMore());
+
+        page = ResultPage.of(listing, 1, -1);
+        assertTrue(page.getEntries().isEmpty());
+        assertTrue(page.hasMore());
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void entriesShouldBeUnmodifiable() throws Exception {
+        ResultPage.of(listing, 1, 2).getEntries().clear();
+    }
+}
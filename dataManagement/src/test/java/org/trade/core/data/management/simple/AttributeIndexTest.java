@@ -0,0 +1,112 @@
+/*
+ * Copyright 2017 Michael Hahn
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.trade.core.data.management.simple;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+import static org.junit.Assert.*;
+
+/**
+ * Test class for {@link AttributeIndex}.
+ */
+public class AttributeIndexTest {
+
+    @Test
+    public void valuesShouldBeGroupedIgnoringTheirCase() throws Exception {
+        AttributeIndex index = new AttributeIndex(true);
+        index.put("b", "created");
+        index.put("a", "CREATED");
+        index.put("c", "Initialized");
+
+        assertEquals(Arrays.asList("a", "b"), new ArrayList<>(index.get("Created")));
+        assertEquals(Arrays.asList("c"), new ArrayList<>(index.get("INITIALIZED")));
+        assertEquals(Arrays.asList("a", "b", "c"), new ArrayList<>(index.identifiers()));
+        assertTrue(index.get("archived").isEmpty());
+    }
+
+    @Test
+    public void valuesShouldBeCaseSensitiveIfRequested() throws Exception {
+        AttributeIndex index = new AttributeIndex(false);
+        index.put("a", "hahnml");
+
+        assertEquals(Arrays.asList("a"), new ArrayList<>(index.get("hahnml")));
+        assertTrue(index.get("HAHNML").isEmpty());
+        assertEquals(Arrays.asList("a"), new ArrayList<>(index.getMatching(v -> v.contains("hahn"))));
+        assertTrue(index.getMatching(v -> v.contains("HAHN")).isEmpty());
+    }
+
+    @Test
+    public void changedValuesShouldMoveTheObject() throws Exception {
+        AttributeIndex index = new AttributeIndex(true);
+        index.put("a", "CREATED");
+        index.put("a", "INITIALIZED");
+
+        assertTrue(index.get("CREATED").isEmpty());
+        assertEquals(Arrays.asList("a"), new ArrayList<>(index.get("INITIALIZED")));
+        assertEquals(1, index.size());
+
+        // Indexing the same value again does not change anything
+        index.put("a", "initialized");
+        assertEquals(Arrays.asList("a"), new ArrayList<>(index.get("INITIALIZED")));
+        assertEquals(1, index.size());
+    }
+
+    @Test
+    public void objectsWithoutValueShouldOnlyBeProvidedAsIdentifiers() throws Exception {
+        AttributeIndex index = new AttributeIndex(true);
+        index.put("a", "CREATED");
+        index.put("b", null);
+
+        assertEquals(Arrays.asList("a", "b"), new ArrayList<>(index.identifiers()));
+        assertEquals(Arrays.asList("a"), new ArrayList<>(index.getMatching(v -> true)));
+
+        // Removing the value of an object keeps the object itself
+        index.put("a", null);
+        assertTrue(index.get("CREATED").isEmpty());
+        assertEquals(Arrays.asList("a", "b"), new ArrayList<>(index.identifiers()));
+
+        index.put("b", "CREATED");
+        assertEquals(Arrays.asList("b"), new ArrayList<>(index.get("CREATED")));
+    }
+
+    @Test
+    public void removedObjectsShouldNotBeProvided() throws Exception {
+        AttributeIndex index = new AttributeIndex(true);
+        index.put("a", "CREATED");
+        index.put("b", "CREATED");
+        index.put("c", null);
+
+        index.remove("a");
+        index.remove("c");
+        index.remove("unknown");
+
+        assertEquals(Arrays.asList("b"), new ArrayList<>(index.get("CREATED")));
+        assertEquals(Arrays.asList("b"), new ArrayList<>(index.identifiers()));
+
+        // A removed object is indexed again like a new one
+        index.put("a", "INITIALIZED");
+        assertEquals(Arrays.asList("a"), new ArrayList<>(index.get("INITIALIZED")));
+        assertEquals(Arrays.asList("a", "b"), new ArrayList<>(index.identifiers()));
+
+        index.clear();
+        assertEquals(0, index.size());
+        assertTrue(index.get("CREATED").isEmpty());
+    }
+}
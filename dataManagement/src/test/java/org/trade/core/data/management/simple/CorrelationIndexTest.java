@@ -0,0 +1,101 @@
+/*
+ * Copyright 2017 Michael Hahn
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.trade.core.data.management.simple;
+
+import org.junit.Test;
+import org.trade.core.model.data.DataObject;
+import org.trade.core.model.data.instance.DataObjectInstance;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+/**
+ * Test class for {@link CorrelationIndex}.
+ */
+public class CorrelationIndexTest {
+
+    @Test
+    public void keysShouldNotDependOnThePropertyOrder() throws Exception {
+        Map<String, String> properties = new LinkedHashMap<>();
+        properties.put("customerId", "1234");
+        properties.put("orderId", "5678");
+
+        Map<String, String> reversed = new LinkedHashMap<>();
+        reversed.put("orderId", "5678");
+        reversed.put("customerId", "1234");
+
+        CorrelationIndex.Key key = new CorrelationIndex.Key("ns", "model", "object", null, properties);
+
+        assertEquals(key, new CorrelationIndex.Key("ns", "model", "object", null, reversed));
+        assertEquals(key.hashCode(), new CorrelationIndex.Key("ns", "model", "object", null, reversed).hashCode());
+        assertNotEquals(key, new CorrelationIndex.Key("ns", "model", "object", "element", reversed));
+        assertNotEquals(key, new CorrelationIndex.Key("otherNs", "model", "object", null, reversed));
+    }
+
+    @Test
+    public void keysShouldNotChangeWithTheProperties() throws Exception {
+        Map<String, String> properties = new HashMap<>();
+        properties.put("customerId", "1234");
+
+        CorrelationIndex.Key key = new CorrelationIndex.Key("ns", "model", "object", null, properties);
+        CorrelationIndex index = new CorrelationIndex();
+        index.put(key, "instance1");
+
+        properties.put("customerId", "4321");
+
+        assertEquals("instance1", index.get(key));
+        assertNull(index.get(new CorrelationIndex.Key("ns", "model", "object", null, properties)));
+
+        properties.put("customerId", "1234");
+        assertEquals("instance1", index.get(new CorrelationIndex.Key("ns", "model", "object", null, properties)));
+    }
+
+    @Test
+    public void firstIndexedInstanceShouldBeFound() throws Exception {
+        CorrelationIndex.Key key = new CorrelationIndex.Key("ns", "model", "object", null, new HashMap<>());
+        CorrelationIndex index = new CorrelationIndex();
+
+        index.put(key, "instance1");
+        index.put(key, "instance2");
+        index.put(null, "instance3");
+
+        assertEquals("instance1", index.get(key));
+        assertEquals(1, index.size());
+
+        // Removing an instance which is not indexed does not remove the indexed one
+        index.remove("instance2");
+        assertEquals("instance1", index.get(key));
+
+        index.remove("instance1");
+        assertNull(index.get(key));
+        assertEquals(0, index.size());
+
+        // The key can be used by another instance afterwards
+        index.put(key, "instance2");
+        assertEquals("instance2", index.get(key));
+    }
+
+    @Test
+    public void instancesWithoutDataModelShouldHaveNoKey() throws Exception {
+        DataObject dataObject = new DataObject("someEntity", "dataObject1");
+
+        assertNull(CorrelationIndex.key(new DataObjectInstance(dataObject, "owner", new HashMap<>())));
+    }
+}
@@ -0,0 +1,374 @@
+/*
+ * Copyright 2017 Michael Hahn
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.trade.core.data.management.simple;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.trade.core.data.management.ResultPage;
+import org.trade.core.model.ModelConstants;
+import org.trade.core.model.data.DataElement;
+import org.trade.core.model.data.DataModel;
+import org.trade.core.model.data.DataObject;
+import org.trade.core.model.data.DataValue;
+import org.trade.core.model.data.instance.DataElementInstance;
+import org.trade.core.model.data.instance.DataObjectInstance;
+import org.trade.core.persistence.IPersistenceProvider;
+import org.trade.core.persistence.local.PersistenceProviderRegistry;
+import org.trade.core.utils.TraDEConfiguration;
+import org.trade.core.utils.TraDEProperties;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Test class for {@link SimpleDataManager}.
+ */
+public class SimpleDataManagerTest {
+
+    private SimpleDataManager manager = SimpleDataManager.INSTANCE;
+
+    private Path directory;
+
+    @Before
+    public void configurePersistence() throws Exception {
+        directory = Files.createTempDirectory("tradeTest");
+
+        TraDEProperties properties = new TraDEProperties();
+        properties.setProperty(TraDEProperties.PROPERTY_DATA_PERSIST_MODE, "FILE");
+        properties.setProperty(TraDEProperties.PROPERTY_DATA_PERSIST_FILE_DIRECTORY, directory.toString());
+        TraDEConfiguration.INSTANCE.update(properties);
+        PersistenceProviderRegistry.INSTANCE.destroyAll();
+
+        // Drop all objects loaded from the previously configured data source
+        manager.clearCachedObjects();
+    }
+
+    @After
+    public void resetPersistence() throws Exception {
+        manager.clearCachedObjects();
+        PersistenceProviderRegistry.INSTANCE.destroyAll();
+        TraDEConfiguration.INSTANCE.reload();
+
+        try (Stream<Path> files = Files.walk(directory)) {
+            for (Path file : files.sorted(Comparator.reverseOrder()).collect(Collectors.toList())) {
+                Files.delete(file);
+            }
+        }
+    }
+
+    @Test
+    public void failingBulkAdditionShouldDeleteCreatedDataValues() throws Exception {
+        DataElementInstance elementInstance = createCollectionElementInstance();
+
+        DataValue first = new DataValue("owner", "first");
+        DataValue second = new DataValue("owner", "second");
+
+        Map<DataValue, InputStream> dataValues = new LinkedHashMap<>();
+        dataValues.put(first, new ByteArrayInputStream("someData".getBytes()));
+        dataValues.put(second, new InputStream() {
+            @Override
+            public int read() throws IOException {
+                throw new IOException("Broken stream");
+            }
+        });
+
+        try {
+            manager.addDataValuesToDataElementInstance(elementInstance.getIdentifier(), dataValues);
+            fail("The broken stream should cause an exception.");
+        } catch (IOException e) {
+            assertEquals("Broken stream", e.getMessage());
+        }
+
+        assertTrue(elementInstance.getDataValues().isEmpty());
+        assertTrue(first.isDeleted());
+
+        for (DataValue value : dataValues.keySet()) {
+            assertFalse(manager.hasDataValue(value.getIdentifier()));
+            assertTrue(value.getDataElementInstances().isEmpty());
+        }
+
+        // Neither the data values nor the payload of the first one are left behind at the data source
+        IPersistenceProvider<DataValue> persistProv = PersistenceProviderRegistry.INSTANCE.getProvider(DataValue
+                .class);
+        assertTrue(persistProv.loadAllIdentifiers().isEmpty());
+        assertEquals(0L, persistProv.getBinaryDataSize(ModelConstants.DATA_VALUE__DATA_COLLECTION, first
+                .getIdentifier()));
+        assertTrue(manager.getAllDataValues(null, null).isEmpty());
+    }
+
+    @Test
+    public void stateIndexShouldFollowLifecycleEvents() throws Exception {
+        DataValue value = manager.registerDataValue(new DataValue("owner", "value"));
+
+        assertEquals(1, manager.getAllDataValues("created", null).size());
+        assertEquals(1, manager.getDataValuePage("CREATED", null, 1, 10).getEntries().size());
+        assertTrue(manager.getAllDataValues("initialized", null).isEmpty());
+
+        // Setting data triggers a state change which moves the data value to another state
+        value.setData("someData".getBytes(), 8);
+
+        assertTrue(manager.getAllDataValues("created", null).isEmpty());
+        assertSame(value, manager.getAllDataValues("initialized", null).get(0));
+        assertSame(value, manager.getDataValuePage("initialized", null, 1, 10).getEntries().get(0));
+        assertSame(value, manager.getAllDataValues(null, "own").get(0));
+        assertSame(value, manager.getDataValuePage(null, null, 1, 10).getEntries().get(0));
+
+        // Deleting the data value removes it from all listings
+        manager.deleteDataValue(value.getIdentifier());
+
+        assertTrue(manager.getAllDataValues("initialized", null).isEmpty());
+        assertTrue(manager.getAllDataValues(null, "owner").isEmpty());
+        assertTrue(manager.getDataValuePage(null, null, 1, 10).getEntries().isEmpty());
+    }
+
+    @Test
+    public void correlationIndexShouldFollowInstantiationAndDeletion() throws Exception {
+        DataModel model = manager.registerDataModel(new DataModel("someEntity", "model", "http://trade/test"));
+        DataObject dataObject = manager.registerDataObject(new DataObject(model, "someEntity", "dataObject1"));
+        DataElement element = new DataElement(dataObject, "someEntity", "dataElement1", false);
+        element.initialize();
+
+        HashMap<String, String> correlationProperties = new LinkedHashMap<>();
+        correlationProperties.put("customerId", "1234");
+        correlationProperties.put("orderId", "5678");
+
+        // The order of the correlation properties is irrelevant
+        HashMap<String, String> reversed = new LinkedHashMap<>();
+        reversed.put("orderId", "5678");
+        reversed.put("customerId", "1234");
+
+        DataObjectInstance instance = manager.instantiateDataObject(dataObject.getIdentifier(), "owner",
+                correlationProperties);
+
+        assertSame(instance, manager.queryDataObjectInstance("http://trade/test", "model", "dataObject1", reversed));
+        assertSame(instance.getDataElementInstances().get(0), manager.queryDataElementInstance("http://trade/test",
+                "model", "dataObject1", "dataElement1", reversed));
+        assertSame(instance, manager.getDataObjectInstancePage("created", 1, 10).getEntries().get(0));
+
+        // Deleted instances are removed from the indexes through their delete events
+        manager.deleteDataObjectInstance(instance.getIdentifier());
+
+        assertNull(manager.queryDataObjectInstance("http://trade/test", "model", "dataObject1", reversed));
+        assertNull(manager.queryDataElementInstance("http://trade/test", "model", "dataObject1", "dataElement1",
+                reversed));
+        assertTrue(manager.getAllDataObjectInstances("created").isEmpty());
+        assertTrue(manager.getDataObjectInstancePage(null, 1, 10).getEntries().isEmpty());
+
+        // A new instance with the same correlation properties is indexed again
+        DataObjectInstance newInstance = manager.instantiateDataObject(dataObject.getIdentifier(), "owner",
+                reversed);
+
+        assertNotSame(instance, newInstance);
+        assertSame(newInstance, manager.queryDataObjectInstance("http://trade/test", "model", "dataObject1",
+                correlationProperties));
+        assertSame(newInstance.getDataElementInstances().get(0), manager.queryDataElementInstance
+                ("http://trade/test", "model", "dataObject1", "dataElement1", correlationProperties));
+    }
+
+    @Test
+    public void pagesShouldBeOrderedByIdentifier() throws Exception {
+        List<String> identifiers = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            identifiers.add(manager.registerDataValue(new DataValue("owner", "value" + i)).getIdentifier());
+        }
+        Collections.sort(identifiers);
+
+        ResultPage<DataValue> first = manager.getDataValuePage(null, null, 1, 2);
+        assertEquals(identifiers.subList(0, 2), identifiersOf(first));
+        assertTrue(first.hasMore());
+        assertEquals(5, first.getEstimatedTotal());
+
+        ResultPage<DataValue> last = manager.getDataValuePage("created", null, 5, 2);
+        assertEquals(identifiers.subList(4, 5), identifiersOf(last));
+        assertFalse(last.hasMore());
+
+        ResultPage<DataValue> complete = manager.getDataValuePage(null, "owner", 0, 5);
+        assertEquals(identifiers, identifiersOf(complete));
+        assertFalse(complete.hasMore());
+
+        ResultPage<DataValue> beyondEnd = manager.getDataValuePage(null, null, 6, 2);
+        assertTrue(beyondEnd.getEntries().isEmpty());
+        assertFalse(beyondEnd.hasMore());
+        assertTrue(beyondEnd.isBeyondEnd());
+
+        ResultPage<DataValue> empty = manager.getDataValuePage("archived", null, 1, 2);
+        assertTrue(empty.getEntries().isEmpty());
+        assertFalse(empty.isBeyondEnd());
+
+        ResultPage<DataValue> withoutSize = manager.getDataValuePage(null, null, 1, 0);
+        assertTrue(withoutSize.getEntries().isEmpty());
+        assertTrue(withoutSize.hasMore());
+    }
+
+    @Test
+    public void pagingShouldNotSkipEntriesWhileOthersAreInserted() throws Exception {
+        Set<String> identifiers = new HashSet<>();
+        for (int i = 0; i < 100; i++) {
+            identifiers.add(manager.registerDataValue(new DataValue("owner", "value" + i)).getIdentifier());
+        }
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<?> inserts = executor.submit(() -> {
+                for (int i = 0; i < 200; i++) {
+                    manager.registerDataValue(new DataValue("owner", "insertedValue" + i));
+                    Thread.yield();
+                }
+            });
+
+            // Walk through all pages while new data values are inserted. Inserted data values can only move the
+            // known entries to later pages, so that each one of them is found.
+            Set<String> found = new HashSet<>();
+            ResultPage<DataValue> page;
+            int start = 1;
+            do {
+                page = manager.getDataValuePage(null, null, start, 7);
+
+                List<String> pageIdentifiers = identifiersOf(page);
+                List<String> sorted = new ArrayList<>(pageIdentifiers);
+                Collections.sort(sorted);
+                assertEquals(sorted, pageIdentifiers);
+                assertEquals(pageIdentifiers.size(), new HashSet<>(pageIdentifiers).size());
+
+                found.addAll(pageIdentifiers);
+                start += 7;
+                Thread.yield();
+            } while (page.hasMore());
+
+            inserts.get();
+            assertTrue(found.containsAll(identifiers));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void concurrentInstantiationShouldCreateOneInstancePerCorrelation() throws Exception {
+        DataModel model = manager.registerDataModel(new DataModel("someEntity", "model", "http://trade/test"));
+        DataObject dataObject = manager.registerDataObject(new DataObject(model, "someEntity", "dataObject1"));
+        DataElement element = new DataElement(dataObject, "someEntity", "dataElement1", false);
+        element.initialize();
+
+        int threads = 4;
+        int requestsPerThread = 50;
+        int customers = 10;
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        List<Future<Map<String, DataObjectInstance>>> futures = new ArrayList<>();
+        try {
+            for (int t = 0; t < threads; t++) {
+                String owner = "owner" + t;
+                boolean bulk = t % 2 == 1;
+
+                // All threads request instances with the same correlation properties, either one by one or in bulk
+                futures.add(executor.submit(() -> {
+                    Map<String, DataObjectInstance> instances = new HashMap<>();
+                    for (int i = 0; i < requestsPerThread; i++) {
+                        String customerId = "customer" + (i % customers);
+                        HashMap<String, String> correlationProperties = new HashMap<>();
+                        correlationProperties.put("customerId", customerId);
+
+                        DataObjectInstance instance = bulk ? manager.instantiateDataObject(dataObject
+                                .getIdentifier(), owner, Collections.singletonList(correlationProperties)).get(0) :
+                                manager.instantiateDataObject(dataObject.getIdentifier(), owner,
+                                        correlationProperties);
+
+                        DataObjectInstance previous = instances.putIfAbsent(customerId, instance);
+                        assertTrue(previous == null || previous == instance);
+                    }
+                    return instances;
+                }));
+            }
+
+            Map<String, DataObjectInstance> instances = new HashMap<>();
+            for (Future<Map<String, DataObjectInstance>> future : futures) {
+                for (Map.Entry<String, DataObjectInstance> entry : future.get().entrySet()) {
+                    DataObjectInstance previous = instances.putIfAbsent(entry.getKey(), entry.getValue());
+                    assertTrue(previous == null || previous == entry.getValue());
+                }
+            }
+
+            // Exactly one instance (with one data element instance) exists per set of correlation properties
+            assertEquals(customers, instances.size());
+            assertEquals(customers, dataObject.getDataObjectInstances().size());
+            assertEquals(customers, element.getDataElementInstances().size());
+            assertEquals(customers, manager.getAllDataObjectInstances(null).size());
+            assertEquals(customers, manager.getAllDataObjectInstances("created").size());
+            assertEquals(customers, manager.getAllDataElementInstances("created").size());
+
+            for (Map.Entry<String, DataObjectInstance> entry : instances.entrySet()) {
+                HashMap<String, String> correlationProperties = new HashMap<>();
+                correlationProperties.put("customerId", entry.getKey());
+
+                DataObjectInstance instance = entry.getValue();
+                assertSame(instance, manager.queryDataObjectInstance("http://trade/test", "model", "dataObject1",
+                        correlationProperties));
+                assertSame(instance.getDataElementInstances().get(0), manager.queryDataElementInstance
+                        ("http://trade/test", "model", "dataObject1", "dataElement1", correlationProperties));
+                assertEquals(1, instance.getDataElementInstances().size());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static List<String> identifiersOf(ResultPage<DataValue> page) {
+        return page.getEntries().stream().map(DataValue::getIdentifier).collect(Collectors.toList());
+    }
+
+    private DataElementInstance createCollectionElementInstance() throws Exception {
+        DataObject dataObject = manager.registerDataObject(new DataObject("someEntity", "dataObject1"));
+        manager.addDataElementToDataObject(dataObject.getIdentifier(), "someEntity", "items", "text/plain", "string",
+                true);
+
+        HashMap<String, String> correlationProperties = new HashMap<>();
+        correlationProperties.put("customerId", "1234");
+        DataObjectInstance instance = manager.instantiateDataObject(dataObject.getIdentifier(), "owner",
+                correlationProperties);
+
+        List<DataElementInstance> elementInstances = instance.getDataElementInstances();
+        assertEquals(1, elementInstances.size());
+
+        return elementInstances.get(0);
+    }
+}
@@ -19,6 +19,8 @@ package org.trade.core.model;
 import com.fasterxml.jackson.annotation.*;
 import org.bson.types.ObjectId;
 import org.mongodb.morphia.annotations.Id;
+import org.mongodb.morphia.annotations.IndexOptions;
+import org.mongodb.morphia.annotations.Indexed;
 import org.mongodb.morphia.annotations.Version;
 import org.trade.core.model.data.*;
 import org.trade.core.model.data.instance.DataElementInstance;
@@ -28,8 +30,11 @@ import org.trade.core.model.notification.Notification;
 import org.trade.core.persistence.PersistableObject;
 
 import java.lang.reflect.Method;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Iterator;
+import java.util.List;
 import java.util.UUID;
 
 /**
@@ -68,6 +73,8 @@ public abstract class ABaseResource implements PersistableObject {
     @Version
     private Long version;
 
+    // The identifier is used to look up objects at a data source, therefore we index it
+    @Indexed(options = @IndexOptions(unique = true))
     protected String identifier = UUID.randomUUID().toString();
 
     /**
@@ -143,6 +150,25 @@ public abstract class ABaseResource implements PersistableObject {
         return name.substring(name.lastIndexOf('.') + 1);
     }
 
+    /**
+     * Provides a snapshot of a list of child objects of a model object. The child lists of model objects are mutated
+     * by the worker threads of the API while holding the monitor of the list, therefore the snapshot is taken while
+     * holding the monitor, too. Callers can iterate the snapshot without any further synchronization.
+     *
+     * @param <T>  the type of the child objects
+     * @param list the list of child objects
+     * @return An unmodifiable copy of the list or null, if the list is null.
+     */
+    protected static <T> List<T> snapshot(List<T> list) {
+        if (list == null) {
+            return null;
+        }
+
+        synchronized (list) {
+            return Collections.unmodifiableList(new ArrayList<>(list));
+        }
+    }
+
     protected static boolean isABaseResourceTypeCollection(Object obj) {
         boolean result = false;
 
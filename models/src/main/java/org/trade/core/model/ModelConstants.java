@@ -34,6 +34,10 @@ public class ModelConstants {
 
     public static final String DATA_VALUE__DATA_COLLECTION = "dataValueData";
 
+    public static final String DATA_VALUE__UPLOAD_COLLECTION = "dataValueUploadData";
+
+    public static final String DATA_VALUE__CONTENT_COLLECTION = "dataValueContent";
+
     public static final String DATA_MODEL__DATA_COLLECTION = "dataModelData";
 
     public static final String DATA_DEPENDENCY_GRAPH__DATA_COLLECTION = "dataDependencyGraphData";
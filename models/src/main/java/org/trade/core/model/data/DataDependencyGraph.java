@@ -32,7 +32,7 @@ import org.trade.core.model.dataTransformation.DataTransformation;
 import org.trade.core.model.lifecycle.DataDependencyGraphLifeCycle;
 import org.trade.core.model.lifecycle.LifeCycleException;
 import org.trade.core.persistence.IPersistenceProvider;
-import org.trade.core.persistence.local.LocalPersistenceProviderFactory;
+import org.trade.core.persistence.local.PersistenceProviderRegistry;
 import org.trade.core.utils.events.ModelEvents;
 import org.trade.core.utils.states.ModelStates;
 
@@ -92,7 +92,7 @@ public class DataDependencyGraph extends ABaseResource implements ILifeCycleMode
 
         this.dataTransformations = new ArrayList<>();
         this.lifeCycle = new DataDependencyGraphLifeCycle(this);
-        this.persistProv = LocalPersistenceProviderFactory.createLocalPersistenceProvider(DataDependencyGraph.class);
+        this.persistProv = PersistenceProviderRegistry.INSTANCE.getProvider(DataDependencyGraph.class);
     }
 
     /**
@@ -100,7 +100,7 @@ public class DataDependencyGraph extends ABaseResource implements ILifeCycleMode
      */
     private DataDependencyGraph() {
         this.lifeCycle = new DataDependencyGraphLifeCycle(this, false);
-        this.persistProv = LocalPersistenceProviderFactory.createLocalPersistenceProvider(DataDependencyGraph.class);
+        this.persistProv = PersistenceProviderRegistry.INSTANCE.getProvider(DataDependencyGraph.class);
     }
 
     /**
@@ -478,7 +478,7 @@ public class DataDependencyGraph extends ABaseResource implements ILifeCycleMode
             ois.defaultReadObject();
 
             lifeCycle = new DataDependencyGraphLifeCycle(this, false);
-            this.persistProv = LocalPersistenceProviderFactory.createLocalPersistenceProvider(DataDependencyGraph.class);
+            this.persistProv = PersistenceProviderRegistry.INSTANCE.getProvider(DataDependencyGraph.class);
         } catch (ClassNotFoundException e) {
             logger.error("Class not found during deserialization of data dependency graph '{}'", this.getIdentifier());
             throw new IOException("Class not found during deserialization of data dependency graph.");
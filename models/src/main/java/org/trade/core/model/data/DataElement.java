@@ -31,7 +31,7 @@ import org.trade.core.model.data.instance.DataObjectInstance;
 import org.trade.core.model.lifecycle.DataElementLifeCycle;
 import org.trade.core.model.lifecycle.LifeCycleException;
 import org.trade.core.persistence.IPersistenceProvider;
-import org.trade.core.persistence.local.LocalPersistenceProviderFactory;
+import org.trade.core.persistence.local.PersistenceProviderRegistry;
 import org.trade.core.utils.events.ModelEvents;
 import org.trade.core.utils.states.ModelStates;
 
@@ -100,7 +100,7 @@ public class DataElement extends ABaseResource implements ILifeCycleModelObject
 
         this.instances = new ArrayList<>();
         this.lifeCycle = new DataElementLifeCycle(this);
-        this.persistProv = LocalPersistenceProviderFactory.createLocalPersistenceProvider(DataElement.class);
+        this.persistProv = PersistenceProviderRegistry.INSTANCE.getProvider(DataElement.class);
     }
 
     /**
@@ -121,7 +121,7 @@ public class DataElement extends ABaseResource implements ILifeCycleModelObject
 
         this.instances = new ArrayList<>();
         this.lifeCycle = new DataElementLifeCycle(this);
-        this.persistProv = LocalPersistenceProviderFactory.createLocalPersistenceProvider(DataElement.class);
+        this.persistProv = PersistenceProviderRegistry.INSTANCE.getProvider(DataElement.class);
     }
 
     /**
@@ -139,7 +139,7 @@ public class DataElement extends ABaseResource implements ILifeCycleModelObject
      */
     private DataElement() {
         this.lifeCycle = new DataElementLifeCycle(this, false);
-        this.persistProv = LocalPersistenceProviderFactory.createLocalPersistenceProvider(DataElement.class);
+        this.persistProv = PersistenceProviderRegistry.INSTANCE.getProvider(DataElement.class);
     }
 
     /**
@@ -244,11 +244,11 @@ public class DataElement extends ABaseResource implements ILifeCycleModelObject
     /**
      * Provides the list of data element instances of this data element.
      *
-     * @return An unmodifiable list of data element instances.
+     * @return An unmodifiable snapshot of the list of data element instances.
      */
     @JsonIgnore
     public List<DataElementInstance> getDataElementInstances() {
-        return this.instances != null ? Collections.unmodifiableList(this.instances) : null;
+        return snapshot(this.instances);
     }
 
     /**
@@ -261,8 +261,10 @@ public class DataElement extends ABaseResource implements ILifeCycleModelObject
         List<DataElementInstance> result = null;
 
         if (this.instances != null) {
-            result = this.instances.stream().filter(s -> s.getCreatedBy().equals(createdBy)).collect
-                    (Collectors.toList());
+            synchronized (this.instances) {
+                result = this.instances.stream().filter(s -> s.getCreatedBy().equals(createdBy)).collect
+                        (Collectors.toList());
+            }
 
             result = Collections.unmodifiableList(result);
         }
@@ -281,8 +283,11 @@ public class DataElement extends ABaseResource implements ILifeCycleModelObject
      * @return the data element instance by id
      */
     public DataElementInstance getDataElementInstanceById(String identifier) {
-        Optional<DataElementInstance> opt = this.instances.stream().filter(s -> s.getIdentifier().equals(identifier)).findFirst();
-        return opt.orElse(null);
+        synchronized (this.instances) {
+            Optional<DataElementInstance> opt = this.instances.stream().filter(s -> s.getIdentifier().equals
+                    (identifier)).findFirst();
+            return opt.orElse(null);
+        }
     }
 
     /**
@@ -292,9 +297,11 @@ public class DataElement extends ABaseResource implements ILifeCycleModelObject
      * @return the data element instance matching the given correaltion properties
      */
     public DataElementInstance getDataElementInstanceByCorrelation(Map<String, String> correlationProperties) {
-        Optional<DataElementInstance> opt = this.instances.stream().filter(s -> s.getCorrelationProperties().equals(correlationProperties))
-                .findFirst();
-        return opt.orElse(null);
+        synchronized (this.instances) {
+            Optional<DataElementInstance> opt = this.instances.stream().filter(s -> s.getCorrelationProperties()
+                    .equals(correlationProperties)).findFirst();
+            return opt.orElse(null);
+        }
     }
 
     public void initialize() throws Exception {
@@ -318,12 +325,12 @@ public class DataElement extends ABaseResource implements ILifeCycleModelObject
 
     private void deleteDataElementInstances() throws Exception {
         if (this.isInitial() || this.isReady() || this.isArchived()) {
-            // Loop over all data element instances
-            for (Iterator<DataElementInstance> iter = this.instances.iterator(); iter.hasNext(); ) {
-                DataElementInstance elmInst = iter.next();
-
+            // Loop over a snapshot of all data element instances, so that no lock is held while they are deleted
+            for (DataElementInstance elmInst : getDataElementInstances()) {
                 // Remove the data element instance from the list
-                iter.remove();
+                synchronized (this.instances) {
+                    this.instances.remove(elmInst);
+                }
 
                 // Trigger the deletion of the data element instance
                 elmInst.delete();
@@ -446,7 +453,9 @@ public class DataElement extends ABaseResource implements ILifeCycleModelObject
             result = new DataElementInstance(this, dataObjectInstance, createdBy, correlationProperties);
 
             // Add the new instance to the list of instances
-            this.instances.add(result);
+            synchronized (this.instances) {
+                this.instances.add(result);
+            }
 
             // Persist the changed object
             this.storeToDS();
@@ -465,6 +474,51 @@ public class DataElement extends ABaseResource implements ILifeCycleModelObject
         return result;
     }
 
+    /**
+     * Instantiates the data element once for each of the given data object instances, using the correlation
+     * properties of the data object instances. In contrast to {@link #instantiate(DataObjectInstance, String,
+     * HashMap)}, the data element is only persisted once after all instances are created and the data object
+     * instances are not persisted at all, since they are usually persisted as a batch afterwards.
+     *
+     * @param dataObjectInstances the data object instances to which the new data element instances belong
+     * @param createdBy           the entity that triggers the instantiation of the data element
+     * @return the created instances in the order of the data object instances
+     * @throws LifeCycleException If the data element is in a state which does not allow its instantiation.
+     */
+    public List<DataElementInstance> instantiate(List<DataObjectInstance> dataObjectInstances, String createdBy)
+            throws LifeCycleException {
+        List<DataElementInstance> result = new ArrayList<>(dataObjectInstances.size());
+
+        if (this.isReady()) {
+            for (DataObjectInstance dataObjectInstance : dataObjectInstances) {
+                result.add(new DataElementInstance(this, dataObjectInstance, createdBy, dataObjectInstance
+                        .getCorrelationProperties()));
+            }
+
+            // Add the new instances to the list of instances
+            synchronized (this.instances) {
+                this.instances.addAll(result);
+            }
+
+            // Persist the changed object
+            this.storeToDS();
+
+            // Associate the data element instances with the data object instances
+            for (DataElementInstance instance : result) {
+                instance.getDataObjectInstance().addDataElementInstances(Collections.singletonList(instance));
+            }
+        } else {
+            logger.info("The data element ({}) can not be instantiated because it is in state '{}'.", this
+                            .getIdentifier(),
+                    getState());
+
+            throw new LifeCycleException("The data element (" + this.getIdentifier() +
+                    ") can not be instantiated because it is in state '" + getState() + "'.");
+        }
+
+        return result;
+    }
+
     /**
      * Removes the data element instance from this data element.
      *
@@ -473,7 +527,12 @@ public class DataElement extends ABaseResource implements ILifeCycleModelObject
     public void removeDataElementInstance(DataElementInstance instance) {
         // Check if the data element instance belongs to this data element
         if (instance.getDataElement() == this) {
-            if (this.instances.remove(instance)) {
+            boolean isRemoved;
+            synchronized (this.instances) {
+                isRemoved = this.instances.remove(instance);
+            }
+
+            if (isRemoved) {
                 // Persist the changes at the data source
                 this.storeToDS();
             }
@@ -531,7 +590,7 @@ public class DataElement extends ABaseResource implements ILifeCycleModelObject
             ois.defaultReadObject();
 
             this.lifeCycle = new DataElementLifeCycle(this, false);
-            this.persistProv = LocalPersistenceProviderFactory.createLocalPersistenceProvider(DataElement.class);
+            this.persistProv = PersistenceProviderRegistry.INSTANCE.getProvider(DataElement.class);
         } catch (ClassNotFoundException e) {
             logger.error("Class not found during deserialization of data element '{}'", this.getIdentifier());
             throw new IOException("Class not found during deserialization of data element.");
@@ -32,7 +32,7 @@ import org.trade.core.model.compiler.DataModelCompiler;
 import org.trade.core.model.lifecycle.DataModelLifeCycle;
 import org.trade.core.model.lifecycle.LifeCycleException;
 import org.trade.core.persistence.IPersistenceProvider;
-import org.trade.core.persistence.local.LocalPersistenceProviderFactory;
+import org.trade.core.persistence.local.PersistenceProviderRegistry;
 import org.trade.core.utils.events.ModelEvents;
 import org.trade.core.utils.states.ModelStates;
 
@@ -94,7 +94,7 @@ public class DataModel extends ABaseResource implements ILifeCycleModelObject {
         this.referenceCounter = new AtomicInteger(0);
         this.dataObjects = new ArrayList<>();
         this.lifeCycle = new DataModelLifeCycle(this);
-        this.persistProv = LocalPersistenceProviderFactory.createLocalPersistenceProvider(DataModel.class);
+        this.persistProv = PersistenceProviderRegistry.INSTANCE.getProvider(DataModel.class);
     }
 
     /**
@@ -112,7 +112,7 @@ public class DataModel extends ABaseResource implements ILifeCycleModelObject {
      */
     private DataModel() {
         this.lifeCycle = new DataModelLifeCycle(this, false);
-        this.persistProv = LocalPersistenceProviderFactory.createLocalPersistenceProvider(DataModel.class);
+        this.persistProv = PersistenceProviderRegistry.INSTANCE.getProvider(DataModel.class);
         this.referenceCounter = new AtomicInteger(0);
     }
 
@@ -574,7 +574,7 @@ public class DataModel extends ABaseResource implements ILifeCycleModelObject {
             ois.defaultReadObject();
 
             lifeCycle = new DataModelLifeCycle(this, false);
-            this.persistProv = LocalPersistenceProviderFactory.createLocalPersistenceProvider(DataModel.class);
+            this.persistProv = PersistenceProviderRegistry.INSTANCE.getProvider(DataModel.class);
         } catch (ClassNotFoundException e) {
             logger.error("Class not found during deserialization of data model '{}'", this.getIdentifier());
             throw new IOException("Class not found during deserialization of data model.");
@@ -30,7 +30,7 @@ import org.trade.core.model.data.instance.DataObjectInstance;
 import org.trade.core.model.lifecycle.DataObjectLifeCycle;
 import org.trade.core.model.lifecycle.LifeCycleException;
 import org.trade.core.persistence.IPersistenceProvider;
-import org.trade.core.persistence.local.LocalPersistenceProviderFactory;
+import org.trade.core.persistence.local.PersistenceProviderRegistry;
 import org.trade.core.utils.events.ModelEvents;
 import org.trade.core.utils.states.ModelStates;
 
@@ -103,7 +103,7 @@ public class DataObject extends ABaseResource implements ILifeCycleModelObject {
         this.dataElements = new ArrayList<>();
         this.dataObjectInstances = new ArrayList<>();
         this.lifeCycle = new DataObjectLifeCycle(this);
-        this.persistProv = LocalPersistenceProviderFactory.createLocalPersistenceProvider(DataObject.class);
+        this.persistProv = PersistenceProviderRegistry.INSTANCE.getProvider(DataObject.class);
     }
 
     /**
@@ -123,7 +123,7 @@ public class DataObject extends ABaseResource implements ILifeCycleModelObject {
         this.dataElements = new ArrayList<>();
         this.dataObjectInstances = new ArrayList<>();
         this.lifeCycle = new DataObjectLifeCycle(this);
-        this.persistProv = LocalPersistenceProviderFactory.createLocalPersistenceProvider(DataObject.class);
+        this.persistProv = PersistenceProviderRegistry.INSTANCE.getProvider(DataObject.class);
     }
 
     /**
@@ -131,7 +131,7 @@ public class DataObject extends ABaseResource implements ILifeCycleModelObject {
      */
     private DataObject() {
         this.lifeCycle = new DataObjectLifeCycle(this, false);
-        this.persistProv = LocalPersistenceProviderFactory.createLocalPersistenceProvider(DataObject.class);
+        this.persistProv = PersistenceProviderRegistry.INSTANCE.getProvider(DataObject.class);
     }
 
     /**
@@ -197,11 +197,11 @@ public class DataObject extends ABaseResource implements ILifeCycleModelObject {
     /**
      * Provides the list of data elements associated to this data object.
      *
-     * @return An unmodifiable list of data elements.
+     * @return An unmodifiable snapshot of the list of data elements.
      */
     @JsonIgnore
     public List<DataElement> getDataElements() {
-        return this.dataElements != null ? Collections.unmodifiableList(this.dataElements) : null;
+        return snapshot(this.dataElements);
     }
 
     /**
@@ -211,8 +211,10 @@ public class DataObject extends ABaseResource implements ILifeCycleModelObject {
      * @return the data element
      */
     public DataElement getDataElement(String name) {
-        Optional<DataElement> opt = this.dataElements.stream().filter(s -> s.getName().equals(name)).findFirst();
-        return opt.orElse(null);
+        synchronized (this.dataElements) {
+            Optional<DataElement> opt = this.dataElements.stream().filter(s -> s.getName().equals(name)).findFirst();
+            return opt.orElse(null);
+        }
     }
 
     /**
@@ -222,18 +224,21 @@ public class DataObject extends ABaseResource implements ILifeCycleModelObject {
      * @return the data element with the given id
      */
     public DataElement getDataElementById(String identifier) {
-        Optional<DataElement> opt = this.dataElements.stream().filter(s -> s.getIdentifier().equals(identifier)).findFirst();
-        return opt.orElse(null);
+        synchronized (this.dataElements) {
+            Optional<DataElement> opt = this.dataElements.stream().filter(s -> s.getIdentifier().equals(identifier))
+                    .findFirst();
+            return opt.orElse(null);
+        }
     }
 
     /**
      * Provides the list of data object instances of this data object.
      *
-     * @return An unmodifiable list of data object instances.
+     * @return An unmodifiable snapshot of the list of data object instances.
      */
     @JsonIgnore
     public List<DataObjectInstance> getDataObjectInstances() {
-        return this.dataObjectInstances != null ? Collections.unmodifiableList(this.dataObjectInstances) : null;
+        return snapshot(this.dataObjectInstances);
     }
 
     /**
@@ -243,9 +248,11 @@ public class DataObject extends ABaseResource implements ILifeCycleModelObject {
      * @return An unmodifiable list of matching data object instances.
      */
     public List<DataObjectInstance> getDataObjectInstances(String createdBy) {
-        List<DataObjectInstance> result = this.dataObjectInstances.stream().filter(s -> s.getCreatedBy().equals(createdBy)).collect
-                (Collectors.toList());
-        return Collections.unmodifiableList(result);
+        synchronized (this.dataObjectInstances) {
+            List<DataObjectInstance> result = this.dataObjectInstances.stream().filter(s -> s.getCreatedBy().equals
+                    (createdBy)).collect(Collectors.toList());
+            return Collections.unmodifiableList(result);
+        }
     }
 
     /**
@@ -255,8 +262,11 @@ public class DataObject extends ABaseResource implements ILifeCycleModelObject {
      * @return the data object instance by id
      */
     public DataObjectInstance getDataObjectInstanceById(String identifier) {
-        Optional<DataObjectInstance> opt = this.dataObjectInstances.stream().filter(s -> s.getIdentifier().equals(identifier)).findFirst();
-        return opt.orElse(null);
+        synchronized (this.dataObjectInstances) {
+            Optional<DataObjectInstance> opt = this.dataObjectInstances.stream().filter(s -> s.getIdentifier()
+                    .equals(identifier)).findFirst();
+            return opt.orElse(null);
+        }
     }
 
     /**
@@ -266,8 +276,11 @@ public class DataObject extends ABaseResource implements ILifeCycleModelObject {
      * @return The data object instance with the given correlation properties or NULL if no matching instance was found.
      */
     public DataObjectInstance getDataObjectInstanceByCorrelationProps(HashMap<String, String> correlationProperties) {
-        Optional<DataObjectInstance> opt = this.dataObjectInstances.stream().filter(s -> s.getCorrelationProperties().equals(correlationProperties)).findFirst();
-        return opt.orElse(null);
+        synchronized (this.dataObjectInstances) {
+            Optional<DataObjectInstance> opt = this.dataObjectInstances.stream().filter(s -> s
+                    .getCorrelationProperties().equals(correlationProperties)).findFirst();
+            return opt.orElse(null);
+        }
     }
 
     /**
@@ -283,8 +296,10 @@ public class DataObject extends ABaseResource implements ILifeCycleModelObject {
             if (this.isInitial() || this.isReady()) {
                 // Check if the data element is ready, else reject
                 if (element.isReady()) {
-                    if (!this.dataElements.contains(element)) {
-                        this.dataElements.add(element);
+                    synchronized (this.dataElements) {
+                        if (!this.dataElements.contains(element)) {
+                            this.dataElements.add(element);
+                        }
                     }
 
                     // If the data object is in INITIAL state, we trigger the transition to READY since it is now ready for
@@ -328,13 +343,17 @@ public class DataObject extends ABaseResource implements ILifeCycleModelObject {
         if (element != null) {
             if (this.isInitial() || this.isReady()) {
                 // Remove the element from the list
-                this.dataElements.remove(element);
+                boolean isEmpty;
+                synchronized (this.dataElements) {
+                    this.dataElements.remove(element);
+                    isEmpty = this.dataElements.isEmpty();
+                }
 
                 // Trigger the deletion of the element
                 element.delete();
 
                 // Check if the deleted data element was the only child of the data object
-                if (this.dataElements.isEmpty()) {
+                if (isEmpty) {
                     // Change the state back to initial to disallow its instantiation
                     try {
                         this.lifeCycle.triggerEvent(this, ModelEvents.initial);
@@ -361,18 +380,20 @@ public class DataObject extends ABaseResource implements ILifeCycleModelObject {
 
     private void deleteDataElements() throws Exception {
         if (this.isInitial() || this.isReady() || this.isArchived()) {
-            // Loop over all elements
-            for (Iterator<DataElement> iter = this.dataElements.iterator(); iter.hasNext(); ) {
-                DataElement element = iter.next();
-
+            // Loop over a snapshot of all elements, so that no lock is held while the elements are deleted
+            for (DataElement element : getDataElements()) {
                 // Remove the element from the list
-                iter.remove();
+                boolean isEmpty;
+                synchronized (this.dataElements) {
+                    this.dataElements.remove(element);
+                    isEmpty = this.dataElements.isEmpty();
+                }
 
                 // Trigger the deletion of the element
                 element.delete();
 
                 // Check if the deleted data element was the only child of the data object
-                if (this.dataElements.isEmpty()) {
+                if (isEmpty) {
                     // Change the state back to initial to disallow its instantiation
                     try {
                         this.lifeCycle.triggerEvent(this, ModelEvents.initial);
@@ -396,12 +417,12 @@ public class DataObject extends ABaseResource implements ILifeCycleModelObject {
 
     private void deleteDataObjectInstances() throws Exception {
         if (this.isInitial() || this.isReady() || this.isArchived()) {
-            // Loop over all data object instances
-            for (Iterator<DataObjectInstance> iter = this.dataObjectInstances.iterator(); iter.hasNext(); ) {
-                DataObjectInstance objInst = iter.next();
-
+            // Loop over a snapshot of all data object instances, so that no lock is held while they are deleted
+            for (DataObjectInstance objInst : getDataObjectInstances()) {
                 // Remove the data object instance from the list
-                iter.remove();
+                synchronized (this.dataObjectInstances) {
+                    this.dataObjectInstances.remove(objInst);
+                }
 
                 // Trigger the deletion of the data object instance
                 objInst.delete();
@@ -424,7 +445,7 @@ public class DataObject extends ABaseResource implements ILifeCycleModelObject {
             List<DataElement> changedElements = new ArrayList<>();
 
             try {
-                for (DataElement element : this.dataElements) {
+                for (DataElement element : getDataElements()) {
                     element.archive();
                     changedElements.add(element);
                 }
@@ -468,7 +489,7 @@ public class DataObject extends ABaseResource implements ILifeCycleModelObject {
             List<DataElement> changedElements = new ArrayList<>();
 
             try {
-                for (DataElement element : this.dataElements) {
+                for (DataElement element : getDataElements()) {
                     element.unarchive();
                     changedElements.add(element);
                 }
@@ -573,7 +594,46 @@ public class DataObject extends ABaseResource implements ILifeCycleModelObject {
             result = new DataObjectInstance(this, createdBy, correlationProperties);
 
             // Add the new instance to the list of instances
-            this.dataObjectInstances.add(result);
+            synchronized (this.dataObjectInstances) {
+                this.dataObjectInstances.add(result);
+            }
+
+            // Persist the changed parent object
+            this.storeToDS();
+        } else {
+            logger.info("The data object ({}) can not be instantiated because it is in state '{}'.", this
+                            .getIdentifier(),
+                    getState());
+
+            throw new LifeCycleException("The data object (" + this.getIdentifier() +
+                    ") can not be instantiated because it is in state '" + getState() + "'.");
+        }
+
+        return result;
+    }
+
+    /**
+     * Instantiates the data object once for each of the given sets of correlation properties. In contrast to
+     * {@link #instantiate(String, HashMap)}, the data object is only persisted once after all instances are created.
+     *
+     * @param createdBy                 the entity that triggers the instantiation of the data object
+     * @param correlationPropertiesList the properties used for identifying the instances, one set per instance
+     * @return the created instances in the order of the sets of correlation properties
+     * @throws LifeCycleException If the data object is in a state which does not allow its instantiation.
+     */
+    public List<DataObjectInstance> instantiate(String createdBy, List<HashMap<String, String>>
+            correlationPropertiesList) throws LifeCycleException {
+        List<DataObjectInstance> result = new ArrayList<>(correlationPropertiesList.size());
+
+        if (this.isReady()) {
+            for (HashMap<String, String> correlationProperties : correlationPropertiesList) {
+                result.add(new DataObjectInstance(this, createdBy, correlationProperties));
+            }
+
+            // Add the new instances to the list of instances
+            synchronized (this.dataObjectInstances) {
+                this.dataObjectInstances.addAll(result);
+            }
 
             // Persist the changed parent object
             this.storeToDS();
@@ -597,7 +657,12 @@ public class DataObject extends ABaseResource implements ILifeCycleModelObject {
     public void removeDataObjectInstance(DataObjectInstance instance) {
         // Check if the object instance belongs to this data object
         if (instance.getDataObject() == this) {
-            if (this.dataObjectInstances.remove(instance)) {
+            boolean isRemoved;
+            synchronized (this.dataObjectInstances) {
+                isRemoved = this.dataObjectInstances.remove(instance);
+            }
+
+            if (isRemoved) {
                 // Persist the changed parent object
                 this.storeToDS();
             }
@@ -655,7 +720,7 @@ public class DataObject extends ABaseResource implements ILifeCycleModelObject {
             ois.defaultReadObject();
 
             lifeCycle = new DataObjectLifeCycle(this, false);
-            this.persistProv = LocalPersistenceProviderFactory.createLocalPersistenceProvider(DataObject.class);
+            this.persistProv = PersistenceProviderRegistry.INSTANCE.getProvider(DataObject.class);
         } catch (ClassNotFoundException e) {
             logger.error("Class not found during deserialization of data object '{}'", this.getIdentifier());
             throw new IOException("Class not found during deserialization of data object.");
@@ -34,15 +34,26 @@ import org.trade.core.model.data.instance.DataElementInstance;
 import org.trade.core.model.lifecycle.DataValueLifeCycle;
 import org.trade.core.model.lifecycle.LifeCycleException;
 import org.trade.core.persistence.IPersistenceProvider;
-import org.trade.core.persistence.local.LocalPersistenceProviderFactory;
+import org.trade.core.persistence.cache.PayloadCache;
+import org.trade.core.persistence.compression.CompressionPolicy;
+import org.trade.core.persistence.content.ContentAddressedStore;
+import org.trade.core.persistence.local.PersistenceProviderRegistry;
+import org.trade.core.utils.TraDEConfiguration;
+import org.trade.core.utils.TraDEProperties;
 import org.trade.core.utils.events.DataEvents;
 import org.trade.core.utils.events.InstanceEvents;
 import org.trade.core.utils.states.DataStates;
 import org.trade.core.utils.states.InstanceStates;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.ObjectInputStream;
+import java.io.OutputStream;
+import java.io.SequenceInputStream;
 import java.lang.reflect.Method;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
 import java.util.*;
 import java.util.stream.Collectors;
 
@@ -56,6 +67,8 @@ public class DataValue extends ABaseResource implements ILifeCycleInstanceObject
 
     private static final long serialVersionUID = -1774719861199414867L;
 
+    private static final int STREAM_BUFFER_SIZE = 8192;
+
     @Transient
     private Logger logger = LoggerFactory.getLogger("org.trade.core.model.data.DataValue");
 
@@ -72,6 +85,12 @@ public class DataValue extends ABaseResource implements ILifeCycleInstanceObject
 
     private transient IPersistenceProvider<DataValue> persistProv;
 
+    private transient ContentAddressedStore contentStore;
+
+    private transient TraDEProperties properties;
+
+    private transient CompressionPolicy compressionPolicy;
+
     @JsonProperty("hasData")
     private boolean hasData;
 
@@ -95,6 +114,15 @@ public class DataValue extends ABaseResource implements ILifeCycleInstanceObject
     @Reference
     private List<DataElementInstance> dataElementInstances;
 
+    @JsonProperty("uploads")
+    private List<String> uploads;
+
+    @JsonProperty("contentHash")
+    private String contentHash;
+
+    @JsonProperty("contentEncoding")
+    private String contentEncoding;
+
     /**
      * Instantiates a new data value with the given name and owner.
      *
@@ -108,10 +136,11 @@ public class DataValue extends ABaseResource implements ILifeCycleInstanceObject
         this.hasData = false;
         this.size = 0L;
         this.dataElementInstances = new ArrayList<>();
+        this.uploads = new ArrayList<>();
 
         this.creationTimestamp = new Date();
         this.lifeCycle = new DataValueLifeCycle(this);
-        this.persistProv = LocalPersistenceProviderFactory.createLocalPersistenceProvider(DataValue.class);
+        this.persistProv = PersistenceProviderRegistry.INSTANCE.getProvider(DataValue.class);
     }
 
     /**
@@ -119,7 +148,7 @@ public class DataValue extends ABaseResource implements ILifeCycleInstanceObject
      */
     private DataValue() {
         this.lifeCycle = new DataValueLifeCycle(this, false);
-        this.persistProv = LocalPersistenceProviderFactory.createLocalPersistenceProvider(DataValue.class);
+        this.persistProv = PersistenceProviderRegistry.INSTANCE.getProvider(DataValue.class);
     }
 
     /**
@@ -216,9 +245,55 @@ public class DataValue extends ABaseResource implements ILifeCycleInstanceObject
         return hasData;
     }
 
+    /**
+     * Provides the SHA-256 hash of the data of the data value, if the data is kept in the deduplicating
+     * {@link ContentAddressedStore} (see 'data.persistence.deduplication.enabled'). Since the hash changes with each
+     * change of the data, it can be used as strong entity tag of the data.
+     *
+     * @return The hash of the data or null, if the data value has no data or its data is not deduplicated.
+     */
+    public String getContentHash() {
+        return contentHash;
+    }
+
+    /**
+     * Provides the encoding of the stored data of the data value, if the data is compressed (see
+     * 'data.persistence.compression.enabled'). The encoding is transparent for all methods providing the data, except
+     * for {@link #getEncodedDataAsChannel()}.
+     *
+     * @return The encoding of the stored data, e.g., 'gzip', or null, if the data is not compressed.
+     */
+    public String getContentEncoding() {
+        return contentEncoding;
+    }
+
     @JsonIgnore
     public byte[] getData() throws Exception {
-        return this.persistProv.loadBinaryData(ModelConstants.DATA_VALUE__DATA_COLLECTION, getIdentifier());
+        boolean cacheable = this.hasData && PayloadCache.INSTANCE.accepts(this.size);
+
+        long stamp = 0L;
+        if (cacheable) {
+            byte[] cached = PayloadCache.INSTANCE.get(getIdentifier());
+            if (cached != null) {
+                return cached;
+            }
+
+            stamp = PayloadCache.INSTANCE.getStamp(getIdentifier());
+        }
+
+        byte[] data;
+        if (this.contentHash != null) {
+            data = getContentStore().load(this.contentHash);
+        } else {
+            data = this.persistProv.loadBinaryData(ModelConstants.DATA_VALUE__DATA_COLLECTION, getIdentifier());
+        }
+        data = CompressionPolicy.decode(data, this.contentEncoding);
+
+        if (cacheable) {
+            PayloadCache.INSTANCE.put(getIdentifier(), data, stamp);
+        }
+
+        return data;
     }
 
     public void setData(byte[] data, long size) throws Exception {
@@ -227,7 +302,18 @@ public class DataValue extends ABaseResource implements ILifeCycleInstanceObject
             this.size = size;
 
             try {
-                this.persistProv.storeBinaryData(data, ModelConstants.DATA_VALUE__DATA_COLLECTION, getIdentifier());
+                String encoding = getCompressionPolicy().selectEncoding(this.contentType, data != null ? data
+                        .length : 0);
+                byte[] storedData = CompressionPolicy.encode(data, encoding);
+
+                if (isDeduplicating()) {
+                    replaceContent(data != null && data.length > 0 ? getContentStore().store(storedData) : null);
+                } else {
+                    this.persistProv.storeBinaryData(storedData, ModelConstants.DATA_VALUE__DATA_COLLECTION,
+                            getIdentifier());
+                    replaceContent(null);
+                }
+                this.contentEncoding = encoding;
 
                 // Remember if data is set or not (setting a NULL or empty byte[] as value deletes any existing data by
                 // convention)
@@ -252,13 +338,499 @@ public class DataValue extends ABaseResource implements ILifeCycleInstanceObject
         }
     }
 
+    /**
+     * Provides the data of the data value as stream, so that the data does not have to be loaded into memory as a
+     * whole. The caller is responsible for closing the returned stream.
+     *
+     * @return An input stream providing the data of the data value.
+     * @throws Exception the exception
+     */
+    @JsonIgnore
+    public InputStream getDataAsStream() throws Exception {
+        ReadableByteChannel cached = openCachedChannel(0L);
+        if (cached != null) {
+            return Channels.newInputStream(cached);
+        }
+
+        InputStream data;
+        if (this.contentHash != null) {
+            data = getContentStore().openForRead(this.contentHash);
+        } else {
+            data = this.persistProv.openBinaryDataForRead(ModelConstants.DATA_VALUE__DATA_COLLECTION,
+                    getIdentifier());
+        }
+
+        return CompressionPolicy.decode(data, this.contentEncoding);
+    }
+
+    /**
+     * Provides the data of the data value as channel. If the data is stored in a file, the returned channel is a
+     * {@link java.nio.channels.FileChannel} which allows to transfer the data without copying it through the heap.
+     * The caller is responsible for closing the returned channel.
+     *
+     * @return A channel providing the data of the data value.
+     * @throws Exception the exception
+     */
+    @JsonIgnore
+    public ReadableByteChannel getDataAsChannel() throws Exception {
+        return getDataAsChannel(0L);
+    }
+
+    /**
+     * Provides the data of the data value as channel starting at the given position, e.g., to read only a part of the
+     * data. The caller is responsible for closing the returned channel.
+     *
+     * @param position the position (offset in bytes) from which the data should be read
+     * @return A channel providing the data of the data value from the given position on.
+     * @throws Exception the exception
+     */
+    public ReadableByteChannel getDataAsChannel(long position) throws Exception {
+        ReadableByteChannel cached = openCachedChannel(position);
+
+        if (cached != null) {
+            return cached;
+        } else if (this.contentEncoding != null) {
+            // Compressed data has to be decompressed up to the requested position
+            InputStream data = getDataAsStream();
+
+            long skipped = 0L;
+            while (skipped < position) {
+                long count = data.skip(position - skipped);
+                if (count <= 0 && data.read() == -1) {
+                    break;
+                }
+                skipped += Math.max(count, 1L);
+            }
+
+            return Channels.newChannel(data);
+        } else if (this.contentHash != null) {
+            return getContentStore().openChannel(this.contentHash, position);
+        } else {
+            return this.persistProv.openBinaryDataChannel(ModelConstants.DATA_VALUE__DATA_COLLECTION,
+                    getIdentifier(), position);
+        }
+    }
+
+    /**
+     * Provides the stored data of the data value as channel without decoding it, i.e., the data is compressed with
+     * the encoding provided by {@link #getContentEncoding()}. This allows to serve compressed data to clients
+     * without decompressing it. The caller is responsible for closing the returned channel.
+     *
+     * @return A channel providing the stored data of the data value.
+     * @throws Exception the exception
+     */
+    @JsonIgnore
+    public ReadableByteChannel getEncodedDataAsChannel() throws Exception {
+        if (this.contentHash != null) {
+            return getContentStore().openChannel(this.contentHash, 0L);
+        } else {
+            return this.persistProv.openBinaryDataChannel(ModelConstants.DATA_VALUE__DATA_COLLECTION,
+                    getIdentifier());
+        }
+    }
+
+    /**
+     * Provides the size of the stored data of the data value, which differs from {@link #getSize()} if the data is
+     * compressed.
+     *
+     * @return The size of the stored data in bytes.
+     * @throws Exception the exception
+     */
+    @JsonIgnore
+    public long getEncodedSize() throws Exception {
+        if (this.contentHash != null) {
+            return getContentStore().getSize(this.contentHash);
+        } else {
+            return this.persistProv.getBinaryDataSize(ModelConstants.DATA_VALUE__DATA_COLLECTION, getIdentifier());
+        }
+    }
+
+    /**
+     * Sets the data of the data value by streaming the contents of the provided input stream to the underlying data
+     * source. The size of the data value is determined by the number of bytes read from the stream. Providing a NULL
+     * stream deletes any existing data by convention.
+     *
+     * @param data the stream providing the data to set, the stream is not closed by this method
+     * @throws Exception the exception
+     */
+    public void setDataFromStream(InputStream data) throws Exception {
+        if (data == null) {
+            setData(null, 0L);
+        } else if (this.isCreated() || this.isInitialized()) {
+            try {
+                long count;
+
+                // Read the beginning of the data to decide if the data is large enough to be compressed
+                byte[] head = new byte[getCompressionPolicy().getMinSize()];
+                int headSize = 0;
+                int read;
+                while (headSize < head.length && (read = data.read(head, headSize, head.length - headSize)) != -1) {
+                    headSize += read;
+                }
+
+                String encoding = null;
+                if (headSize == head.length) {
+                    encoding = getCompressionPolicy().selectEncoding(this.contentType, Math.max(headSize, 1));
+                }
+                InputStream in = new SequenceInputStream(new ByteArrayInputStream(head, 0, headSize), data);
+
+                if (isDeduplicating()) {
+                    // Stage the (compressed) data, so that the content store can take it over afterwards
+                    String stagingId = UUID.randomUUID().toString();
+                    try (OutputStream out = CompressionPolicy.encode(this.persistProv.openBinaryDataForWrite
+                            (ModelConstants.DATA_VALUE__UPLOAD_COLLECTION, stagingId), encoding)) {
+                        count = copy(in, out);
+                    } catch (Exception e) {
+                        // Do not leave the partially staged data behind
+                        this.persistProv.deleteBinaryData(ModelConstants.DATA_VALUE__UPLOAD_COLLECTION, stagingId);
+
+                        throw e;
+                    }
+
+                    replaceContent(storeStagedContent(stagingId, count));
+                } else {
+                    try (OutputStream out = CompressionPolicy.encode(this.persistProv.openBinaryDataForWrite
+                            (ModelConstants.DATA_VALUE__DATA_COLLECTION, getIdentifier()), encoding)) {
+                        count = copy(in, out);
+                    }
+
+                    replaceContent(null);
+                }
+                this.contentEncoding = encoding;
+
+                this.size = count;
+
+                // Remember if data is set or not (setting an empty stream as value deletes any existing data by
+                // convention)
+                hasData = count > 0;
+
+                this.lastModified = new Date();
+
+                this.initialize();
+            } catch (Exception e) {
+                logger.error("Setting data on data value '" + this.getIdentifier() + "' caused an exception.", e);
+
+                throw e;
+            }
+        } else {
+            logger.info("No data can be set for the data value ({}) because it is in state '{}'.",
+                    this.getIdentifier(), getState());
+
+            throw new LifeCycleException("No data can be set for the data value (" + this.getIdentifier() +
+                    ") because it is in state '" + getState() + "'.");
+        }
+    }
+
+    /**
+     * Starts a new chunked upload of data for the data value. The chunks of the upload are staged at the data source
+     * and only become the data of the data value when the upload is committed through {@link #commitUpload(String)}.
+     * Since the staged data is persisted, an interrupted upload can be resumed from the offset provided by
+     * {@link #getUploadOffset(String)}.
+     *
+     * @return The identifier of the new upload.
+     * @throws Exception the exception
+     */
+    public synchronized String startUpload() throws Exception {
+        if (this.isCreated() || this.isInitialized()) {
+            String uploadId = UUID.randomUUID().toString();
+
+            if (this.uploads == null) {
+                this.uploads = new ArrayList<>();
+            }
+            this.uploads.add(uploadId);
+
+            // Persist the changes at the data source
+            this.storeToDS();
+
+            return uploadId;
+        } else {
+            logger.info("No upload can be started for the data value ({}) because it is in state '{}'.",
+                    this.getIdentifier(), getState());
+
+            throw new LifeCycleException("No upload can be started for the data value (" + this.getIdentifier() +
+                    ") because it is in state '" + getState() + "'.");
+        }
+    }
+
+    /**
+     * Whether the data value has an open upload with the given identifier or not.
+     *
+     * @param uploadId the identifier of the upload
+     * @return True, if the upload exists and is neither committed nor aborted; false, otherwise
+     */
+    public boolean hasUpload(String uploadId) {
+        return this.uploads != null && this.uploads.contains(uploadId);
+    }
+
+    /**
+     * Provides the number of bytes received so far by an upload, i.e., the offset at which the next chunk has to
+     * start.
+     *
+     * @param uploadId the identifier of the upload
+     * @return The offset of the next chunk of the upload.
+     * @throws Exception the exception
+     */
+    public long getUploadOffset(String uploadId) throws Exception {
+        checkUpload(uploadId);
+
+        return this.persistProv.getBinaryDataSize(ModelConstants.DATA_VALUE__UPLOAD_COLLECTION, uploadId);
+    }
+
+    /**
+     * Appends a chunk of data to an upload. The chunk is directly streamed to the data source.
+     *
+     * @param uploadId the identifier of the upload
+     * @param offset   the offset of the chunk, which has to match the current offset of the upload
+     * @param chunk    the stream providing the data of the chunk, the stream is not closed by this method
+     * @return The offset of the upload after appending the chunk.
+     * @throws UploadOffsetMismatchException if the offset does not match the current offset of the upload
+     * @throws Exception                     the exception
+     */
+    public synchronized long appendUploadChunk(String uploadId, long offset, InputStream chunk) throws Exception {
+        long currentOffset = getUploadOffset(uploadId);
+
+        if (offset != currentOffset) {
+            throw new UploadOffsetMismatchException("The offset (" + offset + ") of the chunk does not match the " +
+                    "current offset (" + currentOffset + ") of upload '" + uploadId + "' of data value (" + this
+                    .getIdentifier() + ").", currentOffset);
+        }
+
+        long count = 0L;
+        try (OutputStream out = this.persistProv.openBinaryDataForAppend(ModelConstants
+                .DATA_VALUE__UPLOAD_COLLECTION, uploadId)) {
+            byte[] buffer = new byte[STREAM_BUFFER_SIZE];
+            int read;
+            while ((read = chunk.read(buffer)) != -1) {
+                out.write(buffer, 0, read);
+                count += read;
+            }
+        }
+
+        return currentOffset + count;
+    }
+
+    /**
+     * Commits an upload, i.e., the data received by the upload becomes the data of the data value. The state change
+     * and the corresponding data change event are only triggered once for the whole upload.
+     *
+     * @param uploadId the identifier of the upload
+     * @throws Exception the exception
+     */
+    public synchronized void commitUpload(String uploadId) throws Exception {
+        checkUpload(uploadId);
+
+        if (this.isCreated() || this.isInitialized()) {
+            try {
+                long uploadSize = this.persistProv.getBinaryDataSize(ModelConstants.DATA_VALUE__UPLOAD_COLLECTION,
+                        uploadId);
+
+                // Compress the received data, if required, before it becomes the data of the data value
+                String stagingId = uploadId;
+                String encoding = getCompressionPolicy().selectEncoding(this.contentType, uploadSize);
+                if (encoding != null) {
+                    stagingId = UUID.randomUUID().toString();
+
+                    try (InputStream in = this.persistProv.openBinaryDataForRead(ModelConstants
+                            .DATA_VALUE__UPLOAD_COLLECTION, uploadId); OutputStream out = CompressionPolicy.encode
+                            (this.persistProv.openBinaryDataForWrite(ModelConstants.DATA_VALUE__UPLOAD_COLLECTION,
+                                    stagingId), encoding)) {
+                        copy(in, out);
+                    }
+
+                    this.persistProv.deleteBinaryData(ModelConstants.DATA_VALUE__UPLOAD_COLLECTION, uploadId);
+                }
+
+                if (isDeduplicating()) {
+                    replaceContent(storeStagedContent(stagingId, uploadSize));
+                } else {
+                    this.persistProv.moveBinaryData(ModelConstants.DATA_VALUE__UPLOAD_COLLECTION, stagingId,
+                            ModelConstants.DATA_VALUE__DATA_COLLECTION, getIdentifier());
+                    replaceContent(null);
+                }
+                this.contentEncoding = encoding;
+                this.uploads.remove(uploadId);
+
+                this.size = uploadSize;
+                hasData = uploadSize > 0;
+
+                this.lastModified = new Date();
+
+                this.initialize();
+            } catch (Exception e) {
+                logger.error("Committing upload '" + uploadId + "' of data value '" + this.getIdentifier() + "' " +
+                        "caused an exception.", e);
+
+                throw e;
+            }
+        } else {
+            logger.info("No upload can be committed for the data value ({}) because it is in state '{}'.",
+                    this.getIdentifier(), getState());
+
+            throw new LifeCycleException("No upload can be committed for the data value (" + this.getIdentifier() +
+                    ") because it is in state '" + getState() + "'.");
+        }
+    }
+
+    /**
+     * Aborts an upload and deletes all data received by the upload so far.
+     *
+     * @param uploadId the identifier of the upload
+     * @throws Exception the exception
+     */
+    public synchronized void abortUpload(String uploadId) throws Exception {
+        checkUpload(uploadId);
+
+        this.persistProv.deleteBinaryData(ModelConstants.DATA_VALUE__UPLOAD_COLLECTION, uploadId);
+        this.uploads.remove(uploadId);
+
+        // Persist the changes at the data source
+        this.storeToDS();
+    }
+
+    /**
+     * Hands the staged data over to the content store. Empty data is not stored but deleted, since setting empty data
+     * deletes any existing data by convention (see {@link #setData(byte[], long)}).
+     *
+     * @param stagingId the identifier of the staged data in the upload collection
+     * @param size      the size of the data before it got staged
+     * @return the hash of the stored data or null, if the data is empty
+     * @throws Exception the exception
+     */
+    private String storeStagedContent(String stagingId, long size) throws Exception {
+        if (size > 0) {
+            return getContentStore().storeFrom(ModelConstants.DATA_VALUE__UPLOAD_COLLECTION, stagingId);
+        } else {
+            this.persistProv.deleteBinaryData(ModelConstants.DATA_VALUE__UPLOAD_COLLECTION, stagingId);
+
+            return null;
+        }
+    }
+
+    /**
+     * Replaces the reference to the deduplicated data of the data value, releasing the previously referenced data.
+     * If the data value had data before it got deduplicated, the old copy of the data is deleted.
+     *
+     * @param hash the hash of the new data or null, if the data is not deduplicated
+     * @throws Exception the exception
+     */
+    private void replaceContent(String hash) throws Exception {
+        String oldHash = this.contentHash;
+        this.contentHash = hash;
+
+        // The data is changed, so a cached copy is outdated
+        PayloadCache.INSTANCE.invalidate(getIdentifier());
+
+        if (oldHash != null) {
+            getContentStore().release(oldHash);
+        } else if (hash != null && this.hasData) {
+            this.persistProv.deleteBinaryData(ModelConstants.DATA_VALUE__DATA_COLLECTION, getIdentifier());
+        }
+    }
+
+    /**
+     * Opens a channel on the cached data of the data value. If the data is small enough to be cached but not cached
+     * yet, it is loaded into the cache.
+     *
+     * @param position the position (offset in bytes) from which the data should be read
+     * @return the channel or null, if the data is not cached
+     * @throws Exception the exception
+     */
+    private ReadableByteChannel openCachedChannel(long position) throws Exception {
+        if (!this.hasData || !PayloadCache.INSTANCE.accepts(this.size)) {
+            return null;
+        }
+
+        ReadableByteChannel result = PayloadCache.INSTANCE.openChannel(getIdentifier(), position);
+        if (result == null) {
+            // Load the data into the cache and read it from memory this time
+            byte[] data = getData();
+            int offset = (int) Math.min(data.length, Math.max(0L, position));
+
+            result = Channels.newChannel(new ByteArrayInputStream(data, offset, data.length - offset));
+        }
+
+        return result;
+    }
+
+    private ContentAddressedStore getContentStore() {
+        if (this.contentStore == null) {
+            this.contentStore = new ContentAddressedStore(this.persistProv, ModelConstants
+                    .DATA_VALUE__CONTENT_COLLECTION);
+        }
+
+        return this.contentStore;
+    }
+
+    private boolean isDeduplicating() {
+        return getProperties().isDataPersistenceDeduplicationEnabled();
+    }
+
+    private CompressionPolicy getCompressionPolicy() {
+        if (this.compressionPolicy == null) {
+            this.compressionPolicy = new CompressionPolicy(getProperties());
+        }
+
+        return this.compressionPolicy;
+    }
+
+    private TraDEProperties getProperties() {
+        // The properties are only resolved when data is set, so that loading data values stays cheap
+        if (this.properties == null) {
+            this.properties = TraDEConfiguration.INSTANCE.getProperties();
+        }
+
+        return this.properties;
+    }
+
+    private static long copy(InputStream in, OutputStream out) throws IOException {
+        long count = 0L;
+
+        byte[] buffer = new byte[STREAM_BUFFER_SIZE];
+        int read;
+        while ((read = in.read(buffer)) != -1) {
+            out.write(buffer, 0, read);
+            count += read;
+        }
+
+        return count;
+    }
+
+    private void checkUpload(String uploadId) {
+        if (!hasUpload(uploadId)) {
+            throw new IllegalArgumentException("The data value (" + this.getIdentifier() + ") has no open upload " +
+                    "with ID='" + uploadId + "'.");
+        }
+    }
+
     public void associateWithDataElementInstance(DataElementInstance dataElementInstance) {
+        associateWithDataElementInstance(dataElementInstance, true);
+    }
+
+    /**
+     * Associates the data value with the given data element instance like
+     * {@link #associateWithDataElementInstance(DataElementInstance)}, but without persisting the data value, e.g.,
+     * because it is persisted as part of a batch afterwards.
+     *
+     * @param dataElementInstance the data element instance to associate the data value with
+     */
+    public void addDataElementInstance(DataElementInstance dataElementInstance) {
+        associateWithDataElementInstance(dataElementInstance, false);
+    }
+
+    private void associateWithDataElementInstance(DataElementInstance dataElementInstance, boolean persist) {
         if (dataElementInstance != null) {
-            if (!dataElementInstances.contains(dataElementInstance)) {
-                dataElementInstances.add(dataElementInstance);
+            boolean isAdded = false;
+            synchronized (this.dataElementInstances) {
+                if (!dataElementInstances.contains(dataElementInstance)) {
+                    isAdded = dataElementInstances.add(dataElementInstance);
+                }
+            }
 
-                // Persist the changes at the data source
-                this.storeToDS();
+            if (isAdded) {
+                if (persist) {
+                    // Persist the changes at the data source
+                    this.storeToDS();
+                }
 
                 // Fire a corresponding data value association change event
                 AuditingServiceFactory.createAuditingService().fireEvent(new DataValueAssociationChanged
@@ -269,9 +841,12 @@ public class DataValue extends ABaseResource implements ILifeCycleInstanceObject
 
     public void removeAssociationWithDataElementInstance(DataElementInstance dataElementInstance) {
         if (dataElementInstance != null) {
-            if (dataElementInstances.contains(dataElementInstance)) {
-                dataElementInstances.remove(dataElementInstance);
+            boolean isRemoved;
+            synchronized (this.dataElementInstances) {
+                isRemoved = dataElementInstances.remove(dataElementInstance);
+            }
 
+            if (isRemoved) {
                 // Persist the changes at the data source
                 this.storeToDS();
 
@@ -285,11 +860,11 @@ public class DataValue extends ABaseResource implements ILifeCycleInstanceObject
     /**
      * Provides the list of data element instances using this data value.
      *
-     * @return An unmodifiable list of data element instances.
+     * @return An unmodifiable snapshot of the list of data element instances.
      */
     @JsonIgnore
     public List<DataElementInstance> getDataElementInstances() {
-        return this.dataElementInstances != null ? Collections.unmodifiableList(this.dataElementInstances) : null;
+        return snapshot(this.dataElementInstances);
     }
 
     /**
@@ -300,9 +875,11 @@ public class DataValue extends ABaseResource implements ILifeCycleInstanceObject
      * @return An unmodifiable list of matching data element instances.
      */
     public List<DataElementInstance> getDataElementInstances(String createdBy) {
-        List<DataElementInstance> result = this.dataElementInstances.stream().filter(s -> s.getCreatedBy().equals(createdBy)).collect
-                (Collectors.toList());
-        return Collections.unmodifiableList(result);
+        synchronized (this.dataElementInstances) {
+            List<DataElementInstance> result = this.dataElementInstances.stream().filter(s -> s.getCreatedBy().equals
+                    (createdBy)).collect(Collectors.toList());
+            return Collections.unmodifiableList(result);
+        }
     }
 
     /**
@@ -312,8 +889,11 @@ public class DataValue extends ABaseResource implements ILifeCycleInstanceObject
      * @return the data element instance by id
      */
     public DataElementInstance getDataElementInstanceById(String identifier) {
-        Optional<DataElementInstance> opt = this.dataElementInstances.stream().filter(s -> s.getIdentifier().equals(identifier)).findFirst();
-        return opt.orElse(null);
+        synchronized (this.dataElementInstances) {
+            Optional<DataElementInstance> opt = this.dataElementInstances.stream().filter(s -> s.getIdentifier()
+                    .equals(identifier)).findFirst();
+            return opt.orElse(null);
+        }
     }
 
     @Override
@@ -409,6 +989,15 @@ public class DataValue extends ABaseResource implements ILifeCycleInstanceObject
         if (this.dataElementInstances.isEmpty()) {
             // Delete the associated data and destroy the persistence provider
             this.persistProv.deleteBinaryData(ModelConstants.DATA_VALUE__DATA_COLLECTION, getIdentifier());
+            replaceContent(null);
+
+            // Delete the data of all open uploads
+            if (this.uploads != null) {
+                for (String uploadId : this.uploads) {
+                    this.persistProv.deleteBinaryData(ModelConstants.DATA_VALUE__UPLOAD_COLLECTION, uploadId);
+                }
+                this.uploads.clear();
+            }
 
             // Trigger the delete event for the data value. This will also trigger the deletion of the corresponding
             // object at the data source through the PersistableHashMap in the corresponding IDataManager instance.
@@ -482,7 +1071,7 @@ public class DataValue extends ABaseResource implements ILifeCycleInstanceObject
             ois.defaultReadObject();
 
             lifeCycle = new DataValueLifeCycle(this, false);
-            this.persistProv = LocalPersistenceProviderFactory.createLocalPersistenceProvider(DataValue.class);
+            this.persistProv = PersistenceProviderRegistry.INSTANCE.getProvider(DataValue.class);
         } catch (ClassNotFoundException e) {
             logger.error("Class not found during deserialization of data value '{}'", getIdentifier());
             throw new IOException("Class not found during deserialization of data value.");
@@ -496,6 +1085,9 @@ public class DataValue extends ABaseResource implements ILifeCycleInstanceObject
         Method[] methods = getClass().getMethods();
         for (Method method : methods) {
             if (method.getName().startsWith("get") && !method.getName().equals("getData")
+                    && !method.getName().equals("getDataAsStream") && !method.getName().equals("getDataAsChannel")
+                    && !method.getName().equals("getEncodedDataAsChannel")
+                    && !method.getName().equals("getEncodedSize")
                     && method.getParameterTypes().length == 0) {
                 try {
                     String field = method.getName().substring(3);
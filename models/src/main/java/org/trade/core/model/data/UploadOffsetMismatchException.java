@@ -0,0 +1,43 @@
+/*
+ * Copyright 2017 Michael Hahn
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.trade.core.model.data;
+
+/**
+ * Thrown if a chunk of an upload does not start at the current offset of the upload, e.g., because another chunk was
+ * appended concurrently. The current offset is provided, so that the upload can be resumed from there.
+ */
+public class UploadOffsetMismatchException extends IllegalArgumentException {
+
+    private static final long serialVersionUID = 4468170214869437541L;
+
+    private final long currentOffset;
+
+    public UploadOffsetMismatchException(String message, long currentOffset) {
+        super(message);
+
+        this.currentOffset = currentOffset;
+    }
+
+    /**
+     * Provides the offset of the upload at the time the chunk was rejected.
+     *
+     * @return the offset at which the next chunk has to start
+     */
+    public long getCurrentOffset() {
+        return currentOffset;
+    }
+}
@@ -31,7 +31,7 @@ import org.trade.core.model.data.ILifeCycleInstanceObject;
 import org.trade.core.model.lifecycle.DataElementInstanceLifeCycle;
 import org.trade.core.model.lifecycle.LifeCycleException;
 import org.trade.core.persistence.IPersistenceProvider;
-import org.trade.core.persistence.local.LocalPersistenceProviderFactory;
+import org.trade.core.persistence.local.PersistenceProviderRegistry;
 import org.trade.core.utils.events.InstanceEvents;
 import org.trade.core.utils.states.InstanceStates;
 
@@ -97,7 +97,7 @@ public class DataElementInstance extends ABaseResource implements ILifeCycleInst
 
         this.dataValues = new ArrayList<>();
         this.lifeCycle = new DataElementInstanceLifeCycle(this);
-        this.persistProv = LocalPersistenceProviderFactory.createLocalPersistenceProvider(DataElementInstance.class);
+        this.persistProv = PersistenceProviderRegistry.INSTANCE.getProvider(DataElementInstance.class);
     }
 
     /**
@@ -106,7 +106,7 @@ public class DataElementInstance extends ABaseResource implements ILifeCycleInst
     private DataElementInstance() {
         this.dataValues = new ArrayList<>();
         this.lifeCycle = new DataElementInstanceLifeCycle(this, false);
-        this.persistProv = LocalPersistenceProviderFactory.createLocalPersistenceProvider(DataElementInstance.class);
+        this.persistProv = PersistenceProviderRegistry.INSTANCE.getProvider(DataElementInstance.class);
     }
 
     public Date getCreationTimestamp() {
@@ -121,12 +121,19 @@ public class DataElementInstance extends ABaseResource implements ILifeCycleInst
         return state;
     }
 
+    /**
+     * Provides the list of data values used by this data element instance.
+     *
+     * @return An unmodifiable snapshot of the list of data values.
+     */
     public List<DataValue> getDataValues() {
-        return dataValues;
+        return snapshot(dataValues);
     }
 
     public DataValue getDataValue(int index) {
-        return dataValues.get(index);
+        synchronized (this.dataValues) {
+            return dataValues.get(index);
+        }
     }
 
     public DataElement getDataElement() {
@@ -154,20 +161,28 @@ public class DataElementInstance extends ABaseResource implements ILifeCycleInst
                 // Only data values having the same type and contentType as the data element the instance is
                 // created for should be allowed to be associated.
 
+                DataValue replacedValue = null;
+
                 // Check if the data element is a simple or collection element and if it's a simple element if
                 // already a data value was set before
-                if (this.dataElement.getIsCollectionElement() && !this.dataValues.contains(dataValue)) {
-                    // Add the new data value
-                    this.dataValues.add(dataValue);
-                } else {
-                    if (!this.dataValues.isEmpty() && this.dataValues.get(0) != dataValue) {
-                        // Remove the association between this data element instance and the data value
-                        this.dataValues.get(0).removeAssociationWithDataElementInstance(this);
-                        this.dataValues.clear();
+                synchronized (this.dataValues) {
+                    if (this.dataElement.getIsCollectionElement() && !this.dataValues.contains(dataValue)) {
+                        // Add the new data value
+                        this.dataValues.add(dataValue);
+                    } else {
+                        if (!this.dataValues.isEmpty() && this.dataValues.get(0) != dataValue) {
+                            replacedValue = this.dataValues.get(0);
+                            this.dataValues.clear();
+                        }
+
+                        // Set the new data value
+                        this.dataValues.add(dataValue);
                     }
+                }
 
-                    // Set the new data value
-                    this.dataValues.add(dataValue);
+                if (replacedValue != null) {
+                    // Remove the association between this data element instance and the replaced data value
+                    replacedValue.removeAssociationWithDataElementInstance(this);
                 }
 
                 // Associate the data element instance with the new data value
@@ -185,6 +200,55 @@ public class DataElementInstance extends ABaseResource implements ILifeCycleInst
         }
     }
 
+    /**
+     * Adds all given data values to this instance of a collection data element at once. In contrast to adding the
+     * data values one by one through {@link #addDataValue(DataValue)}, the data values are not persisted, e.g.,
+     * because they are persisted as part of a batch afterwards, and the state of the data element instance is only
+     * updated once.
+     *
+     * @param dataValues the data values to add
+     * @throws Exception if the data element is not a collection element or a data value is in a state which does
+     *                   not allow to use it
+     */
+    public void addDataValues(Collection<DataValue> dataValues) throws Exception {
+        if (!this.dataElement.getIsCollectionElement()) {
+            throw new IllegalArgumentException("Multiple data values can only be added to instances of collection " +
+                    "data elements, but the data element instance (" + this.getIdentifier() + ") belongs to a " +
+                    "simple data element.");
+        }
+
+        for (DataValue dataValue : dataValues) {
+            if (!dataValue.isCreated() && !dataValue.isInitialized()) {
+                logger.info("The data value ({}) can not be used by data element instance ({}) because it is in state " +
+                        "'{}'.", dataValue.getIdentifier(), this.getIdentifier(), dataValue.getState());
+
+                throw new LifeCycleException("The data value (" + dataValue.getIdentifier() +
+                        ") can not be used by data element instance (" + this.getIdentifier() + ") because it is in state" +
+                        " '" + dataValue.getState() + "'.");
+            }
+        }
+
+        List<DataValue> addedValues = new ArrayList<>();
+        synchronized (this.dataValues) {
+            for (DataValue dataValue : dataValues) {
+                if (!this.dataValues.contains(dataValue)) {
+                    this.dataValues.add(dataValue);
+                    addedValues.add(dataValue);
+                }
+            }
+        }
+
+        // Associate the new data values with the data element instance
+        for (DataValue dataValue : addedValues) {
+            dataValue.addDataElementInstance(this);
+        }
+
+        this.initialize();
+
+        // Persist the changed list of data values at the data source
+        this.storeToDS();
+    }
+
     public void removeDataValue(DataValue dataValue) throws Exception {
         if (dataValue != null) {
             if (dataValue.getDataElementInstances().contains(this)) {
@@ -194,7 +258,9 @@ public class DataElementInstance extends ABaseResource implements ILifeCycleInst
                 dataValue.removeAssociationWithDataElementInstance(this);
 
                 // Remove the data value from the list
-                this.dataValues.remove(dataValue);
+                synchronized (this.dataValues) {
+                    this.dataValues.remove(dataValue);
+                }
 
                 this.initialize();
             } else {
@@ -209,11 +275,15 @@ public class DataElementInstance extends ABaseResource implements ILifeCycleInst
     }
 
     public void removeAllDataValues() throws Exception {
-        for (DataValue dataValue : this.dataValues) {
-            dataValue.removeAssociationWithDataElementInstance(this);
+        List<DataValue> removedValues;
+        synchronized (this.dataValues) {
+            removedValues = new ArrayList<>(this.dataValues);
+            this.dataValues.clear();
         }
 
-        this.dataValues.clear();
+        for (DataValue dataValue : removedValues) {
+            dataValue.removeAssociationWithDataElementInstance(this);
+        }
     }
 
     @Override
@@ -258,7 +328,9 @@ public class DataElementInstance extends ABaseResource implements ILifeCycleInst
     }
 
     private boolean areDataValuesInitialized() {
-        return this.dataValues.stream().allMatch(DataValue::isInitialized);
+        synchronized (this.dataValues) {
+            return this.dataValues.stream().allMatch(DataValue::isInitialized);
+        }
     }
 
     @Override
@@ -357,8 +429,7 @@ public class DataElementInstance extends ABaseResource implements ILifeCycleInst
             ois.defaultReadObject();
 
             lifeCycle = new DataElementInstanceLifeCycle(this, false);
-            this.persistProv = LocalPersistenceProviderFactory.createLocalPersistenceProvider(DataElementInstance
-                    .class);
+            this.persistProv = PersistenceProviderRegistry.INSTANCE.getProvider(DataElementInstance.class);
         } catch (ClassNotFoundException e) {
             logger.error("Class not found during deserialization of data element instance '{}'", getIdentifier());
             throw new IOException("Class not found during deserialization of data element instance.");
@@ -30,7 +30,7 @@ import org.trade.core.model.data.ILifeCycleInstanceObject;
 import org.trade.core.model.lifecycle.DataObjectInstanceLifeCycle;
 import org.trade.core.model.lifecycle.LifeCycleException;
 import org.trade.core.persistence.IPersistenceProvider;
-import org.trade.core.persistence.local.LocalPersistenceProviderFactory;
+import org.trade.core.persistence.local.PersistenceProviderRegistry;
 import org.trade.core.utils.events.InstanceEvents;
 import org.trade.core.utils.states.InstanceStates;
 
@@ -91,8 +91,7 @@ public class DataObjectInstance extends ABaseResource implements ILifeCycleInsta
 
         dataElementInstances = new ArrayList<>();
         this.lifeCycle = new DataObjectInstanceLifeCycle(this);
-        this.persistProv = LocalPersistenceProviderFactory.createLocalPersistenceProvider(DataObjectInstance
-                .class);
+        this.persistProv = PersistenceProviderRegistry.INSTANCE.getProvider(DataObjectInstance.class);
     }
 
     /**
@@ -100,8 +99,7 @@ public class DataObjectInstance extends ABaseResource implements ILifeCycleInsta
      */
     private DataObjectInstance() {
         this.lifeCycle = new DataObjectInstanceLifeCycle(this, false);
-        this.persistProv = LocalPersistenceProviderFactory.createLocalPersistenceProvider(DataObjectInstance
-                .class);
+        this.persistProv = PersistenceProviderRegistry.INSTANCE.getProvider(DataObjectInstance.class);
     }
 
     public Date getCreationTimestamp() {
@@ -120,8 +118,13 @@ public class DataObjectInstance extends ABaseResource implements ILifeCycleInsta
         return this.dataObject;
     }
 
+    /**
+     * Provides the list of data element instances of this data object instance.
+     *
+     * @return An unmodifiable snapshot of the list of data element instances.
+     */
     public List<DataElementInstance> getDataElementInstances() {
-        return dataElementInstances;
+        return snapshot(dataElementInstances);
     }
 
     public HashMap<String, String> getCorrelationProperties() {
@@ -131,17 +134,42 @@ public class DataObjectInstance extends ABaseResource implements ILifeCycleInsta
     public void addDataElementInstance(DataElementInstance elementInstance) {
         // Check if the element instance belongs to this data object instance
         if (elementInstance.getDataObjectInstance() == this) {
-            this.dataElementInstances.add(elementInstance);
+            synchronized (this.dataElementInstances) {
+                this.dataElementInstances.add(elementInstance);
+            }
 
             // Persist the changes at the data source
             this.storeToDS();
         }
     }
 
+    /**
+     * Associates the given element instances with this data object instance. In contrast to
+     * {@link #addDataElementInstance(DataElementInstance)}, the data object instance is not persisted, e.g., because
+     * it is persisted as part of a batch afterwards.
+     *
+     * @param elementInstances the element instances of this data object instance to add
+     */
+    public void addDataElementInstances(Collection<DataElementInstance> elementInstances) {
+        synchronized (this.dataElementInstances) {
+            for (DataElementInstance elementInstance : elementInstances) {
+                // Check if the element instance belongs to this data object instance
+                if (elementInstance.getDataObjectInstance() == this) {
+                    this.dataElementInstances.add(elementInstance);
+                }
+            }
+        }
+    }
+
     public void removeDataElementInstance(DataElementInstance elementInstance) {
         // Check if the element instance belongs to this data object instance
         if (elementInstance.getDataObjectInstance() == this) {
-            if (this.dataElementInstances.remove(elementInstance)) {
+            boolean isRemoved;
+            synchronized (this.dataElementInstances) {
+                isRemoved = this.dataElementInstances.remove(elementInstance);
+            }
+
+            if (isRemoved) {
                 // Persist the changes at the data source
                 this.storeToDS();
             }
@@ -154,7 +182,7 @@ public class DataObjectInstance extends ABaseResource implements ILifeCycleInsta
 
             // Check if all related data element instance are initialized or not
             boolean areInitialized = true;
-            Iterator<DataElementInstance> iter = this.dataElementInstances.iterator();
+            Iterator<DataElementInstance> iter = getDataElementInstances().iterator();
             while (areInitialized && iter.hasNext()) {
                 if (!iter.next().isInitialized()) {
                     // Found one element instance which is not initialized.
@@ -214,12 +242,13 @@ public class DataObjectInstance extends ABaseResource implements ILifeCycleInsta
         // Remove the data object instance from the data object
         getDataObject().removeDataObjectInstance(this);
 
-        // By convention we also directly delete all related data element instances of the data object instance
-        for (Iterator<DataElementInstance> iter = this.dataElementInstances.iterator(); iter.hasNext(); ) {
-            DataElementInstance instance = iter.next();
-
+        // By convention we also directly delete all related data element instances of the data object instance.
+        // We loop over a snapshot, so that no lock is held while the element instances are deleted.
+        for (DataElementInstance instance : getDataElementInstances()) {
             // Remove the element instance from the list
-            iter.remove();
+            synchronized (this.dataElementInstances) {
+                this.dataElementInstances.remove(instance);
+            }
 
             // Trigger the deletion of the element instance
             instance.delete();
@@ -286,8 +315,7 @@ public class DataObjectInstance extends ABaseResource implements ILifeCycleInsta
             ois.defaultReadObject();
 
             lifeCycle = new DataObjectInstanceLifeCycle(this, false);
-            this.persistProv = LocalPersistenceProviderFactory.createLocalPersistenceProvider(DataObjectInstance
-                    .class);
+            this.persistProv = PersistenceProviderRegistry.INSTANCE.getProvider(DataObjectInstance.class);
         } catch (ClassNotFoundException e) {
             logger.error("Class not found during deserialization of data object instance '{}'", getIdentifier());
             throw new IOException("Class not found during deserialization of data object instance.");
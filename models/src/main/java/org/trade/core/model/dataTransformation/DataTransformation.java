@@ -28,7 +28,7 @@ import org.trade.core.model.ABaseResource;
 import org.trade.core.model.data.DataDependencyGraph;
 import org.trade.core.model.data.instance.DataElementInstance;
 import org.trade.core.persistence.IPersistenceProvider;
-import org.trade.core.persistence.local.LocalPersistenceProviderFactory;
+import org.trade.core.persistence.local.PersistenceProviderRegistry;
 
 import java.io.IOException;
 import java.io.ObjectInputStream;
@@ -88,7 +88,7 @@ public class DataTransformation extends ABaseResource {
      * This constructor is only used by Morphia to load objects from the database.
      */
     private DataTransformation() {
-        this.persistProv = LocalPersistenceProviderFactory.createLocalPersistenceProvider(DataTransformation.class);
+        this.persistProv = PersistenceProviderRegistry.INSTANCE.getProvider(DataTransformation.class);
     }
 
     /**
@@ -111,7 +111,7 @@ public class DataTransformation extends ABaseResource {
         this.name = name;
         this.transformerQName = transformerQName;
 
-        this.persistProv = LocalPersistenceProviderFactory.createLocalPersistenceProvider(DataTransformation.class);
+        this.persistProv = PersistenceProviderRegistry.INSTANCE.getProvider(DataTransformation.class);
     }
 
     /**
@@ -282,7 +282,7 @@ public class DataTransformation extends ABaseResource {
         try {
             ois.defaultReadObject();
 
-            this.persistProv = LocalPersistenceProviderFactory.createLocalPersistenceProvider(DataTransformation.class);
+            this.persistProv = PersistenceProviderRegistry.INSTANCE.getProvider(DataTransformation.class);
         } catch (ClassNotFoundException e) {
             logger.error("Class not found during deserialization of data transformation '{}'", getIdentifier());
             throw new IOException("Class not found during deserialization of data transformation.");
@@ -24,7 +24,7 @@ import org.slf4j.LoggerFactory;
 import org.trade.core.auditing.events.ATraDEEvent;
 import org.trade.core.model.ABaseResource;
 import org.trade.core.persistence.IPersistenceProvider;
-import org.trade.core.persistence.local.LocalPersistenceProviderFactory;
+import org.trade.core.persistence.local.PersistenceProviderRegistry;
 
 import java.io.IOException;
 import java.io.ObjectInputStream;
@@ -78,7 +78,7 @@ public class Notification extends ABaseResource {
      * This constructor is only used by Morphia to load objects from the database.
      */
     private Notification() {
-        this.persistProv = LocalPersistenceProviderFactory.createLocalPersistenceProvider(Notification.class);
+        this.persistProv = PersistenceProviderRegistry.INSTANCE.getProvider(Notification.class);
     }
 
     /**
@@ -109,7 +109,7 @@ public class Notification extends ABaseResource {
         }
 
         this.resourceURL = resourceURL;
-        this.persistProv = LocalPersistenceProviderFactory.createLocalPersistenceProvider(Notification.class);
+        this.persistProv = PersistenceProviderRegistry.INSTANCE.getProvider(Notification.class);
     }
 
     /**
@@ -282,7 +282,7 @@ public class Notification extends ABaseResource {
         try {
             ois.defaultReadObject();
 
-            this.persistProv = LocalPersistenceProviderFactory.createLocalPersistenceProvider(Notification.class);
+            this.persistProv = PersistenceProviderRegistry.INSTANCE.getProvider(Notification.class);
         } catch (ClassNotFoundException e) {
             logger.error("Class not found during deserialization of notification '{}'", getIdentifier());
             throw new IOException("Class not found during deserialization of notification.");
@@ -22,8 +22,13 @@ import org.trade.core.model.data.DataObject;
 import org.trade.core.model.data.DataValue;
 import org.trade.core.model.lifecycle.LifeCycleException;
 
+import java.io.ByteArrayInputStream;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
 
@@ -138,4 +143,54 @@ public class DEInstanceTest {
         assertTrue(objInstance.isCreated());
         assertTrue(elmInstance.isCreated());
     }
-}
\ No newline at end of file
+
+    @Test
+    public void addingMultipleDataValuesShouldInitializeCollectionInstance() throws Exception {
+        DataObject obj = new DataObject(entity, doName);
+
+        DataElement elm = new DataElement(obj, entity, deName, true);
+        elm.initialize();
+
+        HashMap<String, String> correlationProps = new HashMap<>();
+        correlationProps.put("customerId", "1234");
+
+        DataObjectInstance objInstance = obj.instantiate("someone", correlationProps);
+        DataElementInstance elmInstance = elm.instantiate(objInstance, "owner", correlationProps);
+
+        List<DataValue> values = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            DataValue value = new DataValue(entity, "dataValue" + i);
+            value.setDataFromStream(new ByteArrayInputStream(("test" + i).getBytes()));
+            values.add(value);
+        }
+
+        elmInstance.addDataValues(values);
+
+        assertEquals(values, elmInstance.getDataValues());
+        assertTrue(elmInstance.isInitialized());
+        assertTrue(objInstance.isInitialized());
+
+        for (DataValue value : values) {
+            assertEquals(Collections.singletonList(elmInstance), value.getDataElementInstances());
+        }
+
+        // Adding the same data values again should not change anything
+        elmInstance.addDataValues(values);
+        assertEquals(5, elmInstance.getNumberOfDataValues());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void addingMultipleDataValuesToSimpleInstanceShouldCauseException() throws Exception {
+        DataObject obj = new DataObject(entity, doName);
+
+        DataElement elm = new DataElement(obj, entity, deName, false);
+        elm.initialize();
+
+        HashMap<String, String> correlationProps = new HashMap<>();
+
+        DataObjectInstance objInstance = obj.instantiate("someone", correlationProps);
+        DataElementInstance elmInstance = elm.instantiate(objInstance, "owner", correlationProps);
+
+        elmInstance.addDataValues(Collections.singletonList(new DataValue(entity, "dataValue")));
+    }
+}
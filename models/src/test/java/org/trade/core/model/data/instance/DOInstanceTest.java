@@ -21,8 +21,11 @@ import org.trade.core.model.data.DataElement;
 import org.trade.core.model.data.DataObject;
 import org.trade.core.model.lifecycle.LifeCycleException;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
 
@@ -61,4 +64,38 @@ public class DOInstanceTest {
         assertNotNull(inst);
         assertTrue(inst.isCreated());
     }
-}
\ No newline at end of file
+
+    @Test
+    public void bulkInstantiationShouldCreateAllInstances() throws Exception {
+        DataObject obj = new DataObject(entity, doName);
+        DataElement elm = new DataElement(obj);
+        elm.initialize();
+
+        List<HashMap<String, String>> correlationPropsList = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            HashMap<String, String> correlationProps = new HashMap<>();
+            correlationProps.put("customerId", "customer" + i);
+            correlationPropsList.add(correlationProps);
+        }
+
+        List<DataObjectInstance> instances = obj.instantiate("owner", correlationPropsList);
+        List<DataElementInstance> elementInstances = elm.instantiate(instances, "owner");
+
+        assertEquals(10, instances.size());
+        assertEquals(10, obj.getDataObjectInstances().size());
+        assertEquals(10, elementInstances.size());
+        assertEquals(10, elm.getDataElementInstances().size());
+
+        for (int i = 0; i < 10; i++) {
+            DataObjectInstance inst = instances.get(i);
+
+            assertTrue(inst.isCreated());
+            assertEquals(correlationPropsList.get(i), inst.getCorrelationProperties());
+            assertEquals(inst, obj.getDataObjectInstanceByCorrelationProps(correlationPropsList.get(i)));
+
+            assertEquals(1, inst.getDataElementInstances().size());
+            assertEquals(elementInstances.get(i), inst.getDataElementInstances().get(0));
+            assertEquals(inst, elementInstances.get(i).getDataObjectInstance());
+        }
+    }
+}
@@ -0,0 +1,145 @@
+/*
+ * Copyright 2017 Michael Hahn
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.trade.core.persistence;
+
+import org.junit.Test;
+import org.trade.core.model.data.DataValue;
+import org.trade.core.utils.TraDEProperties;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.*;
+
+public class PersistableHashMapTest {
+
+    @Test
+    public void objectsShouldBeLoadedLazilyAndEvicted() throws Exception {
+        TraDEProperties properties = new TraDEProperties();
+        properties.setProperty(TraDEProperties.PROPERTY_DATA_PERSIST_LAZY_LOADING_ENABLED, "true");
+        properties.setProperty(TraDEProperties.PROPERTY_DATA_PERSIST_LAZY_LOADING_CACHE_SIZE, "2");
+
+        PersistableHashMap<DataValue> map = new PersistableHashMap<>(DataValue.class, properties);
+        assertTrue(map.isLazy());
+
+        List<DataValue> values = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            DataValue value = new DataValue("hahnml", "lazyValue" + i);
+            values.add(value);
+            map.put(value.getIdentifier(), value);
+        }
+
+        assertTrue(map.getCachedObjectCount() <= 2);
+        assertTrue(map.getCacheEvictions() >= 3);
+
+        // Evicted objects are still part of the map and loaded again on access
+        DataValue first = values.get(0);
+        assertTrue(map.containsKey(first.getIdentifier()));
+        assertEquals(first.getName(), map.get(first.getIdentifier()).getName());
+        assertTrue(map.getCacheMisses() >= 1);
+
+        Set<String> iterated = map.values().stream().map(DataValue::getIdentifier).collect(Collectors.toSet());
+        for (DataValue value : values) {
+            assertTrue(iterated.contains(value.getIdentifier()));
+        }
+        assertTrue(map.getCachedObjectCount() <= 2);
+
+        // A new map only loads the identifiers
+        PersistableHashMap<DataValue> reloaded = new PersistableHashMap<>(DataValue.class, properties);
+        assertEquals(0, reloaded.getCachedObjectCount());
+        assertEquals(map.size(), reloaded.size());
+
+        for (DataValue value : values) {
+            assertNotNull(map.remove(value.getIdentifier()));
+            assertFalse(map.containsKey(value.getIdentifier()));
+        }
+
+        reloaded = new PersistableHashMap<>(DataValue.class, properties);
+        assertNull(reloaded.get(first.getIdentifier()));
+    }
+
+    @Test
+    public void scanShouldNotReplaceCachedObjects() throws Exception {
+        TraDEProperties properties = new TraDEProperties();
+        properties.setProperty(TraDEProperties.PROPERTY_DATA_PERSIST_LAZY_LOADING_ENABLED, "true");
+        properties.setProperty(TraDEProperties.PROPERTY_DATA_PERSIST_LAZY_LOADING_CACHE_SIZE, "2");
+        properties.setProperty(TraDEProperties.PROPERTY_DATA_PERSIST_WRITE_BEHIND_BATCH_SIZE, "2");
+
+        PersistableHashMap<DataValue> map = new PersistableHashMap<>(DataValue.class, properties);
+
+        List<DataValue> values = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            DataValue value = new DataValue("hahnml", "scannedValue" + i);
+            values.add(value);
+            map.put(value.getIdentifier(), value);
+        }
+
+        DataValue last = values.get(values.size() - 1);
+        assertSame(last, map.get(last.getIdentifier()));
+        long misses = map.getCacheMisses();
+        long evictions = map.getCacheEvictions();
+
+        List<DataValue> scanned = new ArrayList<>();
+        map.scan(scanned::add);
+
+        Set<String> identifiers = scanned.stream().map(DataValue::getIdentifier).collect(Collectors.toSet());
+        assertEquals(map.size(), scanned.size());
+        for (DataValue value : values) {
+            assertTrue(identifiers.contains(value.getIdentifier()));
+        }
+
+        // The cached instances are used and no other objects are loaded into the cache
+        assertSame(last, scanned.stream().filter(value -> value.getIdentifier().equals(last.getIdentifier()))
+                .findFirst().orElse(null));
+        assertEquals(misses, map.getCacheMisses());
+        assertEquals(evictions, map.getCacheEvictions());
+        assertSame(last, map.get(last.getIdentifier()));
+
+        for (DataValue value : values) {
+            assertNotNull(map.remove(value.getIdentifier()));
+        }
+    }
+
+    @Test
+    public void objectsShouldBeStoredInBatches() throws Exception {
+        TraDEProperties properties = new TraDEProperties();
+        properties.setProperty(TraDEProperties.PROPERTY_DATA_PERSIST_WRITE_BEHIND_BATCH_SIZE, "2");
+
+        PersistableHashMap<DataValue> map = new PersistableHashMap<>(DataValue.class, properties);
+
+        Map<String, DataValue> values = new LinkedHashMap<>();
+        for (int i = 0; i < 5; i++) {
+            DataValue value = new DataValue("hahnml", "batchedValue" + i);
+            values.put(value.getIdentifier(), value);
+        }
+        map.putAll(values);
+
+        // All batches are written, including the last incomplete one
+        PersistableHashMap<DataValue> reloaded = new PersistableHashMap<>(DataValue.class, properties);
+        for (DataValue value : values.values()) {
+            assertEquals(value.getName(), reloaded.get(value.getIdentifier()).getName());
+        }
+
+        for (String identifier : values.keySet()) {
+            assertNotNull(map.remove(identifier));
+        }
+    }
+}
@@ -0,0 +1,117 @@
+/*
+ * Copyright 2017 Michael Hahn
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.trade.core.persistence;
+
+import org.junit.Test;
+import org.trade.core.model.data.DataValue;
+import org.trade.core.persistence.local.filesystem.FileSystemPersistence;
+import org.trade.core.utils.TraDEProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.Assert.*;
+
+public class WriteBehindQueueTest {
+
+    @Test
+    public void queuedChangesShouldBeCoalescedAndFlushed() throws Exception {
+        TraDEProperties properties = new TraDEProperties();
+        // Avoid scheduled flushes during the test
+        properties.setProperty(TraDEProperties.PROPERTY_DATA_PERSIST_WRITE_BEHIND_FLUSH_INTERVAL, "3600000");
+
+        IPersistenceProvider<DataValue> persistProv = new FileSystemPersistence<>();
+        persistProv.initProvider(DataValue.class, properties);
+
+        WriteBehindQueue<DataValue> queue = new WriteBehindQueue<>(DataValue.class, persistProv, properties);
+
+        DataValue stored = new DataValue("hahnml", "storedValue");
+        DataValue deleted = new DataValue("hahnml", "deletedValue");
+        persistProv.storeObject(deleted);
+
+        queue.store(stored);
+        stored.setContentType("text/plain");
+        queue.store(stored);
+        queue.delete(deleted.getIdentifier());
+
+        assertEquals(2, queue.getQueueDepth());
+        assertEquals(1, queue.getCoalescedOperations());
+        assertNull(persistProv.loadObject(stored.getIdentifier()));
+        assertNotNull(persistProv.loadObject(deleted.getIdentifier()));
+
+        queue.flush();
+
+        assertEquals(0, queue.getQueueDepth());
+        assertEquals(2, queue.getWrittenOperations());
+        assertEquals("text/plain", persistProv.loadObject(stored.getIdentifier()).getContentType());
+        assertNull(persistProv.loadObject(deleted.getIdentifier()));
+
+        queue.delete(stored.getIdentifier());
+        queue.shutdown();
+
+        assertNull(persistProv.loadObject(stored.getIdentifier()));
+        assertEquals(0, queue.getFailedFlushes());
+    }
+
+    @Test
+    public void changesQueuedDuringShutdownShouldBeWritten() throws Exception {
+        TraDEProperties properties = new TraDEProperties();
+        // Hand every change over to the background thread
+        properties.setProperty(TraDEProperties.PROPERTY_DATA_PERSIST_WRITE_BEHIND_BATCH_SIZE, "1");
+
+        IPersistenceProvider<DataValue> persistProv = new FileSystemPersistence<>();
+        persistProv.initProvider(DataValue.class, properties);
+
+        WriteBehindQueue<DataValue> queue = new WriteBehindQueue<>(DataValue.class, persistProv, properties);
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<List<DataValue>>> results = new ArrayList<>();
+        try {
+            for (int i = 0; i < 4; i++) {
+                results.add(executor.submit(() -> {
+                    List<DataValue> values = new ArrayList<>();
+                    start.await();
+                    for (int j = 0; j < 50; j++) {
+                        DataValue value = new DataValue("hahnml", "value" + j);
+                        queue.store(value);
+                        values.add(value);
+                    }
+                    return values;
+                }));
+            }
+
+            start.countDown();
+            queue.shutdown();
+
+            for (Future<List<DataValue>> result : results) {
+                // No change is rejected by the stopped background thread or left in the queue
+                for (DataValue value : result.get()) {
+                    assertNotNull(persistProv.loadObject(value.getIdentifier()));
+                    persistProv.deleteObject(value.getIdentifier());
+                }
+            }
+            assertEquals(0, queue.getQueueDepth());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,138 @@
+/*
+ * Copyright 2017 Michael Hahn
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.trade.core.persistence.cache;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.trade.core.model.data.DataValue;
+import org.trade.core.utils.TraDEProperties;
+
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+
+import static org.junit.Assert.*;
+
+public class PayloadCacheTest {
+
+    @Before
+    public void enableCache() {
+        TraDEProperties properties = new TraDEProperties();
+        properties.setProperty(TraDEProperties.PROPERTY_DATA_PERSIST_PAYLOAD_CACHE_ENABLED, "true");
+        properties.setProperty(TraDEProperties.PROPERTY_DATA_PERSIST_PAYLOAD_CACHE_MAX_SIZE, "100");
+        properties.setProperty(TraDEProperties.PROPERTY_DATA_PERSIST_PAYLOAD_CACHE_MAX_ENTRY_SIZE, "60");
+
+        PayloadCache.INSTANCE.configure(properties);
+    }
+
+    @After
+    public void resetCache() {
+        PayloadCache.INSTANCE.configure(new TraDEProperties());
+    }
+
+    @Test
+    public void payloadsShouldBeCachedAndEvicted() throws Exception {
+        PayloadCache cache = PayloadCache.INSTANCE;
+
+        assertFalse(cache.accepts(61));
+
+        cache.put("first", new byte[50], cache.getStamp("first"));
+        cache.put("second", new byte[40], cache.getStamp("second"));
+        assertEquals(90, cache.getMetrics().getResidentBytes());
+
+        // Access the first payload, so that the second one is evicted
+        assertEquals(50, cache.get("first").length);
+        cache.put("third", new byte[30], cache.getStamp("third"));
+
+        assertNull(cache.get("second"));
+        assertNotNull(cache.get("third"));
+        assertEquals(80, cache.getMetrics().getResidentBytes());
+        assertEquals(1, cache.getMetrics().getEvictions());
+
+        // Payloads loaded before an invalidation are not cached
+        long stamp = cache.getStamp("first");
+        long otherStamp = cache.getStamp("other");
+        cache.invalidate("first");
+        cache.put("first", new byte[50], stamp);
+        assertNull(cache.get("first"));
+
+        // The invalidation of a payload does not affect the loading of other payloads
+        cache.put("other", new byte[10], otherStamp);
+        assertNotNull(cache.get("other"));
+        cache.invalidate("other");
+
+        byte[] data = "0123456789".getBytes();
+        cache.put("channel", data, cache.getStamp("channel"));
+        try (ReadableByteChannel channel = cache.openChannel("channel", 4)) {
+            ByteBuffer buffer = ByteBuffer.allocate(4);
+            assertEquals(4, channel.read(buffer));
+            assertEquals("4567", new String(buffer.array()));
+        }
+
+        PayloadCacheMetrics metrics = cache.getMetrics();
+        assertEquals(4, metrics.getHits());
+        assertEquals(2, metrics.getMisses());
+        assertEquals(4.0 / 6, metrics.getHitRatio(), 0.001);
+    }
+
+    @Test
+    public void dataOfDataValuesShouldBeCachedAndInvalidated() throws Exception {
+        DataValue value = new DataValue("hahnml", "cachedValue");
+        value.setData("first".getBytes(), 5);
+
+        assertArrayEquals("first".getBytes(), value.getData());
+        assertArrayEquals("first".getBytes(), value.getData());
+        assertEquals(1, PayloadCache.INSTANCE.getMetrics().getHits());
+
+        value.setData("second".getBytes(), 6);
+        assertArrayEquals("second".getBytes(), value.getData());
+        assertEquals(2, PayloadCache.INSTANCE.getMetrics().getMisses());
+
+        value.delete();
+        assertEquals(0, PayloadCache.INSTANCE.getMetrics().getResidentBytes());
+    }
+
+    @Test
+    public void stampsOfInvalidatedPayloadsShouldBeBounded() throws Exception {
+        PayloadCache cache = PayloadCache.INSTANCE;
+
+        cache.put("cached", new byte[10], cache.getStamp("cached"));
+        long stamp = cache.getStamp("loading");
+
+        for (int i = 0; i < PayloadCache.MAX_STAMPS + 10; i++) {
+            cache.invalidate("value" + i);
+        }
+        assertTrue(cache.getStampCount() <= PayloadCache.MAX_STAMPS);
+
+        // Payloads loaded before are not cached anymore, while cached payloads stay cached
+        cache.put("loading", new byte[10], stamp);
+        assertNull(cache.get("loading"));
+        assertNotNull(cache.get("cached"));
+    }
+
+    @Test
+    public void disabledCacheShouldNotKeepStamps() throws Exception {
+        PayloadCache cache = PayloadCache.INSTANCE;
+        cache.configure(new TraDEProperties());
+
+        for (int i = 0; i < 10; i++) {
+            cache.invalidate("value" + i);
+        }
+
+        assertEquals(0, cache.getStampCount());
+    }
+}
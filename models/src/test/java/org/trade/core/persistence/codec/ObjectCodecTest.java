@@ -0,0 +1,87 @@
+/*
+ * Copyright 2017 Michael Hahn
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.trade.core.persistence.codec;
+
+import org.junit.Test;
+import org.trade.core.model.data.DataElement;
+import org.trade.core.model.data.DataObject;
+import org.trade.core.model.data.instance.DataObjectInstance;
+import org.trade.core.persistence.IPersistenceProvider;
+import org.trade.core.persistence.local.filesystem.FileSystemPersistence;
+import org.trade.core.utils.TraDEProperties;
+
+import java.util.HashMap;
+
+import static org.junit.Assert.*;
+
+public class ObjectCodecTest {
+
+    @Test
+    public void objectsShouldBeEncodedAndDecoded() throws Exception {
+        DataObjectInstance instance = createInstance();
+
+        for (JacksonObjectCodec codec : new JacksonObjectCodec[]{JacksonObjectCodec.JSON, JacksonObjectCodec.SMILE,
+                JacksonObjectCodec.CBOR}) {
+            byte[] data = codec.encode(instance);
+
+            assertTrue(codec.canDecode(data));
+
+            DataObjectInstance decoded = codec.decode(data, DataObjectInstance.class);
+
+            assertEquals(instance.getIdentifier(), decoded.getIdentifier());
+            assertEquals(instance.getCorrelationProperties(), decoded.getCorrelationProperties());
+            assertEquals(instance.getDataElementInstances().size(), decoded.getDataElementInstances().size());
+        }
+    }
+
+    @Test
+    public void objectsWrittenWithJsonShouldBeReadableWithBinaryCodec() throws Exception {
+        DataObjectInstance instance = createInstance();
+
+        TraDEProperties properties = new TraDEProperties();
+        properties.setProperty(TraDEProperties.PROPERTY_DATA_PERSIST_CODEC, "JSON");
+
+        IPersistenceProvider<DataObjectInstance> jsonProv = new FileSystemPersistence<>();
+        jsonProv.initProvider(DataObjectInstance.class, properties);
+        jsonProv.storeObject(instance);
+
+        properties.setProperty(TraDEProperties.PROPERTY_DATA_PERSIST_CODEC, "SMILE");
+
+        IPersistenceProvider<DataObjectInstance> smileProv = new FileSystemPersistence<>();
+        smileProv.initProvider(DataObjectInstance.class, properties);
+
+        assertEquals(instance.getIdentifier(), smileProv.loadObject(instance.getIdentifier()).getIdentifier());
+
+        // Rewrite the object in the new format
+        smileProv.storeObject(instance);
+
+        assertEquals(instance.getIdentifier(), jsonProv.loadObject(instance.getIdentifier()).getIdentifier());
+
+        smileProv.deleteObject(instance.getIdentifier());
+    }
+
+    private DataObjectInstance createInstance() throws Exception {
+        DataObject obj = new DataObject("someEntity", "dataObject1");
+        DataElement elm = new DataElement(obj);
+        elm.initialize();
+
+        HashMap<String, String> correlationProps = new HashMap<>();
+        correlationProps.put("customerId", "1234");
+
+        return obj.instantiate("owner", correlationProps);
+    }
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright 2017 Michael Hahn
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.trade.core.persistence.compression;
+
+import org.junit.Test;
+import org.trade.core.utils.TraDEProperties;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.Assert.*;
+
+public class CompressionPolicyTest {
+
+    @Test
+    public void encodingShouldBeSelectedByContentTypeAndSize() throws Exception {
+        TraDEProperties properties = new TraDEProperties();
+        properties.setProperty(TraDEProperties.PROPERTY_DATA_PERSIST_COMPRESSION_ENABLED, "true");
+        properties.setProperty(TraDEProperties.PROPERTY_DATA_PERSIST_COMPRESSION_MIN_SIZE, "100");
+
+        CompressionPolicy policy = new CompressionPolicy(properties);
+
+        assertEquals(CompressionPolicy.GZIP, policy.selectEncoding("text/csv; charset=utf-8", 1000));
+        assertEquals(CompressionPolicy.GZIP, policy.selectEncoding("application/json", 1000));
+        assertEquals(CompressionPolicy.GZIP, policy.selectEncoding("application/vnd.example+xml", 1000));
+        assertNull(policy.selectEncoding("image/png", 1000));
+        assertNull(policy.selectEncoding("text/plain", 10));
+        assertNull(policy.selectEncoding(null, 1000));
+
+        properties.setProperty(TraDEProperties.PROPERTY_DATA_PERSIST_COMPRESSION_ENABLED, "false");
+        assertNull(new CompressionPolicy(properties).selectEncoding("text/csv", 1000));
+    }
+
+    @Test
+    public void dataShouldBeEncodedAndDecoded() throws Exception {
+        StringBuilder csv = new StringBuilder();
+        for (int i = 0; i < 1000; i++) {
+            csv.append(i).append(";someValue;someOtherValue\n");
+        }
+        byte[] data = csv.toString().getBytes(StandardCharsets.UTF_8);
+
+        byte[] encoded = CompressionPolicy.encode(data, CompressionPolicy.GZIP);
+        assertTrue(encoded.length * 5 < data.length);
+
+        assertArrayEquals(data, CompressionPolicy.decode(encoded, CompressionPolicy.GZIP));
+
+        try (InputStream in = CompressionPolicy.decode(new ByteArrayInputStream(encoded), CompressionPolicy.GZIP)) {
+            byte[] decoded = new byte[data.length];
+            int read = 0;
+            while (read < decoded.length) {
+                read += in.read(decoded, read, decoded.length - read);
+            }
+
+            assertArrayEquals(data, decoded);
+            assertEquals(-1, in.read());
+        }
+
+        // Data without encoding is passed through
+        assertSame(data, CompressionPolicy.encode(data, null));
+        assertSame(data, CompressionPolicy.decode(data, null));
+    }
+}
@@ -0,0 +1,79 @@
+/*
+ * Copyright 2017 Michael Hahn
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.trade.core.persistence.content;
+
+import org.junit.Test;
+import org.trade.core.model.data.DataValue;
+import org.trade.core.persistence.IPersistenceProvider;
+import org.trade.core.persistence.local.filesystem.FileSystemPersistence;
+import org.trade.core.utils.TraDEProperties;
+
+import java.io.ByteArrayInputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+
+import static org.junit.Assert.*;
+
+public class ContentAddressedStoreTest {
+
+    @Test
+    public void identicalDataShouldBeStoredOnce() throws Exception {
+        TraDEProperties properties = new TraDEProperties();
+        properties.setProperty(TraDEProperties.PROPERTY_DATA_PERSIST_FILE_DIRECTORY, Files.createTempDirectory
+                ("contentStore").toString());
+
+        IPersistenceProvider<DataValue> persistProv = new FileSystemPersistence<>();
+        persistProv.initProvider(DataValue.class, properties);
+
+        ContentAddressedStore store = new ContentAddressedStore(persistProv, "content");
+
+        byte[] data = "some shared input data".getBytes();
+
+        String hash = store.store(data);
+        assertEquals(64, hash.length());
+        assertEquals(1, store.getReferenceCount(hash));
+
+        // Storing the same data as array, stream or upload only adds references
+        assertEquals(hash, store.store(data));
+        assertEquals(hash, store.store(new ByteArrayInputStream(data)));
+
+        try (OutputStream out = persistProv.openBinaryDataForWrite("upload", "someUpload")) {
+            out.write(data);
+        }
+        assertEquals(hash, store.storeFrom("upload", "someUpload"));
+        assertEquals(0L, persistProv.getBinaryDataSize("upload", "someUpload"));
+
+        assertEquals(4, store.getReferenceCount(hash));
+        assertEquals(data.length, store.getSize(hash));
+
+        String otherHash = store.store("other data".getBytes());
+        assertNotEquals(hash, otherHash);
+
+        for (int i = 0; i < 3; i++) {
+            store.release(hash);
+            assertArrayEquals(data, store.load(hash));
+        }
+
+        // Releasing the last reference deletes the data
+        store.release(hash);
+        assertEquals(0, store.getReferenceCount(hash));
+        assertEquals(0, store.load(hash).length);
+
+        assertArrayEquals("other data".getBytes(), store.load(otherHash));
+        store.release(otherHash);
+    }
+}
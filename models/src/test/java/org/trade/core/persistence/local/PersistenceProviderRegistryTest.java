@@ -0,0 +1,75 @@
+/*
+ * Copyright 2017 Michael Hahn
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.trade.core.persistence.local;
+
+import org.junit.Test;
+import org.trade.core.model.data.DataObject;
+import org.trade.core.model.data.DataValue;
+import org.trade.core.persistence.IPersistenceProvider;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.Assert.*;
+
+public class PersistenceProviderRegistryTest {
+
+    @Test
+    public void providersShouldBeSharedPerType() throws Exception {
+        PersistenceProviderRegistry registry = PersistenceProviderRegistry.INSTANCE;
+
+        IPersistenceProvider<DataValue> valueProv = registry.getProvider(DataValue.class);
+        assertSame(valueProv, registry.getProvider(DataValue.class));
+        assertNotSame(valueProv, registry.getProvider(DataObject.class));
+
+        // Model objects store and load themselves through the shared provider
+        DataValue value = new DataValue("hahnml", "sharedValue");
+        value.storeToDS();
+        try {
+            assertEquals("sharedValue", valueProv.loadObject(value.getIdentifier()).getName());
+        } finally {
+            value.deleteFromDS();
+        }
+
+        registry.destroyAll();
+        assertEquals(0, registry.size());
+        assertNotSame(valueProv, registry.getProvider(DataValue.class));
+    }
+
+    @Test
+    public void concurrentRequestsShouldGetTheSameProvider() throws Exception {
+        PersistenceProviderRegistry.INSTANCE.destroyAll();
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<IPersistenceProvider<DataValue>>> futures = new ArrayList<>();
+            for (int i = 0; i < 64; i++) {
+                futures.add(executor.submit(() -> PersistenceProviderRegistry.INSTANCE.getProvider(DataValue.class)));
+            }
+
+            IPersistenceProvider<DataValue> expected = futures.get(0).get();
+            for (Future<IPersistenceProvider<DataValue>> future : futures) {
+                assertSame(expected, future.get());
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
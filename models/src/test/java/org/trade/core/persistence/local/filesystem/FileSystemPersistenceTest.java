@@ -18,10 +18,27 @@ package org.trade.core.persistence.local.filesystem;
 
 import org.junit.Test;
 import org.trade.core.model.data.DataValue;
+import org.trade.core.model.data.UploadOffsetMismatchException;
 import org.trade.core.persistence.IPersistenceProvider;
 import org.trade.core.persistence.PersistableObject;
+import org.trade.core.persistence.local.kv.KeyValuePersistence;
+import org.trade.core.persistence.local.kv.KeyValueStore;
+import org.trade.core.persistence.local.log.LogPersistence;
 import org.trade.core.utils.TraDEProperties;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
 import static org.junit.Assert.*;
 
 /**
@@ -55,4 +72,220 @@ public class FileSystemPersistenceTest {
 
         assertNull(loadedValue);
     }
+
+    @Test
+    public void binaryDataShouldBeStreamed() throws Exception {
+        IPersistenceProvider persistProv = new FileSystemPersistence();
+        persistProv.initProvider(DataValue.class, new TraDEProperties());
+
+        String collection = "streamTest";
+        String identifier = "streamedData";
+
+        byte[] data = new byte[100000];
+        new Random().nextBytes(data);
+
+        try (OutputStream out = persistProv.openBinaryDataForWrite(collection, identifier)) {
+            out.write(data);
+        }
+
+        ByteArrayOutputStream loaded = new ByteArrayOutputStream();
+        try (InputStream in = persistProv.openBinaryDataForRead(collection, identifier)) {
+            byte[] buffer = new byte[4096];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                loaded.write(buffer, 0, read);
+            }
+        }
+
+        assertArrayEquals(data, loaded.toByteArray());
+        assertArrayEquals(data, persistProv.loadBinaryData(collection, identifier));
+
+        persistProv.deleteBinaryData(collection, identifier);
+
+        try (InputStream in = persistProv.openBinaryDataForRead(collection, identifier)) {
+            assertEquals(-1, in.read());
+        }
+    }
+
+    @Test
+    public void dataValueShouldBeSetFromStream() throws Exception {
+        DataValue value = new DataValue("hahnml", "streamedValue");
+
+        byte[] data = "some streamed data".getBytes();
+        value.setDataFromStream(new ByteArrayInputStream(data));
+
+        assertTrue(value.hasData());
+        assertEquals(data.length, value.getSize());
+        assertTrue(value.isInitialized());
+
+        try (InputStream in = value.getDataAsStream()) {
+            byte[] loaded = new byte[data.length];
+            assertEquals(data.length, in.read(loaded));
+            assertArrayEquals(data, loaded);
+        }
+
+        value.delete();
+    }
+
+    @Test
+    public void dataValueShouldBeUploadedInChunks() throws Exception {
+        DataValue value = new DataValue("hahnml", "chunkedValue");
+
+        String uploadId = value.startUpload();
+        assertTrue(value.hasUpload(uploadId));
+        assertEquals(0L, value.getUploadOffset(uploadId));
+
+        byte[] first = "first chunk, ".getBytes();
+        byte[] second = "second chunk".getBytes();
+
+        long offset = value.appendUploadChunk(uploadId, 0L, new ByteArrayInputStream(first));
+        assertEquals(first.length, offset);
+
+        // A chunk with a wrong offset has to be rejected
+        try {
+            value.appendUploadChunk(uploadId, 0L, new ByteArrayInputStream(second));
+            fail("A chunk with a wrong offset should be rejected.");
+        } catch (UploadOffsetMismatchException e) {
+            assertEquals(first.length, e.getCurrentOffset());
+            assertEquals(first.length, value.getUploadOffset(uploadId));
+        }
+
+        offset = value.appendUploadChunk(uploadId, offset, new ByteArrayInputStream(second));
+        assertEquals(first.length + second.length, offset);
+
+        // The data of the value is only changed when the upload is committed
+        assertFalse(value.hasData());
+
+        value.commitUpload(uploadId);
+
+        assertFalse(value.hasUpload(uploadId));
+        assertTrue(value.hasData());
+        assertTrue(value.isInitialized());
+        assertEquals(first.length + second.length, value.getSize());
+        assertArrayEquals("first chunk, second chunk".getBytes(), value.getData());
+
+        value.delete();
+    }
+
+    @Test
+    public void allObjectsShouldBeLoadedInParallel() throws Exception {
+        TraDEProperties properties = new TraDEProperties();
+        properties.setProperty(TraDEProperties.PROPERTY_DATA_PERSIST_FILE_DIRECTORY, Files.createTempDirectory
+                ("parallelLoad").toString());
+        properties.setProperty(TraDEProperties.PROPERTY_DATA_PERSIST_LOAD_THREADS, "4");
+
+        IPersistenceProvider<DataValue> persistProv = new FileSystemPersistence<>();
+        persistProv.initProvider(DataValue.class, properties);
+
+        List<DataValue> values = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            values.add(new DataValue("hahnml", "parallelValue" + i));
+        }
+        persistProv.storeAllObjects(values);
+
+        Map<String, DataValue> loaded = persistProv.loadAllObjects(null);
+
+        assertEquals(values.size(), loaded.size());
+        for (DataValue value : values) {
+            assertEquals(value.getName(), loaded.get(value.getIdentifier()).getName());
+        }
+
+        persistProv.deleteAllObjects(null);
+
+        assertTrue(persistProv.loadAllObjects(null).isEmpty());
+    }
+
+    @Test
+    public void filesShouldBeDistributedOverFoldersAndMigrated() throws Exception {
+        Path directory = Files.createTempDirectory("shardedLayout");
+
+        TraDEProperties properties = new TraDEProperties();
+        properties.setProperty(TraDEProperties.PROPERTY_DATA_PERSIST_FILE_DIRECTORY, directory.toString());
+        properties.setProperty(TraDEProperties.PROPERTY_DATA_PERSIST_FILE_SHARD_LEVELS, "2");
+
+        IPersistenceProvider<DataValue> persistProv = new FileSystemPersistence<>();
+        persistProv.initProvider(DataValue.class, properties);
+
+        DataValue value = new DataValue("hahnml", "shardedValue");
+        persistProv.storeObject(value);
+        persistProv.storeBinaryData("data".getBytes(), "shardTest", value.getIdentifier());
+
+        FileSystemLayout layout = new FileSystemLayout(2);
+        Path file = layout.resolve(directory.resolve("DataValue"), value.getIdentifier());
+
+        assertTrue(Files.exists(file));
+        assertEquals(directory.resolve("DataValue"), file.getParent().getParent().getParent());
+        assertTrue(persistProv.loadAllIdentifiers().contains(value.getIdentifier()));
+        assertArrayEquals("data".getBytes(), persistProv.loadBinaryData("shardTest", value.getIdentifier()));
+
+        // Migrating back to the flat layout makes the files available for a flat provider
+        assertEquals(2, FileSystemLayoutMigration.migrate(directory, new FileSystemLayout(0)));
+        assertTrue(Files.exists(directory.resolve("DataValue").resolve(value.getIdentifier())));
+
+        properties.setProperty(TraDEProperties.PROPERTY_DATA_PERSIST_FILE_SHARD_LEVELS, "0");
+        IPersistenceProvider<DataValue> flatProv = new FileSystemPersistence<>();
+        flatProv.initProvider(DataValue.class, properties);
+
+        assertEquals(value.getName(), flatProv.loadObject(value.getIdentifier()).getName());
+
+        assertEquals(2, FileSystemLayoutMigration.migrate(directory, layout));
+        assertEquals(value.getName(), persistProv.loadObject(value.getIdentifier()).getName());
+
+        // Deleting the last file of a collection removes all of its folders
+        persistProv.deleteBinaryData("shardTest", value.getIdentifier());
+        assertFalse(Files.exists(directory.resolve("shardTest")));
+
+        persistProv.deleteAllObjects(null);
+        assertTrue(persistProv.loadAllIdentifiers().isEmpty());
+    }
+
+    @Test
+    public void storesOfOtherModesShouldNotBeMigrated() throws Exception {
+        Path directory = Files.createTempDirectory("sharedDirectory");
+
+        TraDEProperties properties = new TraDEProperties();
+        properties.setProperty(TraDEProperties.PROPERTY_DATA_PERSIST_FILE_DIRECTORY, directory.toString());
+        properties.setProperty(TraDEProperties.PROPERTY_DATA_PERSIST_KV_SYNC_ON_COMMIT, "false");
+
+        // The file directory is shared with the stores written in 'KV' and 'LOG' mode
+        DataValue value = new DataValue("hahnml", "migratedValue");
+
+        IPersistenceProvider<DataValue> kvProv = new KeyValuePersistence<>();
+        kvProv.initProvider(DataValue.class, properties);
+        kvProv.storeObject(value);
+        KeyValueStore.closeAll();
+
+        IPersistenceProvider<DataValue> logProv = new LogPersistence<>();
+        logProv.initProvider(DataValue.class, properties);
+        logProv.storeObject(value);
+        logProv.destroyProvider();
+
+        IPersistenceProvider<DataValue> fileProv = new FileSystemPersistence<>();
+        fileProv.initProvider(DataValue.class, properties);
+        fileProv.storeObject(value);
+
+        List<Path> kvFiles = listFiles(directory.resolve(KeyValuePersistence.KV_DIRECTORY));
+        List<Path> logFiles = listFiles(directory.resolve(LogPersistence.LOG_DIRECTORY));
+        assertFalse(kvFiles.isEmpty());
+        assertFalse(logFiles.isEmpty());
+
+        // Only the file of the 'FILE' mode is moved
+        assertEquals(1, FileSystemLayoutMigration.migrate(directory, new FileSystemLayout(2)));
+        assertEquals(kvFiles, listFiles(directory.resolve(KeyValuePersistence.KV_DIRECTORY)));
+        assertEquals(logFiles, listFiles(directory.resolve(LogPersistence.LOG_DIRECTORY)));
+
+        try {
+            kvProv = new KeyValuePersistence<>();
+            kvProv.initProvider(DataValue.class, properties);
+            assertEquals(value.getName(), kvProv.loadObject(value.getIdentifier()).getName());
+        } finally {
+            KeyValueStore.closeAll();
+        }
+    }
+
+    private static List<Path> listFiles(Path directory) throws Exception {
+        try (Stream<Path> files = Files.walk(directory)) {
+            return files.filter(Files::isRegularFile).sorted().collect(Collectors.toList());
+        }
+    }
 }
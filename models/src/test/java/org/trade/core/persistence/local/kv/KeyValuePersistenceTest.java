@@ -0,0 +1,152 @@
+/*
+ * Copyright 2017 Michael Hahn
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.trade.core.persistence.local.kv;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.trade.core.model.data.DataObject;
+import org.trade.core.model.data.DataValue;
+import org.trade.core.persistence.IPersistenceProvider;
+import org.trade.core.utils.TraDEProperties;
+
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.*;
+
+public class KeyValuePersistenceTest {
+
+    private Path directory;
+
+    private TraDEProperties properties;
+
+    @Before
+    public void setUp() throws Exception {
+        directory = Files.createTempDirectory("tradeKvTest");
+
+        properties = new TraDEProperties();
+        properties.setProperty(TraDEProperties.PROPERTY_DATA_PERSIST_FILE_DIRECTORY, directory.toString());
+        properties.setProperty(TraDEProperties.PROPERTY_DATA_PERSIST_KV_SYNC_ON_COMMIT, "false");
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        KeyValueStore.closeAll();
+
+        try (Stream<Path> files = Files.walk(directory)) {
+            for (Path file : files.sorted(Comparator.reverseOrder()).collect(Collectors.toList())) {
+                Files.delete(file);
+            }
+        }
+    }
+
+    @Test
+    public void objectsShouldBeStoredPerType() throws Exception {
+        IPersistenceProvider<DataValue> valueProv = new KeyValuePersistence<>();
+        valueProv.initProvider(DataValue.class, properties);
+        IPersistenceProvider<DataObject> objectProv = new KeyValuePersistence<>();
+        objectProv.initProvider(DataObject.class, properties);
+
+        List<DataValue> values = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            values.add(new DataValue("hahnml", "value" + i));
+        }
+        valueProv.storeAllObjects(values);
+
+        DataValue value = values.get(0);
+        value.setContentType("text/plain");
+        valueProv.storeObject(value);
+        valueProv.deleteObject(values.get(1).getIdentifier());
+
+        // Reopen the store to check that all changes are committed
+        KeyValueStore.closeAll();
+        valueProv = new KeyValuePersistence<>();
+        valueProv.initProvider(DataValue.class, properties);
+        objectProv = new KeyValuePersistence<>();
+        objectProv.initProvider(DataObject.class, properties);
+
+        assertEquals(9, valueProv.loadAllObjects(null).size());
+        assertEquals(9, valueProv.loadAllIdentifiers().size());
+        assertTrue(objectProv.loadAllObjects(null).isEmpty());
+        assertEquals("text/plain", valueProv.loadObject(value.getIdentifier()).getContentType());
+        assertNull(valueProv.loadObject(values.get(1).getIdentifier()));
+        assertNull(valueProv.loadAllObjects(Arrays.asList(values.get(1).getIdentifier())).get(values.get(1)
+                .getIdentifier()));
+
+        valueProv.deleteAllObjects(null);
+        assertTrue(valueProv.loadAllIdentifiers().isEmpty());
+    }
+
+    @Test
+    public void binaryDataShouldBeStoredInChunks() throws Exception {
+        IPersistenceProvider<DataValue> persistProv = new KeyValuePersistence<>();
+        persistProv.initProvider(DataValue.class, properties);
+
+        // Data spanning more than two chunks
+        byte[] data = new byte[KeyValuePersistence.CHUNK_SIZE * 2 + 1000];
+        new Random(42).nextBytes(data);
+
+        persistProv.storeBinaryData(data, "values", "someValue");
+        assertEquals(data.length, persistProv.getBinaryDataSize("values", "someValue"));
+        assertArrayEquals(data, persistProv.loadBinaryData("values", "someValue"));
+
+        long position = KeyValuePersistence.CHUNK_SIZE + 10;
+        try (ReadableByteChannel channel = persistProv.openBinaryDataChannel("values", "someValue", position)) {
+            ByteBuffer buffer = ByteBuffer.allocate(data.length);
+            while (channel.read(buffer) != -1) {
+                // Read until the end of the data
+            }
+
+            assertEquals(data.length - position, buffer.position());
+            assertArrayEquals(Arrays.copyOfRange(data, (int) position, data.length), Arrays.copyOf(buffer.array(),
+                    buffer.position()));
+        }
+
+        // Appending fills the last chunk first
+        try (OutputStream out = persistProv.openBinaryDataForAppend("values", "someValue")) {
+            out.write(data, 0, KeyValuePersistence.CHUNK_SIZE);
+        }
+        byte[] expected = new byte[data.length + KeyValuePersistence.CHUNK_SIZE];
+        System.arraycopy(data, 0, expected, 0, data.length);
+        System.arraycopy(data, 0, expected, data.length, KeyValuePersistence.CHUNK_SIZE);
+
+        assertEquals(expected.length, persistProv.getBinaryDataSize("values", "someValue"));
+        assertArrayEquals(expected, persistProv.loadBinaryData("values", "someValue"));
+
+        // Writing replaces all existing chunks
+        persistProv.storeBinaryData("small".getBytes(), "values", "someValue");
+        assertArrayEquals("small".getBytes(), persistProv.loadBinaryData("values", "someValue"));
+
+        persistProv.moveBinaryData("values", "someValue", "otherValues", "otherValue");
+        assertEquals(0L, persistProv.getBinaryDataSize("values", "someValue"));
+        assertArrayEquals("small".getBytes(), persistProv.loadBinaryData("otherValues", "otherValue"));
+
+        persistProv.deleteBinaryData("otherValues", "otherValue");
+        assertEquals(0, persistProv.loadBinaryData("otherValues", "otherValue").length);
+    }
+}
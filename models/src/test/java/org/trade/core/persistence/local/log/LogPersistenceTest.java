@@ -0,0 +1,161 @@
+/*
+ * Copyright 2017 Michael Hahn
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.trade.core.persistence.local.log;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.trade.core.model.data.DataValue;
+import org.trade.core.persistence.IPersistenceProvider;
+import org.trade.core.utils.TraDEProperties;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.*;
+
+public class LogPersistenceTest {
+
+    private Path directory;
+
+    private TraDEProperties properties;
+
+    @Before
+    public void setUp() throws Exception {
+        directory = Files.createTempDirectory("tradeLogTest");
+
+        properties = new TraDEProperties();
+        properties.setProperty(TraDEProperties.PROPERTY_DATA_PERSIST_FILE_DIRECTORY, directory.toString());
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        ObjectLog.closeAll();
+
+        try (Stream<Path> files = Files.walk(directory)) {
+            for (Path file : files.sorted(Comparator.reverseOrder()).collect(Collectors.toList())) {
+                Files.delete(file);
+            }
+        }
+    }
+
+    @Test
+    public void objectsShouldBeRecoveredFromLog() throws Exception {
+        IPersistenceProvider<DataValue> persistProv = createProvider();
+
+        DataValue value = new DataValue("hahnml", "loggedValue");
+        DataValue deleted = new DataValue("hahnml", "deletedValue");
+
+        persistProv.storeObject(value);
+        persistProv.storeObject(deleted);
+        value.setContentType("text/plain");
+        persistProv.storeObject(value);
+        persistProv.deleteObject(deleted.getIdentifier());
+
+        assertEquals("text/plain", persistProv.loadObject(value.getIdentifier()).getContentType());
+        assertNull(persistProv.loadObject(deleted.getIdentifier()));
+
+        // Reopen the log to rebuild the index from the segments
+        ObjectLog.closeAll();
+        persistProv = createProvider();
+
+        assertEquals(1, persistProv.loadAllObjects(null).size());
+        assertEquals("text/plain", persistProv.loadObject(value.getIdentifier()).getContentType());
+        assertNull(persistProv.loadObject(deleted.getIdentifier()));
+    }
+
+    @Test
+    public void segmentsShouldBeCompactedIntoSnapshot() throws Exception {
+        properties.setProperty(TraDEProperties.PROPERTY_DATA_PERSIST_LOG_SEGMENT_SIZE, "4096");
+        properties.setProperty(TraDEProperties.PROPERTY_DATA_PERSIST_LOG_COMPACTION_THRESHOLD, "2");
+
+        IPersistenceProvider<DataValue> persistProv = createProvider();
+
+        List<DataValue> values = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            values.add(new DataValue("hahnml", "value" + i));
+        }
+
+        for (int round = 0; round < 10; round++) {
+            for (DataValue value : values) {
+                value.setContentType("round" + round);
+            }
+            persistProv.storeAllObjects(values);
+        }
+        ObjectLog.open(logDirectory(), properties).compact();
+
+        assertTrue(listFiles(".snap").size() == 1);
+        assertTrue(listFiles(".log").size() <= 2);
+
+        ObjectLog.closeAll();
+        persistProv = createProvider();
+
+        assertEquals(values.size(), persistProv.loadAllIdentifiers().size());
+        for (DataValue value : values) {
+            assertEquals("round9", persistProv.loadObject(value.getIdentifier()).getContentType());
+        }
+    }
+
+    @Test
+    public void incompleteRecordsShouldBeDiscarded() throws Exception {
+        IPersistenceProvider<DataValue> persistProv = createProvider();
+
+        DataValue value = new DataValue("hahnml", "loggedValue");
+        persistProv.storeObject(value);
+
+        ObjectLog.closeAll();
+
+        // Simulate a crash while a record was written
+        List<Path> segments = listFiles(".log");
+        Files.write(segments.get(segments.size() - 1), new byte[]{0, 0, 1, 0, 42}, StandardOpenOption.APPEND);
+
+        persistProv = createProvider();
+
+        assertNotNull(persistProv.loadObject(value.getIdentifier()));
+
+        value.setContentType("text/plain");
+        persistProv.storeObject(value);
+
+        ObjectLog.closeAll();
+        persistProv = createProvider();
+
+        assertEquals("text/plain", persistProv.loadObject(value.getIdentifier()).getContentType());
+    }
+
+    private IPersistenceProvider<DataValue> createProvider() {
+        IPersistenceProvider<DataValue> persistProv = new LogPersistence<>();
+        persistProv.initProvider(DataValue.class, properties);
+
+        return persistProv;
+    }
+
+    private Path logDirectory() {
+        return directory.resolve("log").resolve(DataValue.class.getSimpleName());
+    }
+
+    private List<Path> listFiles(String suffix) throws Exception {
+        try (Stream<Path> files = Files.list(logDirectory())) {
+            return files.filter(file -> file.toString().endsWith(suffix)).sorted().collect(Collectors.toList());
+        }
+    }
+}
@@ -0,0 +1,131 @@
+/*
+ * Copyright 2017 Michael Hahn
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.trade.core.utils;
+
+import org.junit.After;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class TraDEConfigurationTest {
+
+    @After
+    public void resetConfiguration() {
+        TraDEConfiguration.INSTANCE.reload();
+    }
+
+    @Test
+    public void snapshotShouldBeSharedAndReadOnly() throws Exception {
+        TraDEProperties properties = TraDEConfiguration.INSTANCE.getProperties();
+
+        assertSame(properties, TraDEConfiguration.INSTANCE.getProperties());
+        assertTrue(properties.isReadOnly());
+        assertEquals(new TraDEProperties().getDataPersistenceMode(), properties.getDataPersistenceMode());
+
+        try {
+            properties.setProperty(TraDEProperties.PROPERTY_DATA_PERSIST_MODE, "LOG");
+            fail("The snapshot should be read-only.");
+        } catch (UnsupportedOperationException e) {
+            // Expected
+        }
+    }
+
+    @Test
+    public void snapshotShouldRejectAllModifications() throws Exception {
+        TraDEProperties properties = TraDEConfiguration.INSTANCE.getProperties();
+        String key = TraDEProperties.PROPERTY_DATA_PERSIST_MODE;
+        String value = properties.getProperty(key);
+
+        List<Runnable> modifications = new ArrayList<>();
+        modifications.add(() -> properties.putAll(Collections.singletonMap(key, "LOG")));
+        modifications.add(() -> properties.putIfAbsent("someKey", "LOG"));
+        modifications.add(() -> properties.remove(key, value));
+        modifications.add(() -> properties.replace(key, "LOG"));
+        modifications.add(() -> properties.replace(key, value, "LOG"));
+        modifications.add(() -> properties.replaceAll((k, v) -> "LOG"));
+        modifications.add(() -> properties.compute(key, (k, v) -> "LOG"));
+        modifications.add(() -> properties.computeIfAbsent("someKey", k -> "LOG"));
+        modifications.add(() -> properties.computeIfPresent(key, (k, v) -> "LOG"));
+        modifications.add(() -> properties.merge(key, "LOG", (v1, v2) -> v2));
+        modifications.add(() -> properties.keySet().remove(key));
+        modifications.add(() -> properties.entrySet().clear());
+        modifications.add(() -> properties.values().clear());
+        modifications.add(() -> {
+            try {
+                properties.load(new StringReader(key + "=LOG"));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        modifications.add(() -> {
+            try {
+                properties.load(new ByteArrayInputStream((key + "=LOG").getBytes()));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+
+        for (Runnable modification : modifications) {
+            try {
+                modification.run();
+                fail("The snapshot should be read-only.");
+            } catch (UnsupportedOperationException e) {
+                // Expected
+            }
+        }
+
+        assertEquals(value, properties.getProperty(key));
+        assertNull(properties.getProperty("someKey"));
+    }
+
+    @Test
+    public void listenersShouldBeNotifiedAboutChanges() throws Exception {
+        List<TraDEProperties> changes = new ArrayList<>();
+        TraDEConfigurationListener listener = changes::add;
+        TraDEConfiguration.INSTANCE.addListener(listener);
+
+        try {
+            TraDEProperties properties = new TraDEProperties();
+            properties.setProperty(TraDEProperties.PROPERTY_DATA_PERSIST_MODE, "LOG");
+
+            TraDEProperties snapshot = TraDEConfiguration.INSTANCE.update(properties);
+
+            // Later changes of the given properties do not affect the snapshot
+            properties.setProperty(TraDEProperties.PROPERTY_DATA_PERSIST_MODE, "KV");
+
+            assertSame(snapshot, TraDEConfiguration.INSTANCE.getProperties());
+            assertEquals(TraDEProperties.DataPersistenceMode.LOG, snapshot.getDataPersistenceMode());
+            assertEquals(1, changes.size());
+            assertSame(snapshot, changes.get(0));
+
+            TraDEConfiguration.INSTANCE.reload();
+            assertEquals(2, changes.size());
+            assertNotEquals(TraDEProperties.DataPersistenceMode.LOG, TraDEConfiguration.INSTANCE.getProperties()
+                    .getDataPersistenceMode());
+        } finally {
+            TraDEConfiguration.INSTANCE.removeListener(listener);
+        }
+    }
+}
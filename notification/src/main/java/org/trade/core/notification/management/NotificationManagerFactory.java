@@ -17,6 +17,7 @@
 package org.trade.core.notification.management;
 
 import org.trade.core.notification.management.camel.CamelNotificationManager;
+import org.trade.core.utils.TraDEConfiguration;
 import org.trade.core.utils.TraDEProperties;
 
 /**
@@ -34,7 +35,7 @@ public class NotificationManagerFactory {
     public static INotificationManager createNotificationManager() {
         INotificationManager result = null;
 
-        TraDEProperties props = new TraDEProperties();
+        TraDEProperties props = TraDEConfiguration.INSTANCE.getProperties();
 
         switch (props.getNotificationMode()) {
             case CAMEL:
@@ -17,6 +17,7 @@
 package org.trade.core.notifiers;
 
 import org.trade.core.utils.NotifierProperties;
+import org.trade.core.utils.TraDEConfiguration;
 
 import java.util.List;
 
@@ -35,7 +36,7 @@ public class NotifierServiceFactory {
      * @throws Exception the exception
      */
     public static INotifierService createNotifierService(String id) throws Exception {
-        NotifierProperties props = new NotifierProperties();
+        NotifierProperties props = TraDEConfiguration.INSTANCE.getNotifierProperties();
 
         Class clazz = props.getNotifierServiceClass(id);
 
@@ -51,7 +52,7 @@ public class NotifierServiceFactory {
      * @throws Exception the exception
      */
     public static List<String> getAvailableNotifierServiceIds() throws Exception {
-        NotifierProperties props = new NotifierProperties();
+        NotifierProperties props = TraDEConfiguration.INSTANCE.getNotifierProperties();
 
         // Reply the list of ids of all registered notifier services
         return props.getAllRegisteredNotifierServiceIds();
@@ -64,7 +65,7 @@ public class NotifierServiceFactory {
      * @return True, if a notifier service with the provided id is registered. False, otherwise.
      */
     public static boolean isNotifierServiceAvailable(String notifierServiceId) {
-        NotifierProperties props = new NotifierProperties();
+        NotifierProperties props = TraDEConfiguration.INSTANCE.getNotifierProperties();
 
         // Reply the list of ids of all registered notifier services
         return props.getAllRegisteredNotifierServiceIds().contains(notifierServiceId);
@@ -25,6 +25,7 @@ import org.trade.core.auditing.events.ModelStateChangeEvent;
 import org.trade.core.model.notification.Notification;
 import org.trade.core.notifiers.INotifierService;
 import org.trade.core.utils.NotifierProperties;
+import org.trade.core.utils.TraDEConfiguration;
 
 import java.io.IOException;
 import java.io.StringWriter;
@@ -45,7 +46,7 @@ public enum NotificationMessageFactory {
     private NotifierProperties properties;
 
     NotificationMessageFactory() {
-        properties = new NotifierProperties();
+        properties = TraDEConfiguration.INSTANCE.getNotifierProperties();
 
         Path dir = Paths.get(properties.getNotificationMessageTemplateDirectory());
 
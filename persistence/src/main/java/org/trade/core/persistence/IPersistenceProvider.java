@@ -18,6 +18,14 @@ package org.trade.core.persistence;
 
 import org.trade.core.utils.TraDEProperties;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Map;
 
@@ -60,6 +68,17 @@ public interface IPersistenceProvider<T extends PersistableObject> {
      */
     Map<String, T> loadAllObjects(Collection<String> identifiers) throws Exception;
 
+    /**
+     * Loads the identifiers of all objects of the specified type (objectType) available at a data source without
+     * loading the objects themselves.
+     *
+     * @return the identifiers of all available objects.
+     * @throws Exception the exception
+     */
+    default Collection<String> loadAllIdentifiers() throws Exception {
+        return new ArrayList<>(loadAllObjects(null).keySet());
+    }
+
     /**
      * Loads a single object with the specified identifier.
      *
@@ -133,4 +152,176 @@ public interface IPersistenceProvider<T extends PersistableObject> {
      * @throws Exception the exception
      */
     void deleteBinaryData(String collectionName, String identifier) throws Exception;
+
+    /**
+     * Opens a stream to read binary data from a data source. In contrast to {@link #loadBinaryData(String, String)}
+     * the data is not materialized on the heap as a whole, so that also large binary data can be processed piecewise.
+     * The caller is responsible for closing the returned stream.
+     * <p>
+     * The default implementation falls back to {@link #loadBinaryData(String, String)} and should be overridden by
+     * implementations which are able to provide the data in a streaming fashion.
+     *
+     * @param collectionName the name of the collection the binary data belongs to
+     * @param identifier     the identifier used to identify the binary data
+     * @return an input stream providing the binary data, the stream is empty if no data is available
+     * @throws Exception the exception
+     */
+    default InputStream openBinaryDataForRead(String collectionName, String identifier) throws Exception {
+        return new ByteArrayInputStream(loadBinaryData(collectionName, identifier));
+    }
+
+    /**
+     * Opens a channel to read binary data from a data source. Implementations backed by files should return a
+     * {@link java.nio.channels.FileChannel}, so that callers are able to transfer the data without copying it
+     * through the heap (e.g., by using {@link java.nio.channels.FileChannel#transferTo(long, long,
+     * java.nio.channels.WritableByteChannel)}). The caller is responsible for closing the returned channel.
+     * <p>
+     * The default implementation wraps the stream provided by {@link #openBinaryDataForRead(String, String)}.
+     *
+     * @param collectionName the name of the collection the binary data belongs to
+     * @param identifier     the identifier used to identify the binary data
+     * @return a channel providing the binary data, the channel is empty if no data is available
+     * @throws Exception the exception
+     */
+    default ReadableByteChannel openBinaryDataChannel(String collectionName, String identifier) throws Exception {
+        return Channels.newChannel(openBinaryDataForRead(collectionName, identifier));
+    }
+
+    /**
+     * Opens a channel to read binary data from a data source starting at the given position. This allows to read
+     * only a part of the binary data, e.g., to serve range requests or resume interrupted transfers, without reading
+     * the preceding bytes. The caller is responsible for closing the returned channel.
+     * <p>
+     * The default implementation skips the preceding bytes of the stream provided by
+     * {@link #openBinaryDataForRead(String, String)} and should be overridden by implementations which support
+     * positional reads.
+     *
+     * @param collectionName the name of the collection the binary data belongs to
+     * @param identifier     the identifier used to identify the binary data
+     * @param position       the position (offset in bytes) from which the binary data should be read
+     * @return a channel providing the binary data from the given position on, the channel is empty if no data is
+     * available or the position is beyond the size of the binary data
+     * @throws Exception the exception
+     */
+    default ReadableByteChannel openBinaryDataChannel(String collectionName, String identifier, long position)
+            throws Exception {
+        InputStream in = openBinaryDataForRead(collectionName, identifier);
+
+        long skipped = 0L;
+        while (skipped < position) {
+            long count = in.skip(position - skipped);
+            if (count <= 0) {
+                // Check if the end of the stream is reached
+                if (in.read() == -1) {
+                    break;
+                }
+                count = 1;
+            }
+            skipped += count;
+        }
+
+        return Channels.newChannel(in);
+    }
+
+    /**
+     * Opens a stream to write binary data to a data source. Any existing binary data with the given identifier is
+     * replaced by the data written to the stream. The data is only guaranteed to be stored after the returned stream
+     * was closed by the caller.
+     * <p>
+     * The default implementation buffers the written data and falls back to
+     * {@link #storeBinaryData(byte[], String, String)} on close. It should be overridden by implementations which
+     * are able to store the data in a streaming fashion.
+     *
+     * @param collectionName the name of the collection the binary data belongs to
+     * @param identifier     the identifier used to identify the binary data
+     * @return an output stream to which the binary data can be written
+     * @throws Exception the exception
+     */
+    default OutputStream openBinaryDataForWrite(String collectionName, String identifier) throws Exception {
+        return new ByteArrayOutputStream() {
+            private boolean isClosed = false;
+
+            @Override
+            public void close() throws IOException {
+                if (!isClosed) {
+                    isClosed = true;
+
+                    try {
+                        storeBinaryData(toByteArray(), collectionName, identifier);
+                    } catch (IOException e) {
+                        throw e;
+                    } catch (Exception e) {
+                        throw new IOException("Storing binary data '" + identifier + "' of collection '" +
+                                collectionName + "' caused an exception.", e);
+                    }
+                }
+            }
+        };
+    }
+
+    /**
+     * Opens a stream to append binary data to existing binary data of a data source. If no binary data with the given
+     * identifier exists, it is created. The data is only guaranteed to be stored after the returned stream was closed
+     * by the caller.
+     * <p>
+     * The default implementation loads the existing data and falls back to
+     * {@link #storeBinaryData(byte[], String, String)} on close. It should be overridden by implementations which are
+     * able to append data in place.
+     *
+     * @param collectionName the name of the collection the binary data belongs to
+     * @param identifier     the identifier used to identify the binary data
+     * @return an output stream to which the binary data to append can be written
+     * @throws Exception the exception
+     */
+    default OutputStream openBinaryDataForAppend(String collectionName, String identifier) throws Exception {
+        // Load the existing data before opening the stream, since opening it may truncate the existing data
+        byte[] existingData = loadBinaryData(collectionName, identifier);
+
+        OutputStream out = openBinaryDataForWrite(collectionName, identifier);
+        out.write(existingData);
+
+        return out;
+    }
+
+    /**
+     * Provides the size of binary data in bytes.
+     * <p>
+     * The default implementation loads the binary data to determine its size and should be overridden by
+     * implementations which are able to determine the size without loading the data.
+     *
+     * @param collectionName the name of the collection the binary data belongs to
+     * @param identifier     the identifier used to identify the binary data
+     * @return the size of the binary data in bytes or 0, if no binary data is available
+     * @throws Exception the exception
+     */
+    default long getBinaryDataSize(String collectionName, String identifier) throws Exception {
+        return loadBinaryData(collectionName, identifier).length;
+    }
+
+    /**
+     * Moves binary data to another identifier and/or collection of a data source. Any existing binary data at the
+     * target is replaced.
+     * <p>
+     * The default implementation copies the data through streams and deletes the source afterwards. It should be
+     * overridden by implementations which are able to move data in place.
+     *
+     * @param collectionName       the name of the collection the binary data belongs to
+     * @param identifier           the identifier used to identify the binary data to move
+     * @param targetCollectionName the name of the collection to move the binary data to
+     * @param targetIdentifier     the identifier of the binary data after moving it
+     * @throws Exception the exception
+     */
+    default void moveBinaryData(String collectionName, String identifier, String targetCollectionName, String
+            targetIdentifier) throws Exception {
+        try (InputStream in = openBinaryDataForRead(collectionName, identifier);
+             OutputStream out = openBinaryDataForWrite(targetCollectionName, targetIdentifier)) {
+            byte[] buffer = new byte[8192];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                out.write(buffer, 0, read);
+            }
+        }
+
+        deleteBinaryData(collectionName, identifier);
+    }
 }
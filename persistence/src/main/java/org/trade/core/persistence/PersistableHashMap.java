@@ -19,9 +19,21 @@ package org.trade.core.persistence;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.trade.core.persistence.local.LocalPersistenceProviderFactory;
+import org.trade.core.utils.TraDEConfiguration;
+import org.trade.core.utils.TraDEProperties;
 
+import java.util.AbstractCollection;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
 
 /**
  * A concurrent hash map supporting the persistence of managed model objects. In order to allow the identification of
@@ -33,6 +45,17 @@ import java.util.concurrent.ConcurrentHashMap;
  * <p>
  * All available objects are loaded on instantiation of the map by default.
  * <p>
+ * If write-behind mode is enabled through the configuration, changes are not directly written to the data source.
+ * Instead, they are queued in a {@link WriteBehindQueue} and written in batches by a background thread.
+ * <p>
+ * If lazy loading is enabled through the configuration, only the identifiers of all objects are loaded on
+ * instantiation. Objects are loaded on their first access and kept in a cache of bounded size. If the cache is full,
+ * the least recently used objects are evicted from the map (but not deleted from the data source), unless they have
+ * changes which are not written yet. In this mode, {@link #size()}, {@link #containsKey(Object)} and {@link #values()}
+ * respect all objects, while {@link #keySet()} and {@link #entrySet()} only provide the cached objects. Since
+ * iterating {@link #values()} loads and caches each object on its own, {@link #scan(Consumer)} should be used to visit
+ * all objects instead.
+ * <p>
  * Created by hahnml on 24.04.2017.
  */
 public class PersistableHashMap<V extends PersistableObject> extends ConcurrentHashMap<String, V> {
@@ -41,38 +64,304 @@ public class PersistableHashMap<V extends PersistableObject> extends ConcurrentH
 
     private Logger logger = LoggerFactory.getLogger("org.trade.core.persistence.PersistableHashMap");
 
+    private transient WriteBehindQueue<V> writeBehindQueue = null;
+
+    private transient IPersistenceProvider<V> persistProv;
+
+    private boolean isLazy = false;
+
+    private int cacheSize;
+
+    // The maximal number of objects written to the data source at once by putAll(...)
+    private int batchSize;
+
+    // Identifiers of all objects in lazy mode, whether they are cached or not
+    private Set<String> identifiers;
+
+    // Identifiers of all cached objects in lazy mode, ordered from the least to the most recently used one
+    private transient LinkedHashMap<String, Boolean> recentlyUsed;
+
+    private final AtomicLong cacheHits = new AtomicLong();
+
+    private final AtomicLong cacheMisses = new AtomicLong();
+
+    private final AtomicLong cacheEvictions = new AtomicLong();
+
     /**
      * Instantiates a new Persistable hash map for the given type of model objects.
      *
      * @param objectType the object type that will be managed and persisted by this map.
      */
     public PersistableHashMap(Class<V> objectType) {
+        this(objectType, TraDEConfiguration.INSTANCE.getProperties());
+    }
+
+    /**
+     * Instantiates a new Persistable hash map for the given type of model objects which is configured through the
+     * given properties.
+     *
+     * @param objectType the object type that will be managed and persisted by this map.
+     * @param properties the properties of the middleware
+     */
+    public PersistableHashMap(Class<V> objectType, TraDEProperties properties) {
         super();
 
         // Create a new persistence provider for loading all objects
-        IPersistenceProvider persistProv = LocalPersistenceProviderFactory.createLocalPersistenceProvider
-                (objectType);
+        this.persistProv = LocalPersistenceProviderFactory.createLocalPersistenceProvider(objectType, properties);
+        this.batchSize = Math.max(1, properties.getDataPersistenceWriteBehindBatchSize());
+
+        if (properties.isDataPersistenceLazyLoadingEnabled()) {
+            this.isLazy = true;
+            this.cacheSize = Math.max(1, properties.getDataPersistenceLazyLoadingCacheSize());
+            this.identifiers = ConcurrentHashMap.newKeySet();
+            this.recentlyUsed = new LinkedHashMap<>(16, 0.75f, true);
+
+            try {
+                this.identifiers.addAll(persistProv.loadAllIdentifiers());
+            } catch (Exception e) {
+                logger.error("Loading the identifiers of all objects of type '" + objectType.getName() + "' caused " +
+                        "an exception.", e);
+            }
+        } else {
+            Map<String, V> map = null;
+            try {
+                map = persistProv.loadAllObjects(null);
+            } catch (Exception e) {
+                logger.error("Loading of all objects of type '" + objectType.getName() + "' caused an exception.", e);
+            }
+
+            // Use supertype methods without persistence support to add map elements during loading
+            if (map != null) {
+                super.putAll(map);
+            }
+        }
+
+        if (properties.isDataPersistenceWriteBehindEnabled()) {
+            this.writeBehindQueue = new WriteBehindQueue<>(objectType, persistProv, properties);
+        }
+    }
+
+    /**
+     * Writes all changes of the map which are queued in write-behind mode to the data source. When the method returns
+     * all changes made before its invocation are written. Without write-behind mode, changes are always written
+     * directly so that the method has no effect.
+     *
+     * @throws Exception if writing the changes to the data source caused an exception
+     */
+    public void flush() throws Exception {
+        if (writeBehindQueue != null) {
+            writeBehindQueue.flush();
+        }
+    }
+
+    /**
+     * Provides the write-behind queue of the map, e.g., to inspect its depth.
+     *
+     * @return the queue or null, if write-behind mode is not enabled
+     */
+    public WriteBehindQueue<V> getWriteBehindQueue() {
+        return writeBehindQueue;
+    }
+
+    public boolean isLazy() {
+        return isLazy;
+    }
+
+    /**
+     * Provides the number of objects which are currently held in memory. Without lazy loading, all objects are held
+     * in memory.
+     *
+     * @return the number of cached objects
+     */
+    public int getCachedObjectCount() {
+        return super.size();
+    }
+
+    public long getCacheHits() {
+        return cacheHits.get();
+    }
+
+    /**
+     * Provides the number of accesses which required to load an object from the data source in lazy mode.
+     *
+     * @return the number of cache misses
+     */
+    public long getCacheMisses() {
+        return cacheMisses.get();
+    }
+
+    public long getCacheEvictions() {
+        return cacheEvictions.get();
+    }
+
+    @Override
+    public V get(Object key) {
+        V result = super.get(key);
+
+        if (isLazy) {
+            if (result != null) {
+                cacheHits.incrementAndGet();
+                touch((String) key);
+            } else if (identifiers.contains(key)) {
+                cacheMisses.incrementAndGet();
+                result = load((String) key);
+            }
+        }
+
+        return result;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return isLazy ? identifiers.contains(key) : super.containsKey(key);
+    }
+
+    @Override
+    public int size() {
+        return isLazy ? identifiers.size() : super.size();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return isLazy ? identifiers.isEmpty() : super.isEmpty();
+    }
+
+    @Override
+    public Collection<V> values() {
+        if (!isLazy) {
+            return super.values();
+        }
+
+        // Provide a view which loads the objects while it is iterated, so that a scan over all objects does not
+        // require to keep all of them in memory
+        return new AbstractCollection<V>() {
+            @Override
+            public Iterator<V> iterator() {
+                Iterator<String> keys = new ArrayList<>(identifiers).iterator();
+
+                return new Iterator<V>() {
+                    private V next = advance();
+
+                    @Override
+                    public boolean hasNext() {
+                        return next != null;
+                    }
+
+                    @Override
+                    public V next() {
+                        if (next == null) {
+                            throw new NoSuchElementException();
+                        }
+
+                        V result = next;
+                        next = advance();
+
+                        return result;
+                    }
+
+                    private V advance() {
+                        // Skip objects which are removed in the meantime
+                        while (keys.hasNext()) {
+                            V value = get(keys.next());
+                            if (value != null) {
+                                return value;
+                            }
+                        }
+
+                        return null;
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return identifiers.size();
+            }
+        };
+    }
+
+    /**
+     * Passes all objects of the map to the given action, e.g., to build an index over all objects. Without lazy
+     * loading, this is the same as iterating {@link #values()}.
+     * <p>
+     * In lazy mode, cached objects are passed as they are, while all other objects are loaded from the data source in
+     * batches of the configured batch size without adding them to the cache. Therefore, a scan neither evicts the
+     * recently used objects from the cache nor requires one request to the data source per object. However, each
+     * object which is not cached is still loaded once.
+     *
+     * @param action the action to perform for each object
+     */
+    public void scan(Consumer<? super V> action) {
+        if (!isLazy) {
+            super.values().forEach(action);
+            return;
+        }
+
+        List<String> batch = new ArrayList<>(batchSize);
+        for (String key : new ArrayList<>(identifiers)) {
+            V value = super.get(key);
+
+            if (value != null) {
+                action.accept(value);
+            } else {
+                batch.add(key);
 
-        Map<String, V> map = null;
+                if (batch.size() == batchSize) {
+                    scanUncached(batch, action);
+                    batch.clear();
+                }
+            }
+        }
+
+        if (!batch.isEmpty()) {
+            scanUncached(batch, action);
+        }
+    }
+
+    private void scanUncached(List<String> keys, Consumer<? super V> action) {
+        Map<String, V> loaded = null;
         try {
-            map = persistProv.loadAllObjects(null);
+            loaded = persistProv.loadAllObjects(keys);
         } catch (Exception e) {
-            logger.error("Loading of all objects of type '" + objectType.getName() + "' caused an exception.", e);
+            logger.error("Loading a batch of " + keys.size() + " objects caused an exception.", e);
         }
 
-        // Use supertype methods without persistence support to add map elements during loading
-        if (map != null) {
-            super.putAll(map);
+        if (loaded != null) {
+            for (String key : keys) {
+                // Prefer an instance which is cached in the meantime and skip objects which are removed in the
+                // meantime
+                V value = super.get(key);
+                if (value == null && identifiers.contains(key)) {
+                    value = loaded.get(key);
+                }
+
+                if (value != null) {
+                    action.accept(value);
+                }
+            }
+        }
+    }
+
+    @Override
+    public void clear() {
+        super.clear();
+
+        if (isLazy) {
+            identifiers.clear();
+            synchronized (recentlyUsed) {
+                recentlyUsed.clear();
+            }
         }
     }
 
     @Override
     public V put(String key, V value) {
         V previous = super.put(key, value);
+        cache(key);
 
         // Write the new/changed object to data source
         try {
-            value.storeToDS();
+            store(value);
         } catch (Exception e) {
             logger.error("Storing object of type '" + value.getClass().getName() + "' with ID='" + key + "' caused an" +
                     " exception.", e);
@@ -81,16 +370,42 @@ public class PersistableHashMap<V extends PersistableObject> extends ConcurrentH
         return previous;
     }
 
+    /**
+     * Adds all given objects to the map. Without write-behind mode, the objects are written to the data source
+     * through {@link IPersistenceProvider#storeAllObjects(Collection)} in batches of the configured batch size, so
+     * that data sources supporting it can write each batch at once.
+     *
+     * @param m the objects to add, mapped by their identifiers
+     */
     @Override
     public void putAll(Map<? extends String, ? extends V> m) {
         super.putAll(m);
+        for (String key : m.keySet()) {
+            cache(key);
+        }
 
         // Write all new/changed objects to data source
         try {
-            for (Map.Entry<? extends String, ? extends V> e : m.entrySet()) {
-                if (e.getValue() != null) {
-                    e.getValue().storeToDS();
+            List<V> batch = new ArrayList<>(Math.min(batchSize, m.size()));
+            for (V value : m.values()) {
+                if (value == null) {
+                    continue;
                 }
+
+                if (writeBehindQueue != null) {
+                    writeBehindQueue.store(value);
+                } else {
+                    batch.add(value);
+
+                    if (batch.size() == batchSize) {
+                        persistProv.storeAllObjects(batch);
+                        batch.clear();
+                    }
+                }
+            }
+
+            if (!batch.isEmpty()) {
+                persistProv.storeAllObjects(batch);
             }
         } catch (Exception e) {
             logger.error("Storing of multiple objects at once caused an exception.", e);
@@ -99,12 +414,16 @@ public class PersistableHashMap<V extends PersistableObject> extends ConcurrentH
 
     @Override
     public V remove(Object key) {
+        // Make sure that the object is loaded, so that it can be returned and deleted
+        get(key);
+
         V previous = super.remove(key);
+        uncache(key);
 
         // Delete the object from data source
         if (previous != null) {
             try {
-                previous.deleteFromDS();
+                delete(previous);
             } catch (Exception e) {
                 logger.error("Deleting object with ID='" + key + "' caused an exception.", e);
             }
@@ -115,14 +434,22 @@ public class PersistableHashMap<V extends PersistableObject> extends ConcurrentH
 
     @Override
     public V putIfAbsent(String key, V value) {
-        V previous = super.putIfAbsent(key, value);
+        V previous = isLazy ? get(key) : null;
+        if (previous != null) {
+            return previous;
+        }
+
+        previous = super.putIfAbsent(key, value);
+        if (previous == null) {
+            cache(key);
+        }
 
         // Write the new object to data source
         try {
             // Check if there is no previous value for the key since putIfAbsent only adds a new entry if the key is
             // not already in use
             if (previous == null) {
-                value.storeToDS();
+                store(value);
             }
         } catch (Exception e) {
             logger.error("Storing object of type '" + value.getClass().getName() + "' with ID='" + key + "' caused an" +
@@ -134,12 +461,17 @@ public class PersistableHashMap<V extends PersistableObject> extends ConcurrentH
 
     @Override
     public boolean remove(Object key, Object value) {
+        get(key);
+
         boolean isRemoved = super.remove(key, value);
+        if (isRemoved) {
+            uncache(key);
+        }
 
         // Delete the object from data source, if it was removed from the map
         if (isRemoved) {
             try {
-                ((V) value).deleteFromDS();
+                delete((V) value);
             } catch (Exception e) {
                 logger.error("Deleting object of type '" + value.getClass().getName() + "' with ID='" + key + "' " +
                         "caused an exception.", e);
@@ -151,12 +483,14 @@ public class PersistableHashMap<V extends PersistableObject> extends ConcurrentH
 
     @Override
     public boolean replace(String key, V oldValue, V newValue) {
+        get(key);
+
         boolean isReplaced = super.replace(key, oldValue, newValue);
 
         // Write the new/changed object to data source, if it was replaced in the map
         try {
             if (isReplaced) {
-                newValue.storeToDS();
+                store(newValue);
             }
         } catch (Exception e) {
             logger.error("Replacing object of type '" + oldValue.getClass().getName() + "' with ID='" + key + "' " +
@@ -168,11 +502,13 @@ public class PersistableHashMap<V extends PersistableObject> extends ConcurrentH
 
     @Override
     public V replace(String key, V value) {
+        get(key);
+
         V previous = super.replace(key, value);
 
         // Write the new/changed object to data source
         try {
-            value.storeToDS();
+            store(value);
         } catch (Exception e) {
             logger.error("Replacing object of type '" + value.getClass().getName() + "' with ID='" + key + "' " +
                     " with another object instance caused an exception.", e);
@@ -180,4 +516,91 @@ public class PersistableHashMap<V extends PersistableObject> extends ConcurrentH
 
         return previous;
     }
+
+    private void store(V value) {
+        if (writeBehindQueue != null) {
+            writeBehindQueue.store(value);
+        } else {
+            value.storeToDS();
+        }
+    }
+
+    private void delete(V value) {
+        if (writeBehindQueue != null) {
+            writeBehindQueue.delete(value.getIdentifier());
+        } else {
+            value.deleteFromDS();
+        }
+    }
+
+    private V load(String key) {
+        V result = null;
+
+        try {
+            V loaded = persistProv.loadObject(key);
+            if (loaded != null) {
+                // Another thread may have loaded the object concurrently, use the same instance in this case
+                result = super.putIfAbsent(key, loaded);
+                if (result == null) {
+                    result = loaded;
+                }
+                cache(key);
+            }
+        } catch (Exception e) {
+            logger.error("Loading object with ID='" + key + "' caused an exception.", e);
+        }
+
+        return result;
+    }
+
+    private void cache(String key) {
+        if (isLazy) {
+            identifiers.add(key);
+            touch(key);
+            evict();
+        }
+    }
+
+    private void uncache(Object key) {
+        if (isLazy) {
+            identifiers.remove(key);
+            synchronized (recentlyUsed) {
+                recentlyUsed.remove(key);
+            }
+        }
+    }
+
+    private void touch(String key) {
+        synchronized (recentlyUsed) {
+            recentlyUsed.put(key, Boolean.TRUE);
+        }
+    }
+
+    private void evict() {
+        while (super.size() > cacheSize) {
+            String eldest = null;
+
+            synchronized (recentlyUsed) {
+                Iterator<String> iter = recentlyUsed.keySet().iterator();
+                while (iter.hasNext() && eldest == null) {
+                    String key = iter.next();
+
+                    // Objects with changes which are not written yet can not be loaded again
+                    if (writeBehindQueue == null || !writeBehindQueue.isPending(key)) {
+                        eldest = key;
+                        iter.remove();
+                    }
+                }
+            }
+
+            if (eldest == null) {
+                break;
+            }
+
+            // Use the supertype method, since the object should only be removed from memory
+            if (super.remove(eldest) != null) {
+                cacheEvictions.incrementAndGet();
+            }
+        }
+    }
 }
@@ -0,0 +1,311 @@
+/*
+ * Copyright 2017 Michael Hahn
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.trade.core.persistence;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.trade.core.utils.TraDEProperties;
+
+import java.util.*;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * This class implements a write-behind queue for the persistence of model objects. Instead of writing objects to the
+ * data source on the calling thread, store and delete operations are queued and written in batches through
+ * {@link IPersistenceProvider#storeAllObjects(Collection)} and {@link IPersistenceProvider#deleteAllObjects(Collection)}
+ * by a background thread.
+ * <p>
+ * Multiple operations on the same object are coalesced, i.e., only the latest operation per identifier is written. The
+ * queue is bounded by the number of pending identifiers. If the queue is full, the calling thread flushes the queue
+ * itself before the new operation is queued. Operations which are queued before {@link #flush()} is called are
+ * guaranteed to be written to the data source when the method returns, unless the data source rejects them.
+ * <p>
+ * Only the operations of a {@link PersistableHashMap}, i.e., adding objects to and removing objects from the map, are
+ * written through the queue. Changes which model objects persist themselves (e.g., through their
+ * <code>storeToDS()</code> method on a change of their state) bypass the queue and are written synchronously.
+ */
+public class WriteBehindQueue<T extends PersistableObject> {
+
+    private static final Set<WriteBehindQueue<?>> activeQueues = new CopyOnWriteArraySet<>();
+
+    private Logger logger = LoggerFactory.getLogger("org.trade.core.persistence.WriteBehindQueue");
+
+    private final String name;
+
+    private final IPersistenceProvider<T> persistProv;
+
+    private final int capacity;
+
+    private final int batchSize;
+
+    // Pending operations per identifier in the order of their first enqueueing, a null value represents a deletion
+    private final LinkedHashMap<String, T> pending = new LinkedHashMap<>();
+
+    private final Object flushLock = new Object();
+
+    // The batch which is currently written to the data source
+    private volatile Map<String, T> writing = Collections.emptyMap();
+
+    private final ScheduledExecutorService executor;
+
+    private final AtomicLong enqueuedOperations = new AtomicLong();
+
+    private final AtomicLong coalescedOperations = new AtomicLong();
+
+    private final AtomicLong writtenOperations = new AtomicLong();
+
+    private final AtomicLong failedFlushes = new AtomicLong();
+
+    private volatile boolean isShutdown = false;
+
+    /**
+     * Instantiates a new write-behind queue for the given type of objects.
+     *
+     * @param objectType  the type of objects written through the queue
+     * @param persistProv the persistence provider used to write the objects
+     * @param properties  the properties providing the configuration of the queue
+     */
+    public WriteBehindQueue(Class<T> objectType, IPersistenceProvider<T> persistProv, TraDEProperties properties) {
+        this.name = objectType.getSimpleName();
+        this.persistProv = persistProv;
+        this.capacity = Math.max(1, properties.getDataPersistenceWriteBehindQueueSize());
+        this.batchSize = Math.max(1, properties.getDataPersistenceWriteBehindBatchSize());
+
+        this.executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "traDE-write-behind-" + name);
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        long interval = Math.max(1, properties.getDataPersistenceWriteBehindFlushInterval());
+        this.executor.scheduleWithFixedDelay(this::flushQuietly, interval, interval, TimeUnit.MILLISECONDS);
+
+        activeQueues.add(this);
+    }
+
+    /**
+     * Queues the storing of the given object.
+     *
+     * @param object the object to store
+     */
+    public void store(T object) {
+        enqueue(object.getIdentifier(), object);
+    }
+
+    /**
+     * Queues the deletion of the object with the given identifier.
+     *
+     * @param identifier the identifier of the object to delete
+     */
+    public void delete(String identifier) {
+        enqueue(identifier, null);
+    }
+
+    /**
+     * Writes all queued operations to the data source and blocks until they are written.
+     *
+     * @throws Exception if the data source rejected some of the operations, these operations remain queued
+     */
+    public void flush() throws Exception {
+        synchronized (flushLock) {
+            Map<String, T> batch;
+            while (!(batch = drain()).isEmpty()) {
+                writing = batch;
+                try {
+                    write(batch);
+                } finally {
+                    writing = Collections.emptyMap();
+                }
+            }
+        }
+    }
+
+    /**
+     * Flushes the queue and stops the background thread. Operations queued afterwards are directly written on the
+     * calling thread.
+     */
+    public void shutdown() {
+        // Operations queued before the flag is set are written by the following flush, all later ones are written by
+        // the enqueueing thread itself
+        synchronized (pending) {
+            isShutdown = true;
+        }
+        executor.shutdown();
+
+        flushQuietly();
+
+        activeQueues.remove(this);
+    }
+
+    /**
+     * Flushes and shuts down all queues of the process, e.g., when the middleware is stopped.
+     */
+    public static void shutdownAll() {
+        for (WriteBehindQueue<?> queue : activeQueues) {
+            queue.shutdown();
+        }
+    }
+
+    /**
+     * Checks if there is an operation for the given identifier which is not written to the data source yet.
+     *
+     * @param identifier the identifier of the object
+     * @return true, if an operation is queued or currently written
+     */
+    public boolean isPending(String identifier) {
+        synchronized (pending) {
+            if (pending.containsKey(identifier)) {
+                return true;
+            }
+        }
+
+        return writing.containsKey(identifier);
+    }
+
+    /**
+     * Provides the number of identifiers with pending operations.
+     *
+     * @return the current depth of the queue
+     */
+    public int getQueueDepth() {
+        synchronized (pending) {
+            return pending.size();
+        }
+    }
+
+    public long getEnqueuedOperations() {
+        return enqueuedOperations.get();
+    }
+
+    /**
+     * Provides the number of operations which were superseded by a later operation on the same identifier before
+     * they were written.
+     *
+     * @return the number of coalesced operations
+     */
+    public long getCoalescedOperations() {
+        return coalescedOperations.get();
+    }
+
+    public long getWrittenOperations() {
+        return writtenOperations.get();
+    }
+
+    public long getFailedFlushes() {
+        return failedFlushes.get();
+    }
+
+    private void enqueue(String identifier, T object) {
+        enqueuedOperations.incrementAndGet();
+
+        boolean isFull;
+        synchronized (pending) {
+            isFull = !pending.containsKey(identifier) && pending.size() >= capacity;
+        }
+
+        if (isFull || isShutdown) {
+            // Apply back pressure by writing the pending operations on the calling thread
+            flushQuietly();
+        }
+
+        int depth;
+        boolean isQueueShutdown;
+        synchronized (pending) {
+            if (pending.containsKey(identifier)) {
+                coalescedOperations.incrementAndGet();
+            }
+            pending.put(identifier, object);
+            depth = pending.size();
+            isQueueShutdown = isShutdown;
+        }
+
+        if (isQueueShutdown) {
+            flushQuietly();
+        } else if (depth == batchSize) {
+            // Do not wait for the next scheduled flush if a whole batch is available
+            try {
+                executor.execute(this::flushQuietly);
+            } catch (RejectedExecutionException e) {
+                // The queue is shut down concurrently, so write the pending operations on the calling thread
+                flushQuietly();
+            }
+        }
+    }
+
+    private Map<String, T> drain() {
+        Map<String, T> batch = new LinkedHashMap<>();
+
+        synchronized (pending) {
+            Iterator<Map.Entry<String, T>> iter = pending.entrySet().iterator();
+            while (iter.hasNext() && batch.size() < batchSize) {
+                Map.Entry<String, T> entry = iter.next();
+                batch.put(entry.getKey(), entry.getValue());
+                iter.remove();
+            }
+        }
+
+        return batch;
+    }
+
+    private void write(Map<String, T> batch) throws Exception {
+        List<T> toStore = new ArrayList<>();
+        List<String> toDelete = new ArrayList<>();
+
+        for (Map.Entry<String, T> entry : batch.entrySet()) {
+            if (entry.getValue() != null) {
+                toStore.add(entry.getValue());
+            } else {
+                toDelete.add(entry.getKey());
+            }
+        }
+
+        try {
+            if (!toStore.isEmpty()) {
+                persistProv.storeAllObjects(toStore);
+            }
+            if (!toDelete.isEmpty()) {
+                persistProv.deleteAllObjects(toDelete);
+            }
+
+            writtenOperations.addAndGet(batch.size());
+        } catch (Exception e) {
+            failedFlushes.incrementAndGet();
+
+            // Queue the operations again, unless they are already superseded by newer operations
+            synchronized (pending) {
+                for (Map.Entry<String, T> entry : batch.entrySet()) {
+                    pending.putIfAbsent(entry.getKey(), entry.getValue());
+                }
+            }
+
+            throw e;
+        }
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (Exception e) {
+            logger.error("Writing queued objects of type '" + name + "' to the data source caused an exception.", e);
+        }
+    }
+}
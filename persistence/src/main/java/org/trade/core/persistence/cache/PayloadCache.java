@@ -0,0 +1,360 @@
+/*
+ * Copyright 2017 Michael Hahn
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.trade.core.persistence.cache;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.trade.core.utils.TraDEConfiguration;
+import org.trade.core.utils.TraDEConfigurationListener;
+import org.trade.core.utils.TraDEProperties;
+
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Process-wide cache for frequently read binary data (payloads), e.g., of data values which are resolved by queries or
+ * downloaded repeatedly. The payloads are kept outside of the Java heap in direct buffers, so that caching a large
+ * amount of data does not increase the work of the garbage collector. The cache is bounded by the total size of the
+ * cached payloads and evicts the least recently used payloads first.
+ * <p>
+ * The cache is configured through the 'data.persistence.payloadCache.*' properties of {@link TraDEProperties} on its
+ * first use and reconfigured whenever the configuration of the middleware changes (see {@link TraDEConfiguration}).
+ * Since the memory of a direct buffer is only released when the buffer itself is garbage collected, the JVM option
+ * '-XX:MaxDirectMemorySize' should leave some headroom above the configured maximal size.
+ */
+public enum PayloadCache implements TraDEConfigurationListener {
+    INSTANCE;
+
+    // Maximal number of stamps of invalidated payloads which are kept, if more payloads are invalidated all payloads
+    // get a new stamp instead
+    static final int MAX_STAMPS = 10000;
+
+    private Logger logger = LoggerFactory.getLogger("org.trade.core.persistence.cache.PayloadCache");
+
+    // Payloads in access order, i.e., the first entry is the least recently used one
+    private final LinkedHashMap<String, ByteBuffer> payloads = new LinkedHashMap<>(16, 0.75f, true);
+
+    // Source of unique stamps, incremented on each invalidation
+    private final AtomicLong clock = new AtomicLong();
+
+    // Stamps of the payloads invalidated since the stamps were reset, so that payloads loaded before an invalidation
+    // are not cached afterwards. Payloads without an entry have the stamp of the last reset.
+    private final Map<String, Long> stamps = new HashMap<>();
+
+    private long clearedStamp = 0L;
+
+    private final AtomicLong hits = new AtomicLong();
+
+    private final AtomicLong misses = new AtomicLong();
+
+    private final AtomicLong evictions = new AtomicLong();
+
+    private volatile boolean configured = false;
+
+    private boolean enabled;
+
+    private long maxSize;
+
+    private long maxEntrySize;
+
+    private long residentBytes = 0L;
+
+    PayloadCache() {
+        TraDEConfiguration.INSTANCE.addListener(this);
+    }
+
+    /**
+     * Whether the cache accepts payloads of the given size or not.
+     *
+     * @param size the size of a payload in bytes
+     * @return true, if the cache is enabled and the payload is not too large to be cached
+     */
+    public boolean accepts(long size) {
+        configure();
+
+        return enabled && size > 0 && size <= maxEntrySize;
+    }
+
+    /**
+     * Provides the current stamp of the payload with the given key, which has to be passed to
+     * {@link #put(String, byte[], long)} when the payload loaded afterwards is added to the cache.
+     *
+     * @param key the key of the payload, e.g., the identifier of a data value
+     * @return the current stamp of the payload
+     */
+    public long getStamp(String key) {
+        synchronized (payloads) {
+            return stamps.getOrDefault(key, clearedStamp);
+        }
+    }
+
+    /**
+     * Provides a copy of the cached payload with the given key.
+     *
+     * @param key the key of the payload, e.g., the identifier of a data value
+     * @return the payload or null, if it is not cached
+     */
+    public byte[] get(String key) {
+        ByteBuffer buffer = lookup(key);
+
+        if (buffer == null) {
+            return null;
+        }
+
+        byte[] result = new byte[buffer.remaining()];
+        buffer.get(result);
+
+        return result;
+    }
+
+    /**
+     * Provides a channel reading the cached payload with the given key from the given position on.
+     *
+     * @param key      the key of the payload, e.g., the identifier of a data value
+     * @param position the position (offset in bytes) from which the payload should be read
+     * @return the channel or null, if the payload is not cached
+     */
+    public ReadableByteChannel openChannel(String key, long position) {
+        ByteBuffer buffer = lookup(key);
+
+        if (buffer == null) {
+            return null;
+        }
+
+        buffer.position((int) Math.min(buffer.limit(), Math.max(0L, position)));
+
+        return new BufferChannel(buffer);
+    }
+
+    /**
+     * Adds the given payload to the cache, evicting the least recently used payloads, if required. The payload is
+     * not cached, if it was invalidated after the given stamp was obtained, since the payload might be stale.
+     *
+     * @param key   the key of the payload, e.g., the identifier of a data value
+     * @param data  the payload
+     * @param stamp the stamp obtained through {@link #getStamp(String)} before the payload was loaded
+     */
+    public void put(String key, byte[] data, long stamp) {
+        if (data == null || !accepts(data.length)) {
+            return;
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocateDirect(data.length);
+        buffer.put(data).flip();
+
+        synchronized (payloads) {
+            if (stamp != stamps.getOrDefault(key, clearedStamp)) {
+                return;
+            }
+
+            ByteBuffer previous = payloads.put(key, buffer.asReadOnlyBuffer());
+            if (previous != null) {
+                residentBytes -= previous.capacity();
+            }
+            residentBytes += data.length;
+
+            Iterator<ByteBuffer> iterator = payloads.values().iterator();
+            while (residentBytes > maxSize && iterator.hasNext()) {
+                residentBytes -= iterator.next().capacity();
+                iterator.remove();
+
+                evictions.incrementAndGet();
+            }
+        }
+    }
+
+    /**
+     * Removes the payload with the given key from the cache. Has to be called whenever the payload changes.
+     *
+     * @param key the key of the payload, e.g., the identifier of a data value
+     */
+    public void invalidate(String key) {
+        synchronized (payloads) {
+            ByteBuffer previous = payloads.remove(key);
+            if (previous != null) {
+                residentBytes -= previous.capacity();
+            }
+
+            if (!configured || !enabled) {
+                // No payloads are loaded into the cache, configuring the cache resets all stamps anyway
+                return;
+            }
+
+            if (stamps.size() < MAX_STAMPS) {
+                stamps.put(key, clock.incrementAndGet());
+            } else {
+                // Prevents the caching of all payloads loaded before, but keeps the cached payloads since they are
+                // up-to-date
+                resetStamps();
+            }
+        }
+    }
+
+    /**
+     * Configures the cache according to the given properties. All cached payloads are removed and the statistics are
+     * reset. If the cache is not configured explicitly, it is configured through the properties provided by
+     * {@link TraDEConfiguration} on its first use.
+     *
+     * @param properties the properties of the middleware
+     */
+    public void configure(TraDEProperties properties) {
+        synchronized (payloads) {
+            resetStamps();
+            payloads.clear();
+            residentBytes = 0L;
+
+            hits.set(0L);
+            misses.set(0L);
+            evictions.set(0L);
+
+            this.enabled = properties.isDataPersistencePayloadCacheEnabled();
+            this.maxSize = properties.getDataPersistencePayloadCacheMaxSize();
+            this.maxEntrySize = Math.min(maxSize, properties.getDataPersistencePayloadCacheMaxEntrySize());
+            this.configured = true;
+        }
+    }
+
+    @Override
+    public void onConfigurationChange(TraDEProperties properties) {
+        configure(properties);
+    }
+
+    /**
+     * Removes all payloads from the cache. The configuration is reloaded on the next use of the cache.
+     */
+    public void clear() {
+        synchronized (payloads) {
+            if (residentBytes > 0) {
+                logger.info("Clearing payload cache: {}", getMetrics());
+            }
+
+            resetStamps();
+            payloads.clear();
+            residentBytes = 0L;
+            configured = false;
+        }
+    }
+
+    /**
+     * Provides a snapshot of the statistics of the cache.
+     *
+     * @return the current metrics
+     */
+    public PayloadCacheMetrics getMetrics() {
+        synchronized (payloads) {
+            return new PayloadCacheMetrics(payloads.size(), residentBytes, maxSize, hits.get(), misses.get(),
+                    evictions.get());
+        }
+    }
+
+    private ByteBuffer lookup(String key) {
+        if (!configured || !enabled) {
+            return null;
+        }
+
+        ByteBuffer buffer;
+        synchronized (payloads) {
+            buffer = payloads.get(key);
+        }
+
+        if (buffer == null) {
+            misses.incrementAndGet();
+
+            return null;
+        }
+
+        hits.incrementAndGet();
+
+        // Each reader gets its own position and limit on the shared memory
+        return buffer.duplicate();
+    }
+
+    /**
+     * Gives all payloads a new stamp, which invalidates all stamps obtained before. Since no payload can be cached with
+     * an older stamp afterwards, the stamps of the invalidated payloads are not required anymore.
+     */
+    private void resetStamps() {
+        clearedStamp = clock.incrementAndGet();
+        stamps.clear();
+    }
+
+    /**
+     * Provides the number of stamps of invalidated payloads which are currently kept.
+     *
+     * @return the number of stamps
+     */
+    int getStampCount() {
+        synchronized (payloads) {
+            return stamps.size();
+        }
+    }
+
+    private void configure() {
+        if (!configured) {
+            synchronized (payloads) {
+                if (!configured) {
+                    configure(TraDEConfiguration.INSTANCE.getProperties());
+                }
+            }
+        }
+    }
+
+    /**
+     * Channel reading a cached payload. Payloads larger than the buffer of the caller are read in multiple calls.
+     */
+    private static class BufferChannel implements ReadableByteChannel {
+
+        private final ByteBuffer buffer;
+
+        private boolean open = true;
+
+        BufferChannel(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public int read(ByteBuffer dst) {
+            if (!buffer.hasRemaining()) {
+                return -1;
+            }
+
+            int count = Math.min(dst.remaining(), buffer.remaining());
+
+            ByteBuffer slice = buffer.duplicate();
+            slice.limit(slice.position() + count);
+            dst.put(slice);
+            buffer.position(buffer.position() + count);
+
+            return count;
+        }
+
+        @Override
+        public boolean isOpen() {
+            return open;
+        }
+
+        @Override
+        public void close() {
+            open = false;
+        }
+    }
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright 2017 Michael Hahn
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.trade.core.persistence.cache;
+
+/**
+ * Snapshot of the statistics of the {@link PayloadCache}.
+ */
+public class PayloadCacheMetrics {
+
+    private final int entries;
+
+    private final long residentBytes;
+
+    private final long maxBytes;
+
+    private final long hits;
+
+    private final long misses;
+
+    private final long evictions;
+
+    PayloadCacheMetrics(int entries, long residentBytes, long maxBytes, long hits, long misses, long evictions) {
+        this.entries = entries;
+        this.residentBytes = residentBytes;
+        this.maxBytes = maxBytes;
+        this.hits = hits;
+        this.misses = misses;
+        this.evictions = evictions;
+    }
+
+    public int getEntries() {
+        return entries;
+    }
+
+    public long getResidentBytes() {
+        return residentBytes;
+    }
+
+    public long getMaxBytes() {
+        return maxBytes;
+    }
+
+    public long getHits() {
+        return hits;
+    }
+
+    public long getMisses() {
+        return misses;
+    }
+
+    public long getEvictions() {
+        return evictions;
+    }
+
+    public double getHitRatio() {
+        long lookups = hits + misses;
+
+        return lookups > 0 ? hits / (double) lookups : 0.0;
+    }
+
+    @Override
+    public String toString() {
+        return "entries=" + entries + ", residentBytes=" + residentBytes + "/" + maxBytes + ", hits=" + hits + ", " +
+                "misses=" + misses + ", evictions=" + evictions + ", hitRatio=" + String.format("%.2f",
+                getHitRatio());
+    }
+}
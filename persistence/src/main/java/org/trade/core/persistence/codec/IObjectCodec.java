@@ -0,0 +1,63 @@
+/*
+ * Copyright 2017 Michael Hahn
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.trade.core.persistence.codec;
+
+import java.io.IOException;
+
+/**
+ * This interface defines the methods of a codec which is used by persistence providers to serialize model objects
+ * into a binary representation and back. Implementations have to be thread-safe, since a codec is shared by all
+ * providers of a process.
+ */
+public interface IObjectCodec {
+
+    /**
+     * Provides the name of the format produced by the codec, e.g., 'JSON'.
+     *
+     * @return the name of the format
+     */
+    String getFormat();
+
+    /**
+     * Checks if the given data was produced by this codec, e.g., by inspecting the header of the format. This allows
+     * to read data which was written with another codec, e.g., before the codec of a deployment was changed.
+     *
+     * @param data the serialized object
+     * @return true, if the codec is able to decode the data
+     */
+    boolean canDecode(byte[] data);
+
+    /**
+     * Serializes the given object.
+     *
+     * @param object the object to serialize
+     * @return the serialized object
+     * @throws IOException if the object could not be serialized
+     */
+    byte[] encode(Object object) throws IOException;
+
+    /**
+     * Deserializes an object of the given type.
+     *
+     * @param <T>  the type of the object
+     * @param data the serialized object
+     * @param type the type of the object
+     * @return the deserialized object
+     * @throws IOException if the data could not be deserialized
+     */
+    <T> T decode(byte[] data, Class<T> type) throws IOException;
+}
@@ -0,0 +1,121 @@
+/*
+ * Copyright 2017 Michael Hahn
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.trade.core.persistence.codec;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.cbor.CBORGenerator;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileGenerator;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Implementation of {@link IObjectCodec} based on Jackson, so that the Jackson annotations of the model objects are
+ * respected by all formats. Besides textual JSON, the binary formats Smile and CBOR are supported. Both binary formats
+ * are written with a header, so that they can be distinguished from each other and from JSON.
+ * <p>
+ * The codec is thread-safe. Immutable readers are created once per type and shared between all threads, so that the
+ * type information of a model class is only resolved on its first use.
+ */
+public class JacksonObjectCodec implements IObjectCodec {
+
+    /**
+     * Textual JSON, the format used by previous versions of the middleware.
+     */
+    public static final JacksonObjectCodec JSON = new JacksonObjectCodec("JSON", new JsonFactory());
+
+    /**
+     * Binary JSON (Smile) with back references to already written property names and short string values.
+     */
+    public static final JacksonObjectCodec SMILE = new JacksonObjectCodec("SMILE", new SmileFactory()
+            .enable(SmileGenerator.Feature.WRITE_HEADER)
+            .enable(SmileGenerator.Feature.CHECK_SHARED_NAMES)
+            .enable(SmileGenerator.Feature.CHECK_SHARED_STRING_VALUES));
+
+    /**
+     * Concise Binary Object Representation (CBOR, RFC 7049).
+     */
+    public static final JacksonObjectCodec CBOR = new JacksonObjectCodec("CBOR", new CBORFactory()
+            .enable(CBORGenerator.Feature.WRITE_TYPE_HEADER));
+
+    // Smile header ':)\n'
+    private static final byte[] SMILE_HEADER = {0x3A, 0x29, 0x0A};
+
+    // CBOR self-describe tag 55799
+    private static final byte[] CBOR_HEADER = {(byte) 0xD9, (byte) 0xD9, (byte) 0xF7};
+
+    private final String format;
+
+    private final ObjectMapper objectMapper;
+
+    private final ObjectWriter objectWriter;
+
+    private final Map<Class<?>, ObjectReader> objectReaders = new ConcurrentHashMap<>();
+
+    private JacksonObjectCodec(String format, JsonFactory factory) {
+        this.format = format;
+        this.objectMapper = new ObjectMapper(factory);
+        this.objectWriter = objectMapper.writer();
+    }
+
+    @Override
+    public String getFormat() {
+        return format;
+    }
+
+    @Override
+    public boolean canDecode(byte[] data) {
+        if (this == SMILE) {
+            return startsWith(data, SMILE_HEADER);
+        } else if (this == CBOR) {
+            return startsWith(data, CBOR_HEADER);
+        } else {
+            // Everything without a binary header is treated as textual JSON
+            return !startsWith(data, SMILE_HEADER) && !startsWith(data, CBOR_HEADER);
+        }
+    }
+
+    @Override
+    public byte[] encode(Object object) throws IOException {
+        return objectWriter.writeValueAsBytes(object);
+    }
+
+    @Override
+    public <T> T decode(byte[] data, Class<T> type) throws IOException {
+        return objectReaders.computeIfAbsent(type, objectMapper::readerFor).readValue(data);
+    }
+
+    private static boolean startsWith(byte[] data, byte[] header) {
+        if (data.length < header.length) {
+            return false;
+        }
+
+        for (int i = 0; i < header.length; i++) {
+            if (data[i] != header[i]) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+}
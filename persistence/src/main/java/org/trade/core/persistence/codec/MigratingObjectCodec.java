@@ -0,0 +1,72 @@
+/*
+ * Copyright 2017 Michael Hahn
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.trade.core.persistence.codec;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Codec which writes objects with the configured codec, but is able to read objects written by any of the built-in
+ * codecs. Therefore, the codec of a deployment can be changed without migrating the existing data in advance: Objects
+ * are read in the format they were written and rewritten in the configured format with their next change.
+ */
+public class MigratingObjectCodec implements IObjectCodec {
+
+    private final IObjectCodec codec;
+
+    private final List<IObjectCodec> readableCodecs = new ArrayList<>();
+
+    public MigratingObjectCodec(IObjectCodec codec) {
+        this.codec = codec;
+
+        this.readableCodecs.add(codec);
+        for (IObjectCodec builtIn : Arrays.asList(JacksonObjectCodec.SMILE, JacksonObjectCodec.CBOR,
+                JacksonObjectCodec.JSON)) {
+            if (builtIn != codec) {
+                this.readableCodecs.add(builtIn);
+            }
+        }
+    }
+
+    @Override
+    public String getFormat() {
+        return codec.getFormat();
+    }
+
+    @Override
+    public boolean canDecode(byte[] data) {
+        return readableCodecs.stream().anyMatch(readable -> readable.canDecode(data));
+    }
+
+    @Override
+    public byte[] encode(Object object) throws IOException {
+        return codec.encode(object);
+    }
+
+    @Override
+    public <T> T decode(byte[] data, Class<T> type) throws IOException {
+        for (IObjectCodec readable : readableCodecs) {
+            if (readable.canDecode(data)) {
+                return readable.decode(data, type);
+            }
+        }
+
+        throw new IOException("The format of the data is not supported by any of the available codecs.");
+    }
+}
@@ -0,0 +1,74 @@
+/*
+ * Copyright 2017 Michael Hahn
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.trade.core.persistence.codec;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.trade.core.utils.TraDEProperties;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * This factory provides the {@link IObjectCodec} based on the configuration of the middleware (i.e.,
+ * {@link org.trade.core.utils.TraDEProperties}). The returned codec writes the configured format and reads all
+ * built-in formats, see {@link MigratingObjectCodec}.
+ */
+public class ObjectCodecFactory {
+
+    private static Logger logger = LoggerFactory.getLogger("org.trade.core.persistence.codec.ObjectCodecFactory");
+
+    private static final Map<String, IObjectCodec> customCodecs = new ConcurrentHashMap<>();
+
+    /**
+     * Creates the codec configured by the given properties.
+     *
+     * @param props the properties of the middleware
+     * @return the codec according to the defined property in 'config.properties'.
+     */
+    public static IObjectCodec createObjectCodec(TraDEProperties props) {
+        IObjectCodec codec;
+
+        switch (props.getDataPersistenceCodec()) {
+            case SMILE:
+                codec = JacksonObjectCodec.SMILE;
+                break;
+            case CBOR:
+                codec = JacksonObjectCodec.CBOR;
+                break;
+            case CUSTOM:
+                codec = customCodecs.computeIfAbsent(props.getDataPersistenceCodecClass(),
+                        ObjectCodecFactory::createCustomCodec);
+                break;
+            default:
+                codec = JacksonObjectCodec.JSON;
+        }
+
+        return new MigratingObjectCodec(codec);
+    }
+
+    private static IObjectCodec createCustomCodec(String className) {
+        try {
+            // Try to load the class from the classpath and create a new instance of it
+            return (IObjectCodec) Class.forName(className).getConstructor().newInstance();
+        } catch (Exception e) {
+            logger.error("Creating the custom codec '" + className + "' caused an exception. Falling back to JSON.", e);
+
+            return JacksonObjectCodec.JSON;
+        }
+    }
+}
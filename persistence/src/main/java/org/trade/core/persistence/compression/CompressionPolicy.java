@@ -0,0 +1,188 @@
+/*
+ * Copyright 2017 Michael Hahn
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.trade.core.persistence.compression;
+
+import org.trade.core.utils.TraDEProperties;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Decides which binary data is compressed before it is stored and provides the corresponding encoding and decoding of
+ * the data. Data is compressed with gzip, so that the stored data can also be served directly to HTTP clients
+ * accepting the 'gzip' content encoding. Whether data is compressed depends on its content type and size, since
+ * already compressed formats (e.g., images or archives) and small data do not benefit from compression.
+ * <p>
+ * The content types to compress are configured as comma-separated list, where each entry is either a content type
+ * (e.g., 'application/json'), a type with wildcard subtype (e.g., 'text/*') or a structured syntax suffix (e.g.,
+ * '*+xml').
+ */
+public class CompressionPolicy {
+
+    /**
+     * The name of the gzip encoding as used in the HTTP 'Content-Encoding' header.
+     */
+    public static final String GZIP = "gzip";
+
+    private static final int BUFFER_SIZE = 8192;
+
+    private final boolean enabled;
+
+    private final int minSize;
+
+    private final List<String> contentTypes = new ArrayList<>();
+
+    public CompressionPolicy(TraDEProperties properties) {
+        this.enabled = properties.isDataPersistenceCompressionEnabled();
+        this.minSize = properties.getDataPersistenceCompressionMinSize();
+
+        for (String contentType : properties.getDataPersistenceCompressionContentTypes().split(",")) {
+            if (!contentType.trim().isEmpty()) {
+                this.contentTypes.add(contentType.trim().toLowerCase());
+            }
+        }
+    }
+
+    /**
+     * Provides the minimal size (in bytes) of data to compress.
+     *
+     * @return the minimal size of data to compress
+     */
+    public int getMinSize() {
+        return minSize;
+    }
+
+    /**
+     * Whether data of the given content type and size should be compressed or not.
+     *
+     * @param contentType the content type of the data, e.g., 'text/csv; charset=utf-8'
+     * @param size        the size of the data in bytes
+     * @return the encoding to use for the data or null, if the data should not be compressed
+     */
+    public String selectEncoding(String contentType, long size) {
+        if (!enabled || contentType == null || size <= 0 || size < minSize) {
+            return null;
+        }
+
+        // Ignore parameters like the charset
+        String type = contentType.split(";")[0].trim().toLowerCase();
+
+        for (String pattern : contentTypes) {
+            boolean matches;
+            if (pattern.endsWith("/*")) {
+                matches = type.startsWith(pattern.substring(0, pattern.length() - 1));
+            } else if (pattern.startsWith("*")) {
+                matches = type.endsWith(pattern.substring(1));
+            } else {
+                matches = type.equals(pattern);
+            }
+
+            if (matches) {
+                return GZIP;
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Encodes the given data with the given encoding.
+     *
+     * @param data     the data to encode
+     * @param encoding the encoding or null, if the data should not be encoded
+     * @return the encoded data
+     * @throws IOException if the data could not be encoded
+     */
+    public static byte[] encode(byte[] data, String encoding) throws IOException {
+        if (encoding == null || data == null) {
+            return data;
+        }
+
+        ByteArrayOutputStream result = new ByteArrayOutputStream(Math.max(32, data.length / 4));
+        try (OutputStream out = encode(result, encoding)) {
+            out.write(data);
+        }
+
+        return result.toByteArray();
+    }
+
+    /**
+     * Wraps the given stream, so that all data written to it is encoded with the given encoding.
+     *
+     * @param out      the stream to write the encoded data to
+     * @param encoding the encoding or null, if the data should not be encoded
+     * @return the stream to write the data to
+     * @throws IOException if the stream could not be wrapped
+     */
+    public static OutputStream encode(OutputStream out, String encoding) throws IOException {
+        checkEncoding(encoding);
+
+        return encoding == null ? out : new GZIPOutputStream(out, BUFFER_SIZE);
+    }
+
+    /**
+     * Decodes the given data encoded with the given encoding.
+     *
+     * @param data     the encoded data
+     * @param encoding the encoding of the data or null, if the data is not encoded
+     * @return the decoded data
+     * @throws IOException if the data could not be decoded
+     */
+    public static byte[] decode(byte[] data, String encoding) throws IOException {
+        if (encoding == null || data == null || data.length == 0) {
+            return data;
+        }
+
+        ByteArrayOutputStream result = new ByteArrayOutputStream(data.length * 4);
+        try (InputStream in = decode(new ByteArrayInputStream(data), encoding)) {
+            byte[] buffer = new byte[BUFFER_SIZE];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                result.write(buffer, 0, read);
+            }
+        }
+
+        return result.toByteArray();
+    }
+
+    /**
+     * Wraps the given stream, so that the data read from it is decoded.
+     *
+     * @param in       the stream providing the encoded data
+     * @param encoding the encoding of the data or null, if the data is not encoded
+     * @return the stream providing the decoded data
+     * @throws IOException if the stream could not be wrapped
+     */
+    public static InputStream decode(InputStream in, String encoding) throws IOException {
+        checkEncoding(encoding);
+
+        return encoding == null ? in : new GZIPInputStream(in, BUFFER_SIZE);
+    }
+
+    private static void checkEncoding(String encoding) {
+        if (encoding != null && !encoding.equals(GZIP)) {
+            throw new IllegalArgumentException("The encoding '" + encoding + "' is not supported.");
+        }
+    }
+}
@@ -0,0 +1,244 @@
+/*
+ * Copyright 2017 Michael Hahn
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.trade.core.persistence.content;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.trade.core.persistence.IPersistenceProvider;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.UUID;
+
+/**
+ * Content-addressed store for binary data on top of the binary data operations of an {@link IPersistenceProvider}.
+ * The data is identified by the SHA-256 hash of its content, so that byte-identical data is only stored once, no
+ * matter how many resources refer to it. The store counts the references to each content and deletes the content when
+ * its last reference is released.
+ * <p>
+ * The data is kept in the given collection, while the reference counts are kept in a '{collection}Refs' collection
+ * and data provided as stream is staged in a '{collection}Staging' collection until its hash is known. All changes of
+ * the references to a content are serialized by striped locks shared between all stores within the JVM.
+ */
+public class ContentAddressedStore {
+
+    private static final String REFERENCES_SUFFIX = "Refs";
+
+    private static final String STAGING_SUFFIX = "Staging";
+
+    private static final int STREAM_BUFFER_SIZE = 8192;
+
+    private static final Object[] locks = new Object[64];
+
+    static {
+        for (int i = 0; i < locks.length; i++) {
+            locks[i] = new Object();
+        }
+    }
+
+    private Logger logger = LoggerFactory.getLogger("org.trade.core.persistence.content.ContentAddressedStore");
+
+    private final IPersistenceProvider<?> persistProv;
+
+    private final String contentCollection;
+
+    private final String referenceCollection;
+
+    private final String stagingCollection;
+
+    public ContentAddressedStore(IPersistenceProvider<?> persistProv, String collectionName) {
+        this.persistProv = persistProv;
+        this.contentCollection = collectionName;
+        this.referenceCollection = collectionName + REFERENCES_SUFFIX;
+        this.stagingCollection = collectionName + STAGING_SUFFIX;
+    }
+
+    /**
+     * Stores the given data, if no identical data is stored yet, and adds a reference to it.
+     *
+     * @param data the data to store
+     * @return the hash identifying the content
+     * @throws Exception if the data could not be stored
+     */
+    public String store(byte[] data) throws Exception {
+        String hash = toHex(createDigest().digest(data));
+
+        synchronized (lockFor(hash)) {
+            int references = getReferenceCount(hash);
+
+            if (references == 0) {
+                persistProv.storeBinaryData(data, contentCollection, hash);
+            }
+
+            setReferenceCount(hash, references + 1);
+        }
+
+        return hash;
+    }
+
+    /**
+     * Streams the given data to the store, computing its hash on the fly, and adds a reference to it. If identical
+     * data is already stored, the streamed copy is discarded.
+     *
+     * @param data the stream providing the data, the stream is not closed by this method
+     * @return the hash identifying the content
+     * @throws Exception if the data could not be stored
+     */
+    public String store(InputStream data) throws Exception {
+        String stagingId = UUID.randomUUID().toString();
+        MessageDigest digest = createDigest();
+
+        try (OutputStream out = new DigestOutputStream(persistProv.openBinaryDataForWrite(stagingCollection,
+                stagingId), digest)) {
+            byte[] buffer = new byte[STREAM_BUFFER_SIZE];
+            int read;
+            while ((read = data.read(buffer)) != -1) {
+                out.write(buffer, 0, read);
+            }
+        } catch (Exception e) {
+            persistProv.deleteBinaryData(stagingCollection, stagingId);
+
+            throw e;
+        }
+
+        return addStaged(stagingCollection, stagingId, toHex(digest.digest()));
+    }
+
+    /**
+     * Takes over the binary data stored in the given collection under the given identifier, e.g., the data of a
+     * committed upload, and adds a reference to it. The data is moved into the store or deleted, if identical data is
+     * already stored.
+     *
+     * @param collectionName the collection containing the data
+     * @param identifier     the identifier of the data within the collection
+     * @return the hash identifying the content
+     * @throws Exception if the data could not be taken over
+     */
+    public String storeFrom(String collectionName, String identifier) throws Exception {
+        MessageDigest digest = createDigest();
+
+        try (InputStream in = persistProv.openBinaryDataForRead(collectionName, identifier)) {
+            byte[] buffer = new byte[STREAM_BUFFER_SIZE];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                digest.update(buffer, 0, read);
+            }
+        }
+
+        return addStaged(collectionName, identifier, toHex(digest.digest()));
+    }
+
+    /**
+     * Releases a reference to the given content. If it was the last reference, the content is deleted.
+     *
+     * @param hash the hash identifying the content
+     * @throws Exception if the reference could not be released
+     */
+    public void release(String hash) throws Exception {
+        synchronized (lockFor(hash)) {
+            int references = getReferenceCount(hash) - 1;
+
+            if (references > 0) {
+                setReferenceCount(hash, references);
+            } else {
+                persistProv.deleteBinaryData(contentCollection, hash);
+                persistProv.deleteBinaryData(referenceCollection, hash);
+
+                logger.debug("Deleted content '{}' of collection '{}' since it is no longer referenced.", hash,
+                        contentCollection);
+            }
+        }
+    }
+
+    /**
+     * Provides the number of references to the given content.
+     *
+     * @param hash the hash identifying the content
+     * @return the number of references, zero if the content is not stored
+     * @throws Exception if the references could not be loaded
+     */
+    public int getReferenceCount(String hash) throws Exception {
+        byte[] references = persistProv.loadBinaryData(referenceCollection, hash);
+
+        return references.length > 0 ? Integer.parseInt(new String(references, StandardCharsets.UTF_8)) : 0;
+    }
+
+    public byte[] load(String hash) throws Exception {
+        return persistProv.loadBinaryData(contentCollection, hash);
+    }
+
+    public InputStream openForRead(String hash) throws Exception {
+        return persistProv.openBinaryDataForRead(contentCollection, hash);
+    }
+
+    public ReadableByteChannel openChannel(String hash, long position) throws Exception {
+        return persistProv.openBinaryDataChannel(contentCollection, hash, position);
+    }
+
+    public long getSize(String hash) throws Exception {
+        return persistProv.getBinaryDataSize(contentCollection, hash);
+    }
+
+    private String addStaged(String collectionName, String identifier, String hash) throws Exception {
+        synchronized (lockFor(hash)) {
+            int references = getReferenceCount(hash);
+
+            if (references == 0) {
+                persistProv.moveBinaryData(collectionName, identifier, contentCollection, hash);
+            } else {
+                // The content is already stored, so we only need to remember the additional reference
+                persistProv.deleteBinaryData(collectionName, identifier);
+            }
+
+            setReferenceCount(hash, references + 1);
+        }
+
+        return hash;
+    }
+
+    private void setReferenceCount(String hash, int references) throws Exception {
+        persistProv.storeBinaryData(String.valueOf(references).getBytes(StandardCharsets.UTF_8),
+                referenceCollection, hash);
+    }
+
+    private static Object lockFor(String hash) {
+        return locks[(hash.hashCode() & 0x7FFFFFFF) % locks.length];
+    }
+
+    private static MessageDigest createDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            // Every Java platform has to support SHA-256
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String toHex(byte[] bytes) {
+        StringBuilder result = new StringBuilder(bytes.length * 2);
+        for (byte b : bytes) {
+            result.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+        }
+
+        return result.toString();
+    }
+}
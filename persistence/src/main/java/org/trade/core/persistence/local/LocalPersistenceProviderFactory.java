@@ -19,7 +19,10 @@ package org.trade.core.persistence.local;
 import org.trade.core.persistence.IPersistenceProvider;
 import org.trade.core.persistence.PersistableObject;
 import org.trade.core.persistence.local.filesystem.FileSystemPersistence;
+import org.trade.core.persistence.local.kv.KeyValuePersistence;
+import org.trade.core.persistence.local.log.LogPersistence;
 import org.trade.core.persistence.local.mongo.MongoPersistence;
+import org.trade.core.utils.TraDEConfiguration;
 import org.trade.core.utils.TraDEProperties;
 
 import java.lang.reflect.InvocationTargetException;
@@ -33,16 +36,28 @@ import java.lang.reflect.InvocationTargetException;
 public class LocalPersistenceProviderFactory {
 
     /**
-     * Creates a local persistence provider based on the specified properties.
+     * Creates a new local persistence provider based on the specified properties. Model objects should use the
+     * shared provider of their type provided by {@link PersistenceProviderRegistry} instead.
      *
      * @param <T>        the type of persistable object
      * @param objectType the class (type of object) for which a local persistence provider should be created.
      * @return the local persistence provider according to the defined property in 'config.properties'.
      */
     public static <T extends PersistableObject> IPersistenceProvider<T> createLocalPersistenceProvider(Class<T> objectType) {
-        IPersistenceProvider<T> result = null;
+        return createLocalPersistenceProvider(objectType, TraDEConfiguration.INSTANCE.getProperties());
+    }
 
-        TraDEProperties props = new TraDEProperties();
+    /**
+     * Creates a local persistence provider based on the given properties.
+     *
+     * @param <T>        the type of persistable object
+     * @param objectType the class (type of object) for which a local persistence provider should be created.
+     * @param props      the properties of the middleware
+     * @return the local persistence provider according to the given properties.
+     */
+    public static <T extends PersistableObject> IPersistenceProvider<T> createLocalPersistenceProvider(Class<T>
+            objectType, TraDEProperties props) {
+        IPersistenceProvider<T> result = null;
 
         switch (props.getDataPersistenceMode()) {
             case DB:
@@ -53,6 +68,14 @@ public class LocalPersistenceProviderFactory {
                 result = new FileSystemPersistence();
                 result.initProvider(objectType, props);
                 break;
+            case LOG:
+                result = new LogPersistence();
+                result.initProvider(objectType, props);
+                break;
+            case KV:
+                result = new KeyValuePersistence();
+                result.initProvider(objectType, props);
+                break;
             case CUSTOM:
                 try {
                     // Try to load the class from the classpath
@@ -0,0 +1,93 @@
+/*
+ * Copyright 2017 Michael Hahn
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.trade.core.persistence.local;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.trade.core.persistence.IPersistenceProvider;
+import org.trade.core.persistence.PersistableObject;
+import org.trade.core.utils.TraDEConfiguration;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Process-wide registry providing one shared {@link IPersistenceProvider} per object type. Model objects obtain their
+ * provider from this registry instead of creating their own one, so that loading a large number of objects does not
+ * create (and initialize) a provider with its own codec per object. All provider implementations are therefore
+ * required to be thread-safe after {@link IPersistenceProvider#initProvider(Class, org.trade.core.utils
+ * .TraDEProperties)} was called.
+ * <p>
+ * The providers are created through {@link LocalPersistenceProviderFactory} with the properties provided by
+ * {@link TraDEConfiguration} on first use and destroyed through {@link #destroyAll()}, e.g., when the middleware is
+ * stopped. Afterwards, new providers are created on the next request, e.g., using a changed configuration.
+ */
+public enum PersistenceProviderRegistry {
+    INSTANCE;
+
+    private Logger logger = LoggerFactory.getLogger("org.trade.core.persistence.local.PersistenceProviderRegistry");
+
+    private final Map<Class<?>, IPersistenceProvider<?>> providers = new ConcurrentHashMap<>();
+
+    /**
+     * Provides the shared persistence provider for the given type of objects.
+     *
+     * @param <T>        the type of persistable object
+     * @param objectType the class (type of object) for which the provider is requested
+     * @return the shared provider according to the current configuration of the middleware
+     */
+    @SuppressWarnings("unchecked")
+    public <T extends PersistableObject> IPersistenceProvider<T> getProvider(Class<T> objectType) {
+        IPersistenceProvider<?> result = providers.get(objectType);
+
+        if (result == null) {
+            // Only one provider is created and initialized per type, even if it is requested concurrently
+            result = providers.computeIfAbsent(objectType, type -> LocalPersistenceProviderFactory
+                    .createLocalPersistenceProvider(objectType, TraDEConfiguration.INSTANCE.getProperties()));
+        }
+
+        return (IPersistenceProvider<T>) result;
+    }
+
+    /**
+     * Provides the number of providers currently held by the registry.
+     *
+     * @return the number of providers
+     */
+    public int size() {
+        return providers.size();
+    }
+
+    /**
+     * Destroys all providers of the registry. Subsequent requests create new providers.
+     */
+    public void destroyAll() {
+        List<IPersistenceProvider<?>> destroyed = new ArrayList<>(providers.values());
+        providers.clear();
+
+        for (IPersistenceProvider<?> provider : destroyed) {
+            try {
+                provider.destroyProvider();
+            } catch (RuntimeException e) {
+                logger.error("Destroying persistence provider '" + provider.getClass().getName() + "' caused an " +
+                        "exception.", e);
+            }
+        }
+    }
+}
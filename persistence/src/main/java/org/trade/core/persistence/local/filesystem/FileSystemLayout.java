@@ -0,0 +1,136 @@
+/*
+ * Copyright 2017 Michael Hahn
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.trade.core.persistence.local.filesystem;
+
+import java.io.IOException;
+import java.nio.file.DirectoryNotEmptyException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Defines where the file of an identifier is located within the folder of a collection. With zero levels, all files
+ * are located directly in the collection folder (flat layout). Otherwise, the files are distributed over nested
+ * sub-folders named after the bytes of the hash of the identifier, e.g., 'dataValueData/3f/a2/{identifier}' for two
+ * levels. Each level fans out into at most 256 folders, so that even millions of files result in small folders.
+ */
+public class FileSystemLayout {
+
+    /**
+     * The maximal number of levels, since each level uses one byte of the (32 bit) hash of an identifier.
+     */
+    public static final int MAX_LEVELS = 4;
+
+    private final int levels;
+
+    public FileSystemLayout(int levels) {
+        this.levels = Math.max(0, Math.min(MAX_LEVELS, levels));
+    }
+
+    public int getLevels() {
+        return levels;
+    }
+
+    /**
+     * Resolves the file of the given identifier within the given collection folder.
+     *
+     * @param collectionFolder the folder of the collection
+     * @param identifier       the identifier of the file
+     * @return the path of the file
+     */
+    public Path resolve(Path collectionFolder, String identifier) {
+        Path result = collectionFolder;
+
+        // The hash of a string is specified by the JLS, so it is stable across JVMs and releases
+        int hash = identifier.hashCode();
+        for (int level = 0; level < levels; level++) {
+            result = result.resolve(String.format("%02x", (hash >>> (8 * level)) & 0xFF));
+        }
+
+        return result.resolve(identifier);
+    }
+
+    /**
+     * Lists all files of the given collection folder. Files located in a different layout are also listed, so that
+     * the result can be used to migrate a collection between layouts.
+     *
+     * @param collectionFolder the folder of the collection
+     * @return the paths of all files in the folder or an empty list, if the folder does not exist
+     * @throws IOException if the folder could not be read
+     */
+    public List<Path> list(Path collectionFolder) throws IOException {
+        if (Files.notExists(collectionFolder)) {
+            return new ArrayList<>();
+        }
+
+        try (Stream<Path> files = Files.walk(collectionFolder, MAX_LEVELS + 1)) {
+            return files.filter(Files::isRegularFile).collect(Collectors.toList());
+        }
+    }
+
+    /**
+     * Deletes the empty folders on the path from the given file up to and including the collection folder.
+     *
+     * @param collectionFolder the folder of the collection
+     * @param file             the (deleted) file
+     * @throws IOException if a folder could not be deleted
+     */
+    public void deleteEmptyFolders(Path collectionFolder, Path file) throws IOException {
+        Path folder = file.getParent();
+
+        while (folder != null && folder.startsWith(collectionFolder)) {
+            try {
+                Files.deleteIfExists(folder);
+            } catch (DirectoryNotEmptyException e) {
+                // The folder is still in use, so are all of its parents
+                return;
+            }
+
+            folder = folder.getParent();
+        }
+    }
+
+    /**
+     * Moves all files of the given collection folder into this layout. Files which are already located correctly are
+     * not touched, so an interrupted migration can be simply restarted.
+     *
+     * @param collectionFolder the folder of the collection
+     * @return the number of moved files
+     * @throws IOException if a file could not be moved
+     */
+    public int migrate(Path collectionFolder) throws IOException {
+        int moved = 0;
+
+        for (Path file : list(collectionFolder)) {
+            Path target = resolve(collectionFolder, file.getFileName().toString());
+
+            if (!target.equals(file)) {
+                Files.createDirectories(target.getParent());
+                Files.move(file, target, StandardCopyOption.ATOMIC_MOVE);
+                deleteEmptyFolders(collectionFolder, file);
+
+                moved++;
+            }
+        }
+
+        return moved;
+    }
+}
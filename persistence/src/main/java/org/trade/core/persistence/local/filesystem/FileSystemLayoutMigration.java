@@ -0,0 +1,93 @@
+/*
+ * Copyright 2017 Michael Hahn
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.trade.core.persistence.local.filesystem;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.trade.core.persistence.local.kv.KeyValuePersistence;
+import org.trade.core.persistence.local.log.LogPersistence;
+import org.trade.core.utils.TraDEProperties;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * One-time migration tool moving all files of an existing file directory into the {@link FileSystemLayout} with the
+ * given number of levels. The middleware has to be stopped while the files are migrated. Afterwards, the property
+ * 'data.persistence.file.shardLevels' has to be set to the same number of levels.
+ * <p>
+ * Usage: {@code FileSystemLayoutMigration [directory] [levels]}, where the file directory and the number of levels
+ * default to the values specified in 'config.properties'.
+ */
+public class FileSystemLayoutMigration {
+
+    /**
+     * The folders of the file directory which are not organized in collections of files and therefore are never
+     * migrated, i.e., the logs written in 'LOG' mode and the store written in 'KV' mode.
+     */
+    public static final List<String> NON_COLLECTION_DIRECTORIES = Collections.unmodifiableList(Arrays.asList
+            (LogPersistence.LOG_DIRECTORY, KeyValuePersistence.KV_DIRECTORY));
+
+    private static Logger logger = LoggerFactory.getLogger("org.trade.core.persistence.local.filesystem" +
+            ".FileSystemLayoutMigration");
+
+    public static void main(String[] args) throws IOException {
+        TraDEProperties properties = new TraDEProperties();
+
+        Path directory = Paths.get(args.length > 0 ? args[0] : properties.getDataPersistenceFileDirectory());
+        int levels = args.length > 1 ? Integer.parseInt(args[1]) : properties.getDataPersistenceFileShardLevels();
+
+        migrate(directory, new FileSystemLayout(levels));
+    }
+
+    /**
+     * Moves the files of all collections of the given file directory into the given layout.
+     *
+     * @param directory the file directory of the middleware
+     * @param layout    the target layout
+     * @return the number of moved files
+     * @throws IOException if a file could not be moved
+     */
+    public static int migrate(Path directory, FileSystemLayout layout) throws IOException {
+        int moved = 0;
+
+        List<Path> collections;
+        try (Stream<Path> folders = Files.list(directory)) {
+            collections = folders.filter(Files::isDirectory).filter(folder -> !NON_COLLECTION_DIRECTORIES.contains
+                    (folder.getFileName().toString())).collect(Collectors.toList());
+        }
+
+        for (Path collection : collections) {
+            long start = System.currentTimeMillis();
+            int count = layout.migrate(collection);
+
+            logger.info("Moved {} file(s) of collection '{}' into a layout with {} level(s) in {} ms.", count,
+                    collection.getFileName(), layout.getLevels(), System.currentTimeMillis() - start);
+
+            moved += count;
+        }
+
+        return moved;
+    }
+}
@@ -16,24 +16,37 @@
 
 package org.trade.core.persistence.local.filesystem;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.trade.core.persistence.IPersistenceProvider;
 import org.trade.core.persistence.PersistableObject;
+import org.trade.core.persistence.codec.IObjectCodec;
+import org.trade.core.persistence.codec.ObjectCodecFactory;
 import org.trade.core.utils.TraDEProperties;
 
-import java.io.File;
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
 import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Implementation of {@link IPersistenceProvider} using the local file system as data source.
@@ -42,13 +55,20 @@ import java.util.stream.Collectors;
  */
 public class FileSystemPersistence<T extends PersistableObject> implements IPersistenceProvider<T> {
 
+    // Loading only a few objects does not justify the overhead of additional threads
+    private static final int MIN_OBJECTS_PER_CHUNK = 64;
+
     private Logger logger = LoggerFactory.getLogger("org.trade.core.persistence.local.filesystem.FileSystemPersistence");
 
     private Class<T> objectType;
 
     private String persistenceFileDirectory;
 
-    private ObjectMapper objectMapper;
+    private IObjectCodec codec;
+
+    private int loadThreads;
+
+    private FileSystemLayout layout;
 
     @Override
     public void initProvider(Class<T> objectType, TraDEProperties properties) {
@@ -62,7 +82,9 @@ public class FileSystemPersistence<T extends PersistableObject> implements IPers
             persistenceFileDirectory = Paths.get(".", persistenceFileDirectory).toString();
         }
 
-        this.objectMapper = new ObjectMapper();
+        this.codec = ObjectCodecFactory.createObjectCodec(properties);
+        this.loadThreads = properties.getDataPersistenceLoadThreads();
+        this.layout = new FileSystemLayout(properties.getDataPersistenceFileShardLevels());
     }
 
     @Override
@@ -71,7 +93,7 @@ public class FileSystemPersistence<T extends PersistableObject> implements IPers
 
         // We use the UUID identifier as file name and the collectionName to distinguish data of different model
         // objects, e.g., data models (serialized model files) and data values (serialized application data)
-        Path file = Paths.get(this.persistenceFileDirectory, collectionName, identifier);
+        Path file = resolveFile(collectionName, identifier);
 
         try {
             if (Files.exists(file)) {
@@ -89,8 +111,8 @@ public class FileSystemPersistence<T extends PersistableObject> implements IPers
 
     @Override
     public void storeBinaryData(byte[] data, String collectionName, String identifier) throws Exception {
-        Path path = Paths.get(this.persistenceFileDirectory, collectionName);
-        Path file = Paths.get(path.toString(), identifier);
+        Path file = resolveFile(collectionName, identifier);
+        Path path = file.getParent();
 
         if (data == null) {
             // We assume that if the value is set to null, we should delete also the corresponding file
@@ -105,13 +127,141 @@ public class FileSystemPersistence<T extends PersistableObject> implements IPers
         }
     }
 
+    @Override
+    public InputStream openBinaryDataForRead(String collectionName, String identifier) throws Exception {
+        InputStream result = new ByteArrayInputStream(new byte[0]);
+
+        Path file = resolveFile(collectionName, identifier);
+
+        try {
+            if (Files.exists(file)) {
+                result = Files.newInputStream(file, StandardOpenOption.READ);
+            }
+        } catch (IOException e) {
+            logger.error("Opening file '{}' for reading data of model object '{}' of model collection '{}' caused an " +
+                    "exception", file.toString(), identifier, collectionName);
+
+            throw e;
+        }
+
+        return result;
+    }
+
+    @Override
+    public ReadableByteChannel openBinaryDataChannel(String collectionName, String identifier) throws Exception {
+        return openBinaryDataChannel(collectionName, identifier, 0L);
+    }
+
+    @Override
+    public ReadableByteChannel openBinaryDataChannel(String collectionName, String identifier, long position) throws
+            Exception {
+        ReadableByteChannel result = Channels.newChannel(new ByteArrayInputStream(new byte[0]));
+
+        Path file = resolveFile(collectionName, identifier);
+
+        try {
+            if (Files.exists(file)) {
+                FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+                // Seek to the requested position, reading from a position beyond the size of the file simply
+                // reaches the end of the file immediately
+                channel.position(position);
+
+                result = channel;
+            }
+        } catch (IOException e) {
+            logger.error("Opening a channel on file '{}' for reading data of model object '{}' of model collection " +
+                    "'{}' caused an exception", file.toString(), identifier, collectionName);
+
+            throw e;
+        }
+
+        return result;
+    }
+
+    @Override
+    public OutputStream openBinaryDataForWrite(String collectionName, String identifier) throws Exception {
+        Path file = resolveFile(collectionName, identifier);
+        Path path = file.getParent();
+
+        try {
+            if (Files.notExists(path)) {
+                Files.createDirectories(path);
+            }
+
+            return Files.newOutputStream(file, StandardOpenOption.WRITE, StandardOpenOption.CREATE,
+                    StandardOpenOption.TRUNCATE_EXISTING);
+        } catch (IOException e) {
+            logger.error("Opening file '{}' for writing data of model object '{}' of model collection '{}' caused an " +
+                    "exception", file.toString(), identifier, collectionName);
+
+            throw e;
+        }
+    }
+
+    @Override
+    public OutputStream openBinaryDataForAppend(String collectionName, String identifier) throws Exception {
+        Path file = resolveFile(collectionName, identifier);
+        Path path = file.getParent();
+
+        try {
+            if (Files.notExists(path)) {
+                Files.createDirectories(path);
+            }
+
+            return Files.newOutputStream(file, StandardOpenOption.WRITE, StandardOpenOption.CREATE,
+                    StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            logger.error("Opening file '{}' for appending data to model object '{}' of model collection '{}' caused " +
+                    "an exception", file.toString(), identifier, collectionName);
+
+            throw e;
+        }
+    }
+
+    @Override
+    public long getBinaryDataSize(String collectionName, String identifier) throws Exception {
+        Path file = resolveFile(collectionName, identifier);
+
+        return Files.exists(file) ? Files.size(file) : 0L;
+    }
+
+    @Override
+    public void moveBinaryData(String collectionName, String identifier, String targetCollectionName, String
+            targetIdentifier) throws Exception {
+        Path file = resolveFile(collectionName, identifier);
+        Path targetFile = resolveFile(targetCollectionName, targetIdentifier);
+        Path targetPath = targetFile.getParent();
+
+        try {
+            if (Files.notExists(targetPath)) {
+                Files.createDirectories(targetPath);
+            }
+
+            if (Files.exists(file)) {
+                Files.move(file, targetFile, StandardCopyOption.REPLACE_EXISTING);
+            } else {
+                // Moving non-existing data results in empty data at the target
+                Files.write(targetFile, new byte[0], StandardOpenOption.WRITE, StandardOpenOption.CREATE,
+                        StandardOpenOption.TRUNCATE_EXISTING);
+            }
+
+            // Clean up the source folder if it is empty
+            deleteBinaryData(collectionName, identifier);
+        } catch (IOException e) {
+            logger.error("Moving data of model object '{}' of model collection '{}' to file '{}' caused an exception",
+                    identifier, collectionName, targetFile.toString());
+
+            throw e;
+        }
+    }
+
     @Override
     public void deleteBinaryData(String collectionName, String identifier) throws Exception {
         Path rootFolder = Paths.get(this.persistenceFileDirectory, collectionName);
 
         // We use the UUID identifier as file name and the collectionName to distinguish data of different model
         // objects, e.g., data models (serialized model files) and data values (serialized application data)
-        Path file = Paths.get(this.persistenceFileDirectory, collectionName, identifier);
+        Path file = resolveFile(collectionName, identifier);
 
         try {
             // Delete the associated file, if it exists
@@ -119,11 +269,8 @@ public class FileSystemPersistence<T extends PersistableObject> implements IPers
                 Files.delete(file);
             }
 
-            // Check if root folder is empty, if so delete also this folder
-            File cFile = rootFolder.toFile();
-            if (cFile.isDirectory() && cFile.listFiles() != null && cFile.listFiles().length == 0) {
-                Files.delete(rootFolder);
-            }
+            // Check if the folders of the file are empty, if so delete also these folders
+            layout.deleteEmptyFolders(rootFolder, file);
         } catch (IOException e) {
             logger.error("Deleting data from file '{}' for model object '{}' of model collection '{}' caused an " +
                     "exception", file.toString(), identifier, collectionName);
@@ -134,38 +281,114 @@ public class FileSystemPersistence<T extends PersistableObject> implements IPers
 
     @Override
     public Map<String, T> loadAllObjects(Collection<String> identifiers) throws Exception {
-        Map<String, T> result = new HashMap<>();
-
         if (identifiers == null) {
-            // Load all available objects
+            // Load all available objects, where the filename is the identifier of the object to load
+            return loadObjectsInParallel(loadAllIdentifiers(), true);
+        } else {
+            return loadObjectsInParallel(identifiers, false);
+        }
+    }
 
-            // We use the simple name of the class as collection name (i.e. folder name)
-            Path folder = Paths.get(this.persistenceFileDirectory, objectType.getSimpleName());
+    /**
+     * Loads the objects with the given identifiers using up to {@link TraDEProperties#getDataPersistenceLoadThreads()}
+     * threads, since the time to load a large number of objects is dominated by deserializing them. The identifiers
+     * are split into chunks which are loaded by the worker threads independently of each other.
+     *
+     * @param identifiers the identifiers of the objects to load
+     * @param skipMissing if true, objects which are deleted in the meantime are not part of the result, otherwise
+     *                    their identifiers are mapped to null
+     * @return the loaded objects mapped by their identifiers
+     * @throws Exception if one of the objects could not be loaded
+     */
+    protected Map<String, T> loadObjectsInParallel(Collection<String> identifiers, boolean skipMissing) throws
+            Exception {
+        long start = System.currentTimeMillis();
+
+        List<String> ids = new ArrayList<>(identifiers);
+        int threads = Math.max(1, Math.min(loadThreads, ids.size() / MIN_OBJECTS_PER_CHUNK));
+
+        Map<String, T> result;
+        if (threads == 1) {
+            result = loadObjects(ids, skipMissing);
+        } else {
+            result = new HashMap<>(ids.size() * 4 / 3 + 1);
 
-            if (Files.exists(folder)) {
-                // Load each of the files contained in the folder,
-                // where the filename is the identifier of the object to load
-                List<Path> paths = Files.list(folder).collect(Collectors.toList());
+            ExecutorService executor = Executors.newFixedThreadPool(threads, new ThreadFactory() {
+                private final AtomicInteger count = new AtomicInteger();
 
-                for (Path path : paths) {
-                    result.put(path.getFileName().toString(), loadObject(path.getFileName().toString()));
+                @Override
+                public Thread newThread(Runnable runnable) {
+                    Thread thread = new Thread(runnable, "traDE-loader-" + objectType.getSimpleName() + "-" + count
+                            .incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
                 }
+            });
+
+            try {
+                // Use more chunks than threads, so that threads finishing early can take over remaining work
+                int chunkSize = Math.max(MIN_OBJECTS_PER_CHUNK, (ids.size() + threads * 4 - 1) / (threads * 4));
+
+                List<Future<Map<String, T>>> chunks = new ArrayList<>();
+                for (int i = 0; i < ids.size(); i += chunkSize) {
+                    List<String> chunk = ids.subList(i, Math.min(ids.size(), i + chunkSize));
+                    chunks.add(executor.submit(() -> loadObjects(chunk, skipMissing)));
+                }
+
+                for (Future<Map<String, T>> chunk : chunks) {
+                    result.putAll(chunk.get());
+                }
+            } catch (ExecutionException e) {
+                logger.error("Loading objects of type '{}' in parallel caused an exception", objectType
+                        .getSimpleName());
+
+                throw e.getCause() instanceof Exception ? (Exception) e.getCause() : e;
+            } finally {
+                executor.shutdownNow();
             }
-        } else {
-            for (String id : identifiers) {
-                result.put(id, loadObject(id));
+        }
+
+        logger.info("Loaded {} object(s) of type '{}' in {} ms using {} thread(s).", result.size(), objectType
+                .getSimpleName(), System.currentTimeMillis() - start, threads);
+
+        return result;
+    }
+
+    private Map<String, T> loadObjects(List<String> identifiers, boolean skipMissing) throws Exception {
+        Map<String, T> result = new HashMap<>(identifiers.size() * 4 / 3 + 1);
+
+        for (String id : identifiers) {
+            T object = loadObject(id);
+
+            if (object != null || !skipMissing) {
+                result.put(id, object);
             }
         }
 
         return result;
     }
 
+    @Override
+    public Collection<String> loadAllIdentifiers() throws Exception {
+        List<String> result = new ArrayList<>();
+
+        // We use the simple name of the class as collection name (i.e. folder name)
+        Path folder = Paths.get(this.persistenceFileDirectory, objectType.getSimpleName());
+
+        // The filename is the identifier of the object, so the objects itself do not need to be loaded
+        for (Path path : layout.list(folder)) {
+            result.add(path.getFileName().toString());
+        }
+
+        return result;
+    }
+
     @Override
     public T loadObject(String identifier) throws Exception {
         T result = null;
 
         // We use the simple name of the class as collection name (i.e. folder name)
-        Path file = Paths.get(this.persistenceFileDirectory, objectType.getSimpleName(), identifier);
+        Path file = resolveFile(objectType.getSimpleName(), identifier);
 
         try {
             if (Files.exists(file)) {
@@ -180,7 +403,7 @@ public class FileSystemPersistence<T extends PersistableObject> implements IPers
 ////
 ////                fio.close();
 ////                ois.close();
-                result = objectMapper.readValue(file.toFile(), objectType);
+                result = codec.decode(Files.readAllBytes(file), objectType);
             }
         } catch (IOException e) {
             logger.error("Loading an object of type '{}' for the given identifier '{}' from file '{}' caused an " +
@@ -195,8 +418,8 @@ public class FileSystemPersistence<T extends PersistableObject> implements IPers
     @Override
     public void storeObject(T object) throws Exception {
         // We use the simple name of the class as collection name (i.e. folder name)
-        Path path = Paths.get(this.persistenceFileDirectory, objectType.getSimpleName());
-        Path file = Paths.get(path.toString(), object.getIdentifier());
+        Path file = resolveFile(objectType.getSimpleName(), object.getIdentifier());
+        Path path = file.getParent();
 
         // Check if the required folders exist
         if (Files.notExists(path)) {
@@ -211,7 +434,8 @@ public class FileSystemPersistence<T extends PersistableObject> implements IPers
 //            ObjectOutputStream oos = new ObjectOutputStream(fio);
 //            oos.writeObject(object);
 //            oos.close();
-            objectMapper.writeValue(file.toFile(), object);
+            Files.write(file, codec.encode(object), StandardOpenOption.WRITE, StandardOpenOption.CREATE,
+                    StandardOpenOption.TRUNCATE_EXISTING);
         } catch (IOException e) {
             logger.error("Storing an object of type '{}' with the given identifier '{}' in file '{}' caused an " +
                     "exception", objectType.getSimpleName(), object.getIdentifier(), file.toString());
@@ -231,7 +455,7 @@ public class FileSystemPersistence<T extends PersistableObject> implements IPers
     @Override
     public void deleteObject(String identifier) throws Exception {
         // We use the simple name of the class as collection name (i.e. folder name)
-        Path file = Paths.get(this.persistenceFileDirectory, objectType.getSimpleName(), identifier);
+        Path file = resolveFile(objectType.getSimpleName(), identifier);
 
         try {
             // Delete the file representing the serialized object, if it exists
@@ -254,13 +478,9 @@ public class FileSystemPersistence<T extends PersistableObject> implements IPers
             // We use the simple name of the class as collection name (i.e. folder name)
             Path folder = Paths.get(this.persistenceFileDirectory, objectType.getSimpleName());
 
-            if (Files.exists(folder)) {
-                // Delete all files in the folder
-                List<Path> paths = Files.list(folder).collect(Collectors.toList());
-
-                for (Path path : paths) {
-                    Files.deleteIfExists(path);
-                }
+            // Delete all files in the folder
+            for (Path path : layout.list(folder)) {
+                Files.deleteIfExists(path);
             }
         } else {
             for (String id : identifiers) {
@@ -269,6 +489,18 @@ public class FileSystemPersistence<T extends PersistableObject> implements IPers
         }
     }
 
+    /**
+     * Resolves the file of the given identifier within the given collection according to the configured
+     * {@link FileSystemLayout}.
+     *
+     * @param collectionName the name of the collection
+     * @param identifier     the identifier of the file
+     * @return the path of the file
+     */
+    protected Path resolveFile(String collectionName, String identifier) {
+        return layout.resolve(Paths.get(this.persistenceFileDirectory, collectionName), identifier);
+    }
+
     @Override
     public void destroyProvider() {
         // Nothing to do
@@ -0,0 +1,508 @@
+/*
+ * Copyright 2017 Michael Hahn
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.trade.core.persistence.local.kv;
+
+import org.h2.mvstore.Cursor;
+import org.h2.mvstore.MVMap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.trade.core.persistence.IPersistenceProvider;
+import org.trade.core.persistence.PersistableObject;
+import org.trade.core.persistence.codec.IObjectCodec;
+import org.trade.core.persistence.codec.ObjectCodecFactory;
+import org.trade.core.utils.TraDEProperties;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Implementation of {@link IPersistenceProvider} using an embedded {@link KeyValueStore} as data source. All objects
+ * and binary data are kept in a single file, where the objects of each type and the binary data of each collection
+ * are stored in their own map of the store.
+ * <p>
+ * Binary data is split into chunks of {@link #CHUNK_SIZE} bytes, which are stored under the key
+ * {@code [identifier]\0[chunk number]}. Since the keys of a map are sorted, all chunks of binary data are found by
+ * iterating over the keys with the prefix {@code [identifier]\0}, so that the data can be read as a stream from any
+ * position without loading it as a whole.
+ */
+public class KeyValuePersistence<T extends PersistableObject> implements IPersistenceProvider<T> {
+
+    /**
+     * The size of the chunks of binary data in bytes. All chunks except the last one of binary data are full, so that
+     * the size of the data and the chunk of a position can be calculated.
+     */
+    static final int CHUNK_SIZE = 262144;
+
+    public static final String KV_DIRECTORY = "kv";
+
+    private static final String STORE_FILE = "trade.mv.db";
+
+    // Separates the identifier and the number of a chunk, sorts before all characters of identifiers
+    private static final char CHUNK_SEPARATOR = '\0';
+
+    private Logger logger = LoggerFactory.getLogger("org.trade.core.persistence.local.kv.KeyValuePersistence");
+
+    private Class<T> objectType;
+
+    private KeyValueStore store;
+
+    private IObjectCodec codec;
+
+    @Override
+    public void initProvider(Class<T> objectType, TraDEProperties properties) {
+        this.objectType = objectType;
+        this.codec = ObjectCodecFactory.createObjectCodec(properties);
+
+        Path directory = Paths.get(properties.getDataPersistenceFileDirectory());
+        if (!directory.isAbsolute()) {
+            directory = Paths.get(".", properties.getDataPersistenceFileDirectory());
+        }
+
+        try {
+            this.store = KeyValueStore.open(directory.resolve(KV_DIRECTORY).resolve(STORE_FILE), properties);
+        } catch (IOException e) {
+            logger.error("Opening the key-value store for objects of type '" + objectType.getSimpleName() + "' " +
+                    "caused an exception.", e);
+        }
+    }
+
+    @Override
+    public Map<String, T> loadAllObjects(Collection<String> identifiers) throws Exception {
+        Map<String, T> result = new HashMap<>();
+        MVMap<String, byte[]> objects = store.objects(objectType.getSimpleName());
+
+        try {
+            if (identifiers == null) {
+                // Iterate over all entries of the map of the object type in key order
+                Cursor<String, byte[]> cursor = objects.cursor(null);
+                while (cursor.hasNext()) {
+                    String identifier = cursor.next();
+                    result.put(identifier, codec.decode(cursor.getValue(), objectType));
+                }
+            } else {
+                for (String identifier : identifiers) {
+                    byte[] payload = objects.get(identifier);
+                    result.put(identifier, payload != null ? codec.decode(payload, objectType) : null);
+                }
+            }
+        } catch (IOException e) {
+            logger.error("Loading objects of type '{}' from the key-value store caused an exception", objectType
+                    .getSimpleName());
+
+            throw e;
+        }
+
+        return result;
+    }
+
+    @Override
+    public Collection<String> loadAllIdentifiers() throws Exception {
+        return new ArrayList<>(store.objects(objectType.getSimpleName()).keySet());
+    }
+
+    @Override
+    public T loadObject(String identifier) throws Exception {
+        T result = null;
+
+        try {
+            byte[] payload = store.objects(objectType.getSimpleName()).get(identifier);
+            if (payload != null) {
+                result = codec.decode(payload, objectType);
+            }
+        } catch (IOException e) {
+            logger.error("Loading an object of type '{}' for the given identifier '{}' from the key-value store " +
+                    "caused an exception", objectType.getSimpleName(), identifier);
+
+            throw e;
+        }
+
+        return result;
+    }
+
+    @Override
+    public void storeObject(T object) throws Exception {
+        storeAllObjects(Collections.singletonList(object));
+    }
+
+    @Override
+    public void storeAllObjects(Collection<T> objects) throws Exception {
+        MVMap<String, byte[]> map = store.objects(objectType.getSimpleName());
+
+        try {
+            for (T obj : objects) {
+                map.put(obj.getIdentifier(), codec.encode(obj));
+            }
+
+            // All objects are written with a single commit
+            store.commit();
+        } catch (IOException e) {
+            logger.error("Storing {} object(s) of type '{}' in the key-value store caused an exception", objects
+                    .size(), objectType.getSimpleName());
+
+            throw e;
+        }
+    }
+
+    @Override
+    public void deleteObject(String identifier) throws Exception {
+        deleteAllObjects(Collections.singletonList(identifier));
+    }
+
+    @Override
+    public void deleteAllObjects(Collection<String> identifiers) throws Exception {
+        MVMap<String, byte[]> map = store.objects(objectType.getSimpleName());
+
+        try {
+            if (identifiers == null) {
+                map.clear();
+            } else {
+                for (String identifier : identifiers) {
+                    map.remove(identifier);
+                }
+            }
+
+            store.commit();
+        } catch (IOException e) {
+            logger.error("Deleting objects of type '{}' from the key-value store caused an exception", objectType
+                    .getSimpleName());
+
+            throw e;
+        }
+    }
+
+    @Override
+    public byte[] loadBinaryData(String collectionName, String identifier) throws Exception {
+        long size = getBinaryDataSize(collectionName, identifier);
+        if (size > Integer.MAX_VALUE) {
+            throw new IOException("The data of model object '" + identifier + "' of model collection '" +
+                    collectionName + "' is too large to be loaded as a whole.");
+        }
+
+        byte[] result = new byte[(int) size];
+        try (InputStream in = openBinaryDataForRead(collectionName, identifier)) {
+            int read = 0;
+            int count;
+            while (read < result.length && (count = in.read(result, read, result.length - read)) != -1) {
+                read += count;
+            }
+
+            // The data was changed concurrently
+            if (read < result.length) {
+                result = Arrays.copyOf(result, read);
+            }
+        }
+
+        return result;
+    }
+
+    @Override
+    public void storeBinaryData(byte[] data, String collectionName, String identifier) throws Exception {
+        if (data == null) {
+            // We assume that if the value is set to null, we should delete also the corresponding data
+            deleteBinaryData(collectionName, identifier);
+        } else {
+            try (OutputStream out = openBinaryDataForWrite(collectionName, identifier)) {
+                out.write(data);
+            }
+        }
+    }
+
+    @Override
+    public InputStream openBinaryDataForRead(String collectionName, String identifier) throws Exception {
+        return new ChunkInputStream(store.binaryData(collectionName), identifier, 0L);
+    }
+
+    @Override
+    public ReadableByteChannel openBinaryDataChannel(String collectionName, String identifier) throws Exception {
+        return openBinaryDataChannel(collectionName, identifier, 0L);
+    }
+
+    @Override
+    public ReadableByteChannel openBinaryDataChannel(String collectionName, String identifier, long position) throws
+            Exception {
+        // Only the chunks from the given position on are read
+        return Channels.newChannel(new ChunkInputStream(store.binaryData(collectionName), identifier, Math.max(0L,
+                position)));
+    }
+
+    @Override
+    public OutputStream openBinaryDataForWrite(String collectionName, String identifier) throws Exception {
+        MVMap<String, byte[]> chunks = store.binaryData(collectionName);
+
+        // Replace the existing data, similar to truncating a file
+        removeChunks(chunks, identifier);
+
+        return new ChunkOutputStream(chunks, identifier, 0L, new byte[0]);
+    }
+
+    @Override
+    public OutputStream openBinaryDataForAppend(String collectionName, String identifier) throws Exception {
+        MVMap<String, byte[]> chunks = store.binaryData(collectionName);
+
+        String lastKey = lastChunkKey(chunks, identifier);
+        if (lastKey == null) {
+            return new ChunkOutputStream(chunks, identifier, 0L, new byte[0]);
+        }
+
+        // The last chunk is rewritten, so that all chunks except the last one stay full
+        return new ChunkOutputStream(chunks, identifier, chunkNumber(lastKey), chunks.get(lastKey));
+    }
+
+    @Override
+    public long getBinaryDataSize(String collectionName, String identifier) throws Exception {
+        MVMap<String, byte[]> chunks = store.binaryData(collectionName);
+
+        String lastKey = lastChunkKey(chunks, identifier);
+        if (lastKey == null) {
+            return 0L;
+        }
+
+        byte[] lastChunk = chunks.get(lastKey);
+
+        return chunkNumber(lastKey) * CHUNK_SIZE + (lastChunk != null ? lastChunk.length : 0);
+    }
+
+    @Override
+    public void moveBinaryData(String collectionName, String identifier, String targetCollectionName, String
+            targetIdentifier) throws Exception {
+        MVMap<String, byte[]> chunks = store.binaryData(collectionName);
+        MVMap<String, byte[]> targetChunks = store.binaryData(targetCollectionName);
+
+        try {
+            List<String> keys = chunkKeys(chunks, identifier);
+
+            // Moving non-existing data results in empty data at the target
+            removeChunks(targetChunks, targetIdentifier);
+
+            // The chunks are only re-keyed, their content is not copied
+            for (String key : keys) {
+                targetChunks.put(chunkKey(targetIdentifier, chunkNumber(key)), chunks.remove(key));
+            }
+
+            store.commit();
+        } catch (IOException e) {
+            logger.error("Moving data of model object '{}' of model collection '{}' to model object '{}' of model " +
+                    "collection '{}' caused an exception", identifier, collectionName, targetIdentifier,
+                    targetCollectionName);
+
+            throw e;
+        }
+    }
+
+    @Override
+    public void deleteBinaryData(String collectionName, String identifier) throws Exception {
+        try {
+            removeChunks(store.binaryData(collectionName), identifier);
+
+            store.commit();
+        } catch (IOException e) {
+            logger.error("Deleting data of model object '{}' of model collection '{}' from the key-value store " +
+                    "caused an exception", identifier, collectionName);
+
+            throw e;
+        }
+    }
+
+    @Override
+    public void destroyProvider() {
+        // Nothing to do, the store is shared by all providers and closed through KeyValueStore.closeAll()
+    }
+
+    private static String chunkKey(String identifier, long number) {
+        return identifier + CHUNK_SEPARATOR + String.format("%010d", number);
+    }
+
+    private static long chunkNumber(String key) {
+        return Long.parseLong(key.substring(key.lastIndexOf(CHUNK_SEPARATOR) + 1));
+    }
+
+    private static String lastChunkKey(MVMap<String, byte[]> chunks, String identifier) {
+        // All chunk keys of the identifier are smaller than the identifier followed by the next separator character
+        String key = chunks.lowerKey(identifier + (char) (CHUNK_SEPARATOR + 1));
+
+        return key != null && key.startsWith(identifier + CHUNK_SEPARATOR) ? key : null;
+    }
+
+    private static List<String> chunkKeys(MVMap<String, byte[]> chunks, String identifier) {
+        List<String> result = new ArrayList<>();
+
+        String prefix = identifier + CHUNK_SEPARATOR;
+        Iterator<String> keys = chunks.keyIterator(prefix);
+        while (keys.hasNext()) {
+            String key = keys.next();
+            if (!key.startsWith(prefix)) {
+                break;
+            }
+            result.add(key);
+        }
+
+        return result;
+    }
+
+    private static void removeChunks(MVMap<String, byte[]> chunks, String identifier) {
+        for (String key : chunkKeys(chunks, identifier)) {
+            chunks.remove(key);
+        }
+    }
+
+    /**
+     * Stream reading the chunks of binary data one after another, starting at a given position.
+     */
+    private static class ChunkInputStream extends InputStream {
+
+        private final MVMap<String, byte[]> chunks;
+
+        private final String identifier;
+
+        private long chunkNumber;
+
+        private byte[] chunk;
+
+        private int offset;
+
+        ChunkInputStream(MVMap<String, byte[]> chunks, String identifier, long position) {
+            this.chunks = chunks;
+            this.identifier = identifier;
+            this.chunkNumber = position / CHUNK_SIZE;
+            this.chunk = chunks.get(chunkKey(identifier, chunkNumber));
+            this.offset = (int) (position % CHUNK_SIZE);
+        }
+
+        @Override
+        public int read() throws IOException {
+            byte[] single = new byte[1];
+
+            return read(single, 0, 1) == -1 ? -1 : single[0] & 0xff;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (len == 0) {
+                return 0;
+            }
+
+            while (chunk != null && offset >= chunk.length) {
+                // Only full chunks are followed by another chunk
+                if (chunk.length < CHUNK_SIZE) {
+                    chunk = null;
+                } else {
+                    chunkNumber++;
+                    chunk = chunks.get(chunkKey(identifier, chunkNumber));
+                    offset = 0;
+                }
+            }
+
+            if (chunk == null) {
+                return -1;
+            }
+
+            int count = Math.min(len, chunk.length - offset);
+            System.arraycopy(chunk, offset, b, off, count);
+            offset += count;
+
+            return count;
+        }
+
+        @Override
+        public int available() {
+            return chunk != null ? Math.max(0, chunk.length - offset) : 0;
+        }
+    }
+
+    /**
+     * Stream collecting the written data into chunks, full chunks are put into the map as soon as more data is
+     * written and the last chunk is put on close. The changes are committed on close.
+     */
+    private class ChunkOutputStream extends OutputStream {
+
+        private final MVMap<String, byte[]> chunks;
+
+        private final String identifier;
+
+        private final ByteArrayOutputStream buffer = new ByteArrayOutputStream(CHUNK_SIZE);
+
+        private long chunkNumber;
+
+        private boolean isClosed = false;
+
+        ChunkOutputStream(MVMap<String, byte[]> chunks, String identifier, long chunkNumber, byte[] head) {
+            this.chunks = chunks;
+            this.identifier = identifier;
+            this.chunkNumber = chunkNumber;
+
+            buffer.write(head, 0, head.length);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            write(new byte[]{(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            if (isClosed) {
+                throw new IOException("The stream is already closed.");
+            }
+
+            while (len > 0) {
+                // A full chunk is only put once more data follows, so that it can be the last chunk on close
+                if (buffer.size() == CHUNK_SIZE) {
+                    putChunk();
+                }
+
+                int count = Math.min(len, CHUNK_SIZE - buffer.size());
+                buffer.write(b, off, count);
+                off += count;
+                len -= count;
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (!isClosed) {
+                isClosed = true;
+
+                // An empty last chunk is only required for empty data, so that the data exists
+                if (buffer.size() > 0 || chunkNumber == 0) {
+                    putChunk();
+                }
+
+                store.commit();
+            }
+        }
+
+        private void putChunk() {
+            chunks.put(chunkKey(identifier, chunkNumber), buffer.toByteArray());
+            buffer.reset();
+            chunkNumber++;
+        }
+    }
+}
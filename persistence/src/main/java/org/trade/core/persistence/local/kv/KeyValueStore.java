@@ -0,0 +1,161 @@
+/*
+ * Copyright 2017 Michael Hahn
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.trade.core.persistence.local.kv;
+
+import org.h2.mvstore.MVMap;
+import org.h2.mvstore.MVStore;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.trade.core.utils.TraDEProperties;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * An embedded key-value store kept in a single file of the local file system. The store is based on the MVStore of
+ * H2, i.e., a log-structured B-tree store where each commit appends the changed pages to the end of the file. The
+ * store holds a separate map (sub-database) for the objects of each type and for the binary data of each collection,
+ * so that iterating over all objects of a type does not touch other data.
+ * <p>
+ * Changes become durable on {@link #commit()}, which writes all changes of all maps since the last commit at once.
+ * Therefore, multiple changes should be applied before committing them, e.g., when storing a collection of objects.
+ * Pages which are no longer used are compacted by a background thread of the store.
+ * <p>
+ * Since the file of the store can only be opened once, exactly one store is opened per file, see
+ * {@link #open(Path, TraDEProperties)}.
+ */
+public class KeyValueStore {
+
+    private static final Map<Path, KeyValueStore> openStores = new ConcurrentHashMap<>();
+
+    private static final String OBJECTS_PREFIX = "objects.";
+
+    private static final String BINARY_PREFIX = "binary.";
+
+    private Logger logger = LoggerFactory.getLogger("org.trade.core.persistence.local.kv.KeyValueStore");
+
+    private final Path file;
+
+    private final boolean syncOnCommit;
+
+    private final MVStore store;
+
+    private KeyValueStore(Path file, TraDEProperties properties) throws IOException {
+        this.file = file;
+        this.syncOnCommit = properties.isDataPersistenceKvSyncOnCommit();
+
+        if (Files.notExists(file.getParent())) {
+            Files.createDirectories(file.getParent());
+        }
+
+        try {
+            this.store = new MVStore.Builder().fileName(file.toString()).cacheSize(Math.max(1, properties
+                    .getDataPersistenceKvCacheSize())).open();
+        } catch (IllegalStateException e) {
+            throw new IOException("Opening the key-value store '" + file + "' caused an exception.", e);
+        }
+
+        logger.info("Opened key-value store '{}' with {} map(s)", file, store.getMapNames().size());
+    }
+
+    /**
+     * Provides the store kept in the given file. The store is opened on first use and shared afterwards.
+     *
+     * @param file       the file of the store
+     * @param properties the properties to configure the store, only used when the store is opened
+     * @return the store
+     * @throws IOException if the store could not be opened
+     */
+    public static KeyValueStore open(Path file, TraDEProperties properties) throws IOException {
+        Path key = file.toAbsolutePath().normalize();
+
+        synchronized (openStores) {
+            KeyValueStore store = openStores.get(key);
+            if (store == null) {
+                store = new KeyValueStore(key, properties);
+                openStores.put(key, store);
+            }
+
+            return store;
+        }
+    }
+
+    /**
+     * Closes all open stores of the process, e.g., when the middleware is stopped. Subsequent requests reopen them.
+     */
+    public static void closeAll() {
+        synchronized (openStores) {
+            for (KeyValueStore store : openStores.values()) {
+                store.close();
+            }
+            openStores.clear();
+        }
+    }
+
+    /**
+     * Provides the map holding the serialized objects of the given type.
+     *
+     * @param objectType the name of the object type
+     * @return the map of serialized objects per identifier
+     */
+    public MVMap<String, byte[]> objects(String objectType) {
+        return store.openMap(OBJECTS_PREFIX + objectType);
+    }
+
+    /**
+     * Provides the map holding the binary data of the given collection.
+     *
+     * @param collectionName the name of the collection
+     * @return the map of binary data chunks per key
+     */
+    public MVMap<String, byte[]> binaryData(String collectionName) {
+        return store.openMap(BINARY_PREFIX + collectionName);
+    }
+
+    /**
+     * Writes all changes since the last commit to the file of the store and, if configured, syncs the file.
+     *
+     * @throws IOException if writing the changes failed
+     */
+    public void commit() throws IOException {
+        try {
+            store.commit();
+
+            if (syncOnCommit) {
+                store.sync();
+            }
+        } catch (IllegalStateException e) {
+            throw new IOException("Committing changes to the key-value store '" + file + "' caused an exception.", e);
+        }
+    }
+
+    /**
+     * Commits all pending changes and closes the file of the store.
+     */
+    public void close() {
+        if (!store.isClosed()) {
+            try {
+                store.close();
+            } catch (IllegalStateException e) {
+                logger.error("Closing the key-value store '" + file + "' caused an exception.", e);
+            }
+        }
+    }
+}
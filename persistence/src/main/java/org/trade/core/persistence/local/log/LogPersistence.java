@@ -0,0 +1,146 @@
+/*
+ * Copyright 2017 Michael Hahn
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.trade.core.persistence.local.log;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.trade.core.persistence.IPersistenceProvider;
+import org.trade.core.persistence.PersistableObject;
+import org.trade.core.persistence.codec.IObjectCodec;
+import org.trade.core.persistence.codec.ObjectCodecFactory;
+import org.trade.core.persistence.local.filesystem.FileSystemPersistence;
+import org.trade.core.utils.TraDEProperties;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Implementation of {@link IPersistenceProvider} storing objects in an append-only {@link ObjectLog} per object type
+ * instead of one file per object. Therefore, changes of objects result in sequential writes and loading all objects on
+ * startup only requires to scan the latest snapshot and the segments written afterwards.
+ * <p>
+ * Binary data is still stored as one file per identifier (see {@link FileSystemPersistence}), since it is typically
+ * large, written as a whole and read as a stream.
+ */
+public class LogPersistence<T extends PersistableObject> extends FileSystemPersistence<T> {
+
+    public static final String LOG_DIRECTORY = "log";
+
+    private Logger logger = LoggerFactory.getLogger("org.trade.core.persistence.local.log.LogPersistence");
+
+    private Class<T> objectType;
+
+    private ObjectLog log;
+
+    private IObjectCodec codec;
+
+    @Override
+    public void initProvider(Class<T> objectType, TraDEProperties properties) {
+        super.initProvider(objectType, properties);
+
+        this.objectType = objectType;
+        this.codec = ObjectCodecFactory.createObjectCodec(properties);
+
+        Path directory = Paths.get(properties.getDataPersistenceFileDirectory());
+        if (!directory.isAbsolute()) {
+            directory = Paths.get(".", properties.getDataPersistenceFileDirectory());
+        }
+
+        try {
+            // We use the simple name of the class as name of the log
+            this.log = ObjectLog.open(directory.resolve(LOG_DIRECTORY).resolve(objectType.getSimpleName()),
+                    properties);
+        } catch (IOException e) {
+            logger.error("Opening the log for objects of type '" + objectType.getSimpleName() + "' caused an " +
+                    "exception.", e);
+        }
+    }
+
+    @Override
+    public Map<String, T> loadAllObjects(Collection<String> identifiers) throws Exception {
+        // Objects which are deleted in the meantime are skipped when all objects are loaded
+        return loadObjectsInParallel(identifiers != null ? identifiers : log.identifiers(), identifiers == null);
+    }
+
+    @Override
+    public Collection<String> loadAllIdentifiers() throws Exception {
+        return log.identifiers();
+    }
+
+    @Override
+    public T loadObject(String identifier) throws Exception {
+        T result = null;
+
+        try {
+            byte[] payload = log.read(identifier);
+            if (payload != null) {
+                result = codec.decode(payload, objectType);
+            }
+        } catch (IOException e) {
+            logger.error("Loading an object of type '{}' for the given identifier '{}' from the log caused an " +
+                    "exception", objectType.getSimpleName(), identifier);
+
+            throw e;
+        }
+
+        return result;
+    }
+
+    @Override
+    public void storeObject(T object) throws Exception {
+        storeAllObjects(Collections.singletonList(object));
+    }
+
+    @Override
+    public void storeAllObjects(Collection<T> objects) throws Exception {
+        Map<String, byte[]> payloads = new LinkedHashMap<>();
+        for (T obj : objects) {
+            payloads.put(obj.getIdentifier(), codec.encode(obj));
+        }
+
+        try {
+            log.put(payloads);
+        } catch (IOException e) {
+            logger.error("Storing {} object(s) of type '{}' in the log caused an exception", objects.size(),
+                    objectType.getSimpleName());
+
+            throw e;
+        }
+    }
+
+    @Override
+    public void deleteObject(String identifier) throws Exception {
+        deleteAllObjects(Collections.singletonList(identifier));
+    }
+
+    @Override
+    public void deleteAllObjects(Collection<String> identifiers) throws Exception {
+        try {
+            log.delete(identifiers != null ? identifiers : log.identifiers());
+        } catch (IOException e) {
+            logger.error("Deleting objects of type '{}' from the log caused an exception", objectType
+                    .getSimpleName());
+
+            throw e;
+        }
+    }
+}
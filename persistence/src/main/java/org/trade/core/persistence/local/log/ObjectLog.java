@@ -0,0 +1,766 @@
+/*
+ * Copyright 2017 Michael Hahn
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.trade.core.persistence.local.log;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.trade.core.utils.TraDEProperties;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * An append-only log of serialized objects stored in a directory of the file system.
+ * <p>
+ * All changes are appended as records to the active segment file. Records of concurrent writers are collected by a
+ * single writer thread and written (and synced) together, i.e., a group commit is used so that multiple changes share
+ * a single sequential write. The location of the latest record of each object is kept in an in-memory index, so that
+ * objects can be read with a single positional read.
+ * <p>
+ * If the configured number of segments is reached, the live records of all segments are compacted into a snapshot
+ * file in the background and the segments are deleted afterwards. On startup, the index is rebuilt by scanning the
+ * latest snapshot and the segments written afterwards. Incomplete records at the end of a segment, e.g., caused by a
+ * crash, are discarded.
+ * <p>
+ * Each record has the layout {@code [int bodyLength][int crc32(body)][body]} where the body consists of the operation
+ * ({@link #OP_PUT} or {@link #OP_DELETE}), the identifier of the object and the payload in case of a put operation.
+ * <p>
+ * Since all providers of an object type have to see the same index, exactly one log is opened per directory, see
+ * {@link #open(Path, TraDEProperties)}.
+ */
+public class ObjectLog {
+
+    private static final Map<Path, ObjectLog> openLogs = new ConcurrentHashMap<>();
+
+    static final byte OP_PUT = 1;
+
+    static final byte OP_DELETE = 2;
+
+    private static final int HEADER_SIZE = 8;
+
+    private static final String SEGMENT_PREFIX = "segment-";
+
+    private static final String SEGMENT_SUFFIX = ".log";
+
+    private static final String SNAPSHOT_PREFIX = "snapshot-";
+
+    private static final String SNAPSHOT_SUFFIX = ".snap";
+
+    private static final String TMP_SUFFIX = ".tmp";
+
+    private Logger logger = LoggerFactory.getLogger("org.trade.core.persistence.local.log.ObjectLog");
+
+    private final Path directory;
+
+    private final long segmentSize;
+
+    private final int compactionThreshold;
+
+    private final boolean syncOnCommit;
+
+    private final Map<String, Location> index = new ConcurrentHashMap<>();
+
+    private final Map<Path, FileChannel> channels = new ConcurrentHashMap<>();
+
+    // Guards the deletion of compacted files against concurrent reads
+    private final ReadWriteLock fileLock = new ReentrantReadWriteLock();
+
+    private final BlockingQueue<PendingWrite> pendingWrites = new LinkedBlockingQueue<>();
+
+    private final Thread writer;
+
+    private final ExecutorService compactor;
+
+    private final AtomicBoolean isCompacting = new AtomicBoolean(false);
+
+    private volatile boolean isClosed = false;
+
+    // Number of the latest snapshot, it contains all records of the segments with a lower number
+    private volatile long snapshotNumber;
+
+    private volatile long activeSegmentNumber;
+
+    // The following fields are only accessed by the writer thread after the log is opened
+    private Path activeSegment;
+
+    private FileChannel activeChannel;
+
+    private long activeSize;
+
+    private ObjectLog(Path directory, TraDEProperties properties) throws IOException {
+        this.directory = directory;
+        this.segmentSize = Math.max(1L, properties.getDataPersistenceLogSegmentSize());
+        this.compactionThreshold = Math.max(1, properties.getDataPersistenceLogCompactionThreshold());
+        this.syncOnCommit = properties.isDataPersistenceLogSyncOnCommit();
+
+        Files.createDirectories(directory);
+
+        recover();
+
+        this.writer = new Thread(this::writeLoop, "traDE-log-writer-" + directory.getFileName());
+        this.writer.setDaemon(true);
+        this.writer.start();
+
+        this.compactor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "traDE-log-compactor-" + directory.getFileName());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Provides the log stored in the given directory. The log is opened and recovered on first use and shared
+     * afterwards.
+     *
+     * @param directory  the directory of the log
+     * @param properties the properties to configure the log, only used when the log is opened
+     * @return the log
+     * @throws IOException if the log could not be opened
+     */
+    public static ObjectLog open(Path directory, TraDEProperties properties) throws IOException {
+        Path key = directory.toAbsolutePath().normalize();
+
+        synchronized (openLogs) {
+            ObjectLog log = openLogs.get(key);
+            if (log == null) {
+                log = new ObjectLog(key, properties);
+                openLogs.put(key, log);
+            }
+
+            return log;
+        }
+    }
+
+    /**
+     * Closes all open logs of the process, e.g., when the middleware is stopped. Subsequent requests reopen them.
+     */
+    public static void closeAll() {
+        synchronized (openLogs) {
+            for (ObjectLog log : openLogs.values()) {
+                log.close();
+            }
+            openLogs.clear();
+        }
+    }
+
+    /**
+     * Reads the latest payload stored for the given identifier.
+     *
+     * @param identifier the identifier of the object
+     * @return the payload or null, if no object with the identifier exists
+     * @throws IOException if reading the payload failed
+     */
+    public byte[] read(String identifier) throws IOException {
+        fileLock.readLock().lock();
+        try {
+            Location location = index.get(identifier);
+
+            return location != null ? read(location) : null;
+        } finally {
+            fileLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Provides the identifiers of all objects stored in the log.
+     *
+     * @return the identifiers
+     */
+    public Collection<String> identifiers() {
+        return new ArrayList<>(index.keySet());
+    }
+
+    public boolean contains(String identifier) {
+        return index.containsKey(identifier);
+    }
+
+    /**
+     * Appends the given payloads to the log. The method blocks until the records are written and, if configured,
+     * synced to disk.
+     *
+     * @param payloads the payloads per identifier
+     * @throws IOException if writing the records failed
+     */
+    public void put(Map<String, byte[]> payloads) throws IOException {
+        List<Change> changes = new ArrayList<>(payloads.size());
+        for (Map.Entry<String, byte[]> entry : payloads.entrySet()) {
+            changes.add(new Change(entry.getKey(), entry.getValue()));
+        }
+
+        append(changes);
+    }
+
+    /**
+     * Appends deletion records for the given identifiers to the log. The method blocks until the records are written
+     * and, if configured, synced to disk.
+     *
+     * @param identifiers the identifiers of the objects to delete
+     * @throws IOException if writing the records failed
+     */
+    public void delete(Collection<String> identifiers) throws IOException {
+        List<Change> changes = new ArrayList<>(identifiers.size());
+        for (String identifier : identifiers) {
+            // Deleting an unknown object does not need a record
+            if (index.containsKey(identifier)) {
+                changes.add(new Change(identifier, null));
+            }
+        }
+
+        append(changes);
+    }
+
+    /**
+     * Compacts all segments which are not active into a new snapshot and blocks until the compaction is done.
+     *
+     * @throws IOException if the compaction failed
+     */
+    public void compact() throws IOException {
+        append(new ArrayList<>(), true);
+
+        try {
+            compactor.submit(() -> {
+                compactQuietly();
+                return null;
+            }).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Waiting for the compaction of log '" + directory + "' was interrupted.", e);
+        } catch (ExecutionException e) {
+            throw new IOException("Compacting log '" + directory + "' caused an exception.", e.getCause());
+        }
+    }
+
+    /**
+     * Writes all pending changes and closes the files of the log.
+     */
+    public void close() {
+        if (isClosed) {
+            return;
+        }
+        isClosed = true;
+
+        try {
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        PendingWrite write;
+        while ((write = pendingWrites.poll()) != null) {
+            write.done.completeExceptionally(new IOException("The log '" + directory + "' is already closed."));
+        }
+
+        compactor.shutdown();
+        try {
+            compactor.awaitTermination(1, TimeUnit.MINUTES);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        fileLock.writeLock().lock();
+        try {
+            for (FileChannel channel : channels.values()) {
+                closeQuietly(channel);
+            }
+            channels.clear();
+        } finally {
+            fileLock.writeLock().unlock();
+        }
+    }
+
+    private void append(List<Change> changes) throws IOException {
+        if (!changes.isEmpty()) {
+            append(changes, false);
+        }
+    }
+
+    private void append(List<Change> changes, boolean rollover) throws IOException {
+        if (isClosed) {
+            throw new IOException("The log '" + directory + "' is already closed.");
+        }
+
+        PendingWrite write = new PendingWrite(changes, rollover);
+        pendingWrites.add(write);
+
+        // The writer thread may already be stopped, if the log was closed concurrently
+        if (isClosed && pendingWrites.remove(write)) {
+            throw new IOException("The log '" + directory + "' is already closed.");
+        }
+
+        try {
+            write.done.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Waiting for writing to log '" + directory + "' was interrupted.", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            throw new IOException("Writing to log '" + directory + "' caused an exception.", e.getCause());
+        }
+    }
+
+    private void writeLoop() {
+        while (!isClosed || !pendingWrites.isEmpty()) {
+            List<PendingWrite> batch = new ArrayList<>();
+            try {
+                PendingWrite first = pendingWrites.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+            } catch (InterruptedException e) {
+                continue;
+            }
+
+            // Group all writes which arrived in the meantime into one commit
+            pendingWrites.drainTo(batch);
+
+            try {
+                writeBatch(batch);
+
+                for (PendingWrite write : batch) {
+                    write.done.complete(null);
+                }
+            } catch (Throwable e) {
+                logger.error("Writing to log '" + directory + "' caused an exception.", e);
+
+                for (PendingWrite write : batch) {
+                    write.done.completeExceptionally(e);
+                }
+            }
+        }
+
+        try {
+            activeChannel.force(false);
+        } catch (IOException e) {
+            logger.error("Syncing log '" + directory + "' caused an exception.", e);
+        }
+    }
+
+    private void writeBatch(List<PendingWrite> batch) throws IOException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        Map<String, Location> locations = new HashMap<>();
+        boolean rollover = false;
+
+        for (PendingWrite write : batch) {
+            rollover |= write.rollover;
+
+            for (Change change : write.changes) {
+                long payloadOffset = activeSize + writeRecord(buffer, change.identifier, change.payload);
+
+                locations.put(change.identifier, change.payload != null ? new Location(activeSegment, payloadOffset,
+                        change.payload.length) : null);
+            }
+        }
+
+        if (buffer.size() > 0) {
+            ByteBuffer data = ByteBuffer.wrap(buffer.toByteArray());
+            while (data.hasRemaining()) {
+                activeChannel.write(data, activeSize + data.position());
+            }
+
+            if (syncOnCommit) {
+                activeChannel.force(false);
+            }
+
+            activeSize += buffer.size();
+        }
+
+        // Publish the new locations only after the records are written
+        for (Map.Entry<String, Location> entry : locations.entrySet()) {
+            if (entry.getValue() != null) {
+                index.put(entry.getKey(), entry.getValue());
+            } else {
+                index.remove(entry.getKey());
+            }
+        }
+
+        if (activeSize >= segmentSize || (rollover && activeSize > 0)) {
+            rollover();
+        }
+    }
+
+    private void rollover() throws IOException {
+        activeChannel.force(false);
+
+        openActiveSegment(activeSegmentNumber + 1);
+
+        if (activeSegmentNumber - snapshotNumber >= compactionThreshold && isCompacting.compareAndSet(false, true)) {
+            compactor.execute(this::compactQuietly);
+        }
+    }
+
+    private void compactQuietly() {
+        try {
+            compactSegments();
+        } catch (IOException e) {
+            logger.error("Compacting log '" + directory + "' caused an exception.", e);
+        } finally {
+            isCompacting.set(false);
+        }
+    }
+
+    private void compactSegments() throws IOException {
+        // All segments before the active one are compacted. Since the writer thread only appends to segments with a
+        // number greater or equal than the active one, they are not changed during the compaction.
+        long newSnapshotNumber = activeSegmentNumber;
+        if (newSnapshotNumber <= snapshotNumber) {
+            return;
+        }
+
+        long start = System.currentTimeMillis();
+
+        Path snapshot = directory.resolve(fileName(SNAPSHOT_PREFIX, newSnapshotNumber, SNAPSHOT_SUFFIX));
+        Path tmpSnapshot = directory.resolve(snapshot.getFileName() + TMP_SUFFIX);
+
+        Map<String, Location> compacted = new HashMap<>();
+        Map<String, Location> replaced = new HashMap<>();
+
+        try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(tmpSnapshot, StandardOpenOption
+                .CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING), 1 << 16)) {
+            long position = 0L;
+
+            for (Map.Entry<String, Location> entry : index.entrySet()) {
+                Location location = entry.getValue();
+                if (isCompactable(location.file, newSnapshotNumber)) {
+                    byte[] payload = read(location);
+
+                    ByteArrayOutputStream record = new ByteArrayOutputStream(payload.length + 64);
+                    long payloadOffset = writeRecord(record, entry.getKey(), payload);
+                    record.writeTo(out);
+
+                    compacted.put(entry.getKey(), new Location(snapshot, position + payloadOffset, payload.length));
+                    replaced.put(entry.getKey(), location);
+
+                    position += record.size();
+                }
+            }
+        }
+
+        try (FileChannel channel = FileChannel.open(tmpSnapshot, StandardOpenOption.WRITE)) {
+            channel.force(true);
+        }
+        Files.move(tmpSnapshot, snapshot, StandardCopyOption.ATOMIC_MOVE);
+
+        // Switch to the snapshot, unless an object was changed or deleted in the meantime
+        for (Map.Entry<String, Location> entry : compacted.entrySet()) {
+            index.replace(entry.getKey(), replaced.get(entry.getKey()), entry.getValue());
+        }
+
+        long oldSnapshotNumber = snapshotNumber;
+        snapshotNumber = newSnapshotNumber;
+
+        fileLock.writeLock().lock();
+        try {
+            for (Path file : listFiles()) {
+                if (!file.equals(snapshot) && isCompactable(file, newSnapshotNumber)) {
+                    FileChannel channel = channels.remove(file);
+                    if (channel != null) {
+                        closeQuietly(channel);
+                    }
+                    Files.deleteIfExists(file);
+                }
+            }
+        } finally {
+            fileLock.writeLock().unlock();
+        }
+
+        logger.info("Compacted {} segments of log '{}' into a snapshot of {} objects in {} ms.", newSnapshotNumber -
+                oldSnapshotNumber, directory, compacted.size(), System.currentTimeMillis() - start);
+    }
+
+    private void recover() throws IOException {
+        long start = System.currentTimeMillis();
+
+        // Remove leftovers of an interrupted compaction
+        for (Path file : listFiles()) {
+            if (file.getFileName().toString().endsWith(TMP_SUFFIX)) {
+                Files.deleteIfExists(file);
+            }
+        }
+
+        snapshotNumber = 0L;
+        for (Path file : listFiles()) {
+            if (isFile(file, SNAPSHOT_PREFIX, SNAPSHOT_SUFFIX)) {
+                snapshotNumber = Math.max(snapshotNumber, number(file));
+            }
+        }
+
+        long lastSegmentNumber = snapshotNumber;
+        int records = 0;
+
+        if (snapshotNumber > 0) {
+            records += replay(directory.resolve(fileName(SNAPSHOT_PREFIX, snapshotNumber, SNAPSHOT_SUFFIX)));
+        }
+
+        for (Path file : listFiles()) {
+            if (isCompactable(file, snapshotNumber) && !file.getFileName().toString().equals(fileName
+                    (SNAPSHOT_PREFIX, snapshotNumber, SNAPSHOT_SUFFIX))) {
+                // Already contained in the latest snapshot
+                Files.deleteIfExists(file);
+            } else if (isFile(file, SEGMENT_PREFIX, SEGMENT_SUFFIX)) {
+                records += replay(file);
+                lastSegmentNumber = Math.max(lastSegmentNumber, number(file));
+            }
+        }
+
+        // Always start with a new segment, so that existing segments are never changed again
+        openActiveSegment(lastSegmentNumber + 1);
+
+        logger.info("Recovered {} objects from {} records of log '{}' in {} ms.", index.size(), records, directory,
+                System.currentTimeMillis() - start);
+    }
+
+    private int replay(Path file) throws IOException {
+        int records = 0;
+        long position = 0L;
+
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file), 1 <<
+                16))) {
+            while (true) {
+                int length;
+                try {
+                    length = in.readInt();
+                } catch (EOFException e) {
+                    break;
+                }
+
+                byte[] body;
+                int crc;
+                try {
+                    crc = in.readInt();
+                    if (length <= 0) {
+                        throw new IOException("Invalid record length " + length);
+                    }
+                    body = new byte[length];
+                    in.readFully(body);
+                } catch (IOException e) {
+                    truncate(file, position);
+                    break;
+                }
+
+                if (crc != crc(body)) {
+                    truncate(file, position);
+                    break;
+                }
+
+                ByteArrayInputStream recordIn = new ByteArrayInputStream(body);
+                DataInputStream record = new DataInputStream(recordIn);
+                byte operation = record.readByte();
+                String identifier = record.readUTF();
+                int payloadOffset = length - recordIn.available();
+
+                if (operation == OP_PUT) {
+                    index.put(identifier, new Location(file, position + HEADER_SIZE + payloadOffset, length -
+                            payloadOffset));
+                } else {
+                    index.remove(identifier);
+                }
+
+                position += HEADER_SIZE + length;
+                records++;
+            }
+        }
+
+        return records;
+    }
+
+    private void truncate(Path file, long position) throws IOException {
+        logger.warn("Discarding the incomplete records of log file '{}' starting at position {}.", file, position);
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.truncate(position);
+        }
+    }
+
+    private void openActiveSegment(long number) throws IOException {
+        activeSegmentNumber = number;
+        activeSegment = directory.resolve(fileName(SEGMENT_PREFIX, number, SEGMENT_SUFFIX));
+        activeChannel = FileChannel.open(activeSegment, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        activeSize = 0L;
+
+        channels.put(activeSegment, activeChannel);
+    }
+
+    private byte[] read(Location location) throws IOException {
+        FileChannel channel = channels.get(location.file);
+        if (channel == null) {
+            synchronized (channels) {
+                channel = channels.get(location.file);
+                if (channel == null) {
+                    channel = FileChannel.open(location.file, StandardOpenOption.READ);
+                    channels.put(location.file, channel);
+                }
+            }
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate(location.length);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, location.offset + buffer.position()) < 0) {
+                throw new EOFException("Unexpected end of log file '" + location.file + "'.");
+            }
+        }
+
+        return buffer.array();
+    }
+
+    private boolean isCompactable(Path file, long snapshotNumber) {
+        return (isFile(file, SEGMENT_PREFIX, SEGMENT_SUFFIX) || isFile(file, SNAPSHOT_PREFIX, SNAPSHOT_SUFFIX)) &&
+                number(file) <= snapshotNumber && !(isFile(file, SEGMENT_PREFIX, SEGMENT_SUFFIX) && number(file) ==
+                snapshotNumber);
+    }
+
+    private List<Path> listFiles() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.sorted().collect(Collectors.toList());
+        }
+    }
+
+    /**
+     * Writes a record to the given stream.
+     *
+     * @return the offset of the payload relative to the start of the record
+     */
+    private static long writeRecord(ByteArrayOutputStream out, String identifier, byte[] payload) throws
+            IOException {
+        ByteArrayOutputStream body = new ByteArrayOutputStream(payload != null ? payload.length + 64 : 64);
+        DataOutputStream bodyOut = new DataOutputStream(body);
+        bodyOut.writeByte(payload != null ? OP_PUT : OP_DELETE);
+        bodyOut.writeUTF(identifier);
+        int payloadOffset = body.size();
+        if (payload != null) {
+            bodyOut.write(payload);
+        }
+        bodyOut.flush();
+
+        byte[] bodyBytes = body.toByteArray();
+
+        DataOutputStream recordOut = new DataOutputStream(out);
+        recordOut.writeInt(bodyBytes.length);
+        recordOut.writeInt(crc(bodyBytes));
+        recordOut.write(bodyBytes);
+        recordOut.flush();
+
+        return HEADER_SIZE + payloadOffset;
+    }
+
+    private static int crc(byte[] data) {
+        CRC32 crc = new CRC32();
+        crc.update(data, 0, data.length);
+
+        return (int) crc.getValue();
+    }
+
+    private static String fileName(String prefix, long number, String suffix) {
+        return String.format("%s%016d%s", prefix, number, suffix);
+    }
+
+    private static boolean isFile(Path file, String prefix, String suffix) {
+        String name = file.getFileName().toString();
+
+        return name.startsWith(prefix) && name.endsWith(suffix);
+    }
+
+    private static long number(Path file) {
+        String name = file.getFileName().toString();
+
+        return Long.parseLong(name.substring(name.indexOf('-') + 1, name.indexOf('.')));
+    }
+
+    private static void closeQuietly(FileChannel channel) {
+        try {
+            channel.close();
+        } catch (IOException e) {
+            // Ignore, the channel is not used anymore
+        }
+    }
+
+    private static class Location {
+
+        private final Path file;
+
+        private final long offset;
+
+        private final int length;
+
+        private Location(Path file, long offset, int length) {
+            this.file = file;
+            this.offset = offset;
+            this.length = length;
+        }
+    }
+
+    private static class Change {
+
+        private final String identifier;
+
+        private final byte[] payload;
+
+        private Change(String identifier, byte[] payload) {
+            this.identifier = identifier;
+            this.payload = payload;
+        }
+    }
+
+    private static class PendingWrite {
+
+        private final List<Change> changes;
+
+        private final boolean rollover;
+
+        private final CompletableFuture<Void> done = new CompletableFuture<>();
+
+        private PendingWrite(List<Change> changes, boolean rollover) {
+            this.changes = changes;
+            this.rollover = rollover;
+        }
+    }
+}
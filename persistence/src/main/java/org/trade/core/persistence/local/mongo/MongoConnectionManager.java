@@ -0,0 +1,192 @@
+/*
+ * Copyright 2017 Michael Hahn
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.trade.core.persistence.local.mongo;
+
+import com.mongodb.MongoClient;
+import com.mongodb.MongoClientOptions;
+import com.mongodb.MongoClientURI;
+import com.mongodb.event.CommandFailedEvent;
+import com.mongodb.event.CommandListener;
+import com.mongodb.event.CommandStartedEvent;
+import com.mongodb.event.CommandSucceededEvent;
+import org.mongodb.morphia.Datastore;
+import org.mongodb.morphia.Morphia;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.trade.core.utils.TraDEConfiguration;
+import org.trade.core.utils.TraDEProperties;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * This class manages the connections to MongoDB for the whole process. Since a {@link MongoClient} maintains its
+ * own connection pool and is thread-safe, exactly one client per database URL is created and shared by all
+ * {@link MongoPersistence} instances and Hazelcast map stores. The same holds for the Morphia datastores which are
+ * created once per database.
+ * <p>
+ * The pool is configured through the 'data.persistence.db.*' properties of {@link TraDEProperties}. Options specified
+ * directly in the database URL take precedence.
+ */
+public enum MongoConnectionManager {
+    INSTANCE;
+
+    private static final String MODEL_PACKAGE = "org.trade.core.model.data";
+
+    private static final String POOL_MBEAN_PATTERN = "org.mongodb.driver:type=ConnectionPool,*";
+
+    private Logger logger = LoggerFactory.getLogger("org.trade.core.persistence.local.mongo.MongoConnectionManager");
+
+    private final Map<String, MongoClient> clients = new ConcurrentHashMap<>();
+
+    private final Map<String, Datastore> datastores = new ConcurrentHashMap<>();
+
+    private final AtomicLong succeededCommands = new AtomicLong();
+
+    private final AtomicLong failedCommands = new AtomicLong();
+
+    private final AtomicLong commandTimeInMicros = new AtomicLong();
+
+    private Morphia morphia;
+
+    /**
+     * Provides the shared client for the database with the given URL. The client is created on first use.
+     *
+     * @param mongoUrl the URL of the database
+     * @return the shared client
+     */
+    public MongoClient getClient(String mongoUrl) {
+        return clients.computeIfAbsent(mongoUrl, this::createClient);
+    }
+
+    /**
+     * Provides the shared Morphia datastore for the database with the given URL and name. The mapping of the model
+     * classes and the creation of indexes is only done once per datastore.
+     *
+     * @param mongoUrl the URL of the database
+     * @param dbName   the name of the database
+     * @return the shared datastore
+     */
+    public Datastore getDatastore(String mongoUrl, String dbName) {
+        return datastores.computeIfAbsent(mongoUrl + "/" + dbName, key -> {
+            Datastore store = getMorphia().createDatastore(getClient(mongoUrl), dbName);
+            store.ensureIndexes();
+
+            return store;
+        });
+    }
+
+    /**
+     * Provides a snapshot of the statistics of all connection pools and the commands executed through the shared
+     * clients.
+     *
+     * @return the current metrics
+     */
+    public MongoConnectionPoolMetrics getMetrics() {
+        int poolSize = 0;
+        int maxPoolSize = 0;
+        int checkedOut = 0;
+        int waitQueueSize = 0;
+
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            for (ObjectName name : server.queryNames(new ObjectName(POOL_MBEAN_PATTERN), null)) {
+                poolSize += (Integer) server.getAttribute(name, "Size");
+                maxPoolSize += (Integer) server.getAttribute(name, "MaxSize");
+                checkedOut += (Integer) server.getAttribute(name, "CheckedOutCount");
+                waitQueueSize += (Integer) server.getAttribute(name, "WaitQueueSize");
+            }
+        } catch (Exception e) {
+            logger.warn("Collecting the statistics of the MongoDB connection pools caused an exception.", e);
+        }
+
+        return new MongoConnectionPoolMetrics(clients.size(), poolSize, maxPoolSize, checkedOut, waitQueueSize,
+                succeededCommands.get(), failedCommands.get(), commandTimeInMicros.get());
+    }
+
+    /**
+     * Closes all shared clients and their connection pools. Subsequent requests create new clients.
+     */
+    public synchronized void closeAll() {
+        if (!clients.isEmpty()) {
+            logger.info("Closing MongoDB connections: {}", getMetrics());
+        }
+
+        datastores.clear();
+
+        for (MongoClient client : clients.values()) {
+            client.close();
+        }
+        clients.clear();
+    }
+
+    synchronized Morphia getMorphia() {
+        if (morphia == null) {
+            morphia = new Morphia();
+            morphia.getMapper().getOptions().setMapSubPackages(true);
+
+            // Map model classes to db collections
+            morphia.mapPackage(MODEL_PACKAGE);
+        }
+
+        return morphia;
+    }
+
+    private MongoClient createClient(String mongoUrl) {
+        TraDEProperties properties = TraDEConfiguration.INSTANCE.getProperties();
+
+        MongoClientOptions.Builder options = MongoClientOptions.builder()
+                .connectionsPerHost(properties.getDataPersistenceDbPoolMaxSize())
+                .minConnectionsPerHost(properties.getDataPersistenceDbPoolMinSize())
+                .maxWaitTime(properties.getDataPersistenceDbPoolMaxWaitTime())
+                .connectTimeout(properties.getDataPersistenceDbConnectTimeout())
+                .socketTimeout(properties.getDataPersistenceDbSocketTimeout())
+                .addCommandListener(new CommandMetricsListener());
+
+        MongoClient client = new MongoClient(new MongoClientURI(mongoUrl, options));
+
+        logger.info("Created shared MongoDB client for '{}' with a maximum pool size of {} connections.", mongoUrl,
+                client.getMongoClientOptions().getConnectionsPerHost());
+
+        return client;
+    }
+
+    private class CommandMetricsListener implements CommandListener {
+
+        @Override
+        public void commandStarted(CommandStartedEvent event) {
+            // Only completed commands are counted
+        }
+
+        @Override
+        public void commandSucceeded(CommandSucceededEvent event) {
+            succeededCommands.incrementAndGet();
+            commandTimeInMicros.addAndGet(event.getElapsedTime(TimeUnit.MICROSECONDS));
+        }
+
+        @Override
+        public void commandFailed(CommandFailedEvent event) {
+            failedCommands.incrementAndGet();
+            commandTimeInMicros.addAndGet(event.getElapsedTime(TimeUnit.MICROSECONDS));
+        }
+    }
+}
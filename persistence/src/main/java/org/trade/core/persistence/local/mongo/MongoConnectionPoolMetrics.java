@@ -0,0 +1,93 @@
+/*
+ * Copyright 2017 Michael Hahn
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.trade.core.persistence.local.mongo;
+
+/**
+ * Snapshot of the statistics of the connection pools managed by the {@link MongoConnectionManager}.
+ */
+public class MongoConnectionPoolMetrics {
+
+    private final int clients;
+
+    private final int poolSize;
+
+    private final int maxPoolSize;
+
+    private final int checkedOutConnections;
+
+    private final int waitQueueSize;
+
+    private final long succeededCommands;
+
+    private final long failedCommands;
+
+    private final long commandTimeInMicros;
+
+    MongoConnectionPoolMetrics(int clients, int poolSize, int maxPoolSize, int checkedOutConnections, int
+            waitQueueSize, long succeededCommands, long failedCommands, long commandTimeInMicros) {
+        this.clients = clients;
+        this.poolSize = poolSize;
+        this.maxPoolSize = maxPoolSize;
+        this.checkedOutConnections = checkedOutConnections;
+        this.waitQueueSize = waitQueueSize;
+        this.succeededCommands = succeededCommands;
+        this.failedCommands = failedCommands;
+        this.commandTimeInMicros = commandTimeInMicros;
+    }
+
+    public int getClients() {
+        return clients;
+    }
+
+    public int getPoolSize() {
+        return poolSize;
+    }
+
+    public int getMaxPoolSize() {
+        return maxPoolSize;
+    }
+
+    public int getCheckedOutConnections() {
+        return checkedOutConnections;
+    }
+
+    public int getWaitQueueSize() {
+        return waitQueueSize;
+    }
+
+    public long getSucceededCommands() {
+        return succeededCommands;
+    }
+
+    public long getFailedCommands() {
+        return failedCommands;
+    }
+
+    public double getAverageCommandTimeInMillis() {
+        long commands = succeededCommands + failedCommands;
+
+        return commands > 0 ? commandTimeInMicros / 1000.0 / commands : 0.0;
+    }
+
+    @Override
+    public String toString() {
+        return "clients=" + clients + ", poolSize=" + poolSize + "/" + maxPoolSize + ", checkedOut=" +
+                checkedOutConnections + ", waitQueueSize=" + waitQueueSize + ", succeededCommands=" +
+                succeededCommands + ", failedCommands=" + failedCommands + ", averageCommandTime=" + String.format
+                ("%.2f", getAverageCommandTimeInMillis()) + "ms";
+    }
+}
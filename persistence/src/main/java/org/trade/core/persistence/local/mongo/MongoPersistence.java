@@ -16,16 +16,20 @@
 
 package org.trade.core.persistence.local.mongo;
 
-import com.mongodb.MongoClient;
-import com.mongodb.MongoClientURI;
+import com.mongodb.*;
 import com.mongodb.client.MongoCollection;
 import com.mongodb.client.MongoDatabase;
-import com.mongodb.client.model.Filters;
-import com.mongodb.client.model.Updates;
+import com.mongodb.client.gridfs.GridFSBucket;
+import com.mongodb.client.gridfs.GridFSBuckets;
+import com.mongodb.client.gridfs.GridFSUploadStream;
+import com.mongodb.client.model.*;
 import org.bson.Document;
+import org.bson.conversions.Bson;
 import org.bson.types.Binary;
+import org.bson.types.ObjectId;
 import org.mongodb.morphia.Datastore;
-import org.mongodb.morphia.Morphia;
+import org.mongodb.morphia.mapping.MappedField;
+import org.mongodb.morphia.mapping.Mapper;
 import org.mongodb.morphia.query.Query;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -33,11 +37,19 @@ import org.trade.core.persistence.IPersistenceProvider;
 import org.trade.core.persistence.PersistableObject;
 import org.trade.core.utils.TraDEProperties;
 
+import java.io.*;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Implementation of {@link IPersistenceProvider} using a MongoDB as data source.
  * <p>
+ * Binary data is stored in a single document per identifier. Data larger than the configured chunk threshold is
+ * stored in chunks using GridFS instead and the document only references the chunks, so that the data is not limited
+ * by the maximum document size and can be streamed chunk by chunk.
+ * <p>
  * Created by hahnml on 07.04.2017.
  */
 public class MongoPersistence<T extends PersistableObject> implements IPersistenceProvider<T> {
@@ -46,17 +58,32 @@ public class MongoPersistence<T extends PersistableObject> implements IPersisten
 
     private Class<T> objectType;
 
-    private Datastore store;
+    // Volatile, since providers are shared by multiple threads, see PersistenceProviderRegistry
+    private volatile Datastore store;
 
     public static final String IDENTIFIER_FIELD = "identifier";
 
     public static final String DATA_FIELD = "data";
 
+    public static final String FILE_ID_FIELD = "fileId";
+
+    public static final String SIZE_FIELD = "size";
+
+    public static final String CHUNK_SIZE_FIELD = "chunkSize";
+
+    private static final int CHUNK_BATCH_BYTES = 4 * 1024 * 1024;
+
     private String mongoUrl;
 
     private String dbName;
 
-    private boolean isMorphiaMappingInitialized = false;
+    private volatile boolean isMorphiaMappingInitialized = false;
+
+    private int chunkThreshold;
+
+    private int chunkSize;
+
+    private static final Set<String> indexedCollections = ConcurrentHashMap.newKeySet();
 
     @Override
     public void initProvider(Class<T> objectType, TraDEProperties properties) {
@@ -64,20 +91,36 @@ public class MongoPersistence<T extends PersistableObject> implements IPersisten
 
         mongoUrl = properties.getDataPersistenceDbUrl();
         dbName = properties.getDataPersistenceDbName();
+        chunkThreshold = properties.getDataPersistenceDbChunkThreshold();
+        chunkSize = properties.getDataPersistenceDbChunkSize();
     }
 
     @Override
     public byte[] loadBinaryData(String collectionName, String identifier) throws Exception {
         byte[] data = new byte[0];
 
-        MongoClient client = new MongoClient(new MongoClientURI(this.mongoUrl));
-        MongoDatabase db = client.getDatabase(this.dbName);
-
-        Document doc = db.getCollection(collectionName).find(Filters.eq(IDENTIFIER_FIELD, identifier)).limit(1)
-                .first();
+        // Only fetch the fields holding the data or referencing the chunks of the data
+        Document doc = findBinaryDataDocument(collectionName, identifier, DATA_FIELD, FILE_ID_FIELD, SIZE_FIELD,
+                CHUNK_SIZE_FIELD);
 
         if (doc != null) {
-            if (doc.containsKey(DATA_FIELD)) {
+            if (doc.get(FILE_ID_FIELD) != null) {
+                try (InputStream in = new ChunkInputStream(collectionName, doc)) {
+                    long length = ((Number) doc.get(SIZE_FIELD)).longValue();
+                    if (length > Integer.MAX_VALUE - 8) {
+                        throw new IOException("The data of model object '" + identifier + "' from model collection '"
+                                + collectionName + "' is too large to be loaded as a whole, please stream it " +
+                                "instead.");
+                    }
+
+                    data = new byte[(int) length];
+                    int offset = 0;
+                    int read;
+                    while (offset < data.length && (read = in.read(data, offset, data.length - offset)) != -1) {
+                        offset += read;
+                    }
+                }
+            } else if (doc.get(DATA_FIELD) != null) {
                 data = ((Binary) doc.get(DATA_FIELD)).getData();
             } else {
                 logger.info("Model object '{}' from model collection '{}' does not have any associated data at the " +
@@ -89,71 +132,187 @@ public class MongoPersistence<T extends PersistableObject> implements IPersisten
                     identifier, collectionName);
         }
 
-        client.close();
-
         return data;
     }
 
     @Override
-    public void storeBinaryData(byte[] data, String collectionName, String identifier) throws Exception {
-        MongoClient client = new MongoClient(new MongoClientURI(this.mongoUrl));
-        MongoDatabase db = client.getDatabase(this.dbName);
+    public InputStream openBinaryDataForRead(String collectionName, String identifier) throws Exception {
+        InputStream result;
 
-        MongoCollection<Document> collection = db.getCollection(collectionName);
-        Document doc = collection.find(Filters.eq(IDENTIFIER_FIELD, identifier)).limit(1).first();
+        Document doc = findBinaryDataDocument(collectionName, identifier, DATA_FIELD, FILE_ID_FIELD, SIZE_FIELD,
+                CHUNK_SIZE_FIELD);
 
-        if (data == null) {
-            // We assume that if the value is set to null, we should delete also the corresponding database entry
-            if (doc != null) {
-                collection.deleteOne(Filters.eq(IDENTIFIER_FIELD, identifier));
+        if (doc != null && doc.get(FILE_ID_FIELD) != null) {
+            // Read the data chunk by chunk instead of loading it as a whole
+            result = new ChunkInputStream(collectionName, doc);
+        } else if (doc != null && doc.get(DATA_FIELD) != null) {
+            result = new ByteArrayInputStream(((Binary) doc.get(DATA_FIELD)).getData());
+        } else {
+            result = new ByteArrayInputStream(new byte[0]);
+        }
+
+        return result;
+    }
+
+    @Override
+    public ReadableByteChannel openBinaryDataChannel(String collectionName, String identifier, long position) throws
+            Exception {
+        InputStream in = openBinaryDataForRead(collectionName, identifier);
+
+        // Both, the chunk stream and the byte array stream of the single document, directly jump to the requested
+        // position instead of reading the preceding bytes
+        long remaining = Math.max(position, 0L);
+        while (remaining > 0) {
+            long skipped = in.skip(remaining);
+            if (skipped <= 0) {
+                break;
             }
+            remaining -= skipped;
+        }
+
+        return Channels.newChannel(in);
+    }
+
+    @Override
+    public OutputStream openBinaryDataForWrite(String collectionName, String identifier) throws Exception {
+        return new ChunkingOutputStream(collectionName, identifier);
+    }
+
+    @Override
+    public OutputStream openBinaryDataForAppend(String collectionName, String identifier) throws Exception {
+        OutputStream result;
+
+        Document doc = findBinaryDataDocument(collectionName, identifier, DATA_FIELD, FILE_ID_FIELD, SIZE_FIELD,
+                CHUNK_SIZE_FIELD);
+
+        if (doc != null && doc.get(FILE_ID_FIELD) != null) {
+            // Add new chunks to the existing chunks instead of reading and rewriting the existing data
+            result = new AppendingChunkOutputStream(collectionName, identifier, doc);
         } else {
-            // Check if the document already exists and update it
-            if (doc != null) {
-                collection.updateOne(Filters.eq(IDENTIFIER_FIELD, identifier),
-                        Updates.combine(Updates.set(DATA_FIELD, data), Updates.currentDate
-                                ("lastModified")));
+            result = openBinaryDataForWrite(collectionName, identifier);
+
+            if (doc != null && doc.get(DATA_FIELD) != null) {
+                // Data stored in a single document is never larger than the chunk threshold
+                result.write(((Binary) doc.get(DATA_FIELD)).getData());
+            }
+        }
+
+        return result;
+    }
+
+    @Override
+    public long getBinaryDataSize(String collectionName, String identifier) throws Exception {
+        long size = 0L;
+
+        Document doc = findBinaryDataDocument(collectionName, identifier, SIZE_FIELD);
+
+        if (doc != null) {
+            if (doc.get(SIZE_FIELD) != null) {
+                size = ((Number) doc.get(SIZE_FIELD)).longValue();
             } else {
-                Document document = new Document(IDENTIFIER_FIELD, identifier)
-                        .append(DATA_FIELD, data)
-                        .append("lastModified", new Date());
-                collection.insertOne(document);
+                // Documents stored by former versions do not provide the size
+                size = loadBinaryData(collectionName, identifier).length;
             }
         }
 
-        client.close();
+        return size;
+    }
+
+    @Override
+    public void storeBinaryData(byte[] data, String collectionName, String identifier) throws Exception {
+        if (data == null) {
+            // We assume that if the value is set to null, we should delete also the corresponding database entry
+            deleteBinaryData(collectionName, identifier);
+        } else if (data.length > chunkThreshold) {
+            // Store the data in chunks
+            try (OutputStream out = openBinaryDataForWrite(collectionName, identifier)) {
+                out.write(data);
+            }
+        } else {
+            storeBinaryDataDocument(collectionName, identifier, Updates.set(DATA_FIELD, data), Updates.combine
+                    (Updates.unset(FILE_ID_FIELD), Updates.unset(CHUNK_SIZE_FIELD)), data.length);
+        }
     }
 
     @Override
     public void deleteBinaryData(String collectionName, String identifier) throws Exception {
-        MongoClient client = new MongoClient(new MongoClientURI(this.mongoUrl));
-        MongoDatabase db = client.getDatabase(this.dbName);
+        MongoDatabase db = getDatabase();
 
-        Document doc = db.getCollection(collectionName).findOneAndDelete(Filters.eq(IDENTIFIER_FIELD, identifier));
+        // Only return the reference to the chunks of the data instead of the whole document including its data
+        Document doc = db.getCollection(collectionName).findOneAndDelete(Filters.eq(IDENTIFIER_FIELD, identifier),
+                new FindOneAndDeleteOptions().projection(Projections.include(FILE_ID_FIELD)));
 
         if (doc != null) {
+            deleteChunks(collectionName, doc);
+
             logger.info("Model object '{}' from model collection '{}' and its associated data successfully deleted " +
                     "from DB.", identifier, collectionName);
         } else {
             logger.info("The database does not know the specified model object '{}' from model collection '{}'",
                     identifier, collectionName);
         }
+    }
 
-        client.close();
+    private Document findBinaryDataDocument(String collectionName, String identifier, String... fields) {
+        return getDatabase().getCollection(collectionName).find(Filters.eq(IDENTIFIER_FIELD, identifier))
+                .projection(Projections.include(fields)).limit(1).first();
     }
 
-    private void initializeMorphiaMapping() {
-        // Check if the mapping is already initialized, if not trigger the mapping
-        if (!isMorphiaMappingInitialized) {
-            Morphia morphia = new Morphia();
-            morphia.getMapper().getOptions().setMapSubPackages(true);
+    private void storeBinaryDataDocument(String collectionName, String identifier, Bson setData, Bson unsetData,
+                                         long size) {
+        MongoCollection<Document> collection = getBinaryDataCollection(getDatabase(), collectionName);
+
+        // Update the document or create it, if it does not exist, in a single roundtrip. The previous reference to
+        // chunks is returned, so that replaced chunks can be deleted.
+        Document previous = collection.findOneAndUpdate(Filters.eq(IDENTIFIER_FIELD, identifier),
+                Updates.combine(setData, unsetData, Updates.set(SIZE_FIELD, size), Updates.currentDate
+                        ("lastModified")), new FindOneAndUpdateOptions().upsert(true).projection(Projections
+                        .include(FILE_ID_FIELD)).returnDocument(ReturnDocument.BEFORE));
+
+        deleteChunks(collectionName, previous);
+    }
+
+    private void deleteChunks(String collectionName, Document doc) {
+        if (doc != null && doc.get(FILE_ID_FIELD) != null) {
+            try {
+                getBucket(collectionName).delete(doc.getObjectId(FILE_ID_FIELD));
+            } catch (MongoGridFSException e) {
+                logger.warn("The chunks '{}' of model collection '{}' are already deleted.", doc.getObjectId
+                        (FILE_ID_FIELD), collectionName);
+            }
+        }
+    }
+
+    private GridFSBucket getBucket(String collectionName) {
+        return GridFSBuckets.create(getDatabase(), collectionName).withChunkSizeBytes(chunkSize);
+    }
+
+    private MongoDatabase getDatabase() {
+        return MongoConnectionManager.INSTANCE.getClient(this.mongoUrl).getDatabase(this.dbName);
+    }
+
+    private MongoCollection<Document> getBinaryDataCollection(MongoDatabase db, String collectionName) {
+        MongoCollection<Document> collection = db.getCollection(collectionName);
+
+        // Ensure once per collection that the identifiers are unique, so that concurrent upserts can not create
+        // duplicate documents and lookups by identifier are served by the index. The collection is only remembered
+        // once the index exists, so that a failed attempt is repeated on the next access (creating an existing index
+        // again has no effect).
+        String key = this.mongoUrl + "/" + this.dbName + "/" + collectionName;
+        if (!indexedCollections.contains(key)) {
+            collection.createIndex(Indexes.ascending(IDENTIFIER_FIELD), new IndexOptions().unique(true));
+            indexedCollections.add(key);
+        }
 
-            // Map model classes to db collections
-            morphia.mapPackage("org.trade.core.model.data");
+        return collection;
+    }
 
-            // create the datastore connecting to mongo
-            this.store = morphia.createDatastore(new MongoClient(new MongoClientURI(mongoUrl)), dbName);
-            this.store.ensureIndexes();
+    private void initializeMorphiaMapping() {
+        // Check if the mapping is already initialized, if not get the shared datastore which maps the model classes
+        // to db collections
+        if (!isMorphiaMappingInitialized) {
+            this.store = MongoConnectionManager.INSTANCE.getDatastore(mongoUrl, dbName);
+            isMorphiaMappingInitialized = true;
         }
     }
 
@@ -179,6 +338,24 @@ public class MongoPersistence<T extends PersistableObject> implements IPersisten
         return result;
     }
 
+    @Override
+    public Collection<String> loadAllIdentifiers() throws Exception {
+        // Initialize the DB mapping if not done already
+        initializeMorphiaMapping();
+
+        List<String> result = new ArrayList<>();
+
+        // Only fetch the identifier field instead of whole documents
+        try (DBCursor cursor = this.store.getCollection(objectType).find(new BasicDBObject(), new BasicDBObject
+                (IDENTIFIER_FIELD, 1).append("_id", 0))) {
+            for (DBObject obj : cursor) {
+                result.add((String) obj.get(IDENTIFIER_FIELD));
+            }
+        }
+
+        return result;
+    }
+
     @Override
     public T loadObject(String identifier) throws Exception {
         // Initialize the DB mapping if not done already
@@ -201,7 +378,26 @@ public class MongoPersistence<T extends PersistableObject> implements IPersisten
         // Initialize the DB mapping if not done already
         initializeMorphiaMapping();
 
-        this.store.save(objects);
+        if (objects == null || objects.isEmpty()) {
+            return;
+        }
+
+        // Write all objects through a single unordered bulk operation instead of one roundtrip per object
+        Mapper mapper = MongoConnectionManager.INSTANCE.getMorphia().getMapper();
+        MappedField versionField = mapper.getMappedClass(objectType).getMappedVersionField();
+
+        BulkWriteOperation bulk = this.store.getCollection(objectType).initializeUnorderedBulkOperation();
+        for (T object : objects) {
+            if (versionField != null) {
+                // Increment the version like Datastore.save() does, however without an optimistic locking check
+                Long version = (Long) versionField.getFieldValue(object);
+                versionField.setFieldValue(object, version == null ? 1L : version + 1);
+            }
+
+            bulk.find(new BasicDBObject(IDENTIFIER_FIELD, object.getIdentifier())).upsert().replaceOne(mapper
+                    .toDBObject(object));
+        }
+        bulk.execute();
     }
 
     @Override
@@ -228,8 +424,296 @@ public class MongoPersistence<T extends PersistableObject> implements IPersisten
 
     @Override
     public void destroyProvider() {
-        if (isMorphiaMappingInitialized && this.store != null) {
-            this.store.getMongo().close();
+        // The client and datastore are shared with other providers and closed by the MongoConnectionManager
+        this.store = null;
+        isMorphiaMappingInitialized = false;
+    }
+
+    /**
+     * Input stream which reads data stored in chunks through GridFS. The chunks are directly fetched from the chunks
+     * collection of the GridFS bucket in batches of a bounded size, so that skipping to a position only fetches the
+     * chunks from this position on.
+     */
+    private class ChunkInputStream extends InputStream {
+
+        private final MongoCollection<Document> chunks;
+
+        private final ObjectId fileId;
+
+        private final long length;
+
+        private final int chunkSizeOfFile;
+
+        private final int batchSize;
+
+        private final List<byte[]> batch = new ArrayList<>();
+
+        private int batchStart = -1;
+
+        private long position = 0L;
+
+        ChunkInputStream(String collectionName, Document doc) {
+            this.chunks = getDatabase().getCollection(collectionName + ".chunks");
+            this.fileId = doc.getObjectId(FILE_ID_FIELD);
+            this.length = ((Number) doc.get(SIZE_FIELD)).longValue();
+            this.chunkSizeOfFile = ((Number) doc.get(CHUNK_SIZE_FIELD)).intValue();
+            this.batchSize = Math.max(1, CHUNK_BATCH_BYTES / chunkSizeOfFile);
+        }
+
+        @Override
+        public int read() throws IOException {
+            byte[] b = new byte[1];
+            return read(b, 0, 1) == -1 ? -1 : b[0] & 0xff;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (position >= length) {
+                return -1;
+            }
+
+            int chunkIndex = (int) (position / chunkSizeOfFile);
+            if (chunkIndex < batchStart || chunkIndex >= batchStart + batch.size()) {
+                fetchBatch(chunkIndex);
+            }
+
+            byte[] chunk = batch.get(chunkIndex - batchStart);
+            int offsetInChunk = (int) (position % chunkSizeOfFile);
+            int count = Math.min(len, chunk.length - offsetInChunk);
+
+            System.arraycopy(chunk, offsetInChunk, b, off, count);
+            position += count;
+
+            return count;
+        }
+
+        @Override
+        public long skip(long n) {
+            long skipped = Math.max(0L, Math.min(n, length - position));
+            position += skipped;
+
+            return skipped;
+        }
+
+        @Override
+        public int available() {
+            return (int) Math.min(Integer.MAX_VALUE, length - position);
+        }
+
+        private void fetchBatch(int chunkIndex) throws IOException {
+            batch.clear();
+            batchStart = chunkIndex;
+
+            for (Document chunk : chunks.find(Filters.and(Filters.eq("files_id", fileId), Filters.gte("n",
+                    chunkIndex), Filters.lt("n", chunkIndex + batchSize))).sort(Sorts.ascending("n")).batchSize
+                    (batchSize).limit(batchSize)) {
+                if (((Number) chunk.get("n")).intValue() != chunkIndex + batch.size()) {
+                    break;
+                }
+                batch.add(((Binary) chunk.get("data")).getData());
+            }
+
+            if (batch.isEmpty()) {
+                throw new IOException("Could not find chunk " + chunkIndex + " of file '" + fileId + "'.");
+            }
+        }
+    }
+
+    /**
+     * Output stream which buffers the written data up to the chunk threshold and stores it in a single document on
+     * close. If more data is written, the data is streamed to GridFS in chunks instead and the document only
+     * references the chunks.
+     */
+    private class ChunkingOutputStream extends OutputStream {
+
+        private final String collectionName;
+
+        private final String identifier;
+
+        private ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+
+        private GridFSUploadStream upload;
+
+        private long size = 0L;
+
+        private boolean closed = false;
+
+        ChunkingOutputStream(String collectionName, String identifier) {
+            this.collectionName = collectionName;
+            this.identifier = identifier;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            write(new byte[]{(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            if (closed) {
+                throw new IOException("The stream is already closed.");
+            }
+
+            if (upload == null && buffer.size() + len > chunkThreshold) {
+                // Switch to chunked storage
+                upload = getBucket(collectionName).openUploadStream(identifier);
+                buffer.writeTo(upload);
+                buffer = null;
+            }
+
+            if (upload != null) {
+                upload.write(b, off, len);
+            } else {
+                buffer.write(b, off, len);
+            }
+
+            size += len;
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (closed) {
+                return;
+            }
+            closed = true;
+
+            try {
+                if (upload != null) {
+                    upload.close();
+
+                    storeBinaryDataDocument(collectionName, identifier, Updates.combine(Updates.set(FILE_ID_FIELD,
+                            upload.getObjectId()), Updates.set(CHUNK_SIZE_FIELD, chunkSize)), Updates.unset
+                            (DATA_FIELD), size);
+                } else {
+                    storeBinaryDataDocument(collectionName, identifier, Updates.set(DATA_FIELD, buffer.toByteArray
+                            ()), Updates.combine(Updates.unset(FILE_ID_FIELD), Updates.unset(CHUNK_SIZE_FIELD)), size);
+                }
+            } catch (MongoException e) {
+                logger.error("Storing binary data of model object '{}' from model collection '{}' caused an " +
+                        "exception.", identifier, collectionName);
+
+                throw new IOException("Storing binary data of model object '" + identifier + "' failed.", e);
+            }
+        }
+    }
+
+    /**
+     * Output stream which appends data to data stored in chunks through GridFS. Since all chunks except the last one
+     * have to be complete, the last chunk is continued before new chunks are added. The new chunks are directly
+     * written to the chunks collection of the GridFS bucket, so that only the last chunk of the existing data is
+     * read. The size of the data is updated on close.
+     */
+    private class AppendingChunkOutputStream extends OutputStream {
+
+        private final String collectionName;
+
+        private final String identifier;
+
+        private final MongoCollection<Document> chunks;
+
+        private final ObjectId fileId;
+
+        private final byte[] chunk;
+
+        private int chunkLength;
+
+        private int chunkIndex;
+
+        private long size;
+
+        private boolean closed = false;
+
+        AppendingChunkOutputStream(String collectionName, String identifier, Document doc) throws IOException {
+            this.collectionName = collectionName;
+            this.identifier = identifier;
+            this.chunks = getDatabase().getCollection(collectionName + ".chunks");
+            this.fileId = doc.getObjectId(FILE_ID_FIELD);
+            this.size = ((Number) doc.get(SIZE_FIELD)).longValue();
+
+            int chunkSizeOfFile = ((Number) doc.get(CHUNK_SIZE_FIELD)).intValue();
+            this.chunk = new byte[chunkSizeOfFile];
+            this.chunkIndex = (int) (size / chunkSizeOfFile);
+            this.chunkLength = (int) (size % chunkSizeOfFile);
+
+            if (chunkLength > 0) {
+                Document last = chunks.find(Filters.and(Filters.eq("files_id", fileId), Filters.eq("n",
+                        chunkIndex))).first();
+                if (last == null) {
+                    throw new IOException("Could not find chunk " + chunkIndex + " of file '" + fileId + "'.");
+                }
+
+                System.arraycopy(((Binary) last.get("data")).getData(), 0, chunk, 0, chunkLength);
+            }
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            write(new byte[]{(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            if (closed) {
+                throw new IOException("The stream is already closed.");
+            }
+
+            while (len > 0) {
+                int count = Math.min(len, chunk.length - chunkLength);
+                System.arraycopy(b, off, chunk, chunkLength, count);
+
+                chunkLength += count;
+                size += count;
+                off += count;
+                len -= count;
+
+                if (chunkLength == chunk.length) {
+                    storeChunk();
+
+                    chunkIndex++;
+                    chunkLength = 0;
+                }
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (closed) {
+                return;
+            }
+            closed = true;
+
+            if (chunkLength > 0) {
+                storeChunk();
+            }
+
+            try {
+                // Keep the length of the GridFS file consistent with its chunks
+                getDatabase().getCollection(collectionName + ".files").updateOne(Filters.eq("_id", fileId),
+                        Updates.set("length", size));
+
+                getBinaryDataCollection(getDatabase(), collectionName).updateOne(Filters.eq(IDENTIFIER_FIELD,
+                        identifier), Updates.combine(Updates.set(SIZE_FIELD, size), Updates.currentDate
+                        ("lastModified")));
+            } catch (MongoException e) {
+                logger.error("Appending binary data to model object '{}' from model collection '{}' caused an " +
+                        "exception.", identifier, collectionName);
+
+                throw new IOException("Appending binary data to model object '" + identifier + "' failed.", e);
+            }
+        }
+
+        private void storeChunk() throws IOException {
+            try {
+                // Replace the chunk, since the last chunk of the existing data is continued
+                chunks.replaceOne(Filters.and(Filters.eq("files_id", fileId), Filters.eq("n", chunkIndex)), new
+                        Document("files_id", fileId).append("n", chunkIndex).append("data", new Binary(Arrays
+                        .copyOf(chunk, chunkLength))), new UpdateOptions().upsert(true));
+            } catch (MongoException e) {
+                logger.error("Appending binary data to model object '{}' from model collection '{}' caused an " +
+                        "exception.", identifier, collectionName);
+
+                throw new IOException("Appending binary data to model object '" + identifier + "' failed.", e);
+            }
         }
     }
 }
@@ -21,6 +21,7 @@ import io.swagger.trade.server.jersey.api.NotFoundException;
 import io.swagger.trade.server.jersey.api.util.ResourceTransformationUtils;
 import io.swagger.trade.server.jersey.model.*;
 import org.trade.core.data.management.DataManagerFactory;
+import org.trade.core.data.management.ResultPage;
 import org.trade.core.data.management.IDataManager;
 import org.trade.core.model.compiler.CompilationException;
 import org.trade.core.model.compiler.CompilationIssue;
@@ -175,23 +176,9 @@ public class DataDependencyGraphsApiServiceImpl extends DataDependencyGraphsApiS
         Response response = null;
 
         try {
-            List<org.trade.core.model.data.DataDependencyGraph> dataDependencyGraphs = DataManagerFactory.createDataManager()
-                    .getAllDataDependencyGraphs
-                            (targetNamespace, name, entity);
-            int filteredListSize = dataDependencyGraphs.size();
-
-            // Check if the start index and the size are in still the range of the filtered result list, if not
-            // respond the whole filtered result list
-            if (start > 0 && size > 0 && start <= dataDependencyGraphs.size()) {
-                // Calculate the two index
-                int toIndex = start - 1 + size;
-                // Check if the index is still in bounds
-                if (toIndex > dataDependencyGraphs.size()) {
-                    toIndex = dataDependencyGraphs.size();
-                }
-                // Decrease start by one since the API starts counting indexes from 1
-                dataDependencyGraphs = dataDependencyGraphs.subList(start - 1, toIndex);
-            }
+            ResultPage<org.trade.core.model.data.DataDependencyGraph> page = DataManagerFactory
+                    .createDataManager().getDataDependencyGraphPage(targetNamespace, name, entity, start, size);
+            List<org.trade.core.model.data.DataDependencyGraph> dataDependencyGraphs = page.getEntries();
 
             DataDependencyGraphArrayWithLinks resultList = new DataDependencyGraphArrayWithLinks();
             resultList.setDataDependencyGraphs(new DataDependencyGraphArray());
@@ -215,9 +202,15 @@ public class DataDependencyGraphsApiServiceImpl extends DataDependencyGraphsApiS
             }
 
             resultList.setLinks(LinkUtils.createPaginationLinks("data dependency graphs", uriInfo, start, size,
-                    filteredListSize));
+                    page.hasMore()));
 
-            response = Response.ok().entity(resultList).build();
+            if (page.isBeyondEnd()) {
+                response = Response.status(Response.Status.BAD_REQUEST).entity(new InvalidInput().message("The " +
+                        "start index (" + start + ") is beyond the end of the data dependency graphs " +
+                        "matching the defined filter values.").example("?start=1&size=" + size)).build();
+            } else {
+                response = Response.ok().entity(resultList).build();
+            }
         } catch (Exception e) {
             e.printStackTrace();
 
@@ -20,7 +20,11 @@ import io.swagger.trade.server.jersey.api.DataElementInstancesApiService;
 import io.swagger.trade.server.jersey.api.NotFoundException;
 import io.swagger.trade.server.jersey.api.util.ResourceTransformationUtils;
 import io.swagger.trade.server.jersey.model.*;
+import org.glassfish.jersey.media.multipart.BodyPart;
+import org.glassfish.jersey.media.multipart.FormDataBodyPart;
+import org.glassfish.jersey.media.multipart.FormDataMultiPart;
 import org.trade.core.data.management.DataManagerFactory;
+import org.trade.core.data.management.ResultPage;
 
 import javax.validation.constraints.Min;
 import javax.validation.constraints.NotNull;
@@ -28,9 +32,13 @@ import javax.ws.rs.core.Response;
 import javax.ws.rs.core.SecurityContext;
 import javax.ws.rs.core.UriBuilder;
 import javax.ws.rs.core.UriInfo;
+import java.io.IOException;
+import java.io.InputStream;
 import java.net.URI;
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 @javax.annotation.Generated(value = "io.swagger.codegen.languages.JavaJerseyServerCodegen", date = "2017-04-04T17:08:04.791+02:00")
 public class DataElementInstancesApiServiceImpl extends DataElementInstancesApiService {
@@ -250,28 +258,112 @@ public class DataElementInstancesApiServiceImpl extends DataElementInstancesApiS
     }
 
     @Override
-    public Response getAllDataElementInstances(@Min(1) Integer start, @Min(1) Integer size, String status,
-                                               SecurityContext securityContext, UriInfo uriInfo) throws NotFoundException {
+    public Response addDataValuesToDataElementInstance(String elementInstanceId, @NotNull String createdBy,
+                                                       FormDataMultiPart multiPart, SecurityContext securityContext,
+                                                       UriInfo uriInfo) throws NotFoundException {
         Response response = null;
 
+        Map<org.trade.core.model.data.DataValue, InputStream> dataValues = new LinkedHashMap<>();
+
         try {
-            List<org.trade.core.model.data.instance.DataElementInstance> dataElementInstances = DataManagerFactory.createDataManager()
-                    .getAllDataElementInstances(status);
-            int filteredListSize = dataElementInstances.size();
-
-            // Check if the start index and the size are in still the range of the filtered result list, if not
-            // respond the whole filtered result list
-            if (start > 0 && size > 0 && start <= dataElementInstances.size()) {
-                // Calculate the two index
-                int toIndex = start - 1 + size;
-                // Check if the index is still in bounds
-                if (toIndex > dataElementInstances.size()) {
-                    toIndex = dataElementInstances.size();
+            boolean exists = DataManagerFactory.createDataManager().hasDataElementInstance(elementInstanceId);
+
+            if (exists) {
+                org.trade.core.model.data.instance.DataElementInstance elementInstance = DataManagerFactory
+                        .createDataManager().getDataElementInstance(elementInstanceId);
+
+                List<BodyPart> parts = multiPart != null ? multiPart.getBodyParts() : Collections.emptyList();
+
+                if (parts.isEmpty() || !elementInstance.getDataElement().getIsCollectionElement()) {
+                    response = Response.status(Response.Status.BAD_REQUEST).entity(new InvalidInput()
+                            .message("The request has to contain at least one part and the data element " +
+                                    "instance has to belong to a collection data element.").example("Content-Type: " +
+                                    "multipart/form-data; boundary=b\n\n" +
+                                    "--b\n" +
+                                    "Content-Disposition: form-data; name=\"value\"; filename=\"value1.txt\"\n" +
+                                    "Content-Type: text/plain\n\n" +
+                                    "someData\n" +
+                                    "--b--"))
+                            .build();
+                } else {
+                    for (BodyPart part : parts) {
+                        String name = part.getContentDisposition() != null ? part.getContentDisposition()
+                                .getFileName() : null;
+                        if (name == null && part instanceof FormDataBodyPart) {
+                            name = ((FormDataBodyPart) part).getName();
+                        }
+
+                        org.trade.core.model.data.DataValue value = new org.trade.core.model.data.DataValue
+                                (createdBy, name);
+                        value.setContentType(part.getMediaType().toString());
+                        value.setType(elementInstance.getDataElement().getType());
+
+                        // The payload of the part is buffered by Jersey and streamed to the data value from there
+                        dataValues.put(value, part.getEntityAs(InputStream.class));
+                    }
+
+                    List<org.trade.core.model.data.DataValue> values = DataManagerFactory.createDataManager()
+                            .addDataValuesToDataElementInstance(elementInstanceId, dataValues);
+
+                    DataValueArrayWithLinks resultList = new DataValueArrayWithLinks();
+                    resultList.setDataValues(new DataValueArray());
+
+                    for (org.trade.core.model.data.DataValue dataValue : values) {
+                        DataValueWithLinks result = new DataValueWithLinks();
+
+                        result.setDataValue(ResourceTransformationUtils.model2Resource(dataValue));
+
+                        // Set HREF and links to related resources
+                        result.getDataValue().setHref(uriInfo.getBaseUriBuilder().path(LinkUtils
+                                .TEMPLATE_COLLECTION_RESOURCE).build(LinkUtils.COLLECTION_DATA_VALUE, dataValue
+                                .getIdentifier()).toASCIIString());
+
+                        // Set links to related data objects
+                        result.setLinks(LinkUtils.createDataValueLinks(uriInfo, dataValue, result.getDataValue().getHref()));
+
+                        resultList.getDataValues().add(result);
+                    }
+
+                    response = Response.status(Response.Status.CREATED).entity(resultList).build();
+                }
+            } else {
+                response = Response.status(Response.Status.NOT_FOUND).entity(new NotFound().properties(Collections
+                        .singletonList(elementInstanceId)).message("A data element instance with id = '" +
+                        elementInstanceId + "' is not available."))
+                        .build();
+            }
+        } catch (Exception e) {
+            e.printStackTrace();
+
+            response = Response.serverError().entity(e.getMessage()).build();
+        } finally {
+            for (InputStream data : dataValues.values()) {
+                try {
+                    data.close();
+                } catch (IOException e) {
+                    e.printStackTrace();
                 }
-                // Decrease start by one since the API starts counting indexes from 1
-                dataElementInstances = dataElementInstances.subList(start - 1, toIndex);
             }
 
+            if (multiPart != null) {
+                // Remove the buffered parts of the request
+                multiPart.cleanup();
+            }
+        }
+
+        return response;
+    }
+
+    @Override
+    public Response getAllDataElementInstances(@Min(1) Integer start, @Min(1) Integer size, String status,
+                                               SecurityContext securityContext, UriInfo uriInfo) throws NotFoundException {
+        Response response = null;
+
+        try {
+            ResultPage<org.trade.core.model.data.instance.DataElementInstance> page = DataManagerFactory
+                    .createDataManager().getDataElementInstancePage(status, start, size);
+            List<org.trade.core.model.data.instance.DataElementInstance> dataElementInstances = page.getEntries();
+
             DataElementInstanceArrayWithLinks resultList = new DataElementInstanceArrayWithLinks();
             resultList.setInstances(new DataElementInstanceArray());
             for (org.trade.core.model.data.instance.DataElementInstance dataElementInstance : dataElementInstances) {
@@ -294,9 +386,15 @@ public class DataElementInstancesApiServiceImpl extends DataElementInstancesApiS
             }
 
             resultList.setLinks(LinkUtils.createPaginationLinks("data element instances", uriInfo, start, size,
-                    filteredListSize));
+                    page.hasMore()));
 
-            response = Response.ok().entity(resultList).build();
+            if (page.isBeyondEnd()) {
+                response = Response.status(Response.Status.BAD_REQUEST).entity(new InvalidInput().message("The " +
+                        "start index (" + start + ") is beyond the end of the data element instances " +
+                        "matching the defined filter values.").example("?start=1&size=" + size)).build();
+            } else {
+                response = Response.ok().entity(resultList).build();
+            }
         } catch (Exception e) {
             e.printStackTrace();
 
@@ -21,6 +21,7 @@ import io.swagger.trade.server.jersey.api.NotFoundException;
 import io.swagger.trade.server.jersey.api.util.ResourceTransformationUtils;
 import io.swagger.trade.server.jersey.model.*;
 import org.trade.core.data.management.DataManagerFactory;
+import org.trade.core.data.management.ResultPage;
 
 import javax.validation.constraints.Min;
 import javax.ws.rs.core.Response;
@@ -63,23 +64,9 @@ public class DataElementsApiServiceImpl extends DataElementsApiService {
         Response response = null;
 
         try {
-            List<org.trade.core.model.data.DataElement> dataElements = DataManagerFactory.createDataManager()
-                    .getAllDataElements
-                            (name, status);
-            int filteredListSize = dataElements.size();
-
-            // Check if the start index and the size are in still the range of the filtered result list, if not
-            // respond the whole filtered result list
-            if (start > 0 && size > 0 && start <= dataElements.size()) {
-                // Calculate the two index
-                int toIndex = start - 1 + size;
-                // Check if the index is still in bounds
-                if (toIndex > dataElements.size()) {
-                    toIndex = dataElements.size();
-                }
-                // Decrease start by one since the API starts counting indexes from 1
-                dataElements = dataElements.subList(start - 1, toIndex);
-            }
+            ResultPage<org.trade.core.model.data.DataElement> page = DataManagerFactory
+                    .createDataManager().getDataElementPage(name, status, start, size);
+            List<org.trade.core.model.data.DataElement> dataElements = page.getEntries();
 
             DataElementArrayWithLinks resultList = new DataElementArrayWithLinks();
             resultList.setDataElements(new DataElementArray());
@@ -103,9 +90,15 @@ public class DataElementsApiServiceImpl extends DataElementsApiService {
             }
 
             resultList.setLinks(LinkUtils.createPaginationLinks("data elements", uriInfo, start, size,
-                    filteredListSize));
+                    page.hasMore()));
 
-            response = Response.ok().entity(resultList).build();
+            if (page.isBeyondEnd()) {
+                response = Response.status(Response.Status.BAD_REQUEST).entity(new InvalidInput().message("The " +
+                        "start index (" + start + ") is beyond the end of the data elements " +
+                        "matching the defined filter values.").example("?start=1&size=" + size)).build();
+            } else {
+                response = Response.ok().entity(resultList).build();
+            }
         } catch (Exception e) {
             e.printStackTrace();
 
@@ -21,6 +21,7 @@ import io.swagger.trade.server.jersey.api.NotFoundException;
 import io.swagger.trade.server.jersey.api.util.ResourceTransformationUtils;
 import io.swagger.trade.server.jersey.model.*;
 import org.trade.core.data.management.DataManagerFactory;
+import org.trade.core.data.management.ResultPage;
 import org.trade.core.model.compiler.CompilationException;
 import org.trade.core.model.compiler.CompilationIssue;
 
@@ -168,23 +169,9 @@ public class DataModelsApiServiceImpl extends DataModelsApiService {
         Response response = null;
 
         try {
-            List<org.trade.core.model.data.DataModel> dataModels = DataManagerFactory.createDataManager()
-                    .getAllDataModels
-                            (targetNamespace, name, entity);
-            int filteredListSize = dataModels.size();
-
-            // Check if the start index and the size are in still the range of the filtered result list, if not
-            // respond the whole filtered result list
-            if (start > 0 && size > 0 && start <= dataModels.size()) {
-                // Calculate the two index
-                int toIndex = start - 1 + size;
-                // Check if the index is still in bounds
-                if (toIndex > dataModels.size()) {
-                    toIndex = dataModels.size();
-                }
-                // Decrease start by one since the API starts counting indexes from 1
-                dataModels = dataModels.subList(start - 1, toIndex);
-            }
+            ResultPage<org.trade.core.model.data.DataModel> page = DataManagerFactory
+                    .createDataManager().getDataModelPage(targetNamespace, name, entity, start, size);
+            List<org.trade.core.model.data.DataModel> dataModels = page.getEntries();
 
             DataModelArrayWithLinks resultList = new DataModelArrayWithLinks();
             resultList.setDataModels(new DataModelArray());
@@ -208,9 +195,15 @@ public class DataModelsApiServiceImpl extends DataModelsApiService {
             }
 
             resultList.setLinks(LinkUtils.createPaginationLinks("data models", uriInfo, start, size,
-                    filteredListSize));
+                    page.hasMore()));
 
-            response = Response.ok().entity(resultList).build();
+            if (page.isBeyondEnd()) {
+                response = Response.status(Response.Status.BAD_REQUEST).entity(new InvalidInput().message("The " +
+                        "start index (" + start + ") is beyond the end of the data models " +
+                        "matching the defined filter values.").example("?start=1&size=" + size)).build();
+            } else {
+                response = Response.ok().entity(resultList).build();
+            }
         } catch (Exception e) {
             e.printStackTrace();
 
@@ -21,6 +21,7 @@ import io.swagger.trade.server.jersey.api.NotFoundException;
 import io.swagger.trade.server.jersey.api.util.ResourceTransformationUtils;
 import io.swagger.trade.server.jersey.model.*;
 import org.trade.core.data.management.DataManagerFactory;
+import org.trade.core.data.management.ResultPage;
 
 import javax.validation.constraints.Min;
 import javax.validation.constraints.NotNull;
@@ -65,22 +66,9 @@ public class DataObjectInstancesApiServiceImpl extends DataObjectInstancesApiSer
         Response response = null;
 
         try {
-            List<org.trade.core.model.data.instance.DataObjectInstance> dataObjectInstances = DataManagerFactory.createDataManager()
-                    .getAllDataObjectInstances(status);
-            int filteredListSize = dataObjectInstances.size();
-
-            // Check if the start index and the size are in still the range of the filtered result list, if not
-            // respond the whole filtered result list
-            if (start > 0 && size > 0 && start <= dataObjectInstances.size()) {
-                // Calculate the two index
-                int toIndex = start - 1 + size;
-                // Check if the index is still in bounds
-                if (toIndex > dataObjectInstances.size()) {
-                    toIndex = dataObjectInstances.size();
-                }
-                // Decrease start by one since the API starts counting indexes from 1
-                dataObjectInstances = dataObjectInstances.subList(start - 1, toIndex);
-            }
+            ResultPage<org.trade.core.model.data.instance.DataObjectInstance> page = DataManagerFactory
+                    .createDataManager().getDataObjectInstancePage(status, start, size);
+            List<org.trade.core.model.data.instance.DataObjectInstance> dataObjectInstances = page.getEntries();
 
             DataObjectInstanceArrayWithLinks resultList = new DataObjectInstanceArrayWithLinks();
             resultList.setInstances(new DataObjectInstanceArray());
@@ -103,9 +91,15 @@ public class DataObjectInstancesApiServiceImpl extends DataObjectInstancesApiSer
             }
 
             resultList.setLinks(LinkUtils.createPaginationLinks("data object instances", uriInfo, start, size,
-                    filteredListSize));
+                    page.hasMore()));
 
-            response = Response.ok().entity(resultList).build();
+            if (page.isBeyondEnd()) {
+                response = Response.status(Response.Status.BAD_REQUEST).entity(new InvalidInput().message("The " +
+                        "start index (" + start + ") is beyond the end of the data object instances " +
+                        "matching the defined filter values.").example("?start=1&size=" + size)).build();
+            } else {
+                response = Response.ok().entity(resultList).build();
+            }
         } catch (Exception e) {
             e.printStackTrace();
 
@@ -21,6 +21,7 @@ import io.swagger.trade.server.jersey.api.NotFoundException;
 import io.swagger.trade.server.jersey.api.util.ResourceTransformationUtils;
 import io.swagger.trade.server.jersey.model.*;
 import org.trade.core.data.management.DataManagerFactory;
+import org.trade.core.data.management.ResultPage;
 
 import javax.validation.constraints.Min;
 import javax.ws.rs.core.Response;
@@ -28,7 +29,9 @@ import javax.ws.rs.core.SecurityContext;
 import javax.ws.rs.core.UriBuilder;
 import javax.ws.rs.core.UriInfo;
 import java.net.URI;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 
 @javax.annotation.Generated(value = "io.swagger.codegen.languages.JavaJerseyServerCodegen", date = "2017-04-04T17:08:04.791+02:00")
@@ -106,23 +109,9 @@ public class DataObjectsApiServiceImpl extends DataObjectsApiService {
         Response response = null;
 
         try {
-            List<org.trade.core.model.data.DataObject> dataObjects = DataManagerFactory.createDataManager()
-                    .getAllDataObjects
-                            (name, entity, status);
-            int filteredListSize = dataObjects.size();
-
-            // Check if the start index and the size are in still the range of the filtered result list, if not
-            // respond the whole filtered result list
-            if (start > 0 && size > 0 && start <= dataObjects.size()) {
-                // Calculate the two index
-                int toIndex = start - 1 + size;
-                // Check if the index is still in bounds
-                if (toIndex > dataObjects.size()) {
-                    toIndex = dataObjects.size();
-                }
-                // Decrease start by one since the API starts counting indexes from 1
-                dataObjects = dataObjects.subList(start - 1, toIndex);
-            }
+            ResultPage<org.trade.core.model.data.DataObject> page = DataManagerFactory
+                    .createDataManager().getDataObjectPage(name, entity, status, start, size);
+            List<org.trade.core.model.data.DataObject> dataObjects = page.getEntries();
 
             DataObjectArrayWithLinks resultList = new DataObjectArrayWithLinks();
             resultList.setDataObjects(new DataObjectArray());
@@ -146,9 +135,15 @@ public class DataObjectsApiServiceImpl extends DataObjectsApiService {
             }
 
             resultList.setLinks(LinkUtils.createPaginationLinks("data objects", uriInfo, start, size,
-                    filteredListSize));
+                    page.hasMore()));
 
-            response = Response.ok().entity(resultList).build();
+            if (page.isBeyondEnd()) {
+                response = Response.status(Response.Status.BAD_REQUEST).entity(new InvalidInput().message("The " +
+                        "start index (" + start + ") is beyond the end of the data objects " +
+                        "matching the defined filter values.").example("?start=1&size=" + size)).build();
+            } else {
+                response = Response.ok().entity(resultList).build();
+            }
         } catch (Exception e) {
             e.printStackTrace();
 
@@ -348,6 +343,70 @@ public class DataObjectsApiServiceImpl extends DataObjectsApiService {
         return response;
     }
 
+    @Override
+    public Response addDataObjectInstances(String dataObjectId, DataObjectInstancesData dataObjectInstancesData, SecurityContext securityContext, UriInfo uriInfo) throws NotFoundException {
+        Response response = null;
+
+        try {
+            // Check if at least one set of correlation properties is specified since otherwise there is nothing to
+            // instantiate
+            if (dataObjectInstancesData.getCorrelationPropertySets() == null || dataObjectInstancesData
+                    .getCorrelationPropertySets().isEmpty()) {
+                response = Response.status(Response.Status.BAD_REQUEST).entity(new InvalidInput()
+                        .message("The 'correlationPropertySets' attribute in parameter 'body' is required but " +
+                                "missing or empty in the processed request.").example("{\n" +
+                                "  \"createdBy\": \"someEntity\",\n" +
+                                "  \"correlationPropertySets\": [[{\"key\": \"chorID\", \"value\": \"1\"}]]\n" +
+                                "}"))
+                        .build();
+            } else if (DataManagerFactory.createDataManager().hasDataObject(dataObjectId)) {
+                List<HashMap<String, String>> correlationPropertiesList = new ArrayList<>();
+                for (CorrelationPropertyArray correlationProperties : dataObjectInstancesData
+                        .getCorrelationPropertySets()) {
+                    correlationPropertiesList.add(correlationProperties != null ? ResourceTransformationUtils
+                            .resource2Model(correlationProperties) : new HashMap<>());
+                }
+
+                List<org.trade.core.model.data.instance.DataObjectInstance> dataObjectInstances = DataManagerFactory
+                        .createDataManager().instantiateDataObject(dataObjectId, dataObjectInstancesData
+                                .getCreatedBy(), correlationPropertiesList);
+
+                DataObjectInstanceArrayWithLinks resultList = new DataObjectInstanceArrayWithLinks();
+                resultList.setInstances(new DataObjectInstanceArray());
+                for (org.trade.core.model.data.instance.DataObjectInstance dataObjectInstance : dataObjectInstances) {
+
+                    DataObjectInstanceWithLinks result = new DataObjectInstanceWithLinks();
+
+                    result.setInstance(ResourceTransformationUtils.model2Resource(dataObjectInstance));
+
+                    // Set HREF and links to related resources
+                    result.getInstance().setHref(uriInfo.getBaseUriBuilder().path(LinkUtils
+                            .TEMPLATE_COLLECTION_RESOURCE).build(LinkUtils.COLLECTION_DATA_OBJECT_INSTANCE, dataObjectInstance
+                            .getIdentifier()).toASCIIString());
+
+                    // Set links to related data elements, etc.
+                    result.setLinks(LinkUtils.createDataObjectInstanceLinks(uriInfo, dataObjectInstance, result
+                            .getInstance().getHref()));
+
+                    resultList.getInstances().add(result);
+                }
+
+                response = Response.status(Response.Status.CREATED).entity(resultList).build();
+            } else {
+                response = Response.status(Response.Status.NOT_FOUND).entity(new NotFound().properties(Collections
+                        .singletonList(dataObjectId)).message("A data object with id='" + dataObjectId + "' is " +
+                        "not available."))
+                        .build();
+            }
+        } catch (Exception e) {
+            e.printStackTrace();
+
+            response = Response.serverError().entity(e.getMessage()).build();
+        }
+
+        return response;
+    }
+
     @Override
     public Response getDataObjectInstances(String dataObjectId,  @Min(1) Integer start,  @Min(1) Integer size,  String status, SecurityContext securityContext, UriInfo uriInfo) throws NotFoundException {
         Response response = null;
@@ -18,16 +18,26 @@ package io.swagger.trade.server.jersey.api.impl;
 
 import io.swagger.trade.server.jersey.api.DataValuesApiService;
 import io.swagger.trade.server.jersey.api.NotFoundException;
+import io.swagger.trade.server.jersey.api.util.ByteRange;
+import io.swagger.trade.server.jersey.api.util.DataStreamingUtils;
 import io.swagger.trade.server.jersey.api.util.ResourceTransformationUtils;
 import io.swagger.trade.server.jersey.model.*;
 import org.trade.core.data.management.DataManagerFactory;
+import org.trade.core.data.management.ResultPage;
+import org.trade.core.model.data.UploadOffsetMismatchException;
 import org.trade.core.utils.DataReferenceUtils;
 
 import javax.validation.constraints.Min;
 import javax.ws.rs.WebApplicationException;
 import javax.ws.rs.core.*;
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.net.URI;
+import java.nio.channels.ReadableByteChannel;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 
@@ -116,21 +126,9 @@ public class DataValuesApiServiceImpl extends DataValuesApiService {
         Response response = null;
 
         try {
-            List<org.trade.core.model.data.DataValue> dataValues = DataManagerFactory.createDataManager().getAllDataValues(status, createdBy);
-            int filteredListSize = dataValues.size();
-
-            // Check if the start index and the size are in still the range of the filtered result list, if not
-            // respond the whole filtered result list
-            if (start > 0 && size > 0 && start <= dataValues.size()) {
-                // Calculate the two index
-                int toIndex = start - 1 + size;
-                // Check if the index is still in bounds
-                if (toIndex > dataValues.size()) {
-                    toIndex = dataValues.size();
-                }
-                // Decrease start by one since the API starts counting indexes from 1
-                dataValues = dataValues.subList(start - 1, toIndex);
-            }
+            ResultPage<org.trade.core.model.data.DataValue> page = DataManagerFactory
+                    .createDataManager().getDataValuePage(status, createdBy, start, size);
+            List<org.trade.core.model.data.DataValue> dataValues = page.getEntries();
 
             DataValueArrayWithLinks resultList = new DataValueArrayWithLinks();
             resultList.setDataValues(new DataValueArray());
@@ -153,9 +151,15 @@ public class DataValuesApiServiceImpl extends DataValuesApiService {
             }
 
             resultList.setLinks(LinkUtils.createPaginationLinks("data values", uriInfo, start, size,
-                    filteredListSize));
+                    page.hasMore()));
 
-            response = Response.ok().entity(resultList).build();
+            if (page.isBeyondEnd()) {
+                response = Response.status(Response.Status.BAD_REQUEST).entity(new InvalidInput().message("The " +
+                        "start index (" + start + ") is beyond the end of the data values " +
+                        "matching the defined filter values.").example("?start=1&size=" + size)).build();
+            } else {
+                response = Response.ok().entity(resultList).build();
+            }
         } catch (Exception e) {
             e.printStackTrace();
 
@@ -166,30 +170,78 @@ public class DataValuesApiServiceImpl extends DataValuesApiService {
     }
 
     @Override
-    public Response pullDataValue(String dataValueId, SecurityContext securityContext, UriInfo uriInfo) throws NotFoundException {
+    public Response pullDataValue(String dataValueId, String range, String ifRange, String ifNoneMatch, String
+            acceptEncoding, SecurityContext securityContext, UriInfo uriInfo) throws NotFoundException {
         Response response = null;
 
         try {
             org.trade.core.model.data.DataValue value = DataManagerFactory.createDataManager().getDataValue(dataValueId);
 
             if (value != null) {
-                StreamingOutput fileStream = new StreamingOutput() {
-                    @Override
-                    public void write(java.io.OutputStream output) throws IOException, WebApplicationException {
-                        try {
-                            byte[] data = value.getData();
-                            output.write(data);
-                            output.flush();
-                        } catch (Exception e) {
-                            throw new WebApplicationException("Streaming of data for Data Value with " +
-                                    "ID='" + dataValueId + "' caused an exception.", e);
+                // Deduplicated data is identified by the hash of its content, which is a strong entity tag
+                EntityTag entityTag = value.getContentHash() != null ? new EntityTag(value.getContentHash()) : null;
+
+                // Check if only a part of the data is requested
+                ByteRange byteRange = null;
+                if (range != null && isRangeApplicable(ifRange, value, entityTag)) {
+                    byteRange = ByteRange.parse(range, value.getSize());
+                }
+
+                // Compressed data is returned as is, if the client accepts its encoding and requests the whole data
+                String contentEncoding = value.getContentEncoding();
+                boolean encoded = contentEncoding != null && byteRange == null && isEncodingAccepted(acceptEncoding,
+                        contentEncoding);
+                if (encoded && entityTag != null) {
+                    // Each representation of the data requires its own entity tag
+                    entityTag = new EntityTag(entityTag.getValue() + "-" + contentEncoding);
+                }
+
+                if (entityTag != null && matchesEntityTag(ifNoneMatch, entityTag)) {
+                    response = Response.notModified(entityTag).lastModified(value.getLastModified()).build();
+                } else if (byteRange != null && !byteRange.isSatisfiable()) {
+                    response = Response.status(Response.Status.REQUESTED_RANGE_NOT_SATISFIABLE).header
+                            ("Content-Range", byteRange.toContentRange()).build();
+                } else {
+                    long position = byteRange != null ? byteRange.getFirst() : 0L;
+                    long length = byteRange != null ? byteRange.getLength() : Long.MAX_VALUE;
+
+                    StreamingOutput fileStream = new StreamingOutput() {
+                        @Override
+                        public void write(java.io.OutputStream output) throws IOException, WebApplicationException {
+                            // Stream the data directly from the data source instead of loading it into memory as a
+                            // whole
+                            try (ReadableByteChannel data = encoded ? value.getEncodedDataAsChannel() : value
+                                    .getDataAsChannel(position)) {
+                                DataStreamingUtils.transferData(data, output, length);
+                            } catch (Exception e) {
+                                throw new WebApplicationException("Streaming of data for Data Value with " +
+                                        "ID='" + dataValueId + "' caused an exception.", e);
+                            }
                         }
+                    };
+
+                    Response.ResponseBuilder builder;
+                    if (byteRange != null) {
+                        builder = Response.status(Response.Status.PARTIAL_CONTENT).entity(fileStream)
+                                .header("Content-Range", byteRange.toContentRange())
+                                .header(HttpHeaders.CONTENT_LENGTH, byteRange.getLength());
+                    } else if (encoded) {
+                        builder = Response.ok(fileStream).header("Content-Encoding", contentEncoding)
+                                .header(HttpHeaders.CONTENT_LENGTH, value.getEncodedSize());
+                    } else {
+                        builder = Response.ok(fileStream);
                     }
-                };
 
-                response = Response.ok(fileStream).header("content-disposition",
-                        "attachment; filename = " + value.getName())
-                        .build();
+                    if (contentEncoding != null) {
+                        builder.header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+                    }
+
+                    response = builder.header("content-disposition", "attachment; filename = " + value.getName())
+                            .header("Accept-Ranges", "bytes")
+                            .lastModified(value.getLastModified())
+                            .tag(entityTag)
+                            .build();
+                }
             } else {
                 response = Response.status(Response.Status.NOT_FOUND).entity(new NotFound().properties(Collections
                         .singletonList(dataValueId)).message("A Data Value with ID='" + dataValueId + "' is " +
@@ -219,6 +271,9 @@ public class DataValuesApiServiceImpl extends DataValuesApiService {
                     if (xResolveAsLinkToData != null && xResolveAsLinkToData) {
                         // Try to resolve the data referenced through the link
                         data = DataReferenceUtils.resolveLink(new String(data));
+
+                        // The size of the data value is the size of the resolved data and not of the link
+                        contentLength = (long) data.length;
                     }
 
                     value.setData(data, contentLength);
@@ -244,6 +299,160 @@ public class DataValuesApiServiceImpl extends DataValuesApiService {
         return response;
     }
 
+    @Override
+    public Response startDataValueUpload(String dataValueId, SecurityContext securityContext, UriInfo uriInfo)
+            throws NotFoundException {
+        Response response = null;
+
+        try {
+            org.trade.core.model.data.DataValue value = DataManagerFactory.createDataManager().getDataValue(dataValueId);
+
+            if (value != null) {
+                String uploadId = value.startUpload();
+
+                URI uploadUri = uriInfo.getAbsolutePathBuilder().path(uploadId).build();
+
+                response = Response.created(uploadUri).entity(createUploadResource(dataValueId, uploadId, 0L,
+                        uploadUri)).build();
+            } else {
+                response = Response.status(Response.Status.NOT_FOUND).entity(new NotFound().properties(Collections
+                        .singletonList(dataValueId)).message("A Data Value with ID='" + dataValueId + "' is " +
+                        "not available."))
+                        .build();
+            }
+        } catch (Exception e) {
+            e.printStackTrace();
+
+            response = Response.serverError().entity(e.getMessage()).build();
+        }
+
+        return response;
+    }
+
+    @Override
+    public Response getDataValueUpload(String dataValueId, String uploadId, SecurityContext securityContext,
+                                       UriInfo uriInfo) throws NotFoundException {
+        Response response = null;
+
+        try {
+            org.trade.core.model.data.DataValue value = DataManagerFactory.createDataManager().getDataValue(dataValueId);
+
+            if (value != null && value.hasUpload(uploadId)) {
+                response = Response.ok().entity(createUploadResource(dataValueId, uploadId, value.getUploadOffset
+                        (uploadId), uriInfo.getAbsolutePath())).build();
+            } else {
+                response = uploadNotFound(dataValueId, uploadId);
+            }
+        } catch (Exception e) {
+            e.printStackTrace();
+
+            response = Response.serverError().entity(e.getMessage()).build();
+        }
+
+        return response;
+    }
+
+    @Override
+    public Response appendDataValueUploadChunk(String dataValueId, String uploadId, Long offset, byte[] chunk,
+                                               SecurityContext securityContext, UriInfo uriInfo) throws
+            NotFoundException {
+        Response response = null;
+
+        try {
+            org.trade.core.model.data.DataValue value = DataManagerFactory.createDataManager().getDataValue(dataValueId);
+
+            if (value != null && value.hasUpload(uploadId)) {
+                URI uploadUri = uriInfo.getAbsolutePath();
+
+                if (offset == null) {
+                    // Reject the chunk and provide the offset from which the upload has to be resumed
+                    response = Response.status(Response.Status.CONFLICT).entity(createUploadResource(dataValueId,
+                            uploadId, value.getUploadOffset(uploadId), uploadUri)).build();
+                } else {
+                    try {
+                        // The offset is checked by the data value while it holds its lock, so that concurrent
+                        // chunks with the same offset are rejected instead of overwriting each other
+                        long newOffset = value.appendUploadChunk(uploadId, offset, new ByteArrayInputStream(chunk
+                                != null ? chunk : new byte[0]));
+
+                        response = Response.ok().entity(createUploadResource(dataValueId, uploadId, newOffset,
+                                uploadUri)).build();
+                    } catch (UploadOffsetMismatchException e) {
+                        response = Response.status(Response.Status.CONFLICT).entity(createUploadResource
+                                (dataValueId, uploadId, e.getCurrentOffset(), uploadUri)).build();
+                    }
+                }
+            } else {
+                response = uploadNotFound(dataValueId, uploadId);
+            }
+        } catch (Exception e) {
+            e.printStackTrace();
+
+            response = Response.serverError().entity(e.getMessage()).build();
+        }
+
+        return response;
+    }
+
+    @Override
+    public Response commitDataValueUpload(String dataValueId, String uploadId, SecurityContext securityContext,
+                                          UriInfo uriInfo) throws NotFoundException {
+        Response response = null;
+
+        try {
+            org.trade.core.model.data.DataValue value = DataManagerFactory.createDataManager().getDataValue(dataValueId);
+
+            if (value != null && value.hasUpload(uploadId)) {
+                value.commitUpload(uploadId);
+
+                response = Response.status(Response.Status.NO_CONTENT).build();
+            } else {
+                response = uploadNotFound(dataValueId, uploadId);
+            }
+        } catch (Exception e) {
+            e.printStackTrace();
+
+            response = Response.serverError().entity(e.getMessage()).build();
+        }
+
+        return response;
+    }
+
+    @Override
+    public Response abortDataValueUpload(String dataValueId, String uploadId, SecurityContext securityContext,
+                                         UriInfo uriInfo) throws NotFoundException {
+        Response response = null;
+
+        try {
+            org.trade.core.model.data.DataValue value = DataManagerFactory.createDataManager().getDataValue(dataValueId);
+
+            if (value != null && value.hasUpload(uploadId)) {
+                value.abortUpload(uploadId);
+
+                response = Response.status(Response.Status.NO_CONTENT).build();
+            } else {
+                response = uploadNotFound(dataValueId, uploadId);
+            }
+        } catch (Exception e) {
+            e.printStackTrace();
+
+            response = Response.serverError().entity(e.getMessage()).build();
+        }
+
+        return response;
+    }
+
+    private DataValueUpload createUploadResource(String dataValueId, String uploadId, long offset, URI uploadUri) {
+        return new DataValueUpload().id(uploadId).dataValueId(dataValueId).offset(offset).href(uploadUri
+                .toASCIIString());
+    }
+
+    private Response uploadNotFound(String dataValueId, String uploadId) {
+        return Response.status(Response.Status.NOT_FOUND).entity(new NotFound().properties(Arrays.asList
+                (dataValueId, uploadId)).message("An upload with ID='" + uploadId + "' is not available for the " +
+                "Data Value with ID='" + dataValueId + "'.")).build();
+    }
+
     @Override
     public Response updateDataValueDirectly(String dataValueId, DataValue dataValue, SecurityContext securityContext, UriInfo uriInfo) throws NotFoundException {
         Response response = null;
@@ -373,4 +582,87 @@ public class DataValuesApiServiceImpl extends DataValuesApiService {
 
         return response;
     }
+
+    /**
+     * Checks if a range request should be applied according to the optional 'If-Range' header. The validator is
+     * either an entity tag, which has to match the entity tag of the data strongly, or the date of the last
+     * modification of the data value.
+     *
+     * @param ifRange   the value of the 'If-Range' header
+     * @param value     the requested data value
+     * @param entityTag the entity tag of the data or null, if the data of the value has no entity tag
+     * @return True, if the range should be applied; false, if the whole data should be returned
+     */
+    private boolean isRangeApplicable(String ifRange, org.trade.core.model.data.DataValue value, EntityTag
+            entityTag) {
+        if (ifRange == null || ifRange.isEmpty()) {
+            return true;
+        }
+
+        if (ifRange.trim().startsWith("\"")) {
+            // The validator is an entity tag, which has to match strongly
+            return entityTag != null && ifRange.trim().equals("\"" + entityTag.getValue() + "\"");
+        }
+
+        if (value.getLastModified() == null) {
+            return false;
+        }
+
+        try {
+            long validatorSeconds = ZonedDateTime.parse(ifRange.trim(), DateTimeFormatter.RFC_1123_DATE_TIME)
+                    .toEpochSecond();
+
+            // HTTP dates have a precision of seconds
+            return validatorSeconds == value.getLastModified().getTime() / 1000;
+        } catch (DateTimeParseException e) {
+            // The validator is a weak entity tag or an invalid date
+            return false;
+        }
+    }
+
+    private boolean isEncodingAccepted(String acceptEncoding, String contentEncoding) {
+        if (acceptEncoding == null || acceptEncoding.isEmpty()) {
+            return false;
+        }
+
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.trim().split(";");
+            String name = parts[0].trim();
+
+            if (name.equalsIgnoreCase(contentEncoding) || name.equals("*")) {
+                // A quality value of zero means "not acceptable"
+                for (int i = 1; i < parts.length; i++) {
+                    String parameter = parts[i].trim();
+                    if (parameter.startsWith("q=") && parameter.substring(2).matches("0(\\.0*)?")) {
+                        return false;
+                    }
+                }
+
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    private boolean matchesEntityTag(String ifNoneMatch, EntityTag entityTag) {
+        if (ifNoneMatch == null || ifNoneMatch.isEmpty()) {
+            return false;
+        }
+
+        for (String tag : ifNoneMatch.split(",")) {
+            String candidate = tag.trim();
+
+            // If-None-Match uses the weak comparison, i.e., the weakness indicator of a tag is ignored
+            if (candidate.startsWith("W/")) {
+                candidate = candidate.substring(2);
+            }
+
+            if (candidate.equals("*") || candidate.equals("\"" + entityTag.getValue() + "\"")) {
+                return true;
+            }
+        }
+
+        return false;
+    }
 }
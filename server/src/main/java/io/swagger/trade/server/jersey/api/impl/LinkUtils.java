@@ -95,12 +95,17 @@ public class LinkUtils {
 
     public static LinkArray createPaginationLinks(String typeOfCollection, UriInfo uriInfo, Integer start, Integer size,
                                                   Integer sizeOfCollection) {
+        return createPaginationLinks(typeOfCollection, uriInfo, start, size, start + size <= sizeOfCollection);
+    }
+
+    public static LinkArray createPaginationLinks(String typeOfCollection, UriInfo uriInfo, Integer start, Integer size,
+                                                  boolean hasNext) {
         LinkArray links = new LinkArray();
 
         UriBuilder builder = uriInfo.getAbsolutePathBuilder();
 
         URI nextUri = null;
-        if (start + size <= sizeOfCollection) {
+        if (hasNext) {
             // Check if there are enough elements after the current selection, else we do not show a next link since
             // everything available is already presented through the current response.
             nextUri = builder.replaceQueryParam("start", start + size).replaceQueryParam("size", size).build();
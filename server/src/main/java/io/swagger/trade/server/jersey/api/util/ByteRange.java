@@ -0,0 +1,125 @@
+/*
+ * Copyright 2017 Michael Hahn
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.swagger.trade.server.jersey.api.util;
+
+/**
+ * This class represents a single byte range requested through the HTTP 'Range' header (RFC 7233), e.g.,
+ * 'bytes=0-499', 'bytes=500-' or 'bytes=-500'.
+ */
+public class ByteRange {
+
+    private static final String BYTES_UNIT = "bytes=";
+
+    private final long first;
+
+    private final long last;
+
+    private final long completeLength;
+
+    private ByteRange(long first, long last, long completeLength) {
+        this.first = first;
+        this.last = last;
+        this.completeLength = completeLength;
+    }
+
+    /**
+     * Parses the value of a 'Range' header for a representation of the given length.
+     * <p>
+     * Only a single byte range is supported. According to RFC 7233 a server may ignore a 'Range' header, therefore
+     * {@code null} is returned for missing, malformed or multi-range headers so that the complete representation is
+     * provided.
+     *
+     * @param rangeHeader    the value of the 'Range' header
+     * @param completeLength the length of the complete representation in bytes
+     * @return the requested byte range or {@code null}, if the header should be ignored
+     */
+    public static ByteRange parse(String rangeHeader, long completeLength) {
+        if (rangeHeader == null || !rangeHeader.trim().startsWith(BYTES_UNIT)) {
+            return null;
+        }
+
+        String spec = rangeHeader.trim().substring(BYTES_UNIT.length()).trim();
+        int dash = spec.indexOf('-');
+        if (spec.contains(",") || dash < 0) {
+            return null;
+        }
+
+        try {
+            String firstPos = spec.substring(0, dash).trim();
+            String lastPos = spec.substring(dash + 1).trim();
+
+            long first;
+            long last;
+            if (firstPos.isEmpty()) {
+                // Suffix range, i.e., the last N bytes of the representation
+                long suffixLength = Long.parseLong(lastPos);
+                if (suffixLength < 0) {
+                    return null;
+                }
+
+                first = Math.max(completeLength - suffixLength, 0L);
+                last = suffixLength == 0 ? -1L : completeLength - 1;
+            } else {
+                first = Long.parseLong(firstPos);
+                last = lastPos.isEmpty() ? completeLength - 1 : Math.min(Long.parseLong(lastPos), completeLength - 1);
+
+                if (first < 0 || (!lastPos.isEmpty() && Long.parseLong(lastPos) < first)) {
+                    return null;
+                }
+            }
+
+            return new ByteRange(first, last, completeLength);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Whether the range overlaps the representation or not. Unsatisfiable ranges have to be answered with status
+     * 416 (Range Not Satisfiable).
+     *
+     * @return True, if the range can be served; false, otherwise
+     */
+    public boolean isSatisfiable() {
+        return first < completeLength && last >= first;
+    }
+
+    public long getFirst() {
+        return first;
+    }
+
+    public long getLast() {
+        return last;
+    }
+
+    public long getLength() {
+        return last - first + 1;
+    }
+
+    /**
+     * Provides the value of the 'Content-Range' header for the range.
+     *
+     * @return the value of the 'Content-Range' header
+     */
+    public String toContentRange() {
+        if (isSatisfiable()) {
+            return "bytes " + first + "-" + last + "/" + completeLength;
+        } else {
+            return "bytes */" + completeLength;
+        }
+    }
+}
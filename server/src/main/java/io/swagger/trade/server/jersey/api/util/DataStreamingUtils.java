@@ -0,0 +1,103 @@
+/*
+ * Copyright 2017 Michael Hahn
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.swagger.trade.server.jersey.api.util;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+
+/**
+ * This class provides helper methods to stream the data of data values to clients without loading the data into
+ * memory as a whole.
+ */
+public class DataStreamingUtils {
+
+    private static final int BUFFER_SIZE = 65536;
+
+    /**
+     * Transfers all data provided by the source channel to the given output stream. If the source is a
+     * {@link FileChannel}, the data is transferred through {@link FileChannel#transferTo(long, long,
+     * WritableByteChannel)} so that the JVM or operating system can move the data without copying it through the heap.
+     * Otherwise, the data is copied through a fixed size buffer. The source channel is not closed by this method.
+     *
+     * @param source the channel providing the data
+     * @param output the output stream to write the data to
+     * @return the number of transferred bytes
+     * @throws IOException the exception
+     */
+    public static long transferData(ReadableByteChannel source, OutputStream output) throws IOException {
+        return transferData(source, output, Long.MAX_VALUE);
+    }
+
+    /**
+     * Transfers at most the specified number of bytes provided by the source channel, starting at its current
+     * position, to the given output stream. See {@link #transferData(ReadableByteChannel, OutputStream)} for details.
+     *
+     * @param source the channel providing the data
+     * @param output the output stream to write the data to
+     * @param length the maximum number of bytes to transfer
+     * @return the number of transferred bytes
+     * @throws IOException the exception
+     */
+    public static long transferData(ReadableByteChannel source, OutputStream output, long length) throws
+            IOException {
+        long transferred = 0L;
+
+        WritableByteChannel target = Channels.newChannel(output);
+
+        if (source instanceof FileChannel) {
+            FileChannel fileChannel = (FileChannel) source;
+            long position = fileChannel.position();
+            long toTransfer = Math.min(length, Math.max(fileChannel.size() - position, 0L));
+
+            while (transferred < toTransfer) {
+                long count = fileChannel.transferTo(position + transferred, toTransfer - transferred, target);
+
+                // Stop if the end of the file is reached earlier, e.g., since the file was truncated concurrently
+                if (count <= 0) {
+                    break;
+                }
+
+                transferred += count;
+            }
+        } else {
+            ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+
+            while (transferred < length) {
+                buffer.limit((int) Math.min(BUFFER_SIZE, length - transferred));
+
+                if (source.read(buffer) == -1) {
+                    break;
+                }
+
+                buffer.flip();
+                while (buffer.hasRemaining()) {
+                    transferred += target.write(buffer);
+                }
+                buffer.clear();
+            }
+        }
+
+        output.flush();
+
+        return transferred;
+    }
+}
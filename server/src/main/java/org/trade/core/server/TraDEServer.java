@@ -28,6 +28,13 @@ import org.trade.core.data.management.DataManagerFactory;
 import org.trade.core.data.management.IDataManager;
 import org.trade.core.notification.management.INotificationManager;
 import org.trade.core.notification.management.NotificationManagerFactory;
+import org.trade.core.persistence.WriteBehindQueue;
+import org.trade.core.persistence.cache.PayloadCache;
+import org.trade.core.persistence.local.PersistenceProviderRegistry;
+import org.trade.core.persistence.local.kv.KeyValueStore;
+import org.trade.core.persistence.local.log.ObjectLog;
+import org.trade.core.persistence.local.mongo.MongoConnectionManager;
+import org.trade.core.utils.TraDEConfiguration;
 import org.trade.core.utils.TraDEProperties;
 
 /**
@@ -45,6 +52,9 @@ public class TraDEServer {
         QueuedThreadPool threadPool = new QueuedThreadPool(properties.getServerMaxNumberOfThreads(), properties
                 .getServerMinNumberOfThreads());
 
+        // All factories and services of the middleware use the properties the server is started with
+        TraDEConfiguration.INSTANCE.update(properties);
+
         server = new Server(threadPool);
 
         setupConnectors(properties);
@@ -60,7 +70,20 @@ public class TraDEServer {
         server.stop();
         server.destroy();
 
+        // Write all changes which are still queued in write-behind mode before the connections are closed
+        WriteBehindQueue.shutdownAll();
+
         clearManagers();
+
+        // Destroy the shared persistence providers, so that they are recreated after the stores are reopened
+        PersistenceProviderRegistry.INSTANCE.destroyAll();
+
+        // Close the pooled connections to MongoDB and the object logs, if any
+        MongoConnectionManager.INSTANCE.closeAll();
+        ObjectLog.closeAll();
+        KeyValueStore.closeAll();
+
+        PayloadCache.INSTANCE.clear();
     }
 
     private void setupConnectors(TraDEProperties props) {
@@ -0,0 +1,82 @@
+/*
+ * Copyright 2017 Michael Hahn
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.trade.core;
+
+import org.trade.core.data.management.simple.AttributeIndex;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+/**
+ * Manually triggered benchmark comparing the time required to list all objects with a given lifecycle state through
+ * a scan over all objects (as done by the simple data manager before {@link AttributeIndex} was introduced) and
+ * through the index. Most objects are 'INITIALIZED', while only every hundredth object is 'ARCHIVED', so that the
+ * listing of archived objects shows the difference between a cost proportional to all objects and to the result. The
+ * number of objects can be passed as argument, by default 1000000 objects are indexed.
+ */
+public class AttributeIndexBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        int objects = args.length > 0 ? Integer.parseInt(args[0]) : 1000000;
+        int listings = args.length > 1 ? Integer.parseInt(args[1]) : 20;
+
+        // The states of all objects, as provided by the objects themselves
+        Map<String, String> states = new HashMap<>();
+        AttributeIndex index = new AttributeIndex(true);
+        for (int i = 0; i < objects; i++) {
+            String state = i % 100 == 0 ? "ARCHIVED" : "INITIALIZED";
+
+            states.put("object" + i, state);
+            index.put("object" + i, state);
+        }
+
+        System.out.println(String.format("%-30s %15s", "operation", "time (ms/op)"));
+
+        for (int run = 0; run < 2; run++) {
+            // The first run is used to warm up the JIT compiler
+            boolean print = run > 0;
+            String status = "archived";
+            int found = 0;
+
+            long start = System.nanoTime();
+            for (int i = 0; i < listings; i++) {
+                List<String> result = states.entrySet().stream().filter(e -> e.getValue().toUpperCase().equals
+                        (status.toUpperCase())).map(Map.Entry::getKey).collect(Collectors.toList());
+                found += result.size();
+            }
+            long scan = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            for (int i = 0; i < listings; i++) {
+                List<String> result = index.get(status).stream().filter(id -> Objects.equals(states.get(id),
+                        "ARCHIVED")).collect(Collectors.toList());
+                found += result.size();
+            }
+            long lookup = System.nanoTime() - start;
+
+            if (print) {
+                System.out.println(String.format("%-30s %15.3f", "scan all objects", scan / 1e6 / listings));
+                System.out.println(String.format("%-30s %15.3f", "index lookup", lookup / 1e6 / listings));
+                System.out.println(index.size() + " indexed objects, " + found / (2 * listings) + " listed per " +
+                        "request");
+            }
+        }
+    }
+}
@@ -0,0 +1,146 @@
+/*
+ * Copyright 2017 Michael Hahn
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.trade.core;
+
+import org.trade.core.data.management.simple.SimpleDataManager;
+import org.trade.core.model.data.DataObject;
+import org.trade.core.model.data.DataValue;
+import org.trade.core.model.data.instance.DataElementInstance;
+import org.trade.core.model.data.instance.DataObjectInstance;
+import org.trade.core.persistence.local.PersistenceProviderRegistry;
+import org.trade.core.utils.TraDEConfiguration;
+import org.trade.core.utils.TraDEProperties;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Manually triggered benchmark comparing the time required to populate an instance of a collection data element with
+ * a large number of data values through one request per step (creating, populating and associating each data value)
+ * and through one bulk request for all data values. The number of data values and the size of their payloads can be
+ * passed as arguments, by default 500 data values with 1 KiB of data each are added.
+ */
+public class BulkDataValueBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        int values = args.length > 0 ? Integer.parseInt(args[0]) : 500;
+        int payloadSize = args.length > 1 ? Integer.parseInt(args[1]) : 1024;
+
+        Path directory = Files.createTempDirectory("tradeBenchmark");
+
+        try {
+            TraDEProperties properties = new TraDEProperties();
+            properties.setProperty(TraDEProperties.PROPERTY_DATA_PERSIST_MODE, "FILE");
+            properties.setProperty(TraDEProperties.PROPERTY_DATA_PERSIST_FILE_DIRECTORY, directory.toString());
+            TraDEConfiguration.INSTANCE.update(properties);
+            PersistenceProviderRegistry.INSTANCE.destroyAll();
+
+            byte[] payload = new byte[payloadSize];
+
+            System.out.println(String.format("%-20s %15s %15s", "operation", "time (ms)", "values/s"));
+
+            for (int run = 0; run < 2; run++) {
+                // The first run is used to warm up the JIT compiler
+                boolean print = run > 0;
+
+                long single = measure(values, payload, false);
+                long bulk = measure(values, payload, true);
+
+                if (print) {
+                    System.out.println(String.format("%-20s %15.1f %15.1f", "single requests", single / 1e6,
+                            values / (single / 1e9)));
+                    System.out.println(String.format("%-20s %15.1f %15.1f", "bulk request", bulk / 1e6,
+                            values / (bulk / 1e9)));
+                }
+            }
+        } finally {
+            SimpleDataManager.INSTANCE.clearCachedObjects();
+            PersistenceProviderRegistry.INSTANCE.destroyAll();
+            TraDEConfiguration.INSTANCE.reload();
+
+            try (Stream<Path> files = Files.walk(directory)) {
+                for (Path file : files.sorted(Comparator.reverseOrder()).collect(Collectors.toList())) {
+                    Files.delete(file);
+                }
+            }
+        }
+    }
+
+    private static long measure(int values, byte[] payload, boolean bulk) throws Exception {
+        SimpleDataManager manager = SimpleDataManager.INSTANCE;
+
+        DataObject dataObject = manager.registerDataObject(new DataObject("benchmark", "object"));
+        manager.addDataElementToDataObject(dataObject.getIdentifier(), "benchmark", "items", "text/plain", "string",
+                true);
+
+        HashMap<String, String> correlationProperties = new HashMap<>();
+        correlationProperties.put("chorID", "choreography");
+        DataObjectInstance instance = manager.instantiateDataObject(dataObject.getIdentifier(), "benchmark",
+                correlationProperties);
+        DataElementInstance elementInstance = instance.getDataElementInstances().get(0);
+
+        long start = System.nanoTime();
+
+        if (bulk) {
+            Map<DataValue, InputStream> dataValues = new LinkedHashMap<>();
+            for (int i = 0; i < values; i++) {
+                DataValue value = new DataValue("benchmark", "value" + i);
+                value.setContentType("text/plain");
+                value.setType("string");
+
+                dataValues.put(value, new ByteArrayInputStream(payload));
+            }
+
+            manager.addDataValuesToDataElementInstance(elementInstance.getIdentifier(), dataValues);
+        } else {
+            for (int i = 0; i < values; i++) {
+                DataValue value = new DataValue("benchmark", "value" + i);
+                value.setContentType("text/plain");
+                value.setType("string");
+
+                manager.registerDataValue(value);
+                value.setDataFromStream(new ByteArrayInputStream(payload));
+                elementInstance.addDataValue(value);
+            }
+        }
+
+        long duration = System.nanoTime() - start;
+
+        if (elementInstance.getNumberOfDataValues() != values || !elementInstance.isInitialized()) {
+            throw new IllegalStateException(values + " added data values resulted in " + elementInstance
+                    .getNumberOfDataValues() + " associated data values");
+        }
+
+        // Data values can only be deleted after the associated data element instance is deleted
+        List<DataValue> dataValues = elementInstance.getDataValues();
+        manager.deleteDataObject(dataObject.getIdentifier());
+        for (DataValue value : dataValues) {
+            manager.deleteDataValue(value.getIdentifier());
+        }
+
+        return duration;
+    }
+}
@@ -0,0 +1,120 @@
+/*
+ * Copyright 2017 Michael Hahn
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.trade.core;
+
+import org.trade.core.data.management.simple.SimpleDataManager;
+import org.trade.core.model.data.DataObject;
+import org.trade.core.persistence.local.PersistenceProviderRegistry;
+import org.trade.core.utils.TraDEConfiguration;
+import org.trade.core.utils.TraDEProperties;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Manually triggered benchmark comparing the time required to instantiate a data object for a large number of
+ * correlation property sets through one request per set and through one bulk request for all sets. The number of
+ * instances can be passed as argument, by default 1000 instances of a data object with two data elements are created.
+ */
+public class BulkInstantiationBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        int instances = args.length > 0 ? Integer.parseInt(args[0]) : 1000;
+
+        Path directory = Files.createTempDirectory("tradeBenchmark");
+
+        try {
+            TraDEProperties properties = new TraDEProperties();
+            properties.setProperty(TraDEProperties.PROPERTY_DATA_PERSIST_MODE, "FILE");
+            properties.setProperty(TraDEProperties.PROPERTY_DATA_PERSIST_FILE_DIRECTORY, directory.toString());
+            TraDEConfiguration.INSTANCE.update(properties);
+            PersistenceProviderRegistry.INSTANCE.destroyAll();
+
+            System.out.println(String.format("%-20s %15s %15s", "operation", "time (ms)", "instances/s"));
+
+            for (int run = 0; run < 2; run++) {
+                // The first run is used to warm up the JIT compiler
+                boolean print = run > 0;
+
+                long single = measure(instances, false);
+                long bulk = measure(instances, true);
+
+                if (print) {
+                    System.out.println(String.format("%-20s %15.1f %15.1f", "single requests", single / 1e6,
+                            instances / (single / 1e9)));
+                    System.out.println(String.format("%-20s %15.1f %15.1f", "bulk request", bulk / 1e6,
+                            instances / (bulk / 1e9)));
+                }
+            }
+        } finally {
+            SimpleDataManager.INSTANCE.clearCachedObjects();
+            PersistenceProviderRegistry.INSTANCE.destroyAll();
+            TraDEConfiguration.INSTANCE.reload();
+
+            try (Stream<Path> files = Files.walk(directory)) {
+                for (Path file : files.sorted(Comparator.reverseOrder()).collect(Collectors.toList())) {
+                    Files.delete(file);
+                }
+            }
+        }
+    }
+
+    private static long measure(int instances, boolean bulk) throws Exception {
+        SimpleDataManager manager = SimpleDataManager.INSTANCE;
+
+        DataObject dataObject = manager.registerDataObject(new DataObject("benchmark", "object"));
+        manager.addDataElementToDataObject(dataObject.getIdentifier(), "benchmark", "input", "text/plain", "string",
+                false);
+        manager.addDataElementToDataObject(dataObject.getIdentifier(), "benchmark", "output", "text/plain",
+                "string", false);
+
+        List<HashMap<String, String>> correlationPropertiesList = new ArrayList<>();
+        for (int i = 0; i < instances; i++) {
+            HashMap<String, String> correlationProperties = new HashMap<>();
+            correlationProperties.put("chorID", "choreography" + i);
+            correlationPropertiesList.add(correlationProperties);
+        }
+
+        long start = System.nanoTime();
+
+        if (bulk) {
+            manager.instantiateDataObject(dataObject.getIdentifier(), "benchmark", correlationPropertiesList);
+        } else {
+            for (HashMap<String, String> correlationProperties : correlationPropertiesList) {
+                manager.instantiateDataObject(dataObject.getIdentifier(), "benchmark", correlationProperties);
+            }
+        }
+
+        long duration = System.nanoTime() - start;
+
+        int created = manager.getAllDataObjectInstancesOfDataObject(dataObject.getIdentifier()).size();
+        if (created != instances) {
+            throw new IllegalStateException(instances + " requested instances resulted in " + created +
+                    " instances");
+        }
+
+        manager.deleteDataObject(dataObject.getIdentifier());
+
+        return duration;
+    }
+}
@@ -0,0 +1,118 @@
+/*
+ * Copyright 2017 Michael Hahn
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.trade.core;
+
+import org.trade.core.model.data.DataElement;
+import org.trade.core.model.data.DataObject;
+import org.trade.core.model.data.instance.DataObjectInstance;
+import org.trade.core.persistence.codec.IObjectCodec;
+import org.trade.core.persistence.codec.JacksonObjectCodec;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+
+/**
+ * Manually triggered benchmark comparing the size and the parse time of the persisted representation of data object
+ * and data element instances for all built-in codecs. The corpus is created the same way as by the
+ * {@code SimpleDataManager}: Several data objects with some data elements are instantiated multiple times with
+ * different correlation properties. Since the instances reference their data object and the other instances, each
+ * object is serialized with a part of the graph. Besides decoding the model objects, the pure parsing of the data into
+ * generic maps is measured, since decoding also includes the instantiation of the model objects. The number of data
+ * objects can be passed as argument, by default 20 data objects are instantiated 10 times each.
+ */
+public class CodecBenchmark {
+
+    private static final int ELEMENTS_PER_OBJECT = 5;
+
+    private static final int INSTANCES_PER_OBJECT = 10;
+
+    private static final int ROUNDS = 5;
+
+    public static void main(String[] args) throws Exception {
+        int objects = args.length > 0 ? Integer.parseInt(args[0]) : 20;
+
+        List<Object> corpus = new ArrayList<>();
+        int instances = 0;
+
+        for (int o = 0; o < objects; o++) {
+            DataObject dataObject = new DataObject("benchmarkEntity", "orderData" + o);
+            for (int e = 0; e < ELEMENTS_PER_OBJECT; e++) {
+                DataElement element = new DataElement(dataObject, dataObject.getEntity(), "element" + e, false);
+                element.setType("binary");
+                element.setContentType("text/plain");
+                element.initialize();
+            }
+
+            for (int i = 0; i < INSTANCES_PER_OBJECT; i++) {
+                HashMap<String, String> correlationProps = new HashMap<>();
+                correlationProps.put("customerId", "customer" + i);
+                correlationProps.put("orderId", "order-" + o + "-" + i);
+
+                DataObjectInstance instance = dataObject.instantiate("benchmark", correlationProps);
+                corpus.add(instance);
+                instances++;
+
+                for (DataElement element : dataObject.getDataElements()) {
+                    corpus.add(element.instantiate(instance, "benchmark", correlationProps));
+                }
+            }
+        }
+
+        System.out.println(String.format("Corpus: %d data object instances, %d data element instances", instances,
+                corpus.size() - instances));
+        System.out.println(String.format("%-8s %15s %15s %15s %15s", "codec", "avg. size (B)", "encode (ops/s)",
+                "parse (ops/s)", "decode (ops/s)"));
+
+        for (IObjectCodec codec : new IObjectCodec[]{JacksonObjectCodec.JSON, JacksonObjectCodec.SMILE,
+                JacksonObjectCodec.CBOR}) {
+            long size = 0L;
+            long encodeTime = Long.MAX_VALUE;
+            long parseTime = Long.MAX_VALUE;
+            long decodeTime = Long.MAX_VALUE;
+
+            // Use the best of several rounds to exclude the warm up of the JIT compiler
+            for (int round = 0; round < ROUNDS; round++) {
+                List<byte[]> encoded = new ArrayList<>(corpus.size());
+
+                long start = System.nanoTime();
+                for (Object object : corpus) {
+                    encoded.add(codec.encode(object));
+                }
+                encodeTime = Math.min(encodeTime, System.nanoTime() - start);
+
+                start = System.nanoTime();
+                for (byte[] data : encoded) {
+                    codec.decode(data, Object.class);
+                }
+                parseTime = Math.min(parseTime, System.nanoTime() - start);
+
+                start = System.nanoTime();
+                for (int i = 0; i < corpus.size(); i++) {
+                    codec.decode(encoded.get(i), corpus.get(i).getClass());
+                }
+                decodeTime = Math.min(decodeTime, System.nanoTime() - start);
+
+                size = encoded.stream().mapToLong(data -> data.length).sum();
+            }
+
+            System.out.println(String.format("%-8s %15.1f %15.1f %15.1f %15.1f", codec.getFormat(), size / (double)
+                    corpus.size(), corpus.size() / (encodeTime / 1e9), corpus.size() / (parseTime / 1e9), corpus.size()
+                    / (decodeTime / 1e9)));
+        }
+    }
+}
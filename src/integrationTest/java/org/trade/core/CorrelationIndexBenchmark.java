@@ -0,0 +1,112 @@
+/*
+ * Copyright 2017 Michael Hahn
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.trade.core;
+
+import org.trade.core.data.management.simple.CorrelationIndex;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Manually triggered benchmark comparing the time required to correlate a request with one of a large number of
+ * instances through a scan over all instances (as done by the simple data manager before {@link CorrelationIndex} was
+ * introduced) and through the index. The instances are represented by their keys only, so that no persistence is
+ * involved. The number of instances can be passed as argument, by default 1000000 instances are indexed. The heap
+ * should be large enough to hold all keys twice, e.g., '-Xmx2g'.
+ */
+public class CorrelationIndexBenchmark {
+
+    private static final int MODELS = 10;
+
+    private static final int OBJECTS_PER_MODEL = 10;
+
+    public static void main(String[] args) throws Exception {
+        int instances = args.length > 0 ? Integer.parseInt(args[0]) : 1000000;
+        int lookups = args.length > 1 ? Integer.parseInt(args[1]) : 100;
+
+        List<CorrelationIndex.Key> keys = new ArrayList<>(instances);
+        List<String> identifiers = new ArrayList<>(instances);
+        for (int i = 0; i < instances; i++) {
+            keys.add(key(i));
+            identifiers.add("instance" + i);
+        }
+
+        System.out.println(String.format("%-30s %15s", "operation", "time (us/op)"));
+
+        long start = System.nanoTime();
+        CorrelationIndex index = new CorrelationIndex();
+        for (int i = 0; i < instances; i++) {
+            index.put(keys.get(i), identifiers.get(i));
+        }
+        System.out.println(String.format("%-30s %15.3f", "index instance", (System.nanoTime() - start) / 1e3 /
+                instances));
+
+        Random random = new Random(42);
+        int[] requests = new int[lookups];
+        for (int i = 0; i < lookups; i++) {
+            requests[i] = random.nextInt(instances);
+        }
+
+        for (int run = 0; run < 2; run++) {
+            // The first run is used to warm up the JIT compiler
+            boolean print = run > 0;
+            int found = 0;
+
+            start = System.nanoTime();
+            for (int request : requests) {
+                CorrelationIndex.Key requested = key(request);
+
+                for (int i = 0; i < instances; i++) {
+                    if (keys.get(i).equals(requested)) {
+                        found++;
+                        break;
+                    }
+                }
+            }
+            long scan = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            for (int request : requests) {
+                if (index.get(key(request)) != null) {
+                    found++;
+                }
+            }
+            long lookup = System.nanoTime() - start;
+
+            if (print) {
+                System.out.println(String.format("%-30s %15.3f", "scan all instances", scan / 1e3 / lookups));
+                System.out.println(String.format("%-30s %15.3f", "index lookup", lookup / 1e3 / lookups));
+                System.out.println(index.size() + " indexed instances, " + found + " of " + 2 * lookups + " " +
+                        "requests correlated");
+            }
+        }
+    }
+
+    private static CorrelationIndex.Key key(int instance) {
+        int model = instance % MODELS;
+        int object = (instance / MODELS) % OBJECTS_PER_MODEL;
+
+        HashMap<String, String> correlationProperties = new HashMap<>();
+        correlationProperties.put("chorID", "choreography" + instance);
+        correlationProperties.put("partner", "partner" + (instance % 7));
+
+        return new CorrelationIndex.Key("http://org.trade.core/benchmark", "model" + model, "object" + object, null,
+                correlationProperties);
+    }
+}
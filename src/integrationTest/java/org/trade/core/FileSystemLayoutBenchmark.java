@@ -0,0 +1,136 @@
+/*
+ * Copyright 2017 Michael Hahn
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.trade.core;
+
+import org.trade.core.model.ModelConstants;
+import org.trade.core.model.data.DataValue;
+import org.trade.core.persistence.IPersistenceProvider;
+import org.trade.core.persistence.local.filesystem.FileSystemLayout;
+import org.trade.core.persistence.local.filesystem.FileSystemLayoutMigration;
+import org.trade.core.persistence.local.filesystem.FileSystemPersistence;
+import org.trade.core.utils.TraDEProperties;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Manually triggered benchmark comparing the flat layout of the {@link FileSystemPersistence} with a
+ * {@link FileSystemLayout} using two levels of sub-folders. A large number of small binary data files is created,
+ * looked up by random identifiers and listed for both layouts. Finally, the time required to migrate the flat
+ * directory is measured. The number of files can be passed as argument, by default 1,000,000 files are created per
+ * layout.
+ */
+public class FileSystemLayoutBenchmark {
+
+    private static final int LOOKUPS = 100000;
+
+    public static void main(String[] args) throws Exception {
+        int files = args.length > 0 ? Integer.parseInt(args[0]) : 1000000;
+
+        Path directory = Files.createTempDirectory("tradeBenchmark");
+
+        try {
+            List<String> identifiers = new ArrayList<>(files);
+            for (int i = 0; i < files; i++) {
+                identifiers.add(UUID.randomUUID().toString());
+            }
+
+            byte[] data = "some binary data".getBytes();
+
+            System.out.println(String.format("%-20s %15s %15s", "operation (ms)", "flat", "2 levels"));
+
+            IPersistenceProvider<DataValue> flatProv = createProvider(directory.resolve("flat"), 0);
+            IPersistenceProvider<DataValue> shardedProv = createProvider(directory.resolve("sharded"), 2);
+
+            print("create", measure(() -> {
+                for (String id : identifiers) {
+                    flatProv.storeBinaryData(data, ModelConstants.DATA_VALUE__DATA_COLLECTION, id);
+                }
+            }), measure(() -> {
+                for (String id : identifiers) {
+                    shardedProv.storeBinaryData(data, ModelConstants.DATA_VALUE__DATA_COLLECTION, id);
+                }
+            }));
+
+            print(String.format("lookup (%d random)", LOOKUPS), measure(() -> lookup(flatProv, identifiers)),
+                    measure(() -> lookup(shardedProv, identifiers)));
+
+            print("list", measure(() -> new FileSystemLayout(0).list(directory.resolve("flat").resolve
+                    (ModelConstants.DATA_VALUE__DATA_COLLECTION))), measure(() -> new FileSystemLayout(2).list
+                    (directory.resolve("sharded").resolve(ModelConstants.DATA_VALUE__DATA_COLLECTION))));
+
+            print("migrate to 2 levels", measure(() -> FileSystemLayoutMigration.migrate(directory.resolve("flat"),
+                    new FileSystemLayout(2))));
+        } finally {
+            try (Stream<Path> paths = Files.walk(directory)) {
+                for (Path path : paths.sorted(Comparator.reverseOrder()).collect(Collectors.toList())) {
+                    Files.delete(path);
+                }
+            }
+        }
+    }
+
+    private static IPersistenceProvider<DataValue> createProvider(Path directory, int levels) {
+        TraDEProperties properties = new TraDEProperties();
+        properties.setProperty(TraDEProperties.PROPERTY_DATA_PERSIST_FILE_DIRECTORY, directory.toString());
+        properties.setProperty(TraDEProperties.PROPERTY_DATA_PERSIST_FILE_SHARD_LEVELS, String.valueOf(levels));
+
+        IPersistenceProvider<DataValue> persistProv = new FileSystemPersistence<>();
+        persistProv.initProvider(DataValue.class, properties);
+
+        return persistProv;
+    }
+
+    private static void lookup(IPersistenceProvider<DataValue> persistProv, List<String> identifiers) throws
+            Exception {
+        Random random = new Random(42);
+
+        for (int i = 0; i < LOOKUPS; i++) {
+            persistProv.getBinaryDataSize(ModelConstants.DATA_VALUE__DATA_COLLECTION, identifiers.get(random.nextInt
+                    (identifiers.size())));
+        }
+    }
+
+    private static long measure(Operation operation) throws Exception {
+        long start = System.nanoTime();
+
+        operation.run();
+
+        return System.nanoTime() - start;
+    }
+
+    private static void print(String name, long... durations) {
+        StringBuilder line = new StringBuilder(String.format("%-20s", name));
+        for (long duration : durations) {
+            line.append(String.format(" %15.1f", duration / 1e6));
+        }
+
+        System.out.println(line);
+    }
+
+    @FunctionalInterface
+    private interface Operation {
+        void run() throws Exception;
+    }
+}
@@ -0,0 +1,149 @@
+/*
+ * Copyright 2017 Michael Hahn
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.trade.core;
+
+import org.trade.core.model.data.DataValue;
+import org.trade.core.persistence.IPersistenceProvider;
+import org.trade.core.persistence.local.filesystem.FileSystemPersistence;
+import org.trade.core.persistence.local.kv.KeyValuePersistence;
+import org.trade.core.persistence.local.kv.KeyValueStore;
+import org.trade.core.utils.TraDEProperties;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Manually triggered benchmark comparing the throughput (ops/sec) of the {@link FileSystemPersistence} and the
+ * {@link KeyValuePersistence} provider for creating, updating and loading objects. Each workload is repeated, so that
+ * the JIT compiler is warmed up, and the best run is reported. Since {@link FileSystemPersistence} never syncs its
+ * files, the key-value store is measured with and without syncing each commit. The number of objects and repetitions
+ * can be passed as arguments, by default 5000 objects are used in 3 repetitions.
+ */
+public class KeyValuePersistenceBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        int operations = args.length > 0 ? Integer.parseInt(args[0]) : 5000;
+        int repetitions = args.length > 1 ? Integer.parseInt(args[1]) : 3;
+
+        Path directory = Files.createTempDirectory("tradeBenchmark");
+
+        try {
+            TraDEProperties properties = new TraDEProperties();
+            properties.setProperty(TraDEProperties.PROPERTY_DATA_PERSIST_FILE_DIRECTORY, directory.toString());
+
+            TraDEProperties noSyncProperties = new TraDEProperties();
+            noSyncProperties.setProperty(TraDEProperties.PROPERTY_DATA_PERSIST_FILE_DIRECTORY, directory.resolve
+                    ("noSync").toString());
+            noSyncProperties.setProperty(TraDEProperties.PROPERTY_DATA_PERSIST_KV_SYNC_ON_COMMIT, "false");
+
+            List<DataValue> values = new ArrayList<>();
+            for (int i = 0; i < operations; i++) {
+                values.add(new DataValue("benchmark", "value" + i));
+            }
+
+            System.out.println(String.format("%-30s %15s %15s %15s", "operation", "FILE", "KV", "KV (no sync)"));
+
+            List<IPersistenceProvider<DataValue>> providers = new ArrayList<>();
+            IPersistenceProvider<DataValue> fileProv = new FileSystemPersistence<>();
+            fileProv.initProvider(DataValue.class, properties);
+            providers.add(fileProv);
+            IPersistenceProvider<DataValue> kvProv = new KeyValuePersistence<>();
+            kvProv.initProvider(DataValue.class, properties);
+            providers.add(kvProv);
+            IPersistenceProvider<DataValue> noSyncProv = new KeyValuePersistence<>();
+            noSyncProv.initProvider(DataValue.class, noSyncProperties);
+            providers.add(noSyncProv);
+
+            long[] create = new long[providers.size()];
+            long[] update = new long[providers.size()];
+            long[] batch = new long[providers.size()];
+            long[] load = new long[providers.size()];
+            long[] loadAll = new long[providers.size()];
+
+            for (int run = 0; run < repetitions; run++) {
+                for (int i = 0; i < providers.size(); i++) {
+                    IPersistenceProvider<DataValue> persistProv = providers.get(i);
+
+                    persistProv.deleteAllObjects(null);
+
+                    create[i] = best(create[i], measure(() -> {
+                        for (DataValue value : values) {
+                            persistProv.storeObject(value);
+                        }
+                    }));
+                    update[i] = best(update[i], measure(() -> {
+                        for (DataValue value : values) {
+                            persistProv.storeObject(value);
+                        }
+                    }));
+                    batch[i] = best(batch[i], measure(() -> persistProv.storeAllObjects(values)));
+                    load[i] = best(load[i], measure(() -> {
+                        for (DataValue value : values) {
+                            persistProv.loadObject(value.getIdentifier());
+                        }
+                    }));
+                    loadAll[i] = best(loadAll[i], measure(() -> persistProv.loadAllObjects(null)));
+                }
+            }
+
+            print("storeObject (create)", operations, create);
+            print("storeObject (update)", operations, update);
+            print("storeAllObjects (update)", operations, batch);
+            print("loadObject", operations, load);
+            print("loadAllObjects", operations, loadAll);
+        } finally {
+            KeyValueStore.closeAll();
+
+            try (Stream<Path> files = Files.walk(directory)) {
+                for (Path file : files.sorted(Comparator.reverseOrder()).collect(Collectors.toList())) {
+                    Files.delete(file);
+                }
+            }
+        }
+    }
+
+    private static long best(long previous, long duration) {
+        return previous == 0L ? duration : Math.min(previous, duration);
+    }
+
+    private static long measure(Operation operation) throws Exception {
+        long start = System.nanoTime();
+
+        operation.run();
+
+        return System.nanoTime() - start;
+    }
+
+    private static void print(String name, int operations, long... durations) {
+        StringBuilder line = new StringBuilder(String.format("%-30s", name));
+        for (long duration : durations) {
+            line.append(String.format(" %15.1f", operations / (duration / 1e9)));
+        }
+
+        System.out.println(line);
+    }
+
+    @FunctionalInterface
+    private interface Operation {
+        void run() throws Exception;
+    }
+}
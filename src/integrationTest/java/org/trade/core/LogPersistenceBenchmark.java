@@ -0,0 +1,151 @@
+/*
+ * Copyright 2017 Michael Hahn
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.trade.core;
+
+import org.trade.core.model.data.DataValue;
+import org.trade.core.persistence.IPersistenceProvider;
+import org.trade.core.persistence.local.filesystem.FileSystemPersistence;
+import org.trade.core.persistence.local.log.LogPersistence;
+import org.trade.core.persistence.local.log.ObjectLog;
+import org.trade.core.utils.TraDEProperties;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Manually triggered benchmark comparing the throughput (ops/sec) of the {@link FileSystemPersistence} and the
+ * {@link LogPersistence} provider. The objects are stored by concurrent threads, so that the log is able to group
+ * their writes into common commits. Since {@link FileSystemPersistence} never syncs its files, the log is measured
+ * with and without syncing each commit. The number of objects and threads can be passed as arguments, by default 5000
+ * objects are stored by 8 threads.
+ */
+public class LogPersistenceBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        int operations = args.length > 0 ? Integer.parseInt(args[0]) : 5000;
+        int threads = args.length > 1 ? Integer.parseInt(args[1]) : 8;
+
+        Path directory = Files.createTempDirectory("tradeBenchmark");
+
+        try {
+            TraDEProperties properties = new TraDEProperties();
+            properties.setProperty(TraDEProperties.PROPERTY_DATA_PERSIST_FILE_DIRECTORY, directory.toString());
+
+            TraDEProperties noSyncProperties = new TraDEProperties();
+            noSyncProperties.setProperty(TraDEProperties.PROPERTY_DATA_PERSIST_FILE_DIRECTORY, directory.resolve
+                    ("noSync").toString());
+            noSyncProperties.setProperty(TraDEProperties.PROPERTY_DATA_PERSIST_LOG_SYNC_ON_COMMIT, "false");
+
+            List<DataValue> values = new ArrayList<>();
+            for (int i = 0; i < operations; i++) {
+                values.add(new DataValue("benchmark", "value" + i));
+            }
+
+            System.out.println(String.format("%-30s %15s %15s %15s", "operation", "FILE", "LOG", "LOG (no sync)"));
+
+            IPersistenceProvider<DataValue> fileProv = new FileSystemPersistence<>();
+            fileProv.initProvider(DataValue.class, properties);
+            IPersistenceProvider<DataValue> logProv = new LogPersistence<>();
+            logProv.initProvider(DataValue.class, properties);
+            IPersistenceProvider<DataValue> noSyncProv = new LogPersistence<>();
+            noSyncProv.initProvider(DataValue.class, noSyncProperties);
+
+            for (String name : new String[]{"storeObject (insert)", "storeObject (update)"}) {
+                print(name, operations, runConcurrently(threads, values, fileProv), runConcurrently(threads, values,
+                        logProv), runConcurrently(threads, values, noSyncProv));
+            }
+
+            // Measure the startup, i.e., listing the available objects after reopening the log
+            print("loadAllIdentifiers (startup)", operations, measure(fileProv::loadAllIdentifiers), measure(() ->
+                    reopen(properties).loadAllIdentifiers()), measure(() -> reopen(noSyncProperties)
+                    .loadAllIdentifiers()));
+            print("loadAllObjects (startup)", operations, measure(() -> fileProv.loadAllObjects(null)), measure(() ->
+                    reopen(properties).loadAllObjects(null)), measure(() -> reopen(noSyncProperties).loadAllObjects
+                    (null)));
+        } finally {
+            ObjectLog.closeAll();
+
+            try (Stream<Path> files = Files.walk(directory)) {
+                for (Path file : files.sorted(Comparator.reverseOrder()).collect(Collectors.toList())) {
+                    Files.delete(file);
+                }
+            }
+        }
+    }
+
+    private static IPersistenceProvider<DataValue> reopen(TraDEProperties properties) {
+        ObjectLog.closeAll();
+
+        IPersistenceProvider<DataValue> persistProv = new LogPersistence<>();
+        persistProv.initProvider(DataValue.class, properties);
+
+        return persistProv;
+    }
+
+    private static long runConcurrently(int threads, List<DataValue> values, IPersistenceProvider<DataValue>
+            persistProv) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+
+        try {
+            return measure(() -> {
+                List<Future<?>> futures = new ArrayList<>();
+                for (DataValue value : values) {
+                    futures.add(executor.submit(() -> {
+                        persistProv.storeObject(value);
+                        return null;
+                    }));
+                }
+
+                for (Future<?> future : futures) {
+                    future.get();
+                }
+            });
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private static long measure(Operation operation) throws Exception {
+        long start = System.nanoTime();
+
+        operation.run();
+
+        return System.nanoTime() - start;
+    }
+
+    private static void print(String name, int operations, long... durations) {
+        StringBuilder line = new StringBuilder(String.format("%-30s", name));
+        for (long duration : durations) {
+            line.append(String.format(" %15.1f", operations / (duration / 1e9)));
+        }
+
+        System.out.println(line);
+    }
+
+    @FunctionalInterface
+    private interface Operation {
+        void run() throws Exception;
+    }
+}
@@ -0,0 +1,189 @@
+/*
+ * Copyright 2017 Michael Hahn
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.trade.core;
+
+import de.bwaldvogel.mongo.MongoServer;
+import de.bwaldvogel.mongo.backend.memory.MemoryBackend;
+import org.trade.core.model.ModelConstants;
+import org.trade.core.model.data.DataValue;
+import org.trade.core.persistence.IPersistenceProvider;
+import org.trade.core.persistence.local.mongo.MongoConnectionManager;
+import org.trade.core.persistence.local.mongo.MongoPersistence;
+import org.trade.core.utils.TraDEProperties;
+
+import java.io.DataInputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Manually triggered benchmark measuring the throughput (ops/sec) of the {@link MongoPersistence} provider.
+ * <p>
+ * To be runnable without a MongoDB installation, the benchmark uses an in-memory MongoDB stand-in
+ * (mongo-java-server) which speaks the MongoDB wire protocol. The absolute numbers are therefore not comparable with a
+ * real MongoDB, however, the number of roundtrips per operation affects them in the same way. The number of
+ * operations per measurement can be passed as argument, by default 2000 operations are used. Finally, the throughput of
+ * streaming a value which exceeds the maximum document size is measured.
+ */
+public class MongoPersistenceBenchmark {
+
+    private static final int DATA_SIZE = 1024;
+
+    private static final int LARGE_SIZE_MB = 64;
+
+    public static void main(String[] args) throws Exception {
+        int operations = args.length > 0 ? Integer.parseInt(args[0]) : 2000;
+
+        MongoServer server = new MongoServer(new MemoryBackend());
+        InetSocketAddress address = server.bind();
+
+        try {
+            TraDEProperties properties = new TraDEProperties();
+            properties.setProperty(TraDEProperties.PROPERTY_DATA_PERSIST_DB_URL, "mongodb://" + address.getHostString()
+                    + ":" + address.getPort());
+            properties.setProperty(TraDEProperties.PROPERTY_DATA_PERSIST_DB_NAME, "tradeBenchmarkDB");
+
+            IPersistenceProvider<DataValue> persistProv = new MongoPersistence<>();
+            persistProv.initProvider(DataValue.class, properties);
+
+            byte[] data = new byte[DATA_SIZE];
+            new Random().nextBytes(data);
+
+            List<DataValue> values = new ArrayList<>();
+            for (int i = 0; i < operations; i++) {
+                values.add(new DataValue("benchmark", "value" + i));
+            }
+
+            System.out.println(String.format("%-30s %15s", "operation", "ops/sec"));
+
+            run("storeBinaryData (insert)", operations, i -> persistProv.storeBinaryData(data, ModelConstants
+                    .DATA_VALUE__DATA_COLLECTION, values.get(i).getIdentifier()));
+            run("storeBinaryData (update)", operations, i -> persistProv.storeBinaryData(data, ModelConstants
+                    .DATA_VALUE__DATA_COLLECTION, values.get(i).getIdentifier()));
+            run("loadBinaryData", operations, i -> persistProv.loadBinaryData(ModelConstants
+                    .DATA_VALUE__DATA_COLLECTION, values.get(i).getIdentifier()));
+            run("deleteBinaryData", operations, i -> persistProv.deleteBinaryData(ModelConstants
+                    .DATA_VALUE__DATA_COLLECTION, values.get(i).getIdentifier()));
+
+            run("storeObject", operations, i -> persistProv.storeObject(values.get(i)));
+
+            // Measure the bulk operations as a whole and report the throughput per object
+            runBulk("storeAllObjects", operations, () -> persistProv.storeAllObjects(values));
+            runBulk("loadAllIdentifiers", operations, persistProv::loadAllIdentifiers);
+            runBulk("loadAllObjects", operations, () -> persistProv.loadAllObjects(null));
+            runBulk("deleteAllObjects", operations, () -> persistProv.deleteAllObjects(null));
+
+            // Values larger than the 16 MB document limit are stored in chunks and streamed in both directions
+            String largeValue = values.get(0).getIdentifier();
+            runBulk("write " + LARGE_SIZE_MB + " MB (MB/sec)", LARGE_SIZE_MB, () -> {
+                try (OutputStream out = persistProv.openBinaryDataForWrite(ModelConstants
+                        .DATA_VALUE__DATA_COLLECTION, largeValue)) {
+                    for (int i = 0; i < LARGE_SIZE_MB * 1024; i++) {
+                        out.write(data);
+                    }
+                }
+            });
+            runBulk("read " + LARGE_SIZE_MB + " MB (MB/sec)", LARGE_SIZE_MB, () -> {
+                try (InputStream in = persistProv.openBinaryDataForRead(ModelConstants.DATA_VALUE__DATA_COLLECTION,
+                        largeValue)) {
+                    byte[] buffer = new byte[65536];
+                    while (in.read(buffer) != -1) {
+                        // Discard the data
+                    }
+                }
+            });
+            persistProv.deleteBinaryData(ModelConstants.DATA_VALUE__DATA_COLLECTION, largeValue);
+
+            // Chunked uploads append 1 MB at a time, each append has to continue the last chunk of the stored data
+            runBulk("append " + LARGE_SIZE_MB + " MB (MB/sec)", LARGE_SIZE_MB, () -> {
+                for (int chunk = 0; chunk < LARGE_SIZE_MB; chunk++) {
+                    try (OutputStream out = persistProv.openBinaryDataForAppend(ModelConstants
+                            .DATA_VALUE__DATA_COLLECTION, largeValue)) {
+                        for (int i = 0; i < 1024; i++) {
+                            out.write(data);
+                        }
+                    }
+                }
+            });
+            verify(persistProv, largeValue, data, LARGE_SIZE_MB * 1024);
+            persistProv.deleteBinaryData(ModelConstants.DATA_VALUE__DATA_COLLECTION, largeValue);
+
+            persistProv.destroyProvider();
+        } finally {
+            MongoConnectionManager.INSTANCE.closeAll();
+            server.shutdownNow();
+        }
+    }
+
+    private static void verify(IPersistenceProvider<DataValue> persistProv, String identifier, byte[] data, int
+            repetitions) throws Exception {
+        long expectedSize = (long) data.length * repetitions;
+        if (persistProv.getBinaryDataSize(ModelConstants.DATA_VALUE__DATA_COLLECTION, identifier) != expectedSize) {
+            throw new IllegalStateException("The size of the appended data does not match " + expectedSize);
+        }
+
+        try (DataInputStream in = new DataInputStream(persistProv.openBinaryDataForRead(ModelConstants
+                .DATA_VALUE__DATA_COLLECTION, identifier))) {
+            byte[] buffer = new byte[data.length];
+            for (int i = 0; i < repetitions; i++) {
+                in.readFully(buffer);
+                if (!Arrays.equals(buffer, data)) {
+                    throw new IllegalStateException("The appended data differs at offset " + (long) i * data.length);
+                }
+            }
+            if (in.read() != -1) {
+                throw new IllegalStateException("The appended data is longer than " + expectedSize);
+            }
+        }
+    }
+
+    private static void run(String name, int operations, Operation operation) throws Exception {
+        long start = System.nanoTime();
+
+        for (int i = 0; i < operations; i++) {
+            operation.run(i);
+        }
+
+        print(name, operations, System.nanoTime() - start);
+    }
+
+    private static void runBulk(String name, int operations, BulkOperation operation) throws Exception {
+        long start = System.nanoTime();
+
+        operation.run();
+
+        print(name, operations, System.nanoTime() - start);
+    }
+
+    private static void print(String name, int operations, long duration) {
+        System.out.println(String.format("%-30s %15.1f", name, operations / (duration / 1e9)));
+    }
+
+    @FunctionalInterface
+    private interface Operation {
+        void run(int index) throws Exception;
+    }
+
+    @FunctionalInterface
+    private interface BulkOperation {
+        void run() throws Exception;
+    }
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright 2017 Michael Hahn
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.trade.core;
+
+import org.trade.core.data.management.ResultPage;
+import org.trade.core.data.management.simple.AttributeIndex;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+/**
+ * Manually triggered benchmark comparing the time required to provide one page of a listing of a large number of
+ * objects when the complete filtered listing is materialized before the page is selected (as done by the API before
+ * {@link ResultPage}s were introduced) and when only the entries up to the page are resolved through the ordered
+ * {@link AttributeIndex}. The first page and a page in the middle of the listing are requested. The number of objects
+ * and the size of a page can be passed as arguments, by default pages of 50 out of 1000000 objects are requested.
+ */
+public class PaginationBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        int objects = args.length > 0 ? Integer.parseInt(args[0]) : 1000000;
+        int size = args.length > 1 ? Integer.parseInt(args[1]) : 50;
+        int requests = 20;
+
+        // The states of all objects, as provided by the objects themselves
+        Map<String, String> states = new HashMap<>();
+        AttributeIndex index = new AttributeIndex(true);
+        for (int i = 0; i < objects; i++) {
+            states.put("object" + i, "INITIALIZED");
+            index.put("object" + i, "INITIALIZED");
+        }
+
+        System.out.println(String.format("%-40s %15s", "operation", "time (ms/op)"));
+
+        for (int run = 0; run < 2; run++) {
+            // The first run is used to warm up the JIT compiler
+            boolean print = run > 0;
+
+            for (int start : new int[]{1, objects / 2}) {
+                long begin = System.nanoTime();
+                for (int i = 0; i < requests; i++) {
+                    List<String> listing = states.entrySet().stream().filter(e -> e.getValue().equalsIgnoreCase
+                            ("initialized")).map(Map.Entry::getKey).collect(Collectors.toList());
+                    ResultPage.of(listing, start, size);
+                }
+                long materialized = System.nanoTime() - begin;
+
+                begin = System.nanoTime();
+                for (int i = 0; i < requests; i++) {
+                    List<String> entries = index.get("initialized").stream().filter(id -> Objects.equals(states
+                            .get(id), "INITIALIZED")).skip(start - 1L).limit(size + 1L).collect(Collectors.toList());
+                    new ResultPage<>(entries.subList(0, Math.min(size, entries.size())), start, entries.size() >
+                            size, objects);
+                }
+                long paged = System.nanoTime() - begin;
+
+                if (print) {
+                    System.out.println(String.format("%-40s %15.3f", "materialized listing, start=" + start,
+                            materialized / 1e6 / requests));
+                    System.out.println(String.format("%-40s %15.3f", "paged listing, start=" + start, paged / 1e6 /
+                            requests));
+                }
+            }
+        }
+    }
+}
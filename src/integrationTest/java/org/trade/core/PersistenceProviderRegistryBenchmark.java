@@ -0,0 +1,116 @@
+/*
+ * Copyright 2017 Michael Hahn
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.trade.core;
+
+import org.trade.core.model.data.DataValue;
+import org.trade.core.persistence.IPersistenceProvider;
+import org.trade.core.persistence.local.LocalPersistenceProviderFactory;
+import org.trade.core.persistence.local.PersistenceProviderRegistry;
+import org.trade.core.utils.TraDEConfiguration;
+import org.trade.core.utils.TraDEProperties;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Manually triggered benchmark measuring the startup time and the retained heap when loading all data values of a
+ * large data directory, where each loaded data value uses the shared provider of {@link PersistenceProviderRegistry}.
+ * For comparison, the time and heap required to create one provider per data value (as done before the registry was
+ * introduced) is measured separately. The number of data values can be passed as argument, by default 100000 data
+ * values are loaded. The heap should be large enough to hold all data values and providers, e.g., '-Xmx2g'.
+ */
+public class PersistenceProviderRegistryBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        int objects = args.length > 0 ? Integer.parseInt(args[0]) : 100000;
+
+        Path directory = Files.createTempDirectory("tradeBenchmark");
+
+        try {
+            TraDEProperties properties = new TraDEProperties();
+            properties.setProperty(TraDEProperties.PROPERTY_DATA_PERSIST_MODE, "FILE");
+            properties.setProperty(TraDEProperties.PROPERTY_DATA_PERSIST_FILE_DIRECTORY, directory.toString());
+            TraDEConfiguration.INSTANCE.update(properties);
+            PersistenceProviderRegistry.INSTANCE.destroyAll();
+
+            IPersistenceProvider<DataValue> persistProv = PersistenceProviderRegistry.INSTANCE.getProvider
+                    (DataValue.class);
+
+            List<DataValue> values = new ArrayList<>();
+            for (int i = 0; i < objects; i++) {
+                values.add(new DataValue("benchmark", "value" + i));
+            }
+            persistProv.storeAllObjects(values);
+            values = null;
+
+            System.out.println(String.format("%-40s %15s %15s", "operation", "time (ms)", "heap (MB)"));
+
+            // Warm up the JIT compiler and the file system cache
+            persistProv.loadAllObjects(null);
+
+            long heapBefore = usedHeap();
+            long start = System.nanoTime();
+            Map<String, DataValue> loaded = persistProv.loadAllObjects(null);
+            long duration = System.nanoTime() - start;
+            long heapAfter = usedHeap();
+            print("loadAllObjects (shared provider)", duration, heapAfter - heapBefore);
+
+            heapBefore = usedHeap();
+            start = System.nanoTime();
+            List<IPersistenceProvider<DataValue>> providers = new ArrayList<>(loaded.size());
+            for (int i = 0; i < loaded.size(); i++) {
+                providers.add(LocalPersistenceProviderFactory.createLocalPersistenceProvider(DataValue.class,
+                        TraDEConfiguration.INSTANCE.getProperties()));
+            }
+            duration = System.nanoTime() - start;
+            heapAfter = usedHeap();
+            print("one provider per object (previously)", duration, heapAfter - heapBefore);
+
+            System.out.println(loaded.size() + " data values, " + providers.size() + " providers");
+        } finally {
+            PersistenceProviderRegistry.INSTANCE.destroyAll();
+            TraDEConfiguration.INSTANCE.reload();
+
+            try (Stream<Path> files = Files.walk(directory)) {
+                for (Path file : files.sorted(Comparator.reverseOrder()).collect(Collectors.toList())) {
+                    Files.delete(file);
+                }
+            }
+        }
+    }
+
+    private static long usedHeap() throws InterruptedException {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+            Thread.sleep(100);
+        }
+
+        Runtime runtime = Runtime.getRuntime();
+
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    private static void print(String name, long duration, long heap) {
+        System.out.println(String.format("%-40s %15.1f %15.1f", name, duration / 1e6, heap / 1024.0 / 1024.0));
+    }
+}
@@ -0,0 +1,177 @@
+/*
+ * Copyright 2017 Michael Hahn
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.trade.core;
+
+import org.trade.core.data.management.simple.SimpleDataManager;
+import org.trade.core.model.data.DataObject;
+import org.trade.core.model.data.instance.DataObjectInstance;
+import org.trade.core.persistence.local.PersistenceProviderRegistry;
+import org.trade.core.utils.TraDEConfiguration;
+import org.trade.core.utils.TraDEProperties;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Manually triggered stress test and benchmark measuring the throughput of concurrent instantiations through
+ * {@link SimpleDataManager} with 1 to 64 threads. Every instantiation request is issued twice by different threads, so
+ * that each run also checks that no correlation key is instantiated more than once. For comparison, the same requests
+ * are issued while holding one global lock for all instantiations. The number of data objects and unique requests per
+ * run can be passed as arguments, by default 1000 requests are distributed over 16 data objects.
+ */
+public class SimpleDataManagerConcurrencyBenchmark {
+
+    private static final int[] THREADS = {1, 2, 4, 8, 16, 32, 64};
+
+    private static final Object globalLock = new Object();
+
+    public static void main(String[] args) throws Exception {
+        int dataObjects = args.length > 0 ? Integer.parseInt(args[0]) : 16;
+        int requests = args.length > 1 ? Integer.parseInt(args[1]) : 1000;
+
+        Path directory = Files.createTempDirectory("tradeBenchmark");
+
+        try {
+            TraDEProperties properties = new TraDEProperties();
+            properties.setProperty(TraDEProperties.PROPERTY_DATA_PERSIST_MODE, "FILE");
+            properties.setProperty(TraDEProperties.PROPERTY_DATA_PERSIST_FILE_DIRECTORY, directory.toString());
+            TraDEConfiguration.INSTANCE.update(properties);
+            PersistenceProviderRegistry.INSTANCE.destroyAll();
+
+            System.out.println(String.format("%-10s %20s %20s", "threads", "striped (ops/s)", "global lock (ops/s)"));
+
+            for (int run = 0; run < 2; run++) {
+                // The first run is used to warm up the JIT compiler
+                boolean print = run > 0;
+
+                for (int threads : THREADS) {
+                    double striped = measure(threads, dataObjects, requests, false);
+                    double global = measure(threads, dataObjects, requests, true);
+
+                    if (print) {
+                        System.out.println(String.format("%-10d %20.1f %20.1f", threads, striped, global));
+                    }
+                }
+            }
+        } finally {
+            SimpleDataManager.INSTANCE.clearCachedObjects();
+            PersistenceProviderRegistry.INSTANCE.destroyAll();
+            TraDEConfiguration.INSTANCE.reload();
+
+            try (Stream<Path> files = Files.walk(directory)) {
+                for (Path file : files.sorted(Comparator.reverseOrder()).collect(Collectors.toList())) {
+                    Files.delete(file);
+                }
+            }
+        }
+    }
+
+    private static double measure(int threads, int dataObjects, int requests, boolean useGlobalLock) throws
+            Exception {
+        SimpleDataManager manager = SimpleDataManager.INSTANCE;
+
+        // Use new data objects for each measurement, so that all measurements start with the same object graphs
+        List<String> dataObjectIds = new ArrayList<>();
+        for (int i = 0; i < dataObjects; i++) {
+            DataObject dataObject = manager.registerDataObject(new DataObject("benchmark", "object" + i));
+            manager.addDataElementToDataObject(dataObject.getIdentifier(), "benchmark", "input", "text/plain",
+                    "string", false);
+            manager.addDataElementToDataObject(dataObject.getIdentifier(), "benchmark", "output", "text/plain",
+                    "string", false);
+
+            dataObjectIds.add(dataObject.getIdentifier());
+        }
+
+        // Each request is issued twice, the second time by another thread
+        int total = 2 * requests;
+        DataObjectInstance[] results = new DataObjectInstance[total];
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            long start = System.nanoTime();
+
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                int thread = t;
+
+                futures.add(executor.submit(() -> {
+                    for (int i = thread; i < total; i += threads) {
+                        int request = i % requests;
+                        String dataObjectId = dataObjectIds.get(request % dataObjects);
+
+                        HashMap<String, String> correlationProperties = new HashMap<>();
+                        correlationProperties.put("chorID", "choreography" + request);
+
+                        if (useGlobalLock) {
+                            synchronized (globalLock) {
+                                results[i] = manager.instantiateDataObject(dataObjectId, "benchmark",
+                                        correlationProperties);
+                            }
+                        } else {
+                            results[i] = manager.instantiateDataObject(dataObjectId, "benchmark",
+                                    correlationProperties);
+                        }
+                    }
+                    return null;
+                }));
+            }
+
+            for (Future<?> future : futures) {
+                future.get();
+            }
+
+            long duration = System.nanoTime() - start;
+
+            verify(manager, dataObjectIds, results, requests);
+
+            for (String dataObjectId : dataObjectIds) {
+                manager.deleteDataObject(dataObjectId);
+            }
+
+            return total / (duration / 1e9);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static void verify(SimpleDataManager manager, List<String> dataObjectIds, DataObjectInstance[] results,
+                               int requests) {
+        int instances = 0;
+        for (String dataObjectId : dataObjectIds) {
+            instances += manager.getAllDataObjectInstancesOfDataObject(dataObjectId).size();
+        }
+
+        if (instances != requests) {
+            throw new IllegalStateException(requests + " unique requests created " + instances + " instances");
+        }
+
+        for (int i = 0; i < requests; i++) {
+            if (results[i] == null || results[i] != results[i + requests]) {
+                throw new IllegalStateException("Request " + i + " was not correlated with the same instance twice");
+            }
+        }
+    }
+}
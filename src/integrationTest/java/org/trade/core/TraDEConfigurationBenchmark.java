@@ -0,0 +1,79 @@
+/*
+ * Copyright 2017 Michael Hahn
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.trade.core;
+
+import org.trade.core.model.data.DataValue;
+import org.trade.core.persistence.local.LocalPersistenceProviderFactory;
+import org.trade.core.utils.TraDEConfiguration;
+import org.trade.core.utils.TraDEProperties;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+/**
+ * Manually triggered benchmark comparing the CPU time and the allocated memory per creation of a persistence provider
+ * (which happens for each model object created or deserialized) when the properties are read from 'config.properties'
+ * on each call (as done before {@link TraDEConfiguration} was introduced) and when the shared snapshot is used. The
+ * number of calls can be passed as argument, by default 20000 calls are measured after a warm-up of the same size.
+ */
+public class TraDEConfigurationBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        int operations = args.length > 0 ? Integer.parseInt(args[0]) : 20000;
+
+        System.out.println(String.format("%-30s %15s %15s", "operation", "CPU (us/op)", "alloc (B/op)"));
+
+        for (int run = 0; run < 2; run++) {
+            // The first run is used to warm up the JIT compiler
+            boolean print = run > 0;
+
+            measure("reload per call", operations, print, () -> LocalPersistenceProviderFactory
+                    .createLocalPersistenceProvider(DataValue.class, new TraDEProperties()));
+            measure("shared snapshot", operations, print, () -> LocalPersistenceProviderFactory
+                    .createLocalPersistenceProvider(DataValue.class));
+        }
+    }
+
+    private static void measure(String name, int operations, boolean print, Runnable operation) {
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+
+        long startCpu = threads.getCurrentThreadCpuTime();
+        long startAllocated = allocatedBytes(threads, threadId);
+
+        for (int i = 0; i < operations; i++) {
+            operation.run();
+        }
+
+        long cpu = threads.getCurrentThreadCpuTime() - startCpu;
+        long allocated = allocatedBytes(threads, threadId) - startAllocated;
+
+        if (print) {
+            System.out.println(String.format("%-30s %15.2f %15d", name, cpu / 1e3 / operations, allocated /
+                    operations));
+        }
+    }
+
+    private static long allocatedBytes(ThreadMXBean threads, long threadId) {
+        // Allocation counters are only provided by HotSpot based JVMs
+        if (threads instanceof com.sun.management.ThreadMXBean) {
+            return ((com.sun.management.ThreadMXBean) threads).getThreadAllocatedBytes(threadId);
+        }
+
+        return 0L;
+    }
+}
@@ -20,6 +20,7 @@ import io.swagger.trade.client.jersey.ApiException;
 import io.swagger.trade.client.jersey.model.DataValue;
 import io.swagger.trade.client.jersey.model.DataValueArrayWithLinks;
 import io.swagger.trade.client.jersey.model.DataValueData;
+import io.swagger.trade.client.jersey.model.DataValueUpload;
 import io.swagger.trade.client.jersey.model.DataValueWithLinks;
 import org.apache.commons.lang3.RandomStringUtils;
 import org.junit.AfterClass;
@@ -28,6 +29,8 @@ import org.junit.FixMethodOrder;
 import org.junit.Test;
 import org.junit.runners.MethodSorters;
 
+import java.util.Arrays;
+
 import static org.junit.Assert.*;
 
 /**
@@ -156,7 +159,7 @@ public class DataValueApiIT {
             int length = value.getBytes().length;
             env.getDataValueApi().pushDataValue(dataValue.getId(), value.getBytes(), false, (long) length);
 
-            byte[] resultData = env.getDataValueApi().pullDataValue(dataValue.getId());
+            byte[] resultData = env.getDataValueApi().pullDataValue(dataValue.getId(), null, null, null, null);
             assertNotNull(resultData);
             assertNotEquals(0, resultData.length);
 
@@ -172,6 +175,80 @@ public class DataValueApiIT {
         }
     }
 
+    @Test
+    public void downloadRangeOfDataTest() {
+        // Add a new data value
+        DataValueData request = new DataValueData();
+
+        request.setName("dataValue");
+        request.setCreatedBy("hahnml");
+        request.setType("binary");
+        request.setContentType("text/plain");
+
+        try {
+            DataValue dataValue = env.getDataValueApi().addDataValue(request);
+
+            String value = RandomStringUtils.randomAlphabetic(10000);
+            int length = value.getBytes().length;
+            env.getDataValueApi().pushDataValue(dataValue.getId(), value.getBytes(), false, (long) length);
+
+            // Download the data in two parts
+            byte[] firstPart = env.getDataValueApi().pullDataValue(dataValue.getId(), "bytes=0-4999", null, null, null);
+            byte[] secondPart = env.getDataValueApi().pullDataValue(dataValue.getId(), "bytes=5000-", null, null, null);
+
+            assertEquals(value.substring(0, 5000), new String(firstPart));
+            assertEquals(value.substring(5000), new String(secondPart));
+
+            // Download the last bytes of the data
+            byte[] suffix = env.getDataValueApi().pullDataValue(dataValue.getId(), "bytes=-100", null, null, null);
+            assertEquals(value.substring(length - 100), new String(suffix));
+
+            env.getDataValueApi().deleteDataValue(dataValue.getId());
+        } catch (ApiException e) {
+            e.printStackTrace();
+        }
+    }
+
+    @Test
+    public void uploadDataInChunksTest() {
+        // Add a new data value
+        DataValueData request = new DataValueData();
+
+        request.setName("dataValue");
+        request.setCreatedBy("hahnml");
+        request.setType("binary");
+        request.setContentType("text/plain");
+
+        try {
+            DataValue dataValue = env.getDataValueApi().addDataValue(request);
+
+            String value = RandomStringUtils.randomAlphabetic(10000);
+            byte[] data = value.getBytes();
+
+            DataValueUpload upload = env.getDataValueApi().startDataValueUpload(dataValue.getId());
+            assertEquals(Long.valueOf(0L), upload.getOffset());
+
+            // Upload the data in chunks of 3000 bytes
+            int chunkSize = 3000;
+            for (int offset = 0; offset < data.length; offset += chunkSize) {
+                byte[] chunk = Arrays.copyOfRange(data, offset, Math.min(offset + chunkSize, data.length));
+
+                upload = env.getDataValueApi().appendDataValueUploadChunk(dataValue.getId(), upload.getId(),
+                        (long) offset, chunk);
+            }
+            assertEquals(Long.valueOf(data.length), upload.getOffset());
+
+            env.getDataValueApi().commitDataValueUpload(dataValue.getId(), upload.getId());
+
+            byte[] result = env.getDataValueApi().pullDataValue(dataValue.getId(), null, null, null, null);
+            assertEquals(value, new String(result));
+
+            env.getDataValueApi().deleteDataValue(dataValue.getId());
+        } catch (ApiException e) {
+            e.printStackTrace();
+        }
+    }
+
     @Test
     public void uploadDataThroughALinkTest() {
         // Add a new data value
@@ -191,7 +268,7 @@ public class DataValueApiIT {
             String link = "http://127.0.0.1:" + serverPort + "/docs/swagger.yaml";
             env.getDataValueApi().pushDataValue(dataValue.getId(), link.getBytes(), true, null);
 
-            byte[] resultData = env.getDataValueApi().pullDataValue(dataValue.getId());
+            byte[] resultData = env.getDataValueApi().pullDataValue(dataValue.getId(), null, null, null, null);
             String result = new String(resultData);
             assertNotNull(resultData);
             assertNotEquals(0, resultData.length);
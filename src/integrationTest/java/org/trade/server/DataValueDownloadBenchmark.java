@@ -0,0 +1,145 @@
+/*
+ * Copyright 2017 Michael Hahn
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.trade.server;
+
+import io.swagger.trade.server.jersey.api.util.DataStreamingUtils;
+import org.trade.core.model.ModelConstants;
+import org.trade.core.model.data.DataValue;
+import org.trade.core.persistence.IPersistenceProvider;
+import org.trade.core.persistence.local.filesystem.FileSystemPersistence;
+import org.trade.core.utils.TraDEProperties;
+
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+/**
+ * Manually triggered benchmark comparing the download path of data values which loads the whole data into a byte[]
+ * with the streaming path based on {@link DataStreamingUtils#transferData(ReadableByteChannel, OutputStream)}.
+ * <p>
+ * The benchmark uses a {@link FileSystemPersistence} provider on a temporary directory and writes the data into an
+ * output stream discarding all bytes, so that only the costs of the server side download path are measured. The
+ * sizes of the data values (in MB) can be passed as arguments, by default 1 MB, 100 MB and 1024 MB values are used.
+ * Run the benchmark with a fixed heap size, e.g. -Xmx2g, to get comparable results.
+ */
+public class DataValueDownloadBenchmark {
+
+    private static final int ITERATIONS = 5;
+
+    private static final int MB = 1024 * 1024;
+
+    public static void main(String[] args) throws Exception {
+        long[] sizesInMB = args.length > 0 ? new long[args.length] : new long[]{1, 100, 1024};
+        for (int i = 0; i < args.length; i++) {
+            sizesInMB[i] = Long.parseLong(args[i]);
+        }
+
+        Path directory = Files.createTempDirectory("traDEBenchmark");
+
+        TraDEProperties properties = new TraDEProperties();
+        properties.setProperty(TraDEProperties.PROPERTY_DATA_PERSIST_FILE_DIRECTORY, directory.toString());
+
+        IPersistenceProvider<DataValue> persistProv = new FileSystemPersistence<>();
+        persistProv.initProvider(DataValue.class, properties);
+
+        System.out.println(String.format("%-10s %-10s %15s %20s", "size (MB)", "path", "MB/s", "allocated (MB)"));
+
+        for (long sizeInMB : sizesInMB) {
+            String identifier = "benchmark-" + sizeInMB;
+            writeRandomData(persistProv, identifier, sizeInMB);
+
+            runBenchmark(sizeInMB, "byte[]", () -> {
+                byte[] data = persistProv.loadBinaryData(ModelConstants.DATA_VALUE__DATA_COLLECTION, identifier);
+                NULL_OUTPUT.write(data);
+            });
+
+            runBenchmark(sizeInMB, "channel", () -> {
+                try (ReadableByteChannel data = persistProv.openBinaryDataChannel(ModelConstants
+                        .DATA_VALUE__DATA_COLLECTION, identifier)) {
+                    DataStreamingUtils.transferData(data, NULL_OUTPUT);
+                }
+            });
+
+            persistProv.deleteBinaryData(ModelConstants.DATA_VALUE__DATA_COLLECTION, identifier);
+        }
+
+        Files.deleteIfExists(directory);
+    }
+
+    private static void writeRandomData(IPersistenceProvider<DataValue> persistProv, String identifier, long
+            sizeInMB) throws Exception {
+        byte[] chunk = new byte[MB];
+        new Random().nextBytes(chunk);
+
+        try (OutputStream out = persistProv.openBinaryDataForWrite(ModelConstants.DATA_VALUE__DATA_COLLECTION,
+                identifier)) {
+            for (long i = 0; i < sizeInMB; i++) {
+                out.write(chunk);
+            }
+        }
+    }
+
+    private static void runBenchmark(long sizeInMB, String path, DownloadPath download) {
+        com.sun.management.ThreadMXBean threadBean = (com.sun.management.ThreadMXBean) ManagementFactory
+                .getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+
+        try {
+            // Warm up
+            download.run();
+
+            long allocatedBefore = threadBean.getThreadAllocatedBytes(threadId);
+            long start = System.nanoTime();
+
+            for (int i = 0; i < ITERATIONS; i++) {
+                download.run();
+            }
+
+            long duration = System.nanoTime() - start;
+            long allocated = threadBean.getThreadAllocatedBytes(threadId) - allocatedBefore;
+
+            double throughput = (sizeInMB * ITERATIONS) / (duration / 1e9);
+
+            System.out.println(String.format("%-10d %-10s %15.1f %20.2f", sizeInMB, path, throughput,
+                    (double) allocated / ITERATIONS / MB));
+        } catch (OutOfMemoryError e) {
+            System.out.println(String.format("%-10d %-10s %15s %20s", sizeInMB, path, "-", "OutOfMemoryError"));
+        } catch (Exception e) {
+            e.printStackTrace();
+        }
+    }
+
+    private static final OutputStream NULL_OUTPUT = new OutputStream() {
+        @Override
+        public void write(int b) {
+            // Discard the data
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            // Discard the data
+        }
+    };
+
+    @FunctionalInterface
+    private interface DownloadPath {
+        void run() throws Exception;
+    }
+}
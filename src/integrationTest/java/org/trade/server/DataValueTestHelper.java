@@ -214,15 +214,15 @@ public class DataValueTestHelper {
     public void pullDataValues() throws ApiException {
         try {
             // Pull data from first data value
-            byte[] result1 = dvApiInstance.pullDataValue(idOfDataValue1);
+            byte[] result1 = dvApiInstance.pullDataValue(idOfDataValue1, null, null, null, null);
             assertNotNull(result1);
 
             // Pull data from second data value
-            byte[] result2 = dvApiInstance.pullDataValue(idOfDataValue2);
+            byte[] result2 = dvApiInstance.pullDataValue(idOfDataValue2, null, null, null, null);
             assertNotNull(result2);
 
             // Pull data from third data value
-            byte[] result3 = dvApiInstance.pullDataValue(idOfDataValue3);
+            byte[] result3 = dvApiInstance.pullDataValue(idOfDataValue3, null, null, null, null);
             assertNotNull(result3);
             assertEquals("test value", new String(result3));
         } catch (ApiException e) {
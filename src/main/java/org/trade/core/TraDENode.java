@@ -28,6 +28,7 @@ import org.mongodb.morphia.Morphia;
 import org.trade.core.model.data.DataObject;
 import org.trade.core.model.data.DataValue;
 import org.trade.core.server.TraDEServer;
+import org.trade.core.utils.TraDEConfiguration;
 import org.trade.core.utils.TraDEProperties;
 
 import java.nio.file.Files;
@@ -42,7 +43,7 @@ public class TraDENode {
 
     public static void main(String[] args) {
         // Load custom properties such as MongoDB url and db name
-        TraDEProperties properties = new TraDEProperties();
+        TraDEProperties properties = TraDEConfiguration.INSTANCE.getProperties();
 
         TraDEServer server = new TraDEServer();
 
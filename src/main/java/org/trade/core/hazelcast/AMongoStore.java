@@ -19,12 +19,10 @@ package org.trade.core.hazelcast;
 import com.hazelcast.core.HazelcastInstance;
 import com.hazelcast.core.MapLoaderLifecycleSupport;
 import com.hazelcast.core.MapStore;
-import com.mongodb.MongoClient;
-import com.mongodb.MongoClientURI;
 import org.mongodb.morphia.Datastore;
-import org.mongodb.morphia.Morphia;
 import org.mongodb.morphia.query.Query;
 import org.trade.core.model.ABaseResource;
+import org.trade.core.persistence.local.mongo.MongoConnectionManager;
 
 import java.util.*;
 
@@ -46,19 +44,14 @@ public abstract class AMongoStore<T extends ABaseResource> implements MapStore<S
         String mongoUrl = (String) properties.get("mongo.url");
         String dbName = (String) properties.get("mongo.db");
 
-        Morphia morphia = new Morphia();
-
-        // Map model classes to db collections
-        morphia.mapPackage("org.trade.core.model.data");
-
-        // create the datastore connecting to mongo
-        this.store = morphia.createDatastore(new MongoClient(new MongoClientURI(mongoUrl)), dbName);
-        this.store.ensureIndexes();
+        // Use the shared datastore which maps the model classes to db collections and pools the connections to mongo
+        this.store = MongoConnectionManager.INSTANCE.getDatastore(mongoUrl, dbName);
     }
 
     @Override
     public void destroy() {
-        this.store.getMongo().close();
+        // The datastore is shared with other stores and closed by the MongoConnectionManager
+        this.store = null;
     }
 
     @Override
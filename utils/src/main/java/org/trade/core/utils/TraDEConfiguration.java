@@ -0,0 +1,134 @@
+/*
+ * Copyright 2017 Michael Hahn
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.trade.core.utils;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Provides a process-wide snapshot of the configuration of the middleware, so that 'config.properties' and
+ * 'notifier.properties' are only read and parsed once instead of on each creation of a provider, manager or service.
+ * The snapshot is read-only (see {@link TraDEProperties#toReadOnly()}) and can therefore be shared by all threads
+ * without copying it. Code which needs modified properties, e.g., tests, should create its own
+ * {@link TraDEProperties} object instead.
+ * <p>
+ * The snapshot is loaded on first use. It is replaced through {@link #reload()} or {@link #update(TraDEProperties)},
+ * in which case all registered {@link TraDEConfigurationListener} are notified about the new snapshot. Components
+ * which already applied the previous configuration (e.g., opened connections or stores) are not changed implicitly.
+ */
+public enum TraDEConfiguration {
+    INSTANCE;
+
+    private Logger logger = LoggerFactory.getLogger("org.trade.core.utils.TraDEConfiguration");
+
+    private final List<TraDEConfigurationListener> listeners = new CopyOnWriteArrayList<>();
+
+    private volatile TraDEProperties properties;
+
+    private volatile NotifierProperties notifierProperties;
+
+    /**
+     * Provides the current snapshot of the properties of the middleware.
+     *
+     * @return the read-only properties
+     */
+    public TraDEProperties getProperties() {
+        TraDEProperties result = this.properties;
+
+        if (result == null) {
+            synchronized (this) {
+                if (this.properties == null) {
+                    this.properties = new TraDEProperties().toReadOnly();
+                }
+                result = this.properties;
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Provides the current snapshot of the registered notifier services. The returned object is shared and must not
+     * be modified.
+     *
+     * @return the notifier properties
+     */
+    public NotifierProperties getNotifierProperties() {
+        NotifierProperties result = this.notifierProperties;
+
+        if (result == null) {
+            synchronized (this) {
+                if (this.notifierProperties == null) {
+                    this.notifierProperties = new NotifierProperties();
+                }
+                result = this.notifierProperties;
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Reloads the properties from 'config.properties' and 'notifier.properties' and notifies all listeners.
+     *
+     * @return the new read-only properties
+     */
+    public TraDEProperties reload() {
+        synchronized (this) {
+            this.notifierProperties = new NotifierProperties();
+        }
+
+        return update(new TraDEProperties());
+    }
+
+    /**
+     * Replaces the current snapshot with a read-only copy of the given properties and notifies all listeners, e.g.,
+     * when the middleware is started with explicitly provided properties.
+     *
+     * @param properties the new properties of the middleware
+     * @return the new read-only properties
+     */
+    public TraDEProperties update(TraDEProperties properties) {
+        TraDEProperties snapshot = properties.toReadOnly();
+
+        synchronized (this) {
+            this.properties = snapshot;
+        }
+
+        for (TraDEConfigurationListener listener : listeners) {
+            try {
+                listener.onConfigurationChange(snapshot);
+            } catch (RuntimeException e) {
+                logger.error("Notifying listener '" + listener + "' about a configuration change caused an " +
+                        "exception.", e);
+            }
+        }
+
+        return snapshot;
+    }
+
+    public void addListener(TraDEConfigurationListener listener) {
+        listeners.add(listener);
+    }
+
+    public void removeListener(TraDEConfigurationListener listener) {
+        listeners.remove(listener);
+    }
+}
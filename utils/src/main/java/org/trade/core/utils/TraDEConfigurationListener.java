@@ -0,0 +1,31 @@
+/*
+ * Copyright 2017 Michael Hahn
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.trade.core.utils;
+
+/**
+ * This interface specifies a listener which is notified whenever the configuration of the middleware provided by
+ * {@link TraDEConfiguration} changes.
+ */
+public interface TraDEConfigurationListener {
+
+    /**
+     * Handle a change of the configuration.
+     *
+     * @param properties the new (read-only) properties of the middleware
+     */
+    void onConfigurationChange(TraDEProperties properties);
+}
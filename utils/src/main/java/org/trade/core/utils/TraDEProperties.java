@@ -21,7 +21,14 @@ import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.Reader;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
 import java.util.Properties;
+import java.util.Set;
+import java.util.function.BiFunction;
+import java.util.function.Function;
 
 /**
  * This class defines and provides all TraDE-related properties, e.g., deployment mode or configuration of the
@@ -37,6 +44,8 @@ public class TraDEProperties extends Properties {
 
     private static final String PROPERTY_FILE_LOCATION = "/config.properties";
 
+    private boolean readOnly = false;
+
     public static final String PROPERTY_CACHE_DB_URL = "cache.db.url";
     public static final String PROPERTY_CACHE_DB_NAME = "cache.db.name";
 
@@ -44,7 +53,11 @@ public class TraDEProperties extends Properties {
     public static final String ENV_VARIABLE_REGEX = "\\$\\{.+\\}";
 
     public enum DataPersistenceMode {
-        FILE, DB, CUSTOM
+        FILE, DB, LOG, KV, CUSTOM
+    }
+
+    public enum DataPersistenceCodec {
+        JSON, SMILE, CBOR, CUSTOM
     }
 
     public enum DeploymentMode {
@@ -64,7 +77,42 @@ public class TraDEProperties extends Properties {
     public static final String PROPERTY_DATA_PERSIST_MODE = "data.persistence.mode";
     public static final String PROPERTY_DATA_PERSIST_DB_URL = "data.persistence.db.url";
     public static final String PROPERTY_DATA_PERSIST_DB_NAME = "data.persistence.db.name";
+    public static final String PROPERTY_DATA_PERSIST_DB_POOL_MAX_SIZE = "data.persistence.db.pool.maxSize";
+    public static final String PROPERTY_DATA_PERSIST_DB_POOL_MIN_SIZE = "data.persistence.db.pool.minSize";
+    public static final String PROPERTY_DATA_PERSIST_DB_POOL_MAX_WAIT_TIME = "data.persistence.db.pool.maxWaitTime";
+    public static final String PROPERTY_DATA_PERSIST_DB_CONNECT_TIMEOUT = "data.persistence.db.connectTimeout";
+    public static final String PROPERTY_DATA_PERSIST_DB_SOCKET_TIMEOUT = "data.persistence.db.socketTimeout";
+    public static final String PROPERTY_DATA_PERSIST_DB_CHUNK_THRESHOLD = "data.persistence.db.chunkThreshold";
+    public static final String PROPERTY_DATA_PERSIST_DB_CHUNK_SIZE = "data.persistence.db.chunkSize";
+    public static final String PROPERTY_DATA_PERSIST_LOG_SEGMENT_SIZE = "data.persistence.log.segmentSize";
+    public static final String PROPERTY_DATA_PERSIST_LOG_COMPACTION_THRESHOLD = "data.persistence.log" +
+            ".compactionThreshold";
+    public static final String PROPERTY_DATA_PERSIST_LOG_SYNC_ON_COMMIT = "data.persistence.log.syncOnCommit";
+    public static final String PROPERTY_DATA_PERSIST_KV_CACHE_SIZE = "data.persistence.kv.cacheSize";
+    public static final String PROPERTY_DATA_PERSIST_KV_SYNC_ON_COMMIT = "data.persistence.kv.syncOnCommit";
+    public static final String PROPERTY_DATA_PERSIST_LAZY_LOADING_ENABLED = "data.persistence.lazyLoading.enabled";
+    public static final String PROPERTY_DATA_PERSIST_LAZY_LOADING_CACHE_SIZE = "data.persistence.lazyLoading" +
+            ".cacheSize";
+    public static final String PROPERTY_DATA_PERSIST_PAYLOAD_CACHE_ENABLED = "data.persistence.payloadCache.enabled";
+    public static final String PROPERTY_DATA_PERSIST_PAYLOAD_CACHE_MAX_SIZE = "data.persistence.payloadCache.maxSize";
+    public static final String PROPERTY_DATA_PERSIST_PAYLOAD_CACHE_MAX_ENTRY_SIZE = "data.persistence.payloadCache" +
+            ".maxEntrySize";
+    public static final String PROPERTY_DATA_PERSIST_COMPRESSION_ENABLED = "data.persistence.compression.enabled";
+    public static final String PROPERTY_DATA_PERSIST_COMPRESSION_MIN_SIZE = "data.persistence.compression.minSize";
+    public static final String PROPERTY_DATA_PERSIST_COMPRESSION_CONTENT_TYPES = "data.persistence.compression" +
+            ".contentTypes";
+    public static final String PROPERTY_DATA_PERSIST_DEDUPLICATION_ENABLED = "data.persistence.deduplication" +
+            ".enabled";
+    public static final String PROPERTY_DATA_PERSIST_LOAD_THREADS = "data.persistence.loadThreads";
+    public static final String PROPERTY_DATA_PERSIST_WRITE_BEHIND_ENABLED = "data.persistence.writeBehind.enabled";
+    public static final String PROPERTY_DATA_PERSIST_WRITE_BEHIND_QUEUE_SIZE = "data.persistence.writeBehind.queueSize";
+    public static final String PROPERTY_DATA_PERSIST_WRITE_BEHIND_BATCH_SIZE = "data.persistence.writeBehind.batchSize";
+    public static final String PROPERTY_DATA_PERSIST_WRITE_BEHIND_FLUSH_INTERVAL = "data.persistence.writeBehind" +
+            ".flushInterval";
+    public static final String PROPERTY_DATA_PERSIST_CODEC = "data.persistence.codec";
+    public static final String PROPERTY_DATA_PERSIST_CODEC_CLASS = "data.persistence.codec.class";
     public static final String PROPERTY_DATA_PERSIST_FILE_DIRECTORY = "data.persistence.file.directory";
+    public static final String PROPERTY_DATA_PERSIST_FILE_SHARD_LEVELS = "data.persistence.file.shardLevels";
     public static final String PROPERTY_DATA_PERSIST_PROVIDER_CLASS = "data.persistence.provider.class";
 
     public static final String PROPERTY_HTTP_SERVER_PORT = "server.port.http";
@@ -88,6 +136,31 @@ public class TraDEProperties extends Properties {
         loadProperties();
     }
 
+    private TraDEProperties(TraDEProperties source, boolean readOnly) {
+        super();
+
+        for (String name : source.stringPropertyNames()) {
+            // Copy the unresolved values, so that environment variables are still resolved on access
+            put(name, source.getUnresolvedProperty(name));
+        }
+
+        this.readOnly = readOnly;
+    }
+
+    /**
+     * Provides a read-only copy of these properties including their defaults. Modifying the copy causes an
+     * {@link UnsupportedOperationException}, so that the copy can be shared safely, see {@link TraDEConfiguration}.
+     *
+     * @return the read-only copy of the properties
+     */
+    public TraDEProperties toReadOnly() {
+        return isReadOnly() ? this : new TraDEProperties(this, true);
+    }
+
+    public boolean isReadOnly() {
+        return readOnly;
+    }
+
     public String getCacheDbUrl() {
         return getProperty(PROPERTY_CACHE_DB_URL, "mongodb://127.0.0.1:27017");
     }
@@ -128,10 +201,130 @@ public class TraDEProperties extends Properties {
         return getProperty(PROPERTY_DATA_PERSIST_DB_NAME, "tradeDataDB");
     }
 
+    public int getDataPersistenceDbPoolMaxSize() {
+        return getIntProperty(PROPERTY_DATA_PERSIST_DB_POOL_MAX_SIZE, 100);
+    }
+
+    public int getDataPersistenceDbPoolMinSize() {
+        return getIntProperty(PROPERTY_DATA_PERSIST_DB_POOL_MIN_SIZE, 0);
+    }
+
+    public int getDataPersistenceDbPoolMaxWaitTime() {
+        return getIntProperty(PROPERTY_DATA_PERSIST_DB_POOL_MAX_WAIT_TIME, 120000);
+    }
+
+    public int getDataPersistenceDbConnectTimeout() {
+        return getIntProperty(PROPERTY_DATA_PERSIST_DB_CONNECT_TIMEOUT, 10000);
+    }
+
+    public int getDataPersistenceDbSocketTimeout() {
+        return getIntProperty(PROPERTY_DATA_PERSIST_DB_SOCKET_TIMEOUT, 0);
+    }
+
+    public int getDataPersistenceDbChunkThreshold() {
+        return getIntProperty(PROPERTY_DATA_PERSIST_DB_CHUNK_THRESHOLD, 8388608);
+    }
+
+    public int getDataPersistenceDbChunkSize() {
+        return getIntProperty(PROPERTY_DATA_PERSIST_DB_CHUNK_SIZE, 261120);
+    }
+
+    public DataPersistenceCodec getDataPersistenceCodec() {
+        return DataPersistenceCodec.valueOf(getProperty(PROPERTY_DATA_PERSIST_CODEC, "JSON"));
+    }
+
+    public String getDataPersistenceCodecClass() {
+        return getProperty(PROPERTY_DATA_PERSIST_CODEC_CLASS, "");
+    }
+
+    public int getDataPersistenceLogSegmentSize() {
+        return getIntProperty(PROPERTY_DATA_PERSIST_LOG_SEGMENT_SIZE, 67108864);
+    }
+
+    public int getDataPersistenceLogCompactionThreshold() {
+        return getIntProperty(PROPERTY_DATA_PERSIST_LOG_COMPACTION_THRESHOLD, 4);
+    }
+
+    public boolean isDataPersistenceLogSyncOnCommit() {
+        return Boolean.valueOf(getProperty(PROPERTY_DATA_PERSIST_LOG_SYNC_ON_COMMIT, "true"));
+    }
+
+    public int getDataPersistenceKvCacheSize() {
+        return getIntProperty(PROPERTY_DATA_PERSIST_KV_CACHE_SIZE, 16);
+    }
+
+    public boolean isDataPersistenceKvSyncOnCommit() {
+        return Boolean.valueOf(getProperty(PROPERTY_DATA_PERSIST_KV_SYNC_ON_COMMIT, "true"));
+    }
+
+    public boolean isDataPersistenceLazyLoadingEnabled() {
+        return Boolean.valueOf(getProperty(PROPERTY_DATA_PERSIST_LAZY_LOADING_ENABLED, "false"));
+    }
+
+    public int getDataPersistenceLazyLoadingCacheSize() {
+        return getIntProperty(PROPERTY_DATA_PERSIST_LAZY_LOADING_CACHE_SIZE, 10000);
+    }
+
+    public boolean isDataPersistencePayloadCacheEnabled() {
+        return Boolean.valueOf(getProperty(PROPERTY_DATA_PERSIST_PAYLOAD_CACHE_ENABLED, "false"));
+    }
+
+    public long getDataPersistencePayloadCacheMaxSize() {
+        return getIntProperty(PROPERTY_DATA_PERSIST_PAYLOAD_CACHE_MAX_SIZE, 67108864);
+    }
+
+    public long getDataPersistencePayloadCacheMaxEntrySize() {
+        return getIntProperty(PROPERTY_DATA_PERSIST_PAYLOAD_CACHE_MAX_ENTRY_SIZE, 1048576);
+    }
+
+    public boolean isDataPersistenceCompressionEnabled() {
+        return Boolean.valueOf(getProperty(PROPERTY_DATA_PERSIST_COMPRESSION_ENABLED, "false"));
+    }
+
+    public int getDataPersistenceCompressionMinSize() {
+        return getIntProperty(PROPERTY_DATA_PERSIST_COMPRESSION_MIN_SIZE, 1024);
+    }
+
+    public String getDataPersistenceCompressionContentTypes() {
+        return getProperty(PROPERTY_DATA_PERSIST_COMPRESSION_CONTENT_TYPES, "text/*,application/json," +
+                "application/xml,application/javascript,application/csv,*+json,*+xml");
+    }
+
+    public boolean isDataPersistenceDeduplicationEnabled() {
+        return Boolean.valueOf(getProperty(PROPERTY_DATA_PERSIST_DEDUPLICATION_ENABLED, "false"));
+    }
+
+    public int getDataPersistenceLoadThreads() {
+        int threads = getIntProperty(PROPERTY_DATA_PERSIST_LOAD_THREADS, 0);
+
+        // Use one thread per available processor by default
+        return threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+    }
+
+    public boolean isDataPersistenceWriteBehindEnabled() {
+        return Boolean.valueOf(getProperty(PROPERTY_DATA_PERSIST_WRITE_BEHIND_ENABLED, "false"));
+    }
+
+    public int getDataPersistenceWriteBehindQueueSize() {
+        return getIntProperty(PROPERTY_DATA_PERSIST_WRITE_BEHIND_QUEUE_SIZE, 10000);
+    }
+
+    public int getDataPersistenceWriteBehindBatchSize() {
+        return getIntProperty(PROPERTY_DATA_PERSIST_WRITE_BEHIND_BATCH_SIZE, 500);
+    }
+
+    public int getDataPersistenceWriteBehindFlushInterval() {
+        return getIntProperty(PROPERTY_DATA_PERSIST_WRITE_BEHIND_FLUSH_INTERVAL, 1000);
+    }
+
     public String getDataPersistenceFileDirectory() {
         return getProperty(PROPERTY_DATA_PERSIST_FILE_DIRECTORY, System.getProperty("java.io.tmpdir"));
     }
 
+    public int getDataPersistenceFileShardLevels() {
+        return getIntProperty(PROPERTY_DATA_PERSIST_FILE_SHARD_LEVELS, 0);
+    }
+
     public int getHttpServerPort() {
         int port = 8080;
 
@@ -218,6 +411,21 @@ public class TraDEProperties extends Properties {
         return getProperty(PROPERTY_TRADE_MIDDLEWARE_URL, "http://127.0.0.1:8081/api");
     }
 
+    private int getIntProperty(String name, int defaultValue) {
+        int value = defaultValue;
+
+        String prop = getProperty(name, String.valueOf(defaultValue));
+        try {
+            value = Integer.valueOf(prop);
+        } catch (NumberFormatException e) {
+            logger.warn("The value ({}) of property '{}' specified in the properties file is not a valid number. " +
+                    "Therefore, the default value '{}' is used. " +
+                    "Please specify a valid number in the properties file as soon as possible.", prop, name, value);
+        }
+
+        return value;
+    }
+
     private void loadProperties() {
         try {
             InputStream in = TraDEProperties.class.getResourceAsStream(PROPERTY_FILE_LOCATION);
@@ -234,6 +442,148 @@ public class TraDEProperties extends Properties {
         }
     }
 
+    @Override
+    public synchronized Object put(Object key, Object value) {
+        checkWritable();
+
+        return super.put(key, value);
+    }
+
+    @Override
+    public synchronized Object remove(Object key) {
+        checkWritable();
+
+        return super.remove(key);
+    }
+
+    @Override
+    public synchronized void clear() {
+        checkWritable();
+
+        super.clear();
+    }
+
+    @Override
+    public synchronized void putAll(Map<?, ?> t) {
+        checkWritable();
+
+        super.putAll(t);
+    }
+
+    @Override
+    public synchronized Object putIfAbsent(Object key, Object value) {
+        checkWritable();
+
+        return super.putIfAbsent(key, value);
+    }
+
+    @Override
+    public synchronized boolean remove(Object key, Object value) {
+        checkWritable();
+
+        return super.remove(key, value);
+    }
+
+    @Override
+    public synchronized boolean replace(Object key, Object oldValue, Object newValue) {
+        checkWritable();
+
+        return super.replace(key, oldValue, newValue);
+    }
+
+    @Override
+    public synchronized Object replace(Object key, Object value) {
+        checkWritable();
+
+        return super.replace(key, value);
+    }
+
+    @Override
+    public synchronized void replaceAll(BiFunction<? super Object, ? super Object, ?> function) {
+        checkWritable();
+
+        super.replaceAll(function);
+    }
+
+    @Override
+    public synchronized Object compute(Object key, BiFunction<? super Object, ? super Object, ?> remappingFunction) {
+        checkWritable();
+
+        return super.compute(key, remappingFunction);
+    }
+
+    @Override
+    public synchronized Object computeIfAbsent(Object key, Function<? super Object, ?> mappingFunction) {
+        checkWritable();
+
+        return super.computeIfAbsent(key, mappingFunction);
+    }
+
+    @Override
+    public synchronized Object computeIfPresent(Object key, BiFunction<? super Object, ? super Object, ?>
+            remappingFunction) {
+        checkWritable();
+
+        return super.computeIfPresent(key, remappingFunction);
+    }
+
+    @Override
+    public synchronized Object merge(Object key, Object value, BiFunction<? super Object, ? super Object, ?>
+            remappingFunction) {
+        checkWritable();
+
+        return super.merge(key, value, remappingFunction);
+    }
+
+    @Override
+    public synchronized void load(Reader reader) throws IOException {
+        checkWritable();
+
+        super.load(reader);
+    }
+
+    @Override
+    public synchronized void load(InputStream inStream) throws IOException {
+        checkWritable();
+
+        super.load(inStream);
+    }
+
+    @Override
+    public synchronized void loadFromXML(InputStream in) throws IOException {
+        checkWritable();
+
+        super.loadFromXML(in);
+    }
+
+    // The views of the read-only properties are unmodifiable as well, since removing entries through them bypasses
+    // the methods above
+    @Override
+    public Set<Object> keySet() {
+        return readOnly ? Collections.unmodifiableSet(super.keySet()) : super.keySet();
+    }
+
+    @Override
+    public Set<Map.Entry<Object, Object>> entrySet() {
+        return readOnly ? Collections.unmodifiableSet(super.entrySet()) : super.entrySet();
+    }
+
+    @Override
+    public Collection<Object> values() {
+        return readOnly ? Collections.unmodifiableCollection(super.values()) : super.values();
+    }
+
+    private void checkWritable() {
+        if (readOnly) {
+            throw new UnsupportedOperationException("The properties are read-only, please create a copy through " +
+                    "'new TraDEProperties()' to modify them.");
+        }
+    }
+
+    private String getUnresolvedProperty(String key) {
+        return super.getProperty(key);
+    }
+
     @Override
     public String getProperty(String pname) {
         String result = super.getProperty(pname);